@@ -6,3 +6,27 @@ ALTER TABLE ACT_HI_VARINST
 -- semantic version --
 ALTER TABLE ACT_RE_DECISION_DEF
   ADD VERSION_TAG_ varchar(64);
+
+-- authorization decision cache revision --
+insert into ACT_GE_PROPERTY
+values ('authorization.revision', '0', 1);
+
+-- deployment resource content hash --
+ALTER TABLE ACT_GE_BYTEARRAY
+  ADD CONTENT_HASH_ varchar(64);
+
+-- history outbox --
+create table ACT_RU_HISTORY_OUTBOX (
+  ID_ varchar(64) not null,
+  REV_ integer not null,
+  SEQ_ bigint not null,
+  STATE_ integer not null,
+  LOCK_OWNER_ varchar(255),
+  LOCK_EXP_TIME_ timestamp(3) NULL,
+  ATTEMPTS_ integer,
+  ERROR_MSG_ varchar(4000),
+  BYTES_ LONGBLOB,
+  primary key (ID_)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+
+create index ACT_IDX_HIST_OUTBOX_SEQ on ACT_RU_HISTORY_OUTBOX(STATE_, SEQ_);
@@ -6,3 +6,27 @@ ALTER TABLE ACT_HI_VARINST
 -- semantic version --
 ALTER TABLE ACT_RE_DECISION_DEF
   ADD VERSION_TAG_ nvarchar(64);
+
+-- authorization decision cache revision --
+insert into ACT_GE_PROPERTY
+values ('authorization.revision', '0', 1);
+
+-- deployment resource content hash --
+ALTER TABLE ACT_GE_BYTEARRAY
+  ADD CONTENT_HASH_ nvarchar(64);
+
+-- history outbox --
+create table ACT_RU_HISTORY_OUTBOX (
+  ID_ nvarchar(64) not null,
+  REV_ int not null,
+  SEQ_ numeric(19,0) not null,
+  STATE_ int not null,
+  LOCK_OWNER_ nvarchar(255),
+  LOCK_EXP_TIME_ datetime2,
+  ATTEMPTS_ int,
+  ERROR_MSG_ nvarchar(4000),
+  BYTES_ image,
+  primary key (ID_)
+);
+
+create index ACT_IDX_HIST_OUTBOX_SEQ on ACT_RU_HISTORY_OUTBOX(STATE_, SEQ_);
@@ -6,3 +6,27 @@ ALTER TABLE ACT_HI_VARINST
 -- semantic version --
 ALTER TABLE ACT_RE_DECISION_DEF
   ADD VERSION_TAG_ NVARCHAR2(64);
+
+-- authorization decision cache revision --
+insert into ACT_GE_PROPERTY
+values ('authorization.revision', '0', 1);
+
+-- deployment resource content hash --
+ALTER TABLE ACT_GE_BYTEARRAY
+  ADD CONTENT_HASH_ NVARCHAR2(64);
+
+-- history outbox --
+create table ACT_RU_HISTORY_OUTBOX (
+  ID_ NVARCHAR2(64) not null,
+  REV_ INTEGER not null,
+  SEQ_ NUMBER(19,0) not null,
+  STATE_ INTEGER not null,
+  LOCK_OWNER_ NVARCHAR2(255),
+  LOCK_EXP_TIME_ TIMESTAMP(6),
+  ATTEMPTS_ INTEGER,
+  ERROR_MSG_ NVARCHAR2(2000),
+  BYTES_ BLOB,
+  primary key (ID_)
+);
+
+create index ACT_IDX_HIST_OUTBOX_SEQ on ACT_RU_HISTORY_OUTBOX(STATE_, SEQ_);
@@ -40,4 +40,13 @@ public interface MetricsRestService {
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   List<MetricsIntervalResultDto> interval(@Context UriInfo uriInfo);
+
+  /**
+   * Exposes the current in-memory metrics of the process engine in the
+   * Prometheus text exposition format.
+   */
+  @GET
+  @Path("/prometheus")
+  @Produces(MediaType.TEXT_PLAIN)
+  String prometheus();
 }
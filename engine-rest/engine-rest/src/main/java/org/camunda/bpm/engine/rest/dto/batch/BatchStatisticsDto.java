@@ -13,6 +13,8 @@
 
 package org.camunda.bpm.engine.rest.dto.batch;
 
+import java.util.Date;
+
 import org.camunda.bpm.engine.batch.BatchStatistics;
 
 public class BatchStatisticsDto extends BatchDto {
@@ -20,6 +22,8 @@ public class BatchStatisticsDto extends BatchDto {
   protected int remainingJobs;
   protected int completedJobs;
   protected int failedJobs;
+  protected Double jobsPerSecond;
+  protected Date estimatedEndTime;
 
   public int getRemainingJobs() {
     return remainingJobs;
@@ -33,6 +37,14 @@ public class BatchStatisticsDto extends BatchDto {
     return failedJobs;
   }
 
+  public Double getJobsPerSecond() {
+    return jobsPerSecond;
+  }
+
+  public Date getEstimatedEndTime() {
+    return estimatedEndTime;
+  }
+
   public static BatchStatisticsDto fromBatchStatistics(BatchStatistics batchStatistics) {
     BatchStatisticsDto dto = new BatchStatisticsDto();
     dto.id = batchStatistics.getId();
@@ -50,6 +62,8 @@ public class BatchStatisticsDto extends BatchDto {
     dto.remainingJobs = batchStatistics.getRemainingJobs();
     dto.completedJobs = batchStatistics.getCompletedJobs();
     dto.failedJobs = batchStatistics.getFailedJobs();
+    dto.jobsPerSecond = batchStatistics.getJobsPerSecond();
+    dto.estimatedEndTime = batchStatistics.getEstimatedEndTime();
     return dto;
   }
 
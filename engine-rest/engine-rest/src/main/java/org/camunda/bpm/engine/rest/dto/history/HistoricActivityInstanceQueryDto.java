@@ -62,6 +62,7 @@ public class HistoricActivityInstanceQueryDto extends AbstractQueryDto<HistoricA
   }
 
   private String activityInstanceId;
+  private String afterId;
   private String processInstanceId;
   private String processDefinitionId;
   private String executionId;
@@ -91,6 +92,11 @@ public class HistoricActivityInstanceQueryDto extends AbstractQueryDto<HistoricA
     this.activityInstanceId = activityInstanceId;
   }
 
+  @CamundaQueryParam("afterId")
+  public void setAfterId(String afterId) {
+    this.afterId = afterId;
+  }
+
   @CamundaQueryParam("processInstanceId")
   public void setProcessInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
@@ -186,6 +192,9 @@ public class HistoricActivityInstanceQueryDto extends AbstractQueryDto<HistoricA
     if (activityInstanceId != null) {
       query.activityInstanceId(activityInstanceId);
     }
+    if (afterId != null) {
+      query.afterId(afterId);
+    }
     if (processInstanceId != null) {
       query.processInstanceId(processInstanceId);
     }
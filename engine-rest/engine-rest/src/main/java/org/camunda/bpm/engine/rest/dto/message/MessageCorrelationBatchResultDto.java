@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.message;
+
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchResult;
+
+public class MessageCorrelationBatchResultDto {
+
+  private String messageName;
+  private String businessKey;
+  private boolean correlated;
+  private MessageCorrelationResultDto result;
+  private String errorMessage;
+
+  public static MessageCorrelationBatchResultDto fromMessageCorrelationBatchResult(MessageCorrelationBatchResult batchResult) {
+    MessageCorrelationBatchResultDto dto = new MessageCorrelationBatchResultDto();
+    dto.messageName = batchResult.getMessageName();
+    dto.businessKey = batchResult.getBusinessKey();
+    dto.correlated = batchResult.isCorrelated();
+    if (batchResult.getCorrelationResult() != null) {
+      dto.result = MessageCorrelationResultDto.fromMessageCorrelationResult(batchResult.getCorrelationResult());
+    }
+    if (batchResult.getException() != null) {
+      dto.errorMessage = batchResult.getException().getMessage();
+    }
+    return dto;
+  }
+
+  public String getMessageName() {
+    return messageName;
+  }
+
+  public String getBusinessKey() {
+    return businessKey;
+  }
+
+  public boolean isCorrelated() {
+    return correlated;
+  }
+
+  public MessageCorrelationResultDto getResult() {
+    return result;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+}
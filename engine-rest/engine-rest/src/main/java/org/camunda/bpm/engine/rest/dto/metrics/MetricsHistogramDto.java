@@ -0,0 +1,87 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+import org.camunda.bpm.engine.management.MetricsHistogram;
+
+public class MetricsHistogramDto {
+
+  protected String name;
+  protected long count;
+  protected long sum;
+  protected double mean;
+  protected long max;
+  protected long p50;
+  protected long p75;
+  protected long p95;
+  protected long p99;
+  protected long p999;
+
+  public static MetricsHistogramDto fromMetricsHistogram(MetricsHistogram histogram) {
+    MetricsHistogramDto dto = new MetricsHistogramDto();
+
+    dto.name = histogram.getName();
+    dto.count = histogram.getCount();
+    dto.sum = histogram.getSum();
+    dto.mean = histogram.getMean();
+    dto.max = histogram.getMax();
+    dto.p50 = histogram.getValueAtPercentile(50);
+    dto.p75 = histogram.getValueAtPercentile(75);
+    dto.p95 = histogram.getValueAtPercentile(95);
+    dto.p99 = histogram.getValueAtPercentile(99);
+    dto.p999 = histogram.getValueAtPercentile(99.9);
+
+    return dto;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getSum() {
+    return sum;
+  }
+
+  public double getMean() {
+    return mean;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public long getP50() {
+    return p50;
+  }
+
+  public long getP75() {
+    return p75;
+  }
+
+  public long getP95() {
+    return p95;
+  }
+
+  public long getP99() {
+    return p99;
+  }
+
+  public long getP999() {
+    return p999;
+  }
+
+}
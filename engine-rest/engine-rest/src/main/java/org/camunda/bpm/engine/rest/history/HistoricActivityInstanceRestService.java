@@ -20,6 +20,7 @@ import org.camunda.bpm.engine.rest.sub.history.HistoricActivityInstanceResource;
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
@@ -58,6 +59,22 @@ public interface HistoricActivityInstanceRestService {
   List<HistoricActivityInstanceDto> queryHistoricActivityInstances(HistoricActivityInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
       @QueryParam("maxResults") Integer maxResults);
 
+  /**
+   * Streams all historic activity instances matching the query as one JSON array.
+   * The results are written while they are read from the database and are not
+   * collected in memory, so that large result sets can be exported.
+   */
+  @GET
+  @Path("/stream")
+  @Produces(MediaType.APPLICATION_JSON)
+  StreamingOutput streamHistoricActivityInstances(@Context UriInfo uriInfo);
+
+  @POST
+  @Path("/stream")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  StreamingOutput streamHistoricActivityInstances(HistoricActivityInstanceQueryDto query);
+
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
@@ -55,6 +55,11 @@ import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
  */
 public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware implements ExternalTaskRestService {
 
+  /**
+   * The maximum time in milliseconds a fetch and lock request may wait for external tasks.
+   */
+  public static final long MAX_ASYNC_RESPONSE_TIMEOUT = 1800000;
+
   public ExternalTaskRestServiceImpl(String processEngine, ObjectMapper objectMapper) {
     super(processEngine, objectMapper);
   }
@@ -138,7 +143,17 @@ public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware
       }
     }
 
-    List<LockedExternalTask> tasks = fetchBuilder.execute();
+    List<LockedExternalTask> tasks;
+    Long asyncResponseTimeout = fetchingDto.getAsyncResponseTimeout();
+    if (asyncResponseTimeout != null) {
+      if (asyncResponseTimeout < 0 || asyncResponseTimeout > MAX_ASYNC_RESPONSE_TIMEOUT) {
+        throw new InvalidRequestException(Status.BAD_REQUEST,
+          "The asynchronous response timeout must be between 0 and " + MAX_ASYNC_RESPONSE_TIMEOUT + " milliseconds");
+      }
+      tasks = fetchBuilder.execute(asyncResponseTimeout);
+    } else {
+      tasks = fetchBuilder.execute();
+    }
 
     return LockedExternalTaskDto.fromLockedExternalTasks(tasks);
   }
@@ -21,9 +21,13 @@ import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.rest.MessageRestService;
 import org.camunda.bpm.engine.rest.dto.VariableValueDto;
+import org.camunda.bpm.engine.rest.dto.message.CorrelationMessageBatchDto;
 import org.camunda.bpm.engine.rest.dto.message.CorrelationMessageDto;
+import org.camunda.bpm.engine.rest.dto.message.MessageCorrelationBatchResultDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchResult;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -71,6 +75,45 @@ public class MessageRestServiceImpl extends AbstractRestProcessEngineAware imple
     return createResponse(resultDtos, messageDto);
   }
 
+  @Override
+  public List<MessageCorrelationBatchResultDto> deliverMessages(CorrelationMessageBatchDto batchDto) {
+    List<CorrelationMessageDto> messageDtos = batchDto.getMessages();
+    if (messageDtos == null || messageDtos.isEmpty()) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "No messages supplied");
+    }
+
+    for (CorrelationMessageDto messageDto : messageDtos) {
+      if (messageDto.getMessageName() == null) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "No message name supplied");
+      }
+      if (messageDto.isAll()) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "Parameter 'all' cannot be used for a batch of messages.");
+      }
+      if (messageDto.getTenantId() != null && messageDto.isWithoutTenantId()) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "Parameter 'tenantId' cannot be used together with parameter 'withoutTenantId'.");
+      }
+    }
+
+    MessageCorrelationBatchBuilder batch = processEngine.getRuntimeService().createMessageCorrelationBatch();
+    try {
+      for (CorrelationMessageDto messageDto : messageDtos) {
+        batch.message(createMessageCorrelationBuilder(messageDto));
+      }
+
+      if (batchDto.getTransactionSize() != null) {
+        batch.transactionSize(batchDto.getTransactionSize());
+      }
+    } catch (RestException e) {
+      String errorMessage = String.format("Cannot deliver messages: %s", e.getMessage());
+      throw new InvalidRequestException(e.getStatus(), e, errorMessage);
+    }
+
+    List<MessageCorrelationBatchResultDto> resultDtos = new ArrayList<MessageCorrelationBatchResultDto>();
+    for (MessageCorrelationBatchResult result : batch.correlateWithResult()) {
+      resultDtos.add(MessageCorrelationBatchResultDto.fromMessageCorrelationBatchResult(result));
+    }
+    return resultDtos;
+  }
 
   protected Response createResponse(List<MessageCorrelationResultDto> resultDtos, CorrelationMessageDto messageDto) {
     Response.ResponseBuilder response = Response.noContent();
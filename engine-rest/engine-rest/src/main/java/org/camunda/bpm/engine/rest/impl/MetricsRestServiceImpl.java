@@ -22,6 +22,9 @@ import java.util.Date;
 import java.util.List;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriInfo;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.reporter.PrometheusMetricsWriter;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.rest.dto.metrics.MetricsIntervalResultDto;
 import org.camunda.bpm.engine.management.MetricIntervalValue;
@@ -75,6 +78,19 @@ public class MetricsRestServiceImpl extends AbstractRestProcessEngineAware imple
     return convertToDtos(metrics);
   }
 
+  @Override
+  public String prometheus() {
+    ProcessEngineConfigurationImpl processEngineConfiguration =
+        (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+
+    MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    if (!processEngineConfiguration.isMetricsEnabled() || metricsRegistry == null) {
+      return "";
+    }
+
+    return new PrometheusMetricsWriter(processEngine.getName()).write(metricsRegistry);
+  }
+
   protected void applyQueryParams(MetricsQuery query, MultivaluedMap<String, String> queryParameters) {
 
     DateConverter dateConverter = new DateConverter();
@@ -12,10 +12,12 @@
  */
 package org.camunda.bpm.engine.rest.impl.history;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceQueryDto;
@@ -23,7 +25,10 @@ import org.camunda.bpm.engine.rest.history.HistoricActivityInstanceRestService;
 import org.camunda.bpm.engine.rest.sub.history.HistoricActivityInstanceResource;
 import org.camunda.bpm.engine.rest.sub.history.impl.HistoricActivityInstanceResourceImpl;
 
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -77,6 +82,42 @@ public class HistoricActivityInstanceRestServiceImpl implements HistoricActivity
     return query.listPage(firstResult, maxResults);
   }
 
+  @Override
+  public StreamingOutput streamHistoricActivityInstances(UriInfo uriInfo) {
+    HistoricActivityInstanceQueryDto queryDto = new HistoricActivityInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
+    return streamHistoricActivityInstances(queryDto);
+  }
+
+  @Override
+  public StreamingOutput streamHistoricActivityInstances(HistoricActivityInstanceQueryDto queryDto) {
+    queryDto.setObjectMapper(objectMapper);
+    final HistoricActivityInstanceQuery query = queryDto.toQuery(processEngine);
+
+    return new StreamingOutput() {
+      public void write(OutputStream output) throws IOException {
+        final JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.writeStartArray();
+
+        try {
+          query.forEach(new QueryResultHandler<HistoricActivityInstance>() {
+            public void handleResult(HistoricActivityInstance result) {
+              try {
+                generator.writeObject(HistoricActivityInstanceDto.fromHistoricActivityInstance(result));
+              } catch (IOException e) {
+                throw new StreamingFailedException(e);
+              }
+            }
+          });
+        } catch (StreamingFailedException e) {
+          throw e.getIOException();
+        }
+
+        generator.writeEndArray();
+        generator.close();
+      }
+    };
+  }
+
   @Override
   public CountResultDto getHistoricActivityInstancesCount(UriInfo uriInfo) {
     HistoricActivityInstanceQueryDto queryDto = new HistoricActivityInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
@@ -94,4 +135,20 @@ public class HistoricActivityInstanceRestServiceImpl implements HistoricActivity
 
     return result;
   }
+
+  /**
+   * Transports an {@link IOException} of the client connection out of the result handler.
+   */
+  protected static class StreamingFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public StreamingFailedException(IOException cause) {
+      super(cause);
+    }
+
+    public IOException getIOException() {
+      return (IOException) getCause();
+    }
+  }
 }
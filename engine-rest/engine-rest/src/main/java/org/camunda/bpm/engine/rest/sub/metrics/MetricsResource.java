@@ -19,6 +19,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
 
+import org.camunda.bpm.engine.rest.dto.metrics.MetricsHistogramDto;
 import org.camunda.bpm.engine.rest.dto.metrics.MetricsResultDto;
 
 /**
@@ -31,4 +32,9 @@ public interface MetricsResource {
   @Produces(MediaType.APPLICATION_JSON)
   @Path("/sum")
   MetricsResultDto sum(@Context UriInfo uriInfo);
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @Path("/histogram")
+  MetricsHistogramDto getHistogram();
 }
@@ -15,12 +15,16 @@ package org.camunda.bpm.engine.rest.sub.metrics;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Date;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.management.MetricsHistogram;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.rest.dto.converter.DateConverter;
+import org.camunda.bpm.engine.rest.dto.metrics.MetricsHistogramDto;
 import org.camunda.bpm.engine.rest.dto.metrics.MetricsResultDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 
 
 /**
@@ -50,6 +54,18 @@ public class MetricsResourceImpl implements MetricsResource {
     return new MetricsResultDto(query.sum());
   }
 
+  @Override
+  public MetricsHistogramDto getHistogram() {
+    MetricsHistogram histogram = processEngine.getManagementService()
+      .getMetricsHistogram(metricsName);
+
+    if (histogram == null) {
+      throw new InvalidRequestException(Status.NOT_FOUND, "Metrics histogram with name " + metricsName + " does not exist");
+    }
+
+    return MetricsHistogramDto.fromMetricsHistogram(histogram);
+  }
+
   protected void applyQueryParams(MetricsQuery query, UriInfo uriInfo) {
     MultivaluedMap<String, String> queryParameters = uriInfo.getQueryParameters();
 
@@ -6,6 +6,7 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -25,6 +26,8 @@ import org.camunda.bpm.engine.rest.helper.ErrorMessageHelper;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.util.VariablesBuilder;
 import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchResult;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
 import org.junit.Before;
 import org.junit.ClassRule;
@@ -59,9 +62,11 @@ public class MessageRestServiceTest extends AbstractRestServiceTest {
   public static TestContainerRule rule = new TestContainerRule();
 
   protected static final String MESSAGE_URL = TEST_RESOURCE_ROOT_PATH +  MessageRestService.PATH;
+  protected static final String MESSAGE_BATCH_URL = MESSAGE_URL + "/batch";
 
   private RuntimeService runtimeServiceMock;
   private MessageCorrelationBuilder messageCorrelationBuilderMock;
+  private MessageCorrelationBatchBuilder messageCorrelationBatchBuilderMock;
   private MessageCorrelationResult executionResult;
   private MessageCorrelationResult procInstanceResult;
   private List<MessageCorrelationResult> executionResultList;
@@ -82,6 +87,11 @@ public class MessageRestServiceTest extends AbstractRestServiceTest {
     when(messageCorrelationBuilderMock.setVariables(Matchers.<Map<String,Object>>any())).thenReturn(messageCorrelationBuilderMock);
     when(messageCorrelationBuilderMock.setVariable(anyString(), any())).thenReturn(messageCorrelationBuilderMock);
 
+    messageCorrelationBatchBuilderMock = mock(MessageCorrelationBatchBuilder.class);
+    when(runtimeServiceMock.createMessageCorrelationBatch()).thenReturn(messageCorrelationBatchBuilderMock);
+    when(messageCorrelationBatchBuilderMock.message(any(MessageCorrelationBuilder.class))).thenReturn(messageCorrelationBatchBuilderMock);
+    when(messageCorrelationBatchBuilderMock.transactionSize(Matchers.anyInt())).thenReturn(messageCorrelationBatchBuilderMock);
+
     executionResult = MockProvider.createMessageCorrelationResult(MessageCorrelationResultType.Execution);
     procInstanceResult = MockProvider.createMessageCorrelationResult(MessageCorrelationResultType.ProcessDefinition);
     executionResultList = MockProvider.createMessageCorrelationResultList(MessageCorrelationResultType.Execution);
@@ -1064,4 +1074,95 @@ public class MessageRestServiceTest extends AbstractRestServiceTest {
     verifyNoMoreInteractions(messageCorrelationBuilderMock);
   }
 
+  @Test
+  public void testMessageCorrelationBatch() {
+    MessageCorrelationBatchResult correlated = mock(MessageCorrelationBatchResult.class);
+    when(correlated.getMessageName()).thenReturn("aMessageName");
+    when(correlated.getBusinessKey()).thenReturn("aBusinessKey");
+    when(correlated.isCorrelated()).thenReturn(true);
+    when(correlated.getCorrelationResult()).thenReturn(executionResult);
+
+    MessageCorrelationBatchResult failed = mock(MessageCorrelationBatchResult.class);
+    when(failed.getMessageName()).thenReturn("aMessageName");
+    when(failed.getBusinessKey()).thenReturn("anotherBusinessKey");
+    when(failed.isCorrelated()).thenReturn(false);
+    when(failed.getException()).thenReturn(new MismatchingMessageCorrelationException("expected exception"));
+
+    List<MessageCorrelationBatchResult> results = new ArrayList<MessageCorrelationBatchResult>();
+    results.add(correlated);
+    results.add(failed);
+    when(messageCorrelationBatchBuilderMock.correlateWithResult()).thenReturn(results);
+
+    List<Map<String, Object>> messages = new ArrayList<Map<String, Object>>();
+    Map<String, Object> message = new HashMap<String, Object>();
+    message.put("messageName", "aMessageName");
+    message.put("businessKey", "aBusinessKey");
+    messages.add(message);
+    message = new HashMap<String, Object>();
+    message.put("messageName", "aMessageName");
+    message.put("businessKey", "anotherBusinessKey");
+    messages.add(message);
+
+    Map<String, Object> batchParameters = new HashMap<String, Object>();
+    batchParameters.put("messages", messages);
+    batchParameters.put("transactionSize", 50);
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(batchParameters)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].messageName", equalTo("aMessageName"))
+      .body("[0].businessKey", equalTo("aBusinessKey"))
+      .body("[0].correlated", equalTo(true))
+      .body("[0].result.resultType", equalTo(MessageCorrelationResultType.Execution.name()))
+      .body("[1].businessKey", equalTo("anotherBusinessKey"))
+      .body("[1].correlated", equalTo(false))
+      .body("[1].errorMessage", equalTo("expected exception"))
+    .when()
+      .post(MESSAGE_BATCH_URL);
+
+    verify(runtimeServiceMock).createMessageCorrelation(eq("aMessageName"));
+    verify(messageCorrelationBuilderMock).processInstanceBusinessKey(eq("aBusinessKey"));
+    verify(messageCorrelationBuilderMock).processInstanceBusinessKey(eq("anotherBusinessKey"));
+    verify(messageCorrelationBatchBuilderMock, Mockito.times(2)).message(messageCorrelationBuilderMock);
+    verify(messageCorrelationBatchBuilderMock).transactionSize(50);
+    verify(messageCorrelationBatchBuilderMock).correlateWithResult();
+  }
+
+  @Test
+  public void testMessageCorrelationBatchWithoutMessages() {
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(new HashMap<String, Object>())
+    .then().expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("No messages supplied"))
+    .when()
+      .post(MESSAGE_BATCH_URL);
+  }
+
+  @Test
+  public void testMessageCorrelationBatchWithAll() {
+    Map<String, Object> message = new HashMap<String, Object>();
+    message.put("messageName", "aMessageName");
+    message.put("all", true);
+
+    Map<String, Object> batchParameters = new HashMap<String, Object>();
+    batchParameters.put("messages", Collections.singletonList(message));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(batchParameters)
+    .then().expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("Parameter 'all' cannot be used for a batch of messages."))
+    .when()
+      .post(MESSAGE_BATCH_URL);
+
+    verify(messageCorrelationBatchBuilderMock, Mockito.never()).correlateWithResult();
+  }
+
 }
@@ -29,8 +29,12 @@ import javax.ws.rs.core.Response.Status;
 
 
 import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.management.MetricsQuery;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
 import org.junit.Before;
@@ -48,6 +52,8 @@ public class MetricsRestServiceInteractionTest extends AbstractRestServiceTest {
   public static final String METRICS_URL = TEST_RESOURCE_ROOT_PATH + MetricsRestService.PATH;
   public static final String SINGLE_METER_URL = METRICS_URL + "/{name}";
   public static final String SUM_URL = SINGLE_METER_URL + "/sum";
+  public static final String HISTOGRAM_URL = SINGLE_METER_URL + "/histogram";
+  public static final String PROMETHEUS_URL = METRICS_URL + "/prometheus";
 
   protected ManagementService managementServiceMock;
   private MetricsQuery meterQueryMock;
@@ -297,4 +303,77 @@ public class MetricsRestServiceInteractionTest extends AbstractRestServiceTest {
   }
 
 
+
+  @Test
+  public void testGetHistogram() {
+    Histogram histogram = new Histogram(Metrics.COMMAND_EXECUTION_TIME);
+    for (int i = 1; i <= 10; i++) {
+      histogram.record(i);
+    }
+    when(managementServiceMock.getMetricsHistogram(Metrics.COMMAND_EXECUTION_TIME)).thenReturn(histogram.snapshot());
+
+    given()
+      .pathParam("name", Metrics.COMMAND_EXECUTION_TIME)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .body("name", equalTo(Metrics.COMMAND_EXECUTION_TIME))
+        .body("count", equalTo(10))
+        .body("sum", equalTo(55))
+        .body("max", equalTo(10))
+        .body("p50", equalTo(5))
+        .body("p999", equalTo(10))
+    .when()
+      .get(HISTOGRAM_URL);
+
+    verify(managementServiceMock).getMetricsHistogram(Metrics.COMMAND_EXECUTION_TIME);
+  }
+
+  @Test
+  public void testGetNonExistingHistogram() {
+    given()
+      .pathParam("name", "unknown")
+    .then()
+      .expect()
+        .statusCode(Status.NOT_FOUND.getStatusCode())
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+    .when()
+      .get(HISTOGRAM_URL);
+  }
+
+  @Test
+  public void testGetPrometheusMetrics() {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.createMeter(Metrics.JOB_SUCCESSFUL).markTimes(3);
+
+    ProcessEngineConfigurationImpl processEngineConfigurationMock = mock(ProcessEngineConfigurationImpl.class);
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(processEngineConfigurationMock);
+    when(processEngineConfigurationMock.isMetricsEnabled()).thenReturn(true);
+    when(processEngineConfigurationMock.getMetricsRegistry()).thenReturn(metricsRegistry);
+    when(processEngine.getName()).thenReturn("default");
+
+    given()
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .body(containsString("camunda_job_successful_total{engine=\"default\"} 3"))
+    .when()
+      .get(PROMETHEUS_URL);
+  }
+
+  @Test
+  public void testGetPrometheusMetricsDisabled() {
+    ProcessEngineConfigurationImpl processEngineConfigurationMock = mock(ProcessEngineConfigurationImpl.class);
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(processEngineConfigurationMock);
+    when(processEngineConfigurationMock.isMetricsEnabled()).thenReturn(false);
+
+    given()
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .body(equalTo(""))
+    .when()
+      .get(PROMETHEUS_URL);
+  }
+
 }
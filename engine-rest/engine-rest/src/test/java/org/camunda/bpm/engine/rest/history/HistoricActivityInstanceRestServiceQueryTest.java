@@ -6,6 +6,8 @@ import static com.jayway.restassured.path.json.JsonPath.from;
 import static org.fest.assertions.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -24,6 +26,7 @@ import javax.ws.rs.core.Response.Status;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
 import org.camunda.bpm.engine.impl.calendar.DateTimeUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.rest.AbstractRestServiceTest;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -35,6 +38,8 @@ import org.junit.ClassRule;
 import org.junit.Test;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import com.jayway.restassured.http.ContentType;
 import com.jayway.restassured.response.Response;
@@ -48,6 +53,8 @@ public class HistoricActivityInstanceRestServiceQueryTest extends AbstractRestSe
 
   protected static final String HISTORIC_ACTIVITY_INSTANCE_COUNT_RESOURCE_URL = HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL + "/count";
 
+  protected static final String HISTORIC_ACTIVITY_INSTANCE_STREAM_RESOURCE_URL = HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL + "/stream";
+
   protected HistoricActivityInstanceQuery mockedQuery;
 
   @Before
@@ -815,4 +822,37 @@ public class HistoricActivityInstanceRestServiceQueryTest extends AbstractRestSe
         MockProvider.createMockHistoricActivityInstance(MockProvider.EXAMPLE_TENANT_ID),
         MockProvider.createMockHistoricActivityInstance(MockProvider.ANOTHER_EXAMPLE_TENANT_ID));
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testStreamQuery() {
+    final List<HistoricActivityInstance> instances = createMockHistoricActivityInstancesTwoTenants();
+    doAnswer(new Answer<Void>() {
+      public Void answer(InvocationOnMock invocation) {
+        QueryResultHandler<HistoricActivityInstance> handler = (QueryResultHandler<HistoricActivityInstance>) invocation.getArguments()[0];
+        for (HistoricActivityInstance instance : instances) {
+          handler.handleResult(instance);
+        }
+        return null;
+      }
+    }).when(mockedQuery).forEach(any(QueryResultHandler.class));
+
+    Response response = given()
+        .queryParam("afterId", MockProvider.EXAMPLE_HISTORIC_ACTIVITY_INSTANCE_ID)
+      .then()
+        .expect()
+          .statusCode(Status.OK.getStatusCode())
+        .when()
+          .get(HISTORIC_ACTIVITY_INSTANCE_STREAM_RESOURCE_URL);
+
+    InOrder inOrder = inOrder(mockedQuery);
+    inOrder.verify(mockedQuery).afterId(MockProvider.EXAMPLE_HISTORIC_ACTIVITY_INSTANCE_ID);
+    inOrder.verify(mockedQuery).forEach(any(QueryResultHandler.class));
+    verify(mockedQuery, Mockito.never()).list();
+
+    String content = response.asString();
+    assertThat(from(content).getList("")).hasSize(2);
+    assertThat(from(content).getString("[0].tenantId")).isEqualTo(MockProvider.EXAMPLE_TENANT_ID);
+    assertThat(from(content).getString("[1].tenantId")).isEqualTo(MockProvider.ANOTHER_EXAMPLE_TENANT_ID);
+  }
 }
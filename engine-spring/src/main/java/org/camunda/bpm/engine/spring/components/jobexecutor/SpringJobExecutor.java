@@ -61,6 +61,16 @@ public class SpringJobExecutor extends JobExecutor {
     }
 	}
 
+	@Override
+	public boolean tryExecuteJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+		try {
+			taskExecutor.execute(getExecuteJobsRunnable(jobIds, processEngine));
+			return true;
+		} catch (RejectedExecutionException e) {
+			return false;
+		}
+	}
+
 	@Override
 	protected void startExecutingJobs() {
 		startJobAcquisitionThread();
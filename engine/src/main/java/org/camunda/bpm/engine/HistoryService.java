@@ -197,11 +197,19 @@ public interface HistoryService {
   Job cleanUpHistoryAsync(boolean immediatelyDue);
 
   /**
-   * Finds history cleanup job if present.
+   * Finds history cleanup job if present. If more than one history cleanup job exists
+   * (see {@link #findHistoryCleanupJobs()}), one of them is returned.
    * @return job entity
    */
   Job findHistoryCleanupJob();
 
+  /**
+   * Finds all history cleanup jobs. There is one job per degree of parallelism configured for the history cleanup.
+   * @return job entities
+   * @since 7.8
+   */
+  List<Job> findHistoryCleanupJobs();
+
   /**
    * Deletes historic process instances asynchronously. All historic activities, historic task and
    * historic details (variable updates, form properties) are deleted as well.
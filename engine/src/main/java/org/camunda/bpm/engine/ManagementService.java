@@ -31,6 +31,8 @@ import org.camunda.bpm.engine.management.ActivityStatisticsQuery;
 import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.management.MetricsHistogram;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.management.ProcessDefinitionStatisticsQuery;
 import org.camunda.bpm.engine.management.TableMetaData;
@@ -1134,6 +1136,20 @@ public interface ManagementService {
    */
   MetricsQuery createMetricsQuery();
 
+  /**
+   * Returns a snapshot of the latency histogram with the given name which
+   * was recorded by this process engine since it was started.
+   *
+   * @param name the name of the histogram, see constants in {@link Metrics}
+   *   like {@link Metrics#COMMAND_EXECUTION_TIME}
+   *
+   * @return the histogram or null if no histogram with the given name
+   *   exists or metrics are disabled
+   *
+   * @since 7.8
+   */
+  MetricsHistogram getMetricsHistogram(String name);
+
   /**
    * Deletes all metrics events which are older than the specified timestamp.
    * If the timestamp is null, all metrics will be deleted
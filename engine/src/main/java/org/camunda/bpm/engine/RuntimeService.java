@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.ExecutionQuery;
 import org.camunda.bpm.engine.runtime.Incident;
 import org.camunda.bpm.engine.runtime.IncidentQuery;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchBuilder;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
 import org.camunda.bpm.engine.runtime.ModificationBuilder;
 import org.camunda.bpm.engine.runtime.NativeExecutionQuery;
@@ -38,6 +39,7 @@ import org.camunda.bpm.engine.runtime.NativeProcessInstanceQuery;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.runtime.ProcessInstanceModificationBuilder;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+import org.camunda.bpm.engine.runtime.ProcessInstanceBatchBuilder;
 import org.camunda.bpm.engine.runtime.ProcessInstantiationBuilder;
 import org.camunda.bpm.engine.runtime.RestartProcessInstanceBuilder;
 import org.camunda.bpm.engine.runtime.SignalEventReceivedBuilder;
@@ -1715,6 +1717,17 @@ public interface RuntimeService {
    */
   MessageCorrelationBuilder createMessageCorrelation(String messageName);
 
+  /**
+   * Correlates many messages at once using a fluent builder. The messages are correlated
+   * in a bounded number of transactions and the waiting executions of messages which are
+   * correlated by message name and business key are resolved with a single query per transaction.
+   *
+   * @return the fluent builder for defining the messages to correlate.
+   *
+   * @since 7.8
+   */
+  MessageCorrelationBatchBuilder createMessageCorrelationBatch();
+
   /**
    * Correlates a message to either an execution that is waiting for this message or a process definition
    * that can be started by this message.
@@ -1927,6 +1940,36 @@ public interface RuntimeService {
    */
   ProcessInstantiationBuilder createProcessInstanceByKey(String processDefinitionKey);
 
+  /**
+   * Returns a fluent builder to start many instances of the exactly specified
+   * version of the process definition with the given id. The instances are
+   * started synchronously in transactions of a configurable size which share
+   * the lookup of the process definition and the authorization check.
+   *
+   * @param processDefinitionId
+   *          the id of the process definition, cannot be <code>null</code>.
+   *
+   * @return a builder to start the process instances
+   *
+   * @since 7.8
+   */
+  ProcessInstanceBatchBuilder createProcessInstanceBatchById(String processDefinitionId);
+
+  /**
+   * Returns a fluent builder to start many instances of the latest version of
+   * the process definition with the given key. The instances are started
+   * synchronously in transactions of a configurable size which share the
+   * lookup of the process definition and the authorization check.
+   *
+   * @param processDefinitionKey
+   *          the key of the process definition, cannot be <code>null</code>.
+   *
+   * @return a builder to start the process instances
+   *
+   * @since 7.8
+   */
+  ProcessInstanceBatchBuilder createProcessInstanceBatchByKey(String processDefinitionKey);
+
   /**
    * Creates a migration plan to migrate process instance between different process definitions.
    * Returns a fluent builder that can be used to specify migration instructions and build the plan.
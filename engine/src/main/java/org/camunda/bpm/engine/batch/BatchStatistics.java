@@ -13,6 +13,8 @@
 
 package org.camunda.bpm.engine.batch;
 
+import java.util.Date;
+
 /**
  * <p>
  *  Additional statistics for a single batch.
@@ -80,4 +82,30 @@ public interface BatchStatistics extends Batch {
    */
   int getFailedJobs();
 
+  /**
+   * <p>
+   *   The number of batch execution jobs completed per second. The value is
+   *   measured by this process engine, jobs executed by other process engines
+   *   of a cluster are not taken into account.
+   * </p>
+   *
+   * @return the number of completed batch execution jobs per second or <code>null</code>
+   * if no batch execution job was completed by this process engine yet
+   *
+   * @since 7.8
+   */
+  Double getJobsPerSecond();
+
+  /**
+   * <p>
+   *   The estimated completion time of the batch based on the number of remaining
+   *   batch execution jobs and {@link #getJobsPerSecond()}.
+   * </p>
+   *
+   * @return the estimated completion time or <code>null</code> if no throughput is known
+   *
+   * @since 7.8
+   */
+  Date getEstimatedEndTime();
+
 }
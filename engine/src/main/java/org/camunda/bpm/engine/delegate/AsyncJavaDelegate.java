@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.delegate;
+
+import org.camunda.bpm.engine.runtime.Incident;
+
+/**
+ * <p>Java delegation for a BPMN 2.0 service task which calls a remote service
+ * without blocking the calling thread, e.g. a job executor thread.</p>
+ *
+ * <p>The delegate is invoked in the transaction which reaches the service task.
+ * It starts the remote call and returns; the execution waits in the service
+ * task. Once the remote call finished, the delegate (or a callback of the
+ * client library it uses) calls the given {@link AsyncJavaDelegateCompletion}
+ * from any thread. Once the transaction which invoked the delegate committed,
+ * the completion is persisted as an exclusive job which continues the
+ * execution. The job is executed by the job executor and retried on failure
+ * like any other job.</p>
+ *
+ * <p>If the delegate fails the completion, or does not complete it within the
+ * configured timeout, an incident of type
+ * {@link Incident#ASYNC_JAVA_DELEGATE_HANDLER_TYPE} is created. Signaling the
+ * execution, or completing it late, leaves the service task and resolves the
+ * incident.</p>
+ *
+ * <p>A completion which is not called before the engine is shut down is lost:
+ * the execution keeps waiting in the service task until it is signaled. The
+ * timeout is a timer job and therefore fires after a restart.</p>
+ */
+public interface AsyncJavaDelegate {
+
+  /**
+   * Starts the work of the service task. Must not block until the work is done.
+   *
+   * @param execution the execution which waits in the service task; must only
+   *   be accessed while this method runs
+   * @param completion to be called exactly once when the work is done
+   */
+  void execute(DelegateExecution execution, AsyncJavaDelegateCompletion completion) throws Exception;
+
+}
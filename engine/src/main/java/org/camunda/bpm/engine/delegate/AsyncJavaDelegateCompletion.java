@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.delegate;
+
+import java.util.Map;
+
+/**
+ * Completes the service task of an {@link AsyncJavaDelegate}. Can be called from
+ * any thread. Only the first call takes effect. If the completion cannot be
+ * persisted, the call throws the exception and can be retried.
+ */
+public interface AsyncJavaDelegateCompletion {
+
+  /**
+   * Leaves the service task.
+   */
+  void complete();
+
+  /**
+   * Sets the given variables on the execution and leaves the service task.
+   */
+  void complete(Map<String, Object> variables);
+
+  /**
+   * Creates an incident for the service task.
+   */
+  void fail(Throwable cause);
+
+}
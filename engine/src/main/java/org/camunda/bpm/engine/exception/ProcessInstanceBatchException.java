@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.exception;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * <p>This exception is thrown, if starting a process instance of a
+ * {@link org.camunda.bpm.engine.runtime.ProcessInstanceBatchBuilder} failed after
+ * the instances of previous transactions were started. The cause is the exception
+ * of the failed transaction.</p>
+ */
+public class ProcessInstanceBatchException extends ProcessEngineException {
+
+  private static final long serialVersionUID = 1L;
+
+  protected List<String> startedProcessInstanceIds;
+
+  public ProcessInstanceBatchException(String message, Throwable cause, List<String> startedProcessInstanceIds) {
+    super(message, cause);
+    this.startedProcessInstanceIds = startedProcessInstanceIds;
+  }
+
+  /**
+   * @return the ids of the process instances which were started before the failed
+   *   transaction, in the order the instances were added
+   */
+  public List<String> getStartedProcessInstanceIds() {
+    return startedProcessInstanceIds;
+  }
+
+}
@@ -39,4 +39,16 @@ public interface ExternalTaskQueryBuilder {
    *   successfully locked
    */
   List<LockedExternalTask> execute();
+
+  /**
+   * Performs the fetching like {@link #execute()}. If no task can be locked, the request
+   * is parked until tasks of the given topics become available or the timeout expires
+   * (long polling). While parked, the calling thread is blocked.
+   *
+   * @param asyncResponseTimeout the maximum time in milliseconds to wait for tasks;
+   *   <code>0</code> returns immediately like {@link #execute()}
+   * @return fetched external tasks that match the topic and that can be
+   *   successfully locked; empty if no task could be locked until the timeout expired
+   */
+  List<LockedExternalTask> execute(long asyncResponseTimeout);
 }
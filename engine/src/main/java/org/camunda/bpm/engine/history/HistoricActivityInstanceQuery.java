@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.history;
 import java.util.Date;
 
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -28,6 +29,13 @@ public interface HistoricActivityInstanceQuery extends Query<HistoricActivityIns
   /** Only select historic activity instances with the given id (primary key within history tables). */
   HistoricActivityInstanceQuery activityInstanceId(String activityInstanceId);
 
+  /**
+   * Only select historic activity instances with an id greater than the given one.
+   * Can be used for keyset pagination in combination with the default ordering (by id):
+   * the next page starts after the id of the last result of the previous page.
+   */
+  HistoricActivityInstanceQuery afterId(String activityInstanceId);
+
   /** Only select historic activity instances with the given process instance.
    * {@link ProcessInstance) ids and {@link HistoricProcessInstance} ids match. */
   HistoricActivityInstanceQuery processInstanceId(String processInstanceId);
@@ -135,4 +143,11 @@ public interface HistoricActivityInstanceQuery extends Query<HistoricActivityIns
    */
   HistoricActivityInstanceQuery orderByTenantId();
 
+  /**
+   * Executes the query and passes the results one by one to the given handler.
+   * In contrast to {@link #list()}, the results are not collected in memory, so that
+   * large result sets can be processed.
+   */
+  void forEach(QueryResultHandler<HistoricActivityInstance> resultHandler);
+
 }
@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.history;
 
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 /**
  * @author Roman Smirnov
@@ -107,4 +108,11 @@ public interface HistoricIncidentQuery extends Query<HistoricIncidentQuery, Hist
    */
   HistoricIncidentQuery orderByTenantId();
 
+  /**
+   * Executes the query and passes the results one by one to the given handler.
+   * In contrast to {@link #list()}, the results are not collected in memory, so that
+   * large result sets can be processed.
+   */
+  void forEach(QueryResultHandler<HistoricIncident> resultHandler);
+
 }
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Set;
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
 
 /**
@@ -300,4 +301,12 @@ public interface HistoricProcessInstanceQuery extends Query<HistoricProcessInsta
 
   /** Only select historic process instances that executed an job before the given date. */
   HistoricProcessInstanceQuery executedJobBefore(Date date);
+
+  /**
+   * Executes the query and passes the results one by one to the given handler.
+   * In contrast to {@link #list()}, the results are not collected in memory, so that
+   * large result sets can be processed.
+   */
+  void forEach(QueryResultHandler<HistoricProcessInstance> resultHandler);
+
 }
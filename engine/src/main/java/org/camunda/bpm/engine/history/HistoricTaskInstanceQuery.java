@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.history;
 import java.util.Date;
 
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.task.Task;
 
 
@@ -371,4 +372,11 @@ public interface HistoricTaskInstanceQuery  extends Query<HistoricTaskInstanceQu
   /** Order by case execution id (needs to be followed by {@link #asc()} or {@link #desc()}). */
   HistoricTaskInstanceQuery orderByCaseExecutionId();
 
+  /**
+   * Executes the query and passes the results one by one to the given handler.
+   * In contrast to {@link #list()}, the results are not collected in memory, so that
+   * large result sets can be processed.
+   */
+  void forEach(QueryResultHandler<HistoricTaskInstance> resultHandler);
+
 }
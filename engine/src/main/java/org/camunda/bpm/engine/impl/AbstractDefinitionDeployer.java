@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
@@ -28,6 +29,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.Properties;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentParseExecutor;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
@@ -64,16 +66,74 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
   }
 
   protected List<DefinitionEntity> parseDefinitionResources(DeploymentEntity deployment, Properties properties) {
-    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    List<ResourceEntity> resources = new ArrayList<ResourceEntity>();
     for (ResourceEntity resource : deployment.getResources().values()) {
       LOG.debugProcessingResource(resource.getName());
       if (isResourceHandled(resource)) {
-        definitions.addAll(transformResource(deployment, resource, properties));
+        resources.add(resource);
       }
     }
+
+    DeploymentParseExecutor parseExecutor = getProcessEngineConfiguration().getDeploymentParseExecutor();
+    if (parseExecutor != null && resources.size() > 1 && isParallelTransformationSupported()) {
+      return transformResourcesInParallel(parseExecutor, deployment, resources, properties);
+    }
+
+    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    for (ResourceEntity resource : resources) {
+      definitions.addAll(transformResource(deployment, resource, properties));
+    }
+    return definitions;
+  }
+
+  /**
+   * Transforms the resources concurrently. Every resource is transformed with its own properties which
+   * are merged afterwards. The definitions and properties are merged in the order of the resources, so that
+   * the result (e.g. the ids and versions of the definitions) does not depend on the order in which the
+   * transformations complete.
+   */
+  protected List<DefinitionEntity> transformResourcesInParallel(DeploymentParseExecutor parseExecutor, final DeploymentEntity deployment,
+      List<ResourceEntity> resources, Properties properties) {
+
+    List<Properties> resourceProperties = new ArrayList<Properties>();
+    List<Callable<List<DefinitionEntity>>> transformations = new ArrayList<Callable<List<DefinitionEntity>>>();
+    for (final ResourceEntity resource : resources) {
+      final Properties transformationProperties = new Properties();
+      resourceProperties.add(transformationProperties);
+      transformations.add(new Callable<List<DefinitionEntity>>() {
+        public List<DefinitionEntity> call() throws Exception {
+          return transformDefinitions(deployment, resource, transformationProperties);
+        }
+      });
+    }
+
+    List<List<DefinitionEntity>> transformedDefinitions = parseExecutor.invokeAll(transformations);
+
+    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    for (int i = 0; i < resources.size(); i++) {
+      mergeTransformationProperties(properties, resourceProperties.get(i));
+      definitions.addAll(initDefinitions(deployment, resources.get(i), transformedDefinitions.get(i)));
+    }
     return definitions;
   }
 
+  /**
+   * Returns true if {@link #transformDefinitions(DeploymentEntity, ResourceEntity, Properties)} can be
+   * invoked concurrently for the resources of a deployment, i.e. it does neither access the database
+   * nor modify the deployment. Deployers which return true must merge the properties of the transformations
+   * in {@link #mergeTransformationProperties(Properties, Properties)}.
+   */
+  protected boolean isParallelTransformationSupported() {
+    return false;
+  }
+
+  /**
+   * Merges the properties of a resource which was transformed concurrently into the properties of the deployment.
+   */
+  protected void mergeTransformationProperties(Properties properties, Properties resourceProperties) {
+    // do nothing
+  }
+
   protected boolean isResourceHandled(ResourceEntity resource) {
     String resourceName = resource.getName();
 
@@ -92,8 +152,12 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
   protected abstract String[] getResourcesSuffixes();
 
   protected Collection<DefinitionEntity> transformResource(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
-    String resourceName = resource.getName();
     List<DefinitionEntity> definitions = transformDefinitions(deployment, resource, properties);
+    return initDefinitions(deployment, resource, definitions);
+  }
+
+  protected Collection<DefinitionEntity> initDefinitions(DeploymentEntity deployment, ResourceEntity resource, List<DefinitionEntity> definitions) {
+    String resourceName = resource.getName();
 
     for (DefinitionEntity definition : definitions) {
       definition.setResourceName(resourceName);
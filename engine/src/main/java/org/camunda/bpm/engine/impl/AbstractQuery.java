@@ -35,6 +35,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.query.QueryProperty;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.joda.time.DateTime;
 
 
@@ -51,10 +52,12 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
   public static final String SORTORDER_DESC = "desc";
 
   protected enum ResultType {
-    LIST, LIST_PAGE, LIST_IDS, SINGLE_RESULT, COUNT
+    LIST, LIST_PAGE, LIST_IDS, SINGLE_RESULT, COUNT, FOR_EACH
   }
   protected transient CommandExecutor commandExecutor;
 
+  protected transient QueryResultHandler<U> resultHandler;
+
   protected ResultType resultType;
 
   protected Map<String, String> expressions = new HashMap<String, String>();
@@ -150,6 +153,16 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return evaluateExpressionsAndExecuteList(Context.getCommandContext(), new Page(firstResult, maxResults));
   }
 
+  public void forEach(QueryResultHandler<U> resultHandler) {
+    this.resultType = ResultType.FOR_EACH;
+    this.resultHandler = resultHandler;
+    if (commandExecutor!=null) {
+      commandExecutor.execute(this);
+    } else {
+      evaluateExpressionsAndExecuteForEach(Context.getCommandContext(), resultHandler);
+    }
+  }
+
   public long count() {
     this.resultType = ResultType.COUNT;
     if (commandExecutor!=null) {
@@ -167,6 +180,9 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
       return evaluateExpressionsAndExecuteList(commandContext, null);
     } else if (resultType == ResultType.LIST_IDS) {
       return evaluateExpressionsAndExecuteIdsList(commandContext);
+    } else if (resultType == ResultType.FOR_EACH) {
+      evaluateExpressionsAndExecuteForEach(commandContext, resultHandler);
+      return null;
     } else {
       return evaluateExpressionsAndExecuteCount(commandContext);
     }
@@ -186,6 +202,14 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return !hasExcludingConditions() ? executeList(commandContext, page) : new ArrayList<U>();
   }
 
+  public void evaluateExpressionsAndExecuteForEach(CommandContext commandContext, QueryResultHandler<U> resultHandler) {
+    validate();
+    evaluateExpressions();
+    if (!hasExcludingConditions()) {
+      executeForEach(commandContext, resultHandler);
+    }
+  }
+
   /**
    * Whether or not the query has excluding conditions. If the query has excluding conditions,
    * (e.g. task due date before and after are excluding), the SQL query is avoided and a default result is
@@ -203,6 +227,16 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
    */
   public abstract List<U> executeList(CommandContext commandContext, Page page);
 
+  /**
+   * Executes the actual query and passes the results one by one to the handler.
+   * Subclasses override this method to read the results without collecting them in memory.
+   */
+  public void executeForEach(CommandContext commandContext, QueryResultHandler<U> resultHandler) {
+    for (U result : executeList(commandContext, null)) {
+      resultHandler.handleResult(result);
+    }
+  }
+
   public U executeSingleResult(CommandContext commandContext) {
     List<U> results = evaluateExpressionsAndExecuteList(commandContext, null);
     if (results.size() == 1) {
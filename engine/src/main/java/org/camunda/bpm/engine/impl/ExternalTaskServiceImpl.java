@@ -21,6 +21,7 @@ import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesSelectBuilder;
 import org.camunda.bpm.engine.impl.cmd.*;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskFetchAndLockDispatcher;
 import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImpl;
 
 /**
@@ -30,6 +31,8 @@ import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImp
  */
 public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTaskService {
 
+  protected ExternalTaskFetchAndLockDispatcher fetchAndLockDispatcher;
+
   @Override
   public ExternalTaskQueryBuilder fetchAndLock(int maxTasks, String workerId) {
     return fetchAndLock(maxTasks, workerId, false);
@@ -37,7 +40,7 @@ public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTask
 
   @Override
   public ExternalTaskQueryBuilder fetchAndLock(int maxTasks, String workerId, boolean usePriority) {
-    return new ExternalTaskQueryTopicBuilderImpl(commandExecutor, workerId, maxTasks, usePriority);
+    return new ExternalTaskQueryTopicBuilderImpl(commandExecutor, fetchAndLockDispatcher, workerId, maxTasks, usePriority);
   }
 
   public void complete(String externalTaskId, String workerId) {
@@ -108,4 +111,12 @@ public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTask
     commandExecutor.execute(new ExtendLockOnExternalTaskCmd(externalTaskId, workerId, lockDuration));
   }
 
+  public ExternalTaskFetchAndLockDispatcher getFetchAndLockDispatcher() {
+    return fetchAndLockDispatcher;
+  }
+
+  public void setFetchAndLockDispatcher(ExternalTaskFetchAndLockDispatcher fetchAndLockDispatcher) {
+    this.fetchAndLockDispatcher = fetchAndLockDispatcher;
+  }
+
 }
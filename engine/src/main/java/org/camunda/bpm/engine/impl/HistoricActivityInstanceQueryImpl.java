@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.pvm.runtime.ActivityInstanceState;
 import org.camunda.bpm.engine.impl.util.CompareUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 /**
  * @author Tom Baeyens
@@ -34,6 +35,7 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
 
   private static final long serialVersionUID = 1L;
   protected String activityInstanceId;
+  protected String afterId;
   protected String processInstanceId;
   protected String executionId;
   protected String processDefinitionId;
@@ -73,6 +75,14 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
       .findHistoricActivityInstancesByQueryCriteria(this, page);
   }
 
+  @Override
+  public void executeForEach(CommandContext commandContext, QueryResultHandler<HistoricActivityInstance> resultHandler) {
+    checkQueryOk();
+    commandContext
+      .getHistoricActivityInstanceManager()
+      .findHistoricActivityInstancesByQueryCriteria(this, resultHandler);
+  }
+
   public HistoricActivityInstanceQueryImpl processInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
     return this;
@@ -234,6 +244,12 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
     return this;
   }
 
+  public HistoricActivityInstanceQueryImpl afterId(String activityInstanceId) {
+    ensureNotNull("activityInstanceId", activityInstanceId);
+    this.afterId = activityInstanceId;
+    return this;
+  }
+
   // getters and setters //////////////////////////////////////////////////////
 
   public String getProcessInstanceId() {
@@ -266,6 +282,9 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
   public String getActivityInstanceId() {
     return activityInstanceId;
   }
+  public String getAfterId() {
+    return afterId;
+  }
   public Date getStartedAfter() {
     return startedAfter;
   }
@@ -170,6 +170,8 @@ public class HistoricDetailQueryImpl extends AbstractQuery<HistoricDetailQuery,
       .getHistoricDetailManager()
       .findHistoricDetailsByQueryCriteria(this, page);
     if (historicDetails!=null) {
+      prefetchByteArrays(commandContext, historicDetails);
+
       for (HistoricDetail historicDetail: historicDetails) {
         if (historicDetail instanceof HistoricDetailVariableInstanceUpdateEntity) {
           HistoricDetailVariableInstanceUpdateEntity entity = (HistoricDetailVariableInstanceUpdateEntity) historicDetail;
@@ -195,6 +197,19 @@ public class HistoricDetailQueryImpl extends AbstractQuery<HistoricDetailQuery,
         || !AbstractTypedValueSerializer.BINARY_VALUE_TYPES.contains(entity.getSerializer().getType().getName());
   }
 
+  protected void prefetchByteArrays(CommandContext commandContext, List<HistoricDetail> historicDetails) {
+    List<String> byteArrayIds = new ArrayList<String>();
+    for (HistoricDetail historicDetail : historicDetails) {
+      if (historicDetail instanceof HistoricDetailVariableInstanceUpdateEntity) {
+        HistoricDetailVariableInstanceUpdateEntity entity = (HistoricDetailVariableInstanceUpdateEntity) historicDetail;
+        if (shouldFetchValue(entity)) {
+          byteArrayIds.add(entity.getByteArrayValueId());
+        }
+      }
+    }
+    commandContext.getByteArrayManager().prefetchByteArrays(byteArrayIds);
+  }
+
   // order by /////////////////////////////////////////////////////////////////
 
   public HistoricDetailQuery orderByProcessInstanceId() {
@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.history.HistoricIncidentQuery;
 import org.camunda.bpm.engine.history.IncidentState;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 /**
  * @author Roman Smirnov
@@ -230,6 +231,14 @@ public class HistoricIncidentQueryImpl extends AbstractVariableQueryImpl<Histori
       .findHistoricIncidentByQueryCriteria(this, page);
   }
 
+  @Override
+  public void executeForEach(CommandContext commandContext, QueryResultHandler<HistoricIncident> resultHandler) {
+    checkQueryOk();
+    commandContext
+      .getHistoricIncidentManager()
+      .findHistoricIncidentByQueryCriteria(this, resultHandler);
+  }
+
 
   // getters /////////////////////////////////////////////////////
 
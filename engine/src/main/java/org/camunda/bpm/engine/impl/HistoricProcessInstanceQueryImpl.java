@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.util.CompareUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsEmptyString;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
@@ -294,6 +295,15 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
       .findHistoricProcessInstancesByQueryCriteria(this, page);
   }
 
+  @Override
+  public void executeForEach(CommandContext commandContext, QueryResultHandler<HistoricProcessInstance> resultHandler) {
+    checkQueryOk();
+    ensureVariablesInitialized();
+    commandContext
+      .getHistoricProcessInstanceManager()
+      .findHistoricProcessInstancesByQueryCriteria(this, resultHandler);
+  }
+
   public List<String> executeIdsList(CommandContext commandContext) {
     checkQueryOk();
     ensureVariablesInitialized();
@@ -27,6 +27,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.util.CompareUtil;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -115,6 +116,15 @@ public class HistoricTaskInstanceQueryImpl extends AbstractQuery<HistoricTaskIns
       .findHistoricTaskInstancesByQueryCriteria(this, page);
   }
 
+  @Override
+  public void executeForEach(CommandContext commandContext, QueryResultHandler<HistoricTaskInstance> resultHandler) {
+    ensureVariablesInitialized();
+    checkQueryOk();
+    commandContext
+      .getHistoricTaskInstanceManager()
+      .findHistoricTaskInstancesByQueryCriteria(this, resultHandler);
+  }
+
 
   public HistoricTaskInstanceQueryImpl processInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
@@ -191,6 +192,8 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
             .findHistoricVariableInstancesByQueryCriteria(this, page);
 
     if (historicVariableInstances!=null) {
+      prefetchByteArrays(commandContext, historicVariableInstances);
+
       for (HistoricVariableInstance historicVariableInstance: historicVariableInstances) {
 
         HistoricVariableInstanceEntity variableInstanceEntity = (HistoricVariableInstanceEntity) historicVariableInstance;
@@ -215,6 +218,17 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
         || !AbstractTypedValueSerializer.BINARY_VALUE_TYPES.contains(entity.getSerializer().getType().getName());
   }
 
+  protected void prefetchByteArrays(CommandContext commandContext, List<HistoricVariableInstance> historicVariableInstances) {
+    List<String> byteArrayIds = new ArrayList<String>();
+    for (HistoricVariableInstance historicVariableInstance : historicVariableInstances) {
+      HistoricVariableInstanceEntity variableInstanceEntity = (HistoricVariableInstanceEntity) historicVariableInstance;
+      if (shouldFetchValue(variableInstanceEntity)) {
+        byteArrayIds.add(variableInstanceEntity.getByteArrayId());
+      }
+    }
+    commandContext.getByteArrayManager().prefetchByteArrays(byteArrayIds);
+  }
+
   // order by /////////////////////////////////////////////////////////////////
 
   public HistoricVariableInstanceQuery orderByProcessInstanceId() {
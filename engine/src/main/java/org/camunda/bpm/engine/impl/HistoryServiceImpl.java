@@ -48,6 +48,7 @@ import org.camunda.bpm.engine.history.UserOperationLogQuery;
 import org.camunda.bpm.engine.impl.batch.history.DeleteHistoricBatchCmd;
 import org.camunda.bpm.engine.impl.batch.history.HistoricBatchQueryImpl;
 import org.camunda.bpm.engine.impl.cmd.FindHistoryCleanupJobCmd;
+import org.camunda.bpm.engine.impl.cmd.FindHistoryCleanupJobsCmd;
 import org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricCaseInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricCaseInstancesBulkCmd;
@@ -153,6 +154,11 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
     return commandExecutor.execute(new FindHistoryCleanupJobCmd());
   }
 
+  @Override
+  public List<Job> findHistoryCleanupJobs() {
+    return commandExecutor.execute(new FindHistoryCleanupJobsCmd());
+  }
+
   public Batch deleteHistoricProcessInstancesAsync(List<String> processInstanceIds, String deleteReason) {
     return this.deleteHistoricProcessInstancesAsync(processInstanceIds,null,deleteReason);
   }
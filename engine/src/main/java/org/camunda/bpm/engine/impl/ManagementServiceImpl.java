@@ -35,6 +35,7 @@ import org.camunda.bpm.engine.impl.metrics.MetricsQueryImpl;
 import org.camunda.bpm.engine.management.ActivityStatisticsQuery;
 import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
+import org.camunda.bpm.engine.management.MetricsHistogram;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.management.ProcessDefinitionStatisticsQuery;
 import org.camunda.bpm.engine.management.TableMetaData;
@@ -420,6 +421,10 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
     return new MetricsQueryImpl(commandExecutor);
   }
 
+  public MetricsHistogram getMetricsHistogram(String name) {
+    return commandExecutor.execute(new GetMetricsHistogramCmd(name));
+  }
+
   public void deleteMetrics(Date timestamp) {
     commandExecutor.execute(new DeleteMetricsCmd(timestamp, null));
   }
@@ -0,0 +1,121 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureInstanceOf;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensurePositive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.cmd.CorrelateMessageBatchCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBatchResultImpl;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+
+public class MessageCorrelationBatchBuilderImpl implements MessageCorrelationBatchBuilder {
+
+  public static final int DEFAULT_TRANSACTION_SIZE = 100;
+
+  protected CommandExecutor commandExecutor;
+
+  protected List<MessageCorrelationBuilderImpl> messages = new ArrayList<MessageCorrelationBuilderImpl>();
+  protected int transactionSize = DEFAULT_TRANSACTION_SIZE;
+
+  public MessageCorrelationBatchBuilderImpl(CommandExecutor commandExecutor) {
+    ensureNotNull("commandExecutor", commandExecutor);
+    this.commandExecutor = commandExecutor;
+  }
+
+  public MessageCorrelationBatchBuilder message(String messageName, String businessKey, Map<String, Object> correlationKeys, Map<String, Object> variables) {
+    ensureNotNull("messageName", messageName);
+
+    MessageCorrelationBuilderImpl message = new MessageCorrelationBuilderImpl(commandExecutor, messageName);
+    if (businessKey != null) {
+      message.processInstanceBusinessKey(businessKey);
+    }
+    if (correlationKeys != null && !correlationKeys.isEmpty()) {
+      message.processInstanceVariablesEqual(correlationKeys);
+    }
+    if (variables != null) {
+      message.setVariables(variables);
+    }
+
+    messages.add(message);
+    return this;
+  }
+
+  public MessageCorrelationBatchBuilder message(MessageCorrelationBuilder messageCorrelation) {
+    ensureNotNull("messageCorrelation", messageCorrelation);
+    ensureInstanceOf("messageCorrelation", messageCorrelation, MessageCorrelationBuilderImpl.class);
+
+    MessageCorrelationBuilderImpl message = (MessageCorrelationBuilderImpl) messageCorrelation;
+    message.ensureProcessDefinitionIdNotSet();
+    message.ensureProcessInstanceAndTenantIdNotSet();
+
+    messages.add(message);
+    return this;
+  }
+
+  public MessageCorrelationBatchBuilder transactionSize(int transactionSize) {
+    ensurePositive("transactionSize", (long) transactionSize);
+    this.transactionSize = transactionSize;
+    return this;
+  }
+
+  public List<MessageCorrelationBatchResult> correlateWithResult() {
+    List<MessageCorrelationBatchResult> results = new ArrayList<MessageCorrelationBatchResult>(messages.size());
+
+    for (int fromIndex = 0; fromIndex < messages.size(); fromIndex += transactionSize) {
+      int toIndex = Math.min(fromIndex + transactionSize, messages.size());
+      results.addAll(correlate(messages.subList(fromIndex, toIndex)));
+    }
+
+    return results;
+  }
+
+  protected List<MessageCorrelationBatchResult> correlate(List<MessageCorrelationBuilderImpl> batch) {
+    try {
+      return commandExecutor.execute(new CorrelateMessageBatchCmd(new ArrayList<MessageCorrelationBuilderImpl>(batch)));
+
+    } catch (RuntimeException e) {
+      if (batch.size() == 1) {
+        MessageCorrelationBuilderImpl message = batch.get(0);
+        MessageCorrelationBatchResult result = MessageCorrelationBatchResultImpl.failed(message.getMessageName(), message.getBusinessKey(), e);
+        return Collections.singletonList(result);
+      }
+
+      // the transaction was rolled back, so correlate every message
+      // in its own transaction to isolate the failing message
+      List<MessageCorrelationBatchResult> results = new ArrayList<MessageCorrelationBatchResult>(batch.size());
+      for (MessageCorrelationBuilderImpl message : batch) {
+        results.addAll(correlate(Collections.singletonList(message)));
+      }
+      return results;
+    }
+  }
+
+  public List<MessageCorrelationBuilderImpl> getMessages() {
+    return messages;
+  }
+
+  public int getTransactionSize() {
+    return transactionSize;
+  }
+
+}
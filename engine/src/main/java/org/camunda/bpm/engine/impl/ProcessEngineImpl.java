@@ -30,12 +30,14 @@ import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
 
 /**
  * @author Tom Baeyens
@@ -110,6 +112,14 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.registerProcessEngine(this);
     }
 
+    if (processEngineConfiguration.getHistoryOutboxWriter() != null) {
+      processEngineConfiguration.getHistoryOutboxWriter().start();
+    }
+
+    if (processEngineConfiguration.getDeploymentCacheInvalidator() != null) {
+      processEngineConfiguration.getDeploymentCacheInvalidator().start();
+    }
+
     if (processEngineConfiguration.isMetricsEnabled()) {
       String reporterId = processEngineConfiguration.getMetricsReporterIdProvider().provideId(this);
       DbMetricsReporter dbMetricsReporter = processEngineConfiguration.getDbMetricsReporter();
@@ -125,6 +135,11 @@ public class ProcessEngineImpl implements ProcessEngine {
       processEngineConfiguration.getHistoryService().cleanUpHistoryAsync();
     }
 
+    if (processEngineConfiguration.isDeploymentCacheWarmUpEnabled()
+        && managementService.getTableMetaData("ACT_RE_PROCDEF") != null) {
+      new DeploymentCacheWarmUp(commandExecutor, processEngineConfiguration.getDeploymentParseExecutor()).warmUp();
+    }
+
   }
 
   protected void executeSchemaOperations() {
@@ -137,6 +152,15 @@ public class ProcessEngineImpl implements ProcessEngine {
 
     ProcessEngines.unregister(this);
 
+    if (processEngineConfiguration.getHistoryOutboxWriter() != null) {
+      // write the remaining history events
+      processEngineConfiguration.getHistoryOutboxWriter().stop();
+    }
+
+    if (processEngineConfiguration.getDeploymentCacheInvalidator() != null) {
+      processEngineConfiguration.getDeploymentCacheInvalidator().stop();
+    }
+
     if(processEngineConfiguration.isMetricsEnabled()) {
       processEngineConfiguration.getDbMetricsReporter().stop();
     }
@@ -146,6 +170,20 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.unregisterProcessEngine(this);
     }
 
+    if (processEngineConfiguration.getDeploymentParseExecutor() != null) {
+      processEngineConfiguration.getDeploymentParseExecutor().shutdown();
+    }
+
+    if (processEngineConfiguration.getIdGenerator() instanceof PrefetchingDbIdGenerator) {
+      // stop the thread which prefetches id blocks
+      ((PrefetchingDbIdGenerator) processEngineConfiguration.getIdGenerator()).shutdown();
+    }
+
+    if (processEngineConfiguration.getExternalTaskFetchAndLockDispatcher() != null) {
+      // complete parked fetch and lock requests
+      processEngineConfiguration.getExternalTaskFetchAndLockDispatcher().shutdown();
+    }
+
     commandExecutorSchemaOperations.execute(new SchemaOperationProcessEngineClose());
 
     processEngineConfiguration.close();
@@ -0,0 +1,140 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensurePositive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.cmd.CommandLogger;
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceBatchCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.runtime.ProcessInstanceBatchBuilder;
+
+public class ProcessInstanceBatchBuilderImpl implements ProcessInstanceBatchBuilder {
+
+  private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  public static final int DEFAULT_TRANSACTION_SIZE = 100;
+
+  protected CommandExecutor commandExecutor;
+
+  protected String processDefinitionId;
+  protected String processDefinitionKey;
+
+  protected String processDefinitionTenantId;
+  protected boolean isProcessDefinitionTenantIdSet = false;
+
+  protected List<String> businessKeys = new ArrayList<String>();
+  protected List<Map<String, Object>> variables = new ArrayList<Map<String, Object>>();
+
+  protected int transactionSize = DEFAULT_TRANSACTION_SIZE;
+
+  protected ProcessInstanceBatchBuilderImpl(CommandExecutor commandExecutor) {
+    ensureNotNull("commandExecutor", commandExecutor);
+    this.commandExecutor = commandExecutor;
+  }
+
+  public ProcessInstanceBatchBuilder instance(String businessKey, Map<String, Object> variables) {
+    this.businessKeys.add(businessKey);
+    this.variables.add(variables);
+    return this;
+  }
+
+  public ProcessInstanceBatchBuilder processDefinitionTenantId(String tenantId) {
+    this.processDefinitionTenantId = tenantId;
+    isProcessDefinitionTenantIdSet = true;
+    return this;
+  }
+
+  public ProcessInstanceBatchBuilder processDefinitionWithoutTenantId() {
+    this.processDefinitionTenantId = null;
+    isProcessDefinitionTenantIdSet = true;
+    return this;
+  }
+
+  public ProcessInstanceBatchBuilder transactionSize(int transactionSize) {
+    ensurePositive("transactionSize", (long) transactionSize);
+    this.transactionSize = transactionSize;
+    return this;
+  }
+
+  public List<String> execute() {
+    ensureOnlyOneNotNull("either process definition id or key must be set", processDefinitionId, processDefinitionKey);
+
+    if (isProcessDefinitionTenantIdSet && processDefinitionId != null) {
+      throw LOG.exceptionStartProcessInstanceByIdAndTenantId();
+    }
+
+    List<String> processInstanceIds = new ArrayList<String>(businessKeys.size());
+
+    // the remaining transactions start their instances in the version resolved by the first one
+    String resolvedProcessDefinitionId = null;
+
+    for (int fromIndex = 0; fromIndex < businessKeys.size(); fromIndex += transactionSize) {
+      int toIndex = Math.min(fromIndex + transactionSize, businessKeys.size());
+
+      StartProcessInstanceBatchCmd command = new StartProcessInstanceBatchCmd(this, resolvedProcessDefinitionId,
+          businessKeys.subList(fromIndex, toIndex), variables.subList(fromIndex, toIndex));
+      try {
+        processInstanceIds.addAll(commandExecutor.execute(command));
+      } catch (RuntimeException e) {
+        if (processInstanceIds.isEmpty()) {
+          throw e;
+        }
+        throw LOG.startProcessInstanceBatchFailed(processInstanceIds, e);
+      }
+
+      resolvedProcessDefinitionId = command.getProcessDefinitionId();
+    }
+
+    return processInstanceIds;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public String getProcessDefinitionKey() {
+    return processDefinitionKey;
+  }
+
+  public String getProcessDefinitionTenantId() {
+    return processDefinitionTenantId;
+  }
+
+  public boolean isProcessDefinitionTenantIdSet() {
+    return isProcessDefinitionTenantIdSet;
+  }
+
+  public int getTransactionSize() {
+    return transactionSize;
+  }
+
+  public static ProcessInstanceBatchBuilder createProcessInstanceBatchById(CommandExecutor commandExecutor, String processDefinitionId) {
+    ProcessInstanceBatchBuilderImpl builder = new ProcessInstanceBatchBuilderImpl(commandExecutor);
+    builder.processDefinitionId = processDefinitionId;
+    return builder;
+  }
+
+  public static ProcessInstanceBatchBuilder createProcessInstanceBatchByKey(CommandExecutor commandExecutor, String processDefinitionKey) {
+    ProcessInstanceBatchBuilderImpl builder = new ProcessInstanceBatchBuilderImpl(commandExecutor);
+    builder.processDefinitionKey = processDefinitionKey;
+    return builder;
+  }
+
+}
@@ -53,6 +53,7 @@ import org.camunda.bpm.engine.runtime.EventSubscriptionQuery;
 import org.camunda.bpm.engine.runtime.ExecutionQuery;
 import org.camunda.bpm.engine.runtime.Incident;
 import org.camunda.bpm.engine.runtime.IncidentQuery;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchBuilder;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
 import org.camunda.bpm.engine.runtime.ModificationBuilder;
 import org.camunda.bpm.engine.runtime.NativeExecutionQuery;
@@ -60,6 +61,7 @@ import org.camunda.bpm.engine.runtime.NativeProcessInstanceQuery;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.runtime.ProcessInstanceModificationBuilder;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+import org.camunda.bpm.engine.runtime.ProcessInstanceBatchBuilder;
 import org.camunda.bpm.engine.runtime.ProcessInstantiationBuilder;
 import org.camunda.bpm.engine.runtime.RestartProcessInstanceBuilder;
 import org.camunda.bpm.engine.runtime.SignalEventReceivedBuilder;
@@ -600,6 +602,11 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     return new MessageCorrelationBuilderImpl(commandExecutor, messageName);
   }
 
+  @Override
+  public MessageCorrelationBatchBuilder createMessageCorrelationBatch() {
+    return new MessageCorrelationBatchBuilderImpl(commandExecutor);
+  }
+
   @Override
   public void correlateMessage(String messageName, Map<String, Object> correlationKeys, Map<String, Object> processVariables) {
     createMessageCorrelation(messageName)
@@ -661,6 +668,16 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     return ProcessInstantiationBuilderImpl.createProcessInstanceByKey(commandExecutor, processDefinitionKey);
   }
 
+  @Override
+  public ProcessInstanceBatchBuilder createProcessInstanceBatchById(String processDefinitionId) {
+    return ProcessInstanceBatchBuilderImpl.createProcessInstanceBatchById(commandExecutor, processDefinitionId);
+  }
+
+  @Override
+  public ProcessInstanceBatchBuilder createProcessInstanceBatchByKey(String processDefinitionKey) {
+    return ProcessInstanceBatchBuilderImpl.createProcessInstanceBatchByKey(commandExecutor, processDefinitionKey);
+  }
+
   @Override
   public MigrationPlanBuilder createMigrationPlan(String sourceProcessDefinitionId, String targetProcessDefinitionId) {
     return new MigrationPlanBuilderImpl(commandExecutor, sourceProcessDefinitionId, targetProcessDefinitionId);
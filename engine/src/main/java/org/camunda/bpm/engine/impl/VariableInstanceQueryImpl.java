@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
@@ -179,6 +180,8 @@ public class VariableInstanceQueryImpl extends AbstractVariableQueryImpl<Variabl
       return result;
     }
 
+    prefetchByteArrays(commandContext, result);
+
     // iterate over the result array to initialize the value and serialized value of the variable
     for (VariableInstance variableInstance : result) {
       VariableInstanceEntity variableInstanceEntity = (VariableInstanceEntity) variableInstance;
@@ -204,6 +207,17 @@ public class VariableInstanceQueryImpl extends AbstractVariableQueryImpl<Variabl
         || !AbstractTypedValueSerializer.BINARY_VALUE_TYPES.contains(entity.getSerializer().getType().getName());
   }
 
+  protected void prefetchByteArrays(CommandContext commandContext, List<VariableInstance> variableInstances) {
+    List<String> byteArrayIds = new ArrayList<String>();
+    for (VariableInstance variableInstance : variableInstances) {
+      VariableInstanceEntity variableInstanceEntity = (VariableInstanceEntity) variableInstance;
+      if (shouldFetchValue(variableInstanceEntity)) {
+        byteArrayIds.add(variableInstanceEntity.getByteArrayValueId());
+      }
+    }
+    commandContext.getByteArrayManager().prefetchByteArrays(byteArrayIds);
+  }
+
   // getters ////////////////////////////////////////////////////
 
   public String getVariableId() {
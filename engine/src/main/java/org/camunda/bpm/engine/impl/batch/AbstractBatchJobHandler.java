@@ -43,15 +43,23 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
 
   @Override
   public boolean createJobs(BatchEntity batch) {
+    return createJobs(batch, batch.getBatchJobsPerSeed(), batch.getInvocationsPerBatchJob());
+  }
+
+  /**
+   * Creates up to the given number of batch jobs with the given number of invocations each.
+   * If the number of invocations differs from the one of the batch, the batch is updated
+   * accordingly, including its total number of jobs.
+   *
+   * @return true if all jobs of the batch are created
+   */
+  public boolean createJobs(BatchEntity batch, int batchJobsPerSeed, int invocationsPerBatchJob) {
     CommandContext commandContext = Context.getCommandContext();
     ByteArrayManager byteArrayManager = commandContext.getByteArrayManager();
     JobManager jobManager = commandContext.getJobManager();
 
     T configuration = readConfiguration(batch.getConfigurationBytes());
 
-    int batchJobsPerSeed = batch.getBatchJobsPerSeed();
-    int invocationsPerBatchJob = batch.getInvocationsPerBatchJob();
-
     List<String> ids = configuration.getIds();
     int numberOfItemsToProcess = Math.min(invocationsPerBatchJob * batchJobsPerSeed, ids.size());
     // view of process instances to process
@@ -77,6 +85,13 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
     // update created jobs for batch
     batch.setJobsCreated(batch.getJobsCreated() + createdJobs);
 
+    if (invocationsPerBatchJob != batch.getInvocationsPerBatchJob()) {
+      // jobs still to create are based on the new number of invocations
+      int jobsToCreate = (ids.size() + invocationsPerBatchJob - 1) / invocationsPerBatchJob;
+      batch.setInvocationsPerBatchJob(invocationsPerBatchJob);
+      batch.setTotalJobs(batch.getJobsCreated() + jobsToCreate);
+    }
+
     // update batch configuration
     batch.setConfigurationBytes(writeConfiguration(configuration));
 
@@ -95,6 +110,22 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
     return getJobDeclaration().createJobInstance(creationContext);
   }
 
+  /**
+   * @return the number of invocations of the given batch job; the configuration of the job is
+   * cached by the entity manager, so that the job execution does not select it again
+   */
+  public int getInvocations(JobEntity job) {
+    BatchJobConfiguration jobConfiguration = newConfiguration(job.getJobHandlerConfigurationRaw());
+    ByteArrayEntity configurationEntity = Context.getCommandContext()
+        .getDbEntityManager()
+        .selectById(ByteArrayEntity.class, jobConfiguration.getConfigurationByteArrayId());
+
+    if (configurationEntity == null) {
+      return 1;
+    }
+    return readConfiguration(configurationEntity.getBytes()).getIds().size();
+  }
+
   @Override
   public void deleteJobs(BatchEntity batch) {
     List<JobEntity> jobs = Context.getCommandContext()
@@ -227,6 +227,8 @@ public class BatchEntity implements Batch, DbEntity, Nameable, HasDbRevision {
   public Object getPersistentState() {
     HashMap<String, Object> persistentState = new HashMap<String, Object>();
     persistentState.put("jobsCreated", jobsCreated);
+    persistentState.put("totalJobs", totalJobs);
+    persistentState.put("invocationsPerBatchJob", invocationsPerBatchJob);
     return persistentState;
   }
 
@@ -267,7 +269,17 @@ public class BatchEntity implements Batch, DbEntity, Nameable, HasDbRevision {
   }
 
   public JobEntity createSeedJob() {
+    return createSeedJob(null);
+  }
+
+  /**
+   * @param dueDate the due date of the seed job, <code>null</code> to execute it as soon as possible
+   */
+  public JobEntity createSeedJob(Date dueDate) {
     JobEntity seedJob = BATCH_SEED_JOB_DECLARATION.createJobInstance(this);
+    if (dueDate != null) {
+      seedJob.setDuedate(dueDate);
+    }
 
     Context.getCommandContext().getJobManager().insertAndHintJobExecutor(seedJob);
 
@@ -330,6 +342,11 @@ public class BatchEntity implements Batch, DbEntity, Nameable, HasDbRevision {
     commandContext.getBatchManager().delete(this);
     configuration.deleteByteArrayValue();
 
+    BatchThroughputMonitor batchThroughputMonitor = commandContext.getProcessEngineConfiguration().getBatchThroughputMonitor();
+    if (batchThroughputMonitor != null) {
+      batchThroughputMonitor.remove(batchJobDefinitionId);
+    }
+
     fireHistoricEndEvent();
 
     if (cascadeToHistory) {
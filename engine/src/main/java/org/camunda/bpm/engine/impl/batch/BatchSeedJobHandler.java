@@ -14,12 +14,18 @@ package org.camunda.bpm.engine.impl.batch;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.JobQueryImpl;
 import org.camunda.bpm.engine.impl.batch.BatchSeedJobHandler.BatchSeedJobConfiguration;
+import org.camunda.bpm.engine.impl.batch.BatchThroughputMonitor.BatchThroughput;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandlerConfiguration;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
 
 /**
  * The batch seed job handler is responsible to
@@ -33,6 +39,11 @@ public class BatchSeedJobHandler implements JobHandler<BatchSeedJobConfiguration
 
   public static final String TYPE = "batch-seed-job";
 
+  /**
+   * With adaptive seeding, a batch job has at most this many times the configured invocations per batch job
+   */
+  public static final int MAX_INVOCATIONS_FACTOR = 10;
+
   public String getType() {
     return TYPE;
   }
@@ -48,6 +59,12 @@ public class BatchSeedJobHandler implements JobHandler<BatchSeedJobConfiguration
         .getBatchHandlers()
         .get(batch.getType());
 
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isBatchAdaptiveSeedingEnabled() && batchJobHandler instanceof AbstractBatchJobHandler) {
+      seedAdaptively(batch, (AbstractBatchJobHandler<?>) batchJobHandler, commandContext);
+      return;
+    }
+
     boolean done = batchJobHandler.createJobs(batch);
 
     if (!done) {
@@ -60,6 +77,82 @@ public class BatchSeedJobHandler implements JobHandler<BatchSeedJobConfiguration
     }
   }
 
+  /**
+   * Creates the batch jobs depending on the current load: no jobs are created while the job executor
+   * is saturated or the batch already has the maximum number of outstanding jobs. If the batch jobs
+   * were executed completely since the last seed run, twice the number of jobs per seed is created.
+   * The number of invocations per job is chosen so that a job takes about the configured target duration.
+   * The next seed job is delayed to respect the target invocations per second.
+   */
+  protected void seedAdaptively(BatchEntity batch, AbstractBatchJobHandler<?> batchJobHandler, CommandContext commandContext) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+
+    long outstandingJobs = commandContext.getJobManager()
+        .findJobCountByQueryCriteria(new JobQueryImpl().jobDefinitionId(batch.getBatchJobDefinitionId()).withRetriesLeft());
+    int jobsToCreate = calculateJobsToCreate(batch, outstandingJobs, processEngineConfiguration);
+    int invocationsPerBatchJob = calculateInvocationsPerBatchJob(batch, processEngineConfiguration);
+
+    int jobsCreated = batch.getJobsCreated();
+    boolean done = batchJobHandler.createJobs(batch, jobsToCreate, invocationsPerBatchJob);
+    int createdInvocations = (batch.getJobsCreated() - jobsCreated) * invocationsPerBatchJob;
+
+    if (!done) {
+      batch.createSeedJob(calculateNextSeedDueDate(createdInvocations, processEngineConfiguration));
+    }
+    else {
+      batch.createMonitorJob(false);
+    }
+  }
+
+  protected int calculateJobsToCreate(BatchEntity batch, long outstandingJobs, ProcessEngineConfigurationImpl processEngineConfiguration) {
+    int jobsToCreate;
+    if (processEngineConfiguration.getJobExecutor().isSaturated()) {
+      // keep the batch going but leave the job executor to other jobs
+      jobsToCreate = outstandingJobs == 0 ? 1 : 0;
+    }
+    else if (outstandingJobs == 0) {
+      jobsToCreate = 2 * batch.getBatchJobsPerSeed();
+    }
+    else {
+      jobsToCreate = batch.getBatchJobsPerSeed();
+    }
+
+    int maxOutstandingJobs = processEngineConfiguration.getBatchMaxOutstandingJobs();
+    if (maxOutstandingJobs > 0) {
+      jobsToCreate = (int) Math.max(0, Math.min(jobsToCreate, maxOutstandingJobs - outstandingJobs));
+    }
+    return jobsToCreate;
+  }
+
+  protected int calculateInvocationsPerBatchJob(BatchEntity batch, ProcessEngineConfigurationImpl processEngineConfiguration) {
+    BatchThroughput throughput = processEngineConfiguration.getBatchThroughputMonitor().getThroughput(batch.getBatchJobDefinitionId());
+    if (throughput == null || throughput.getAverageInvocationDuration() <= 0) {
+      return batch.getInvocationsPerBatchJob();
+    }
+
+    double invocationDuration = throughput.getAverageInvocationDuration();
+    long targetInvocations = Math.round(processEngineConfiguration.getBatchJobTargetDuration() / invocationDuration);
+    int maxInvocations = MAX_INVOCATIONS_FACTOR * Math.max(1, processEngineConfiguration.getInvocationsPerBatchJob());
+
+    return (int) Math.max(1, Math.min(maxInvocations, targetInvocations));
+  }
+
+  protected Date calculateNextSeedDueDate(int createdInvocations, ProcessEngineConfigurationImpl processEngineConfiguration) {
+    long now = ClockUtil.getCurrentTime().getTime();
+    int targetInvocationsPerSecond = processEngineConfiguration.getBatchTargetInvocationsPerSecond();
+
+    if (createdInvocations == 0) {
+      // throttled, check again later
+      return new Date(now + processEngineConfiguration.getBatchPollTime() * 1000L);
+    }
+    else if (targetInvocationsPerSecond > 0) {
+      return new Date(now + createdInvocations * 1000L / targetInvocationsPerSecond);
+    }
+    else {
+      return null;
+    }
+  }
+
   @Override
   public BatchSeedJobConfiguration newConfiguration(String canonicalString) {
     return new BatchSeedJobConfiguration(canonicalString);
@@ -13,12 +13,18 @@
 
 package org.camunda.bpm.engine.impl.batch;
 
+import java.util.Date;
+
 import org.camunda.bpm.engine.batch.BatchStatistics;
+import org.camunda.bpm.engine.impl.batch.BatchThroughputMonitor.BatchThroughput;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
 
 public class BatchStatisticsEntity extends BatchEntity implements BatchStatistics {
 
   protected int remainingJobs;
   protected int failedJobs;
+  protected Double jobsPerSecond;
+  protected Date estimatedEndTime;
 
   public int getRemainingJobs() {
     return remainingJobs + getJobsToCreate();
@@ -44,6 +50,22 @@ public class BatchStatisticsEntity extends BatchEntity implements BatchStatistic
     return totalJobs - jobsCreated;
   }
 
+  public Double getJobsPerSecond() {
+    return jobsPerSecond;
+  }
+
+  public Date getEstimatedEndTime() {
+    return estimatedEndTime;
+  }
+
+  public void setThroughput(BatchThroughput throughput) {
+    if (throughput != null && throughput.getCompletedJobs() > 0) {
+      jobsPerSecond = throughput.getJobsPerSecond();
+      long remainingTime = (long) (getRemainingJobs() * 1000 / jobsPerSecond);
+      estimatedEndTime = new Date(ClockUtil.getCurrentTime().getTime() + remainingTime);
+    }
+  }
+
   public String toString() {
     return "BatchStatisticsEntity{" +
       "batchHandler=" + batchJobHandler +
@@ -53,6 +75,7 @@ public class BatchStatisticsEntity extends BatchEntity implements BatchStatistic
       ", jobCreated=" + jobsCreated +
       ", remainingJobs=" + remainingJobs +
       ", failedJobs=" + failedJobs +
+      ", jobsPerSecond=" + jobsPerSecond +
       ", batchJobsPerSeed=" + batchJobsPerSeed +
       ", invocationsPerBatchJob=" + invocationsPerBatchJob +
       ", seedJobDefinitionId='" + seedJobDefinitionId + '\'' +
@@ -113,9 +113,18 @@ public class BatchStatisticsQueryImpl extends AbstractQuery<BatchStatisticsQuery
 
   public List<BatchStatistics> executeList(CommandContext commandContext, Page page) {
     checkQueryOk();
-    return commandContext
+    List<BatchStatistics> statistics = commandContext
       .getStatisticsManager()
       .getStatisticsGroupedByBatch(this, page);
+
+    BatchThroughputMonitor batchThroughputMonitor = commandContext.getProcessEngineConfiguration().getBatchThroughputMonitor();
+    if (batchThroughputMonitor != null) {
+      for (BatchStatistics batchStatistics : statistics) {
+        ((BatchStatisticsEntity) batchStatistics).setThroughput(batchThroughputMonitor.getThroughput(batchStatistics.getBatchJobDefinitionId()));
+      }
+    }
+
+    return statistics;
   }
 
 }
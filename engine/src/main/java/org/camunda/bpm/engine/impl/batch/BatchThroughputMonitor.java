@@ -0,0 +1,119 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the batch jobs completed by this process engine. The collected values
+ * are used for adaptive batch seeding and to report throughput and estimated completion
+ * time of a batch.
+ *
+ * The values are kept in memory only and reflect the batch jobs executed by this
+ * process engine since it was started.
+ */
+public class BatchThroughputMonitor {
+
+  /**
+   * Weight of the most recent job duration in the average job duration
+   */
+  protected static final double DURATION_SMOOTHING_FACTOR = 0.2;
+
+  protected ConcurrentHashMap<String, BatchThroughput> throughputByJobDefinitionId = new ConcurrentHashMap<String, BatchThroughput>();
+
+  /**
+   * Records a committed batch job execution.
+   *
+   * @param batchJobDefinitionId the batch job definition of the executed job
+   * @param duration the duration of the job execution in milliseconds
+   * @param invocations the number of invocations (i.e. ids) processed by the job
+   */
+  public void jobCompleted(String batchJobDefinitionId, long duration, int invocations) {
+    BatchThroughput throughput = throughputByJobDefinitionId.get(batchJobDefinitionId);
+    if (throughput == null) {
+      throughput = new BatchThroughput();
+      BatchThroughput existing = throughputByJobDefinitionId.putIfAbsent(batchJobDefinitionId, throughput);
+      if (existing != null) {
+        throughput = existing;
+      }
+    }
+    throughput.jobCompleted(System.currentTimeMillis(), duration, invocations);
+  }
+
+  /**
+   * @return the throughput for the given batch job definition or <code>null</code>
+   * if no job of it was completed by this process engine
+   */
+  public BatchThroughput getThroughput(String batchJobDefinitionId) {
+    return throughputByJobDefinitionId.get(batchJobDefinitionId);
+  }
+
+  public void remove(String batchJobDefinitionId) {
+    if (batchJobDefinitionId != null) {
+      throughputByJobDefinitionId.remove(batchJobDefinitionId);
+    }
+  }
+
+  public static class BatchThroughput {
+
+    protected long completedJobs;
+    protected long firstCompletionTime;
+    protected long lastCompletionTime;
+    protected double averageJobDuration;
+    protected double averageInvocationDuration;
+
+    protected synchronized void jobCompleted(long completionTime, long duration, int invocations) {
+      // jobs created before and after adaptive seeding changed the invocations per job
+      // can be completed at the same time, so the duration is normalized per job
+      double invocationDuration = (double) duration / Math.max(1, invocations);
+
+      if (completedJobs == 0) {
+        firstCompletionTime = completionTime - duration;
+        averageJobDuration = duration;
+        averageInvocationDuration = invocationDuration;
+      } else {
+        averageJobDuration = DURATION_SMOOTHING_FACTOR * duration + (1 - DURATION_SMOOTHING_FACTOR) * averageJobDuration;
+        averageInvocationDuration = DURATION_SMOOTHING_FACTOR * invocationDuration + (1 - DURATION_SMOOTHING_FACTOR) * averageInvocationDuration;
+      }
+      lastCompletionTime = completionTime;
+      completedJobs++;
+    }
+
+    public synchronized long getCompletedJobs() {
+      return completedJobs;
+    }
+
+    /**
+     * @return the average duration of a batch job in milliseconds, recent jobs are weighted higher
+     */
+    public synchronized double getAverageJobDuration() {
+      return averageJobDuration;
+    }
+
+    /**
+     * @return the average duration of a single invocation in milliseconds, recent jobs are weighted higher
+     */
+    public synchronized double getAverageInvocationDuration() {
+      return averageInvocationDuration;
+    }
+
+    /**
+     * @return the number of completed jobs per second
+     */
+    public synchronized double getJobsPerSecond() {
+      long elapsedTime = Math.max(1, lastCompletionTime - firstCompletionTime);
+      return completedJobs * 1000.0 / elapsedTime;
+    }
+  }
+
+}
@@ -267,4 +267,20 @@ public class BpmnBehaviorLogger extends ProcessEngineLogger {
         errorCode));
   }
 
+  public ProcessEngineException asyncJavaDelegateTimeoutException(String activityInstanceId, long timeout) {
+    return new ProcessEngineException(
+      exceptionMessage("043", "Async java delegate of activity instance '{}' did not complete within {} ms.", activityInstanceId, timeout));
+  }
+
+  public void debugIgnoreAsyncJavaDelegateCompletion(String executionId, String activityInstanceId) {
+    logDebug(
+        "044", "Ignore completion of async java delegate for execution '{}' as it does not wait in activity instance '{}' anymore",
+        executionId, activityInstanceId);
+  }
+
+  public void exceptionWhileCompletingAsyncJavaDelegate(String executionId, Throwable cause) {
+    logWarn(
+        "045", "Exception while completing async java delegate of execution '{}', the execution keeps waiting in the service task", executionId, cause);
+  }
+
 }
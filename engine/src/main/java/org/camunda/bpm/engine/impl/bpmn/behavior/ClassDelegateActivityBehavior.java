@@ -20,6 +20,7 @@ import java.util.concurrent.Callable;
 
 import org.camunda.bpm.application.InvocationContext;
 import org.camunda.bpm.application.ProcessApplicationReference;
+import org.camunda.bpm.engine.delegate.AsyncJavaDelegate;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.bpmn.parser.FieldDeclaration;
@@ -112,6 +113,8 @@ public class ClassDelegateActivityBehavior extends AbstractBpmnActivityBehavior
       return new CustomActivityBehavior((ActivityBehavior) delegateInstance);
     } else if (delegateInstance instanceof JavaDelegate) {
       return new ServiceTaskJavaDelegateActivityBehavior((JavaDelegate) delegateInstance);
+    } else if (delegateInstance instanceof AsyncJavaDelegate) {
+      return new ServiceTaskAsyncJavaDelegateActivityBehavior((AsyncJavaDelegate) delegateInstance);
     } else {
       throw LOG.missingDelegateParentClassException(
         delegateInstance.getClass().getName(),
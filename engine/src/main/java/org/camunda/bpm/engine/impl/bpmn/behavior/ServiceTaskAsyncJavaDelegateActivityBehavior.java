@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.bpmn.behavior;
+
+import org.camunda.bpm.engine.delegate.AsyncJavaDelegate;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.bpmn.delegate.AsyncJavaDelegateCompletionImpl;
+import org.camunda.bpm.engine.impl.bpmn.delegate.AsyncJavaDelegateInvocation;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AsyncJavaDelegateJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IncidentEntity;
+import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
+import org.camunda.bpm.engine.runtime.Incident;
+
+/**
+ * Invokes an {@link AsyncJavaDelegate} and waits in the service task until the
+ * delegate completed. The execution is continued by a job of the
+ * {@link AsyncJavaDelegateJobHandler} which signals the execution.
+ */
+public class ServiceTaskAsyncJavaDelegateActivityBehavior extends TaskActivityBehavior {
+
+  protected AsyncJavaDelegate asyncJavaDelegate;
+
+  public ServiceTaskAsyncJavaDelegateActivityBehavior(AsyncJavaDelegate asyncJavaDelegate) {
+    this.asyncJavaDelegate = asyncJavaDelegate;
+  }
+
+  @Override
+  public void performExecution(ActivityExecution execution) throws Exception {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+
+    final AsyncJavaDelegateCompletionImpl completion = new AsyncJavaDelegateCompletionImpl(
+        processEngineConfiguration.getCommandExecutorTxRequiresNew(), execution.getId(), execution.getActivityInstanceId());
+
+    long timeout = processEngineConfiguration.getAsyncJavaDelegateTimeout();
+    if (timeout > 0) {
+      AsyncJavaDelegateJobHandler.scheduleTimeout((ExecutionEntity) execution, execution.getActivityInstanceId(), timeout);
+    }
+
+    processEngineConfiguration
+      .getDelegateInterceptor()
+      .handleInvocation(new AsyncJavaDelegateInvocation(asyncJavaDelegate, (DelegateExecution) execution, completion));
+
+    // the execution can only be continued once it waits in the service task
+    CommandContext commandContext = Context.getCommandContext();
+    commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+      public void execute(CommandContext commandContext) {
+        completion.committed();
+      }
+    });
+    commandContext.getTransactionContext().addTransactionListener(TransactionState.ROLLED_BACK, new TransactionListener() {
+      public void execute(CommandContext commandContext) {
+        completion.rolledBack();
+      }
+    });
+  }
+
+  @Override
+  public void signal(ActivityExecution execution, String signalName, Object signalData) throws Exception {
+    for (IncidentEntity incident : ((ExecutionEntity) execution).getIncidents()) {
+      if (Incident.ASYNC_JAVA_DELEGATE_HANDLER_TYPE.equals(incident.getIncidentType())) {
+        incident.resolve();
+      }
+    }
+    AsyncJavaDelegateJobHandler.deleteTimeout((ExecutionEntity) execution);
+
+    leave(execution);
+  }
+
+}
@@ -20,6 +20,7 @@ import java.util.concurrent.Callable;
 import org.camunda.bpm.application.InvocationContext;
 import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.engine.delegate.Expression;
+import org.camunda.bpm.engine.delegate.AsyncJavaDelegate;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.bpmn.delegate.ActivityBehaviorInvocation;
@@ -114,6 +115,9 @@ public class ServiceTaskDelegateExpressionActivityBehavior extends TaskActivityB
             .handleInvocation(new JavaDelegateInvocation((JavaDelegate) delegate, execution));
           leave(execution);
 
+        } else if (delegate instanceof AsyncJavaDelegate) {
+          new ServiceTaskAsyncJavaDelegateActivityBehavior((AsyncJavaDelegate) delegate).performExecution(execution);
+
         } else {
           throw LOG.resolveDelegateExpressionException(expression, ActivityBehavior.class, JavaDelegate.class);
         }
@@ -129,6 +133,8 @@ public class ServiceTaskDelegateExpressionActivityBehavior extends TaskActivityB
       return new CustomActivityBehavior((ActivityBehavior) delegateInstance);
     } else if (delegateInstance instanceof JavaDelegate) {
       return new ServiceTaskJavaDelegateActivityBehavior((JavaDelegate) delegateInstance);
+    } else if (delegateInstance instanceof AsyncJavaDelegate) {
+      return new ServiceTaskAsyncJavaDelegateActivityBehavior((AsyncJavaDelegate) delegateInstance);
     } else {
       throw LOG.missingDelegateParentClassException(delegateInstance.getClass().getName(),
         JavaDelegate.class.getName(), ActivityBehavior.class.getName());
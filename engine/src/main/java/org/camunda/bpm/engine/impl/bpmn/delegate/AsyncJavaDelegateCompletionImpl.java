@@ -0,0 +1,162 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.bpmn.delegate;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.delegate.AsyncJavaDelegateCompletion;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.bpmn.behavior.BpmnBehaviorLogger;
+import org.camunda.bpm.engine.impl.cmd.CompleteAsyncJavaDelegateCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Persists the completion of an {@link org.camunda.bpm.engine.delegate.AsyncJavaDelegate}
+ * once the transaction which invoked the delegate committed. The execution is
+ * then continued by a job, see {@link org.camunda.bpm.engine.impl.jobexecutor.AsyncJavaDelegateJobHandler}.
+ */
+public class AsyncJavaDelegateCompletionImpl implements AsyncJavaDelegateCompletion {
+
+  protected static final BpmnBehaviorLogger LOG = ProcessEngineLogger.BPMN_BEHAVIOR_LOGGER;
+
+  protected final CommandExecutor commandExecutor;
+
+  protected final String executionId;
+  protected final String activityInstanceId;
+
+  protected boolean isCompleted = false;
+  protected boolean isCommitted = false;
+  protected boolean isRolledBack = false;
+  protected boolean isDispatched = false;
+
+  protected Map<String, Object> variables;
+  protected Throwable failure;
+
+  public AsyncJavaDelegateCompletionImpl(CommandExecutor commandExecutor, String executionId, String activityInstanceId) {
+    this.commandExecutor = commandExecutor;
+    this.executionId = executionId;
+    this.activityInstanceId = activityInstanceId;
+  }
+
+  public void complete() {
+    complete(null);
+  }
+
+  public void complete(Map<String, Object> variables) {
+    boolean dispatch;
+    synchronized (this) {
+      if (isCompleted) {
+        return;
+      }
+      isCompleted = true;
+      this.variables = variables;
+      dispatch = tryDispatch();
+    }
+    if (dispatch) {
+      dispatchOrReset();
+    }
+  }
+
+  public void fail(Throwable cause) {
+    boolean dispatch;
+    synchronized (this) {
+      if (isCompleted) {
+        return;
+      }
+      isCompleted = true;
+      this.failure = cause;
+      dispatch = tryDispatch();
+    }
+    if (dispatch) {
+      dispatchOrReset();
+    }
+  }
+
+  /**
+   * Called after the transaction which invoked the delegate committed.
+   */
+  public void committed() {
+    boolean dispatch;
+    synchronized (this) {
+      isCommitted = true;
+      dispatch = tryDispatch();
+    }
+    if (dispatch) {
+      try {
+        dispatchOrReset();
+      } catch (RuntimeException e) {
+        // the execution still waits in the service task until the completion
+        // is retried, the execution is signaled or the timeout fires
+        LOG.exceptionWhileCompletingAsyncJavaDelegate(executionId, e);
+      }
+    }
+  }
+
+  /**
+   * Called after the transaction which invoked the delegate was rolled back.
+   */
+  public synchronized void rolledBack() {
+    isRolledBack = true;
+  }
+
+  protected boolean tryDispatch() {
+    if (isCompleted && isCommitted && !isRolledBack && !isDispatched) {
+      isDispatched = true;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * If the completion cannot be persisted, it is reset so that the delegate
+   * can call {@link #complete()} or {@link #fail(Throwable)} again.
+   */
+  protected void dispatchOrReset() {
+    try {
+      dispatch();
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        isDispatched = false;
+        isCompleted = false;
+        variables = null;
+        failure = null;
+      }
+      throw e;
+    }
+  }
+
+  protected void dispatch() {
+    commandExecutor.execute(new CompleteAsyncJavaDelegateCmd(executionId, activityInstanceId, variables, failure));
+  }
+
+  public synchronized boolean isCompleted() {
+    return isCompleted;
+  }
+
+  public String getExecutionId() {
+    return executionId;
+  }
+
+  public String getActivityInstanceId() {
+    return activityInstanceId;
+  }
+
+  public synchronized Map<String, Object> getVariables() {
+    return variables;
+  }
+
+  public synchronized Throwable getFailure() {
+    return failure;
+  }
+
+}
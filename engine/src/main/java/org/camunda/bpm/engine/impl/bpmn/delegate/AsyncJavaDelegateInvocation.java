@@ -0,0 +1,40 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.bpmn.delegate;
+
+import org.camunda.bpm.engine.delegate.AsyncJavaDelegate;
+import org.camunda.bpm.engine.delegate.AsyncJavaDelegateCompletion;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
+
+/**
+ * Class handling invocations of AsyncJavaDelegates
+ */
+public class AsyncJavaDelegateInvocation extends DelegateInvocation {
+
+  protected final AsyncJavaDelegate delegateInstance;
+  protected final DelegateExecution execution;
+  protected final AsyncJavaDelegateCompletion completion;
+
+  public AsyncJavaDelegateInvocation(AsyncJavaDelegate delegateInstance, DelegateExecution execution, AsyncJavaDelegateCompletion completion) {
+    super(execution, null);
+    this.delegateInstance = delegateInstance;
+    this.execution = execution;
+    this.completion = completion;
+  }
+
+  protected void invoke() throws Exception {
+    delegateInstance.execute(execution, completion);
+  }
+
+}
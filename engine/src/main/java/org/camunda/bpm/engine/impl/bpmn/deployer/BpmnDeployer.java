@@ -51,6 +51,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.pvm.runtime.LegacyBehavior;
+import org.camunda.bpm.engine.impl.util.xml.Element;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.task.IdentityLinkType;
@@ -85,12 +86,20 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
 
   @Override
   protected List<ProcessDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
-    byte[] bytes = resource.getBytes();
-    ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
+    DeploymentCache deploymentCache = Context.getProcessEngineConfiguration().getDeploymentCache();
+    Element parseSnapshot = deploymentCache.findParseSnapshot(deployment.getId(), resource.getName());
 
-    BpmnParse bpmnParse = bpmnParser
-        .createParse()
-        .sourceInputStream(inputStream)
+    BpmnParse bpmnParse = bpmnParser.createParse();
+
+    if (parseSnapshot != null) {
+      // the resource was parsed and validated before, e.g. by another process engine
+      bpmnParse.sourceRootElement(parseSnapshot);
+    } else {
+      byte[] bytes = resource.getBytes();
+      bpmnParse.sourceInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    bpmnParse
         .deployment(deployment)
         .name(resource.getName());
 
@@ -100,6 +109,10 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
 
     bpmnParse.execute();
 
+    if (parseSnapshot == null) {
+      deploymentCache.addParseSnapshot(deployment.getId(), resource.getName(), bpmnParse.getRootElement());
+    }
+
     if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
       properties.set(JOB_DECLARATIONS_PROPERTY, new HashMap<String, List<JobDeclaration<?, ?>>>());
     }
@@ -108,6 +121,21 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
     return bpmnParse.getProcessDefinitions();
   }
 
+  @Override
+  protected boolean isParallelTransformationSupported() {
+    return true;
+  }
+
+  @Override
+  protected void mergeTransformationProperties(Properties properties, Properties resourceProperties) {
+    if (resourceProperties.contains(JOB_DECLARATIONS_PROPERTY)) {
+      if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
+        properties.set(JOB_DECLARATIONS_PROPERTY, new HashMap<String, List<JobDeclaration<?, ?>>>());
+      }
+      properties.get(JOB_DECLARATIONS_PROPERTY).putAll(resourceProperties.get(JOB_DECLARATIONS_PROPERTY));
+    }
+  }
+
   @Override
   protected ProcessDefinitionEntity findDefinitionByDeploymentAndKey(String deploymentId, String definitionKey) {
     return getProcessDefinitionManager().findProcessDefinitionByDeploymentAndKey(deploymentId, definitionKey);
@@ -4261,6 +4261,12 @@ public class BpmnParse extends Parse {
     return this;
   }
 
+  @Override
+  public BpmnParse sourceRootElement(Element rootElement) {
+    super.sourceRootElement(rootElement);
+    return this;
+  }
+
   @Override
   public BpmnParse sourceResource(String resource, ClassLoader classLoader) {
     super.sourceResource(resource, classLoader);
@@ -90,6 +90,7 @@ import org.camunda.bpm.engine.impl.application.ProcessApplicationManager;
 import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
 import org.camunda.bpm.engine.impl.batch.BatchMonitorJobHandler;
 import org.camunda.bpm.engine.impl.batch.BatchSeedJobHandler;
+import org.camunda.bpm.engine.impl.batch.BatchThroughputMonitor;
 import org.camunda.bpm.engine.impl.batch.deletion.DeleteHistoricProcessInstancesJobHandler;
 import org.camunda.bpm.engine.impl.batch.deletion.DeleteProcessInstancesJobHandler;
 import org.camunda.bpm.engine.impl.batch.externaltask.SetExternalTaskRetriesJobHandler;
@@ -106,11 +107,13 @@ import org.camunda.bpm.engine.impl.calendar.DueDateBusinessCalendar;
 import org.camunda.bpm.engine.impl.calendar.DurationBusinessCalendar;
 import org.camunda.bpm.engine.impl.calendar.MapBusinessCalendarManager;
 import org.camunda.bpm.engine.impl.cfg.auth.AuthorizationCommandChecker;
+import org.camunda.bpm.engine.impl.cfg.auth.AuthorizationDecisionCache;
 import org.camunda.bpm.engine.impl.cfg.auth.DefaultAuthorizationProvider;
 import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.cfg.multitenancy.TenantCommandChecker;
 import org.camunda.bpm.engine.impl.cfg.multitenancy.TenantIdProvider;
 import org.camunda.bpm.engine.impl.cfg.standalone.StandaloneTransactionContextFactory;
+import org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd;
 import org.camunda.bpm.engine.impl.cmmn.CaseServiceImpl;
 import org.camunda.bpm.engine.impl.cmmn.deployer.CmmnDeployer;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionManager;
@@ -122,6 +125,8 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.HasDbDirtyFields;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
@@ -147,6 +152,7 @@ import org.camunda.bpm.engine.impl.event.EventHandlerImpl;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.event.SignalEventHandler;
 import org.camunda.bpm.engine.impl.externaltask.DefaultExternalTaskPriorityProvider;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskFetchAndLockDispatcher;
 import org.camunda.bpm.engine.impl.form.engine.FormEngine;
 import org.camunda.bpm.engine.impl.form.engine.HtmlFormEngine;
 import org.camunda.bpm.engine.impl.form.engine.JuelFormEngine;
@@ -168,6 +174,9 @@ import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryOutboxSession;
+import org.camunda.bpm.engine.impl.history.handler.HistoryOutboxWriter;
+import org.camunda.bpm.engine.impl.history.handler.OutboxHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.parser.HistoryParseListener;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareCmmnHistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareHistoryEventProducer;
@@ -188,6 +197,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.AsyncJavaDelegateJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobPriorityProvider;
 import org.camunda.bpm.engine.impl.jobexecutor.FailedJobCommandFactory;
@@ -209,6 +219,10 @@ import org.camunda.bpm.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHand
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupBatch;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.metrics.DefaultGauges.DeploymentCacheSizeGauge;
+import org.camunda.bpm.engine.impl.metrics.DefaultGauges.JobAcquisitionBackoffLevelGauge;
+import org.camunda.bpm.engine.impl.metrics.DefaultGauges.JobExecutorActiveThreadsGauge;
+import org.camunda.bpm.engine.impl.metrics.DefaultGauges.JobExecutorQueueSizeGauge;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.metrics.MetricsReporterIdProvider;
 import org.camunda.bpm.engine.impl.metrics.SimpleIpBasedProvider;
@@ -248,9 +262,12 @@ import org.camunda.bpm.engine.impl.migration.validation.instruction.SameEventTyp
 import org.camunda.bpm.engine.impl.migration.validation.instruction.UpdateEventTriggersValidator;
 import org.camunda.bpm.engine.impl.persistence.GenericManagerFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentParseExecutor;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheInvalidator;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.SecondLevelDeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.BatchManager;
@@ -274,6 +291,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceMan
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricStatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricTaskInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IncidentManager;
@@ -422,6 +440,45 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int cacheCapacity = 1000;
   protected boolean enableFetchProcessDefinitionDescription = true;
 
+  /**
+   * If set, parse snapshots of deployment resources are kept in this cache, so that
+   * definitions which are not (or no longer) in the deployment cache don't have to be parsed again.
+   * The snapshots are shared between cluster nodes only if the implementation is backed by a distributed
+   * cache; the {@link org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultSecondLevelDeploymentCache}
+   * keeps a bounded number of them in the memory of a single JVM.
+   */
+  protected SecondLevelDeploymentCache secondLevelDeploymentCache;
+
+  /**
+   * Interval in milliseconds in which the deployment cache is checked for definitions of
+   * deployments deleted by other process engines. Invalidation is disabled if not positive.
+   */
+  protected long deploymentCacheInvalidationInterval = 0;
+
+  protected DeploymentCacheInvalidator deploymentCacheInvalidator;
+
+  /**
+   * Number of threads which parse the resources of a deployment concurrently. The resources
+   * are parsed sequentially on the deploying thread if not greater than one.
+   */
+  protected int deploymentParseParallelism = 1;
+
+  protected DeploymentParseExecutor deploymentParseExecutor;
+
+  /**
+   * If true, the latest process definitions are loaded into the deployment cache
+   * when the process engine is built.
+   */
+  protected boolean deploymentCacheWarmUpEnabled = false;
+
+  // ASYNC JAVA DELEGATE //////////////////////////////////////////////////////
+
+  /**
+   * Time in milliseconds after which an incident is created for an async java delegate
+   * which did not complete. No timeout is applied if not positive.
+   */
+  protected long asyncJavaDelegateTimeout = 0;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -444,6 +501,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /**
+   * If true, a {@link PrefetchingDbIdGenerator} is used which hands out ids without
+   * blocking and fetches the next id block in the background.
+   */
+  protected boolean idGeneratorPrefetchEnabled = false;
+  /**
+   * Number of remaining ids of the current block at which the next block is prefetched.
+   * If not positive, a quarter of the {@link #idBlockSize} is used.
+   */
+  protected int idBlockLowWaterMark = 0;
+  /**
+   * Number of ids reserved per thread at once by the prefetching id generator. Values lower than 2 disable striping.
+   */
+  protected int idGeneratorStripeSize = 0;
+  /**
+   * Id generator used by the prefetching id generator if no new id block can be fetched, e.g. a {@link org.camunda.bpm.engine.impl.persistence.StrongUuidGenerator}.
+   */
+  protected IdGenerator idGeneratorFallback;
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -470,6 +546,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    * default priority for batch jobs
    */
   protected long batchJobPriority = DefaultJobPriorityProvider.DEFAULT_PRIORITY;
+  /**
+   * If enabled, the number of jobs created by a batch seed job invocation and the number of
+   * invocations per batch job adapt to the job executor load and the measured batch job duration
+   */
+  protected boolean batchAdaptiveSeedingEnabled = false;
+  /**
+   * Maximum number of jobs of a single batch waiting for execution, used by adaptive seeding (0 = unlimited)
+   */
+  protected int batchMaxOutstandingJobs = 1000;
+  /**
+   * Number of invocations per second a single batch should not exceed, used by adaptive seeding (0 = unlimited)
+   */
+  protected int batchTargetInvocationsPerSecond = 0;
+  /**
+   * Milliseconds a single batch job should take, used by adaptive seeding
+   */
+  protected long batchJobTargetDuration = 1000;
+
+  protected BatchThroughputMonitor batchThroughputMonitor;
 
   // OTHER ////////////////////////////////////////////////////////////////////
   protected List<FormEngine> customFormEngines;
@@ -490,6 +585,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected Charset defaultCharset = null;
 
   protected ExpressionManager expressionManager;
+  protected boolean expressionCompilationEnabled = false;
   protected ScriptingEngines scriptingEngines;
   protected List<ResolverFactory> resolverFactories;
   protected ScriptingEnvironment scriptingEnvironment;
@@ -587,6 +683,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected ResourceAuthorizationProvider resourceAuthorizationProvider;
 
+  /** maximum number of cached granted authorization decisions; 0 disables the cache */
+  protected int authorizationDecisionCacheCapacity = 0;
+
+  /**
+   * time in milliseconds after which the global authorization revision is read again
+   * to detect authorization changes made by other nodes
+   */
+  protected long authorizationDecisionCacheRevisionCheckInterval = 5000;
+
+  protected AuthorizationDecisionCache authorizationDecisionCache;
+
   protected List<ProcessEnginePlugin> processEnginePlugins = new ArrayList<ProcessEnginePlugin>();
 
   protected HistoryEventProducer historyEventProducer;
@@ -597,8 +704,60 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected HistoryEventHandler historyEventHandler;
 
+  /**
+   * If true (and no custom history event handler is configured), history events are written to
+   * the history outbox in the runtime transaction and to the history tables by the {@link HistoryOutboxWriter}.
+   */
+  protected boolean historyOutboxEnabled = false;
+
+  /**
+   * If true, every transaction writes the history outbox after it committed, so that
+   * history queries return the history of the transaction once the API call returned.
+   */
+  protected boolean historyOutboxReadYourWrites = false;
+
+  /** maximum number of history outbox entries written in one transaction */
+  protected int historyOutboxBatchSize = 100;
+
+  /** maximum time in milliseconds between two writes of the history outbox */
+  protected long historyOutboxWriteInterval = 1000;
+
+  /**
+   * number of committed but unwritten history outbox entries, above which
+   * committing transactions write the history outbox themselves
+   */
+  protected int historyOutboxMaxBacklog = 1000;
+
+  /**
+   * number of attempts to write a history outbox entry, after which
+   * the entry is moved aside and not written anymore
+   */
+  protected int historyOutboxMaxAttempts = 3;
+
+  /** time in milliseconds for which a writer claims history outbox entries */
+  protected long historyOutboxLockTime = 300000;
+
+  protected HistoryOutboxWriter historyOutboxWriter;
+
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /**
+   * If set, task completion, job execution and message correlation load the
+   * affected process instance up-front as described by the profile.
+   */
+  protected ProcessInstancePrefetchProfile processInstancePrefetchProfile;
+
+  /**
+   * Parks fetch and lock requests with a timeout until external tasks become available.
+   */
+  protected ExternalTaskFetchAndLockDispatcher externalTaskFetchAndLockDispatcher;
+
+  /**
+   * Maximum time in milliseconds between two checks for available external tasks
+   * of parked fetch and lock requests.
+   */
+  protected long externalTaskFetchAndLockPollInterval = 5000;
+
   /**
    * If true the process engine will attempt to acquire an exclusive lock before
    * creating a deployment.
@@ -616,6 +775,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean isDbEntityCacheReuseEnabled = false;
 
+  /**
+   * If true, the {@link DbSqlSessionFactory} opens sessions with a MyBatis batch executor and sends all
+   * INSERT, UPDATE and DELETE statements of a flush to the database as JDBC batches.
+   * Default setting is false.
+   */
+  protected boolean jdbcBatchProcessing = false;
+
   protected boolean isInvokeCustomVariableListeners = true;
 
   /**
@@ -630,6 +796,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected DbEntityCacheKeyMapping dbEntityCacheKeyMapping = DbEntityCacheKeyMapping.defaultEntityCacheKeyMapping();
 
+  /**
+   * If true, entities which record modifications of their persistent fields
+   * (see {@link HasDbDirtyFields}) are not compared against a copy of their
+   * persistent state on flush.
+   */
+  protected boolean dbEntityDirtyFieldTrackingEnabled = false;
+
+  /**
+   * If true, jobs and external tasks are claimed with a select which skips the rows
+   * locked by concurrent transactions, so that concurrent job acquisitions and fetching
+   * workers receive disjoint rows. Only applies to databases which support it
+   * (see {@link DbSqlSessionFactory#isSkipLockedSupported()}), for others the rows
+   * are claimed optimistically.
+   */
+  protected boolean skipLockedClaimEnabled = false;
+
   /**
    * the metrics registry
    */
@@ -706,6 +888,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    * Indicates the minimal amount of data to trigger the history cleanup.
    */
   private int historyCleanupBatchThreshold = 10;
+  /**
+   * Number of history cleanup jobs. The first job selects the data to clean up and hands out id ranges to the other jobs,
+   * which clean up the data within their ranges in parallel.
+   */
+  private int historyCleanupDegreeOfParallelism = 1;
+  /**
+   * Duration in milliseconds a single history cleanup batch should take. If set, the batch size is adjusted after each run
+   * (up to {@link #historyCleanupBatchSize}), otherwise a fixed batch size is used.
+   */
+  private long historyCleanupTargetBatchDuration = 0;
 
   private boolean historyCleanupMetricsEnabled = true;
 
@@ -745,6 +937,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initCommandContextFactory();
     initTransactionContextFactory();
     initCommandExecutors();
+    initExternalTaskFetchAndLockDispatcher();
+    initHistoryOutboxWriter();
+    initDeploymentCacheInvalidator();
+    initDeploymentParseExecutor();
     initServices();
     initIdGenerator();
     initFailedJobCommandFactory();
@@ -752,6 +948,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initJobProvider();
     initExternalTaskPriorityProvider();
     initBatchHandlers();
+    initBatchThroughputMonitor();
     initJobExecutor();
     initDataSource();
     initTransactionFactory();
@@ -769,6 +966,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initPasswordDigest();
     initDeploymentRegistration();
     initResourceAuthorizationProvider();
+    initAuthorizationDecisionCache();
     initMetrics();
     initMigration();
     initCommandCheckers();
@@ -796,6 +994,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
           "History cleanup batch threshold cannot be negative.");
     }
 
+    if (historyCleanupDegreeOfParallelism < 1 || historyCleanupDegreeOfParallelism > HistoryCleanupCmd.MAX_THREADS_NUMBER) {
+      throw LOG.invalidPropertyValue("historyCleanupDegreeOfParallelism", String.valueOf(historyCleanupDegreeOfParallelism),
+          String.format("value for number of threads for history cleanup should be between 1 and %s", HistoryCleanupCmd.MAX_THREADS_NUMBER));
+    }
+
+    if (historyCleanupTargetBatchDuration < 0) {
+      throw LOG.invalidPropertyValue("historyCleanupTargetBatchDuration", String.valueOf(historyCleanupTargetBatchDuration),
+          "History cleanup target batch duration cannot be negative.");
+    }
+
     initBatchOperationsHistoryTimeToLive();
   }
 
@@ -901,6 +1109,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       DefaultIncidentHandler failedExternalTaskIncidentHandler = new DefaultIncidentHandler(Incident.EXTERNAL_TASK_HANDLER_TYPE);
       incidentHandlers.put(failedExternalTaskIncidentHandler.getIncidentHandlerType(), failedExternalTaskIncidentHandler);
+
+      DefaultIncidentHandler failedAsyncJavaDelegateIncidentHandler = new DefaultIncidentHandler(Incident.ASYNC_JAVA_DELEGATE_HANDLER_TYPE);
+      incidentHandlers.put(failedAsyncJavaDelegateIncidentHandler.getIncidentHandlerType(), failedAsyncJavaDelegateIncidentHandler);
     }
     if (customIncidentHandlers != null) {
       for (IncidentHandler incidentHandler : customIncidentHandlers) {
@@ -911,6 +1122,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   // batch ///////////////////////////////////////////////////////////////////////
 
+  protected void initBatchThroughputMonitor() {
+    if (batchThroughputMonitor == null) {
+      batchThroughputMonitor = new BatchThroughputMonitor();
+    }
+  }
+
   protected void initBatchHandlers() {
     if (batchHandlers == null) {
       batchHandlers = new HashMap<String, BatchJobHandler<?>>();
@@ -1051,6 +1268,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (service instanceof RepositoryServiceImpl) {
       ((RepositoryServiceImpl) service).setDeploymentCharset(getDefaultCharset());
     }
+    if (service instanceof ExternalTaskServiceImpl) {
+      ((ExternalTaskServiceImpl) service).setFetchAndLockDispatcher(externalTaskFetchAndLockDispatcher);
+    }
+  }
+
+  protected void initExternalTaskFetchAndLockDispatcher() {
+    if (externalTaskFetchAndLockDispatcher == null) {
+      externalTaskFetchAndLockDispatcher = new ExternalTaskFetchAndLockDispatcher(commandExecutorTxRequired, identityService);
+      externalTaskFetchAndLockDispatcher.setPollInterval(externalTaskFetchAndLockPollInterval);
+    }
   }
 
   // DataSource ///////////////////////////////////////////////////////////////
@@ -1287,6 +1514,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       properties.put("dayComparator", DbSqlSessionFactory.databaseSpecificDaysComparator.get(databaseType));
 
+      String skipLocked = DbSqlSessionFactory.databaseSpecificSkipLocked.get(databaseType);
+      properties.put("skipLocked", skipLocked != null ? skipLocked : "");
+
+      String streamingFetchSize = DbSqlSessionFactory.databaseSpecificStreamingFetchSize.get(databaseType);
+      properties.put("streamingFetchSize", streamingFetchSize != null ? streamingFetchSize : String.valueOf(DbSqlSessionFactory.DEFAULT_STREAMING_FETCH_SIZE));
+
       Map<String, String> constants = DbSqlSessionFactory.dbSpecificConstants.get(databaseType);
       for (Entry<String, String> entry : constants.entrySet()) {
         properties.put(entry.getKey(), entry.getValue());
@@ -1363,6 +1596,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(DecisionRequirementsDefinitionManager.class));
       addSessionFactory(new GenericManagerFactory(HistoricDecisionInstanceManager.class));
 
+      addSessionFactory(new GenericManagerFactory(HistoryOutboxSession.class));
+      addSessionFactory(new GenericManagerFactory(HistoryOutboxManager.class));
+
       sessionFactories.put(ReadOnlyIdentityProvider.class, identityProviderSessionFactory);
 
       // check whether identityProviderSessionFactory implements WritableIdentityProvider
@@ -1389,6 +1625,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDbHistoryUsed(isDbHistoryUsed);
     dbSqlSessionFactory.setCmmnEnabled(cmmnEnabled);
     dbSqlSessionFactory.setDmnEnabled(dmnEnabled);
+    dbSqlSessionFactory.setJdbcBatchProcessing(jdbcBatchProcessing);
     dbSqlSessionFactory.setDatabaseTablePrefix(databaseTablePrefix);
 
     //hack for the case when schema is defined via databaseTablePrefix parameter and not via databaseSchema parameter
@@ -1518,6 +1755,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       initCacheFactory();
       deploymentCache = new DeploymentCache(cacheFactory, cacheCapacity);
       deploymentCache.setDeployers(deployers);
+      deploymentCache.setSecondLevelCache(secondLevelDeploymentCache);
     }
   }
 
@@ -1673,6 +1911,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     ProcessEventJobHandler processEventJobHandler = new ProcessEventJobHandler();
     jobHandlers.put(processEventJobHandler.getType(), processEventJobHandler);
 
+    AsyncJavaDelegateJobHandler asyncJavaDelegateJobHandler = new AsyncJavaDelegateJobHandler();
+    jobHandlers.put(asyncJavaDelegateJobHandler.getType(), asyncJavaDelegateJobHandler);
+
     TimerSuspendProcessDefinitionHandler suspendProcessDefinitionHandler = new TimerSuspendProcessDefinitionHandler();
     jobHandlers.put(suspendProcessDefinitionHandler.getType(), suspendProcessDefinitionHandler);
 
@@ -1788,7 +2029,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
+      DbIdGenerator dbIdGenerator;
+      if (idGeneratorPrefetchEnabled) {
+        PrefetchingDbIdGenerator prefetchingIdGenerator = new PrefetchingDbIdGenerator();
+        prefetchingIdGenerator.setLowWaterMark(idBlockLowWaterMark);
+        prefetchingIdGenerator.setStripeSize(idGeneratorStripeSize);
+        prefetchingIdGenerator.setFallbackIdGenerator(idGeneratorFallback);
+        dbIdGenerator = prefetchingIdGenerator;
+      } else {
+        dbIdGenerator = new DbIdGenerator();
+      }
       dbIdGenerator.setIdBlockSize(idBlockSize);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       idGenerator = dbIdGenerator;
@@ -1857,6 +2107,28 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createMeter(Metrics.JOB_EXECUTION_REJECTED);
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    metricsRegistry.createMeter(Metrics.HISTORY_OUTBOX_ENTRIES_WRITTEN);
+    metricsRegistry.createMeter(Metrics.HISTORY_OUTBOX_EVENTS_WRITTEN);
+    metricsRegistry.createMeter(Metrics.HISTORY_OUTBOX_EVENTS_COALESCED);
+    metricsRegistry.createMeter(Metrics.HISTORY_OUTBOX_BACKPRESSURE);
+    metricsRegistry.createMeter(Metrics.HISTORY_OUTBOX_ENTRIES_FAILED);
+
+    metricsRegistry.createMeter(Metrics.PROCESS_DEFINITION_CACHE_MISS);
+    metricsRegistry.createMeter(Metrics.PROCESS_DEFINITION_CACHE_EVICTION);
+    metricsRegistry.createMeter(Metrics.DEFINITION_SNAPSHOT_HIT);
+    metricsRegistry.createMeter(Metrics.DEFINITION_SNAPSHOT_MISS);
+
+    metricsRegistry.createHistogram(Metrics.COMMAND_EXECUTION_TIME);
+    metricsRegistry.createHistogram(Metrics.DB_FLUSH_TIME);
+    metricsRegistry.createHistogram(Metrics.JOB_EXECUTION_TIME);
+    metricsRegistry.createHistogram(Metrics.JOB_QUEUE_WAIT_TIME);
+    metricsRegistry.createHistogram(Metrics.JOB_ACQUISITION_QUERY_TIME);
+
+    metricsRegistry.registerGauge(Metrics.JOB_EXECUTOR_QUEUE_SIZE, new JobExecutorQueueSizeGauge(this));
+    metricsRegistry.registerGauge(Metrics.JOB_EXECUTOR_ACTIVE_THREADS, new JobExecutorActiveThreadsGauge(this));
+    metricsRegistry.registerGauge(Metrics.JOB_ACQUISITION_BACKOFF_LEVEL, new JobAcquisitionBackoffLevelGauge(this));
+    metricsRegistry.registerGauge(Metrics.DEPLOYMENT_CACHE_SIZE, new DeploymentCacheSizeGauge(this));
   }
 
   protected void initSerialization() {
@@ -1990,6 +2262,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       expressionManager = new ExpressionManager(beans);
     }
 
+    if (expressionCompilationEnabled) {
+      expressionManager.enableExpressionCompilation();
+    }
+
     // add function mapper for command context (eg currentUser(), currentUserGroups())
     expressionManager.addFunctionMapper(new CommandContextFunctionMapper());
     // add function mapper for date time (eg now(), dateTime())
@@ -2117,7 +2393,35 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initHistoryEventHandler() {
     if (historyEventHandler == null) {
-      historyEventHandler = new DbHistoryEventHandler();
+      if (historyOutboxEnabled) {
+        historyEventHandler = new OutboxHistoryEventHandler();
+      } else {
+        historyEventHandler = new DbHistoryEventHandler();
+      }
+    }
+  }
+
+  protected void initHistoryOutboxWriter() {
+    if (historyOutboxWriter == null && historyEventHandler instanceof OutboxHistoryEventHandler) {
+      historyOutboxWriter = new HistoryOutboxWriter(this, commandExecutorTxRequiresNew);
+      historyOutboxWriter.setBatchSize(historyOutboxBatchSize);
+      historyOutboxWriter.setWriteInterval(historyOutboxWriteInterval);
+      historyOutboxWriter.setMaxBacklog(historyOutboxMaxBacklog);
+      historyOutboxWriter.setReadYourWrites(historyOutboxReadYourWrites);
+      historyOutboxWriter.setMaxAttempts(historyOutboxMaxAttempts);
+      historyOutboxWriter.setLockTime(historyOutboxLockTime);
+    }
+  }
+
+  protected void initDeploymentCacheInvalidator() {
+    if (deploymentCacheInvalidator == null && deploymentCacheInvalidationInterval > 0) {
+      deploymentCacheInvalidator = new DeploymentCacheInvalidator(commandExecutorTxRequired, deploymentCacheInvalidationInterval);
+    }
+  }
+
+  protected void initDeploymentParseExecutor() {
+    if (deploymentParseExecutor == null && deploymentParseParallelism > 1) {
+      deploymentParseExecutor = new DeploymentParseExecutor(deploymentParseParallelism);
     }
   }
 
@@ -2162,6 +2466,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initAuthorizationDecisionCache() {
+    if (authorizationDecisionCache == null && authorizationDecisionCacheCapacity > 0) {
+      authorizationDecisionCache = new AuthorizationDecisionCache(authorizationDecisionCacheCapacity, authorizationDecisionCacheRevisionCheckInterval);
+    }
+  }
+
   protected void initDefaultUserPermissionForTask() {
     if (defaultUserPermissionForTask == null) {
       if (Permissions.UPDATE.getName().equals(defaultUserPermissionNameForTask)) {
@@ -2492,6 +2802,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isExpressionCompilationEnabled() {
+    return expressionCompilationEnabled;
+  }
+
+  /**
+   * Compile parsed expressions for repeated evaluation: operators are resolved once and bean
+   * property reads are inline cached per expression, falling back to the interpreter for all
+   * other expression constructs. The property cache assumes the resolver chain of the default
+   * {@link ExpressionManager}; custom expression managers resolving properties of non-null
+   * bases differently must override {@link ExpressionManager#createTreeCompiler()}.
+   */
+  public ProcessEngineConfigurationImpl setExpressionCompilationEnabled(boolean expressionCompilationEnabled) {
+    this.expressionCompilationEnabled = expressionCompilationEnabled;
+    return this;
+  }
+
   public BusinessCalendarManager getBusinessCalendarManager() {
     return businessCalendarManager;
   }
@@ -3023,6 +3349,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.databaseSchema = databaseSchema;
   }
 
+  public boolean isIdGeneratorPrefetchEnabled() {
+    return idGeneratorPrefetchEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorPrefetchEnabled(boolean idGeneratorPrefetchEnabled) {
+    this.idGeneratorPrefetchEnabled = idGeneratorPrefetchEnabled;
+    return this;
+  }
+
+  public int getIdBlockLowWaterMark() {
+    return idBlockLowWaterMark;
+  }
+
+  public ProcessEngineConfigurationImpl setIdBlockLowWaterMark(int idBlockLowWaterMark) {
+    this.idBlockLowWaterMark = idBlockLowWaterMark;
+    return this;
+  }
+
+  public int getIdGeneratorStripeSize() {
+    return idGeneratorStripeSize;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorStripeSize(int idGeneratorStripeSize) {
+    this.idGeneratorStripeSize = idGeneratorStripeSize;
+    return this;
+  }
+
+  public IdGenerator getIdGeneratorFallback() {
+    return idGeneratorFallback;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorFallback(IdGenerator idGeneratorFallback) {
+    this.idGeneratorFallback = idGeneratorFallback;
+    return this;
+  }
+
   public DataSource getIdGeneratorDataSource() {
     return idGeneratorDataSource;
   }
@@ -3140,6 +3502,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.batchJobPriority = batchJobPriority;
   }
 
+  public boolean isBatchAdaptiveSeedingEnabled() {
+    return batchAdaptiveSeedingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchAdaptiveSeedingEnabled(boolean batchAdaptiveSeedingEnabled) {
+    this.batchAdaptiveSeedingEnabled = batchAdaptiveSeedingEnabled;
+    return this;
+  }
+
+  public int getBatchMaxOutstandingJobs() {
+    return batchMaxOutstandingJobs;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchMaxOutstandingJobs(int batchMaxOutstandingJobs) {
+    this.batchMaxOutstandingJobs = batchMaxOutstandingJobs;
+    return this;
+  }
+
+  public int getBatchTargetInvocationsPerSecond() {
+    return batchTargetInvocationsPerSecond;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchTargetInvocationsPerSecond(int batchTargetInvocationsPerSecond) {
+    this.batchTargetInvocationsPerSecond = batchTargetInvocationsPerSecond;
+    return this;
+  }
+
+  public long getBatchJobTargetDuration() {
+    return batchJobTargetDuration;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchJobTargetDuration(long batchJobTargetDuration) {
+    this.batchJobTargetDuration = batchJobTargetDuration;
+    return this;
+  }
+
+  public BatchThroughputMonitor getBatchThroughputMonitor() {
+    return batchThroughputMonitor;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchThroughputMonitor(BatchThroughputMonitor batchThroughputMonitor) {
+    this.batchThroughputMonitor = batchThroughputMonitor;
+    return this;
+  }
+
   public SessionFactory getIdentityProviderSessionFactory() {
     return identityProviderSessionFactory;
   }
@@ -3196,6 +3603,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.resourceAuthorizationProvider = resourceAuthorizationProvider;
   }
 
+  public int getAuthorizationDecisionCacheCapacity() {
+    return authorizationDecisionCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationDecisionCacheCapacity(int authorizationDecisionCacheCapacity) {
+    this.authorizationDecisionCacheCapacity = authorizationDecisionCacheCapacity;
+    return this;
+  }
+
+  public long getAuthorizationDecisionCacheRevisionCheckInterval() {
+    return authorizationDecisionCacheRevisionCheckInterval;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationDecisionCacheRevisionCheckInterval(long authorizationDecisionCacheRevisionCheckInterval) {
+    this.authorizationDecisionCacheRevisionCheckInterval = authorizationDecisionCacheRevisionCheckInterval;
+    return this;
+  }
+
+  public AuthorizationDecisionCache getAuthorizationDecisionCache() {
+    return authorizationDecisionCache;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationDecisionCache(AuthorizationDecisionCache authorizationDecisionCache) {
+    this.authorizationDecisionCache = authorizationDecisionCache;
+    return this;
+  }
+
   public List<ProcessEnginePlugin> getProcessEnginePlugins() {
     return processEnginePlugins;
   }
@@ -3255,6 +3689,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isExecutionTreePrefetchEnabled = isExecutionTreePrefetchingEnabled;
   }
 
+  public ProcessInstancePrefetchProfile getProcessInstancePrefetchProfile() {
+    return processInstancePrefetchProfile;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessInstancePrefetchProfile(ProcessInstancePrefetchProfile processInstancePrefetchProfile) {
+    this.processInstancePrefetchProfile = processInstancePrefetchProfile;
+    return this;
+  }
+
   public ProcessEngineImpl getProcessEngine() {
     return processEngine;
   }
@@ -3420,6 +3863,168 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isJdbcBatchProcessing() {
+    return jdbcBatchProcessing;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchProcessing(boolean jdbcBatchProcessing) {
+    this.jdbcBatchProcessing = jdbcBatchProcessing;
+    return this;
+  }
+
+  public ExternalTaskFetchAndLockDispatcher getExternalTaskFetchAndLockDispatcher() {
+    return externalTaskFetchAndLockDispatcher;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskFetchAndLockDispatcher(ExternalTaskFetchAndLockDispatcher externalTaskFetchAndLockDispatcher) {
+    this.externalTaskFetchAndLockDispatcher = externalTaskFetchAndLockDispatcher;
+    return this;
+  }
+
+  public boolean isHistoryOutboxEnabled() {
+    return historyOutboxEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxEnabled(boolean historyOutboxEnabled) {
+    this.historyOutboxEnabled = historyOutboxEnabled;
+    return this;
+  }
+
+  public boolean isHistoryOutboxReadYourWrites() {
+    return historyOutboxReadYourWrites;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxReadYourWrites(boolean historyOutboxReadYourWrites) {
+    this.historyOutboxReadYourWrites = historyOutboxReadYourWrites;
+    return this;
+  }
+
+  public int getHistoryOutboxBatchSize() {
+    return historyOutboxBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxBatchSize(int historyOutboxBatchSize) {
+    this.historyOutboxBatchSize = historyOutboxBatchSize;
+    return this;
+  }
+
+  public long getHistoryOutboxWriteInterval() {
+    return historyOutboxWriteInterval;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxWriteInterval(long historyOutboxWriteInterval) {
+    this.historyOutboxWriteInterval = historyOutboxWriteInterval;
+    return this;
+  }
+
+  public int getHistoryOutboxMaxBacklog() {
+    return historyOutboxMaxBacklog;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxMaxBacklog(int historyOutboxMaxBacklog) {
+    this.historyOutboxMaxBacklog = historyOutboxMaxBacklog;
+    return this;
+  }
+
+  public int getHistoryOutboxMaxAttempts() {
+    return historyOutboxMaxAttempts;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxMaxAttempts(int historyOutboxMaxAttempts) {
+    this.historyOutboxMaxAttempts = historyOutboxMaxAttempts;
+    return this;
+  }
+
+  public long getHistoryOutboxLockTime() {
+    return historyOutboxLockTime;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxLockTime(long historyOutboxLockTime) {
+    this.historyOutboxLockTime = historyOutboxLockTime;
+    return this;
+  }
+
+  public HistoryOutboxWriter getHistoryOutboxWriter() {
+    return historyOutboxWriter;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxWriter(HistoryOutboxWriter historyOutboxWriter) {
+    this.historyOutboxWriter = historyOutboxWriter;
+    return this;
+  }
+
+  public SecondLevelDeploymentCache getSecondLevelDeploymentCache() {
+    return secondLevelDeploymentCache;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelDeploymentCache(SecondLevelDeploymentCache secondLevelDeploymentCache) {
+    this.secondLevelDeploymentCache = secondLevelDeploymentCache;
+    return this;
+  }
+
+  public long getDeploymentCacheInvalidationInterval() {
+    return deploymentCacheInvalidationInterval;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheInvalidationInterval(long deploymentCacheInvalidationInterval) {
+    this.deploymentCacheInvalidationInterval = deploymentCacheInvalidationInterval;
+    return this;
+  }
+
+  public DeploymentCacheInvalidator getDeploymentCacheInvalidator() {
+    return deploymentCacheInvalidator;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheInvalidator(DeploymentCacheInvalidator deploymentCacheInvalidator) {
+    this.deploymentCacheInvalidator = deploymentCacheInvalidator;
+    return this;
+  }
+
+  public int getDeploymentParseParallelism() {
+    return deploymentParseParallelism;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseParallelism(int deploymentParseParallelism) {
+    this.deploymentParseParallelism = deploymentParseParallelism;
+    return this;
+  }
+
+  public DeploymentParseExecutor getDeploymentParseExecutor() {
+    return deploymentParseExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseExecutor(DeploymentParseExecutor deploymentParseExecutor) {
+    this.deploymentParseExecutor = deploymentParseExecutor;
+    return this;
+  }
+
+  public boolean isDeploymentCacheWarmUpEnabled() {
+    return deploymentCacheWarmUpEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpEnabled(boolean deploymentCacheWarmUpEnabled) {
+    this.deploymentCacheWarmUpEnabled = deploymentCacheWarmUpEnabled;
+    return this;
+  }
+
+  public long getAsyncJavaDelegateTimeout() {
+    return asyncJavaDelegateTimeout;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncJavaDelegateTimeout(long asyncJavaDelegateTimeout) {
+    this.asyncJavaDelegateTimeout = asyncJavaDelegateTimeout;
+    return this;
+  }
+
+  public long getExternalTaskFetchAndLockPollInterval() {
+    return externalTaskFetchAndLockPollInterval;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskFetchAndLockPollInterval(long externalTaskFetchAndLockPollInterval) {
+    this.externalTaskFetchAndLockPollInterval = externalTaskFetchAndLockPollInterval;
+    return this;
+  }
+
   public DbEntityCacheKeyMapping getDbEntityCacheKeyMapping() {
     return dbEntityCacheKeyMapping;
   }
@@ -3429,6 +4034,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isDbEntityDirtyFieldTrackingEnabled() {
+    return dbEntityDirtyFieldTrackingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDbEntityDirtyFieldTrackingEnabled(boolean dbEntityDirtyFieldTrackingEnabled) {
+    this.dbEntityDirtyFieldTrackingEnabled = dbEntityDirtyFieldTrackingEnabled;
+    return this;
+  }
+
+  public boolean isSkipLockedClaimEnabled() {
+    return skipLockedClaimEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSkipLockedClaimEnabled(boolean skipLockedClaimEnabled) {
+    this.skipLockedClaimEnabled = skipLockedClaimEnabled;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setCustomHistoryLevels(List<HistoryLevel> customHistoryLevels) {
     this.customHistoryLevels = customHistoryLevels;
     return this;
@@ -3782,6 +4405,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.historyCleanupBatchThreshold = historyCleanupBatchThreshold;
   }
 
+  public int getHistoryCleanupDegreeOfParallelism() {
+    return historyCleanupDegreeOfParallelism;
+  }
+
+  public void setHistoryCleanupDegreeOfParallelism(int historyCleanupDegreeOfParallelism) {
+    this.historyCleanupDegreeOfParallelism = historyCleanupDegreeOfParallelism;
+  }
+
+  public long getHistoryCleanupTargetBatchDuration() {
+    return historyCleanupTargetBatchDuration;
+  }
+
+  public void setHistoryCleanupTargetBatchDuration(long historyCleanupTargetBatchDuration) {
+    this.historyCleanupTargetBatchDuration = historyCleanupTargetBatchDuration;
+  }
+
   public boolean isHistoryCleanupMetricsEnabled() {
     return historyCleanupMetricsEnabled;
   }
@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cfg;
+
+/**
+ * Describes which parts of a process instance's runtime state are loaded
+ * up-front, together with its execution tree, when a command operates on an
+ * existing process instance (task completion, job execution, message
+ * correlation).
+ *
+ * <p>Each enabled part is loaded with a single select by process instance id
+ * instead of one lazy select per execution. This trades a larger first
+ * round trip for avoiding N+1 queries on wide execution trees (e.g. parallel
+ * multi-instance). The execution tree itself is always loaded when a
+ * profile is configured.</p>
+ *
+ * @see ProcessEngineConfigurationImpl#setProcessInstancePrefetchProfile(ProcessInstancePrefetchProfile)
+ */
+public class ProcessInstancePrefetchProfile {
+
+  protected boolean eventSubscriptions;
+  protected boolean variables;
+  protected boolean tasks;
+  protected boolean jobs;
+  protected boolean incidents;
+  protected boolean externalTasks;
+
+  /**
+   * @return a profile that only loads the execution tree
+   */
+  public static ProcessInstancePrefetchProfile executionTree() {
+    return new ProcessInstancePrefetchProfile();
+  }
+
+  /**
+   * @return a profile that loads the execution tree and all entities referencing it
+   */
+  public static ProcessInstancePrefetchProfile all() {
+    return new ProcessInstancePrefetchProfile()
+      .eventSubscriptions(true)
+      .variables(true)
+      .tasks(true)
+      .jobs(true)
+      .incidents(true)
+      .externalTasks(true);
+  }
+
+  public boolean isEventSubscriptions() {
+    return eventSubscriptions;
+  }
+
+  public ProcessInstancePrefetchProfile eventSubscriptions(boolean eventSubscriptions) {
+    this.eventSubscriptions = eventSubscriptions;
+    return this;
+  }
+
+  public boolean isVariables() {
+    return variables;
+  }
+
+  public ProcessInstancePrefetchProfile variables(boolean variables) {
+    this.variables = variables;
+    return this;
+  }
+
+  public boolean isTasks() {
+    return tasks;
+  }
+
+  public ProcessInstancePrefetchProfile tasks(boolean tasks) {
+    this.tasks = tasks;
+    return this;
+  }
+
+  public boolean isJobs() {
+    return jobs;
+  }
+
+  public ProcessInstancePrefetchProfile jobs(boolean jobs) {
+    this.jobs = jobs;
+    return this;
+  }
+
+  public boolean isIncidents() {
+    return incidents;
+  }
+
+  public ProcessInstancePrefetchProfile incidents(boolean incidents) {
+    this.incidents = incidents;
+    return this;
+  }
+
+  public boolean isExternalTasks() {
+    return externalTasks;
+  }
+
+  public ProcessInstancePrefetchProfile externalTasks(boolean externalTasks) {
+    this.externalTasks = externalTasks;
+    return this;
+  }
+
+}
@@ -0,0 +1,143 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cfg.auth;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.CompositePermissionCheck;
+import org.camunda.bpm.engine.impl.db.PermissionCheck;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * Engine-wide, bounded cache of positive authorization decisions, keyed by user id,
+ * group ids and the checked permissions.
+ *
+ * <p>Only granted decisions are cached: default authorizations created by the
+ * engine (e.g. for task assignees) only ever grant permissions and therefore
+ * cannot turn a cached decision stale. Changes which may revoke permissions
+ * increment a global authorization revision stored in the database. The cache is
+ * cleared whenever a changed revision is observed, which every node checks at
+ * most once per revision check interval.</p>
+ */
+public class AuthorizationDecisionCache {
+
+  protected static final Object GRANTED = Boolean.TRUE;
+
+  protected Cache<String, Object> decisions;
+
+  protected long revisionCheckInterval;
+
+  protected volatile Integer revision;
+  protected volatile long lastRevisionCheck;
+
+  public AuthorizationDecisionCache(int capacity, long revisionCheckInterval) {
+    this.decisions = new ConcurrentLruCache<String, Object>(capacity);
+    this.revisionCheckInterval = revisionCheckInterval;
+  }
+
+  public String createKey(String userId, List<String> groupIds, List<PermissionCheck> permissionChecks) {
+    StringBuilder key = createAuthenticationKey(userId, groupIds);
+
+    for (PermissionCheck permissionCheck : permissionChecks) {
+      appendPermissionCheck(key, permissionCheck);
+    }
+
+    return key.toString();
+  }
+
+  /**
+   * Creates a key which contains the structure of the composite check, so that
+   * conjunctive and disjunctive checks of the same permissions have different keys.
+   */
+  public String createKey(String userId, List<String> groupIds, CompositePermissionCheck compositePermissionCheck) {
+    StringBuilder key = createAuthenticationKey(userId, groupIds);
+    appendCompositePermissionCheck(key, compositePermissionCheck);
+    return key.toString();
+  }
+
+  protected StringBuilder createAuthenticationKey(String userId, List<String> groupIds) {
+    StringBuilder key = new StringBuilder();
+    key.append(userId).append('|');
+
+    if (groupIds != null) {
+      List<String> sortedGroupIds = new ArrayList<String>(groupIds);
+      Collections.sort(sortedGroupIds);
+      for (String groupId : sortedGroupIds) {
+        key.append(groupId).append(',');
+      }
+    }
+
+    return key;
+  }
+
+  protected void appendPermissionCheck(StringBuilder key, PermissionCheck permissionCheck) {
+    key.append('|')
+      .append(permissionCheck.getResourceType()).append(':')
+      .append(permissionCheck.getResourceId()).append(':')
+      .append(permissionCheck.getPerms());
+  }
+
+  protected void appendCompositePermissionCheck(StringBuilder key, CompositePermissionCheck compositePermissionCheck) {
+    key.append(compositePermissionCheck.isDisjunctive() ? "|or(" : "|and(");
+
+    for (PermissionCheck permissionCheck : compositePermissionCheck.getAtomicChecks()) {
+      appendPermissionCheck(key, permissionCheck);
+    }
+    for (CompositePermissionCheck compositeCheck : compositePermissionCheck.getCompositeChecks()) {
+      appendCompositePermissionCheck(key, compositeCheck);
+    }
+
+    key.append(')');
+  }
+
+  public boolean isGranted(String key) {
+    return decisions.get(key) != null;
+  }
+
+  public void putGranted(String key) {
+    decisions.put(key, GRANTED);
+  }
+
+  /**
+   * @return true if the authorization revision should be read from the database again
+   */
+  public boolean isRevisionCheckDue() {
+    return System.currentTimeMillis() - lastRevisionCheck >= revisionCheckInterval;
+  }
+
+  /**
+   * Records the authorization revision read from the database and clears the cache
+   * if it differs from the previously observed revision.
+   */
+  public void updateRevision(Integer currentRevision) {
+    lastRevisionCheck = System.currentTimeMillis();
+
+    Integer knownRevision = revision;
+    if (knownRevision == null ? currentRevision != null : !knownRevision.equals(currentRevision)) {
+      decisions.clear();
+      revision = currentRevision;
+    }
+  }
+
+  public void invalidate() {
+    decisions.clear();
+  }
+
+  public long getRevisionCheckInterval() {
+    return revisionCheckInterval;
+  }
+
+}
@@ -48,7 +48,10 @@ public abstract class AbstractCorrelateMessageCmd {
   }
 
   protected void triggerExecution(CommandContext commandContext, CorrelationHandlerResult correlationResult) {
-    String executionId = correlationResult.getExecutionEntity().getId();
+    ExecutionEntity execution = correlationResult.getExecutionEntity();
+    String executionId = execution.getId();
+
+    commandContext.getExecutionManager().prefetchProcessInstance(execution.getProcessInstanceId());
 
     MessageEventReceivedCmd command = new MessageEventReceivedCmd(messageName, executionId, builder.getPayloadProcessInstanceVariables(), builder.isExclusiveCorrelation());
     command.execute(commandContext);
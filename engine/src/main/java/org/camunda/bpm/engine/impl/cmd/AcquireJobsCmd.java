@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.impl.cmd;
 
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
@@ -20,9 +21,11 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionShard;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
 
 import java.util.*;
 
@@ -37,23 +40,37 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
 
   protected AcquiredJobs acquiredJobs;
   protected int numJobsToAcquire;
+  protected JobAcquisitionShard shard;
 
   public AcquireJobsCmd(JobExecutor jobExecutor) {
     this(jobExecutor, jobExecutor.getMaxJobsPerAcquisition());
   }
 
   public AcquireJobsCmd(JobExecutor jobExecutor, int numJobsToAcquire) {
+    this(jobExecutor, numJobsToAcquire, null);
+  }
+
+  public AcquireJobsCmd(JobExecutor jobExecutor, int numJobsToAcquire, JobAcquisitionShard shard) {
     this.jobExecutor = jobExecutor;
     this.numJobsToAcquire = numJobsToAcquire;
+    this.shard = shard;
   }
 
   public AcquiredJobs execute(CommandContext commandContext) {
 
     acquiredJobs = new AcquiredJobs(numJobsToAcquire);
 
+    long start = System.nanoTime();
+
     List<JobEntity> jobs = commandContext
       .getJobManager()
-      .findNextJobsToExecute(new Page(0, numJobsToAcquire));
+      .findNextJobsToExecute(new Page(0, numJobsToAcquire), shard);
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry()
+        .recordValue(Metrics.JOB_ACQUISITION_QUERY_TIME, (System.nanoTime() - start) / 1000);
+    }
 
     Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<String, List<String>>();
 
@@ -0,0 +1,87 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxEntryEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Locks the oldest pending entries of the history outbox for a writer and returns their ids.
+ * Entries which were claimed concurrently by another writer are not returned.
+ */
+public class ClaimHistoryOutboxEntriesCmd implements Command<List<String>> {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected String lockOwner;
+  protected long lockTime;
+  protected int maxEntries;
+
+  public ClaimHistoryOutboxEntriesCmd(String lockOwner, long lockTime, int maxEntries) {
+    this.lockOwner = lockOwner;
+    this.lockTime = lockTime;
+    this.maxEntries = maxEntries;
+  }
+
+  public List<String> execute(CommandContext commandContext) {
+    List<HistoryOutboxEntryEntity> entries = commandContext.getHistoryOutboxManager().findEntriesToLock(maxEntries);
+
+    Date lockExpirationTime = new Date(ClockUtil.getCurrentTime().getTime() + lockTime);
+    List<String> entryIds = new ArrayList<String>();
+    for (HistoryOutboxEntryEntity entry : entries) {
+      entry.lock(lockOwner, lockExpirationTime);
+      entryIds.add(entry.getId());
+    }
+
+    filterOnOptimisticLockingFailure(commandContext, entryIds);
+
+    return entryIds;
+  }
+
+  protected void filterOnOptimisticLockingFailure(CommandContext commandContext, final List<String> entryIds) {
+    commandContext.getDbEntityManager().registerOptimisticLockingListener(new OptimisticLockingListener() {
+
+      public Class<? extends DbEntity> getEntityType() {
+        return HistoryOutboxEntryEntity.class;
+      }
+
+      public void failedOperation(DbOperation operation) {
+        if (operation instanceof DbEntityOperation) {
+          DbEntity dbEntity = ((DbEntityOperation) operation).getEntity();
+
+          // the entry was claimed by another writer
+          if (!entryIds.remove(dbEntity.getId())) {
+            throw LOG.concurrentUpdateDbEntityException(operation);
+          }
+
+        } else {
+          throw LOG.concurrentUpdateDbEntityException(operation);
+        }
+      }
+
+    });
+  }
+
+}
@@ -13,12 +13,14 @@
 package org.camunda.bpm.engine.impl.cmd;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.camunda.bpm.application.impl.ProcessApplicationIdentifier;
 import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
 import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.ProcessInstanceBatchException;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.interceptor.Command;
@@ -270,4 +272,13 @@ public class CommandLogger extends ProcessEngineLogger {
       historicProcessInstance.getProcessDefinitionId()
     ));
   }
+
+  public ProcessInstanceBatchException startProcessInstanceBatchFailed(List<String> startedProcessInstanceIds, RuntimeException cause) {
+    return new ProcessInstanceBatchException(exceptionMessage(
+      "041",
+      "Starting process instances failed after {} process instances were started: {}",
+      startedProcessInstanceIds.size(),
+      cause.getMessage()
+    ), cause, startedProcessInstanceIds);
+  }
 }
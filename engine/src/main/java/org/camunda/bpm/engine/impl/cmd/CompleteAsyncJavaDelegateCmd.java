@@ -0,0 +1,70 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.bpmn.behavior.BpmnBehaviorLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AsyncJavaDelegateJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * Records the completion of an {@link org.camunda.bpm.engine.delegate.AsyncJavaDelegate}.
+ * The variables are set on the execution and an exclusive message job is
+ * created which continues the execution. The timeout timer is deleted.
+ */
+public class CompleteAsyncJavaDelegateCmd implements Command<Void> {
+
+  protected static final BpmnBehaviorLogger LOG = ProcessEngineLogger.BPMN_BEHAVIOR_LOGGER;
+
+  protected String executionId;
+  protected String activityInstanceId;
+  protected Map<String, Object> variables;
+  protected Throwable failure;
+
+  public CompleteAsyncJavaDelegateCmd(String executionId, String activityInstanceId, Map<String, Object> variables, Throwable failure) {
+    this.executionId = executionId;
+    this.activityInstanceId = activityInstanceId;
+    this.variables = variables;
+    this.failure = failure;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(executionId);
+
+    if (execution == null || !activityInstanceId.equals(execution.getActivityInstanceId())) {
+      // the execution does not wait for the completion anymore,
+      // e.g. because the process instance was cancelled or modified
+      LOG.debugIgnoreAsyncJavaDelegateCompletion(executionId, activityInstanceId);
+      return null;
+    }
+
+    AsyncJavaDelegateJobHandler.deleteTimeout(execution);
+
+    String failureMessage = null;
+    if (failure != null) {
+      failureMessage = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getName();
+    }
+    else if (variables != null) {
+      execution.setVariables(variables);
+    }
+
+    AsyncJavaDelegateJobHandler.sendContinuation(execution, activityInstanceId, failureMessage);
+
+    return null;
+  }
+
+}
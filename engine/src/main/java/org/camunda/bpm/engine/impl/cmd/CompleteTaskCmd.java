@@ -48,6 +48,8 @@ public class CompleteTaskCmd implements Command<Void>, Serializable {
 
     checkCompleteTask(task, commandContext);
 
+    commandContext.getExecutionManager().prefetchProcessInstance(task.getProcessInstanceId());
+
     if (variables != null) {
       task.setExecutionVariables(variables);
     }
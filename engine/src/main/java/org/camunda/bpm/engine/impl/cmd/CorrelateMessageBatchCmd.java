@@ -0,0 +1,185 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.runtime.CorrelationHandler;
+import org.camunda.bpm.engine.impl.runtime.CorrelationHandlerResult;
+import org.camunda.bpm.engine.impl.runtime.CorrelationSet;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBatchMatch;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBatchResultImpl;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
+
+/**
+ * Correlates a batch of messages in one transaction. The waiting executions of all messages
+ * which are correlated by message name and business key only are resolved with one query.
+ * All other messages, and messages which do not match a waiting execution, are correlated
+ * by the {@link CorrelationHandler} against the current state of the transaction.
+ *
+ * <p>A message which does not match exactly one execution or process definition results in a
+ * failed result without affecting the transaction. Any other exception is thrown and rolls back
+ * the correlation of the whole batch.</p>
+ */
+public class CorrelateMessageBatchCmd implements Command<List<MessageCorrelationBatchResult>> {
+
+  private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  protected List<MessageCorrelationBuilderImpl> messages;
+  protected Set<String> correlatedExecutionIds = new HashSet<String>();
+
+  public CorrelateMessageBatchCmd(List<MessageCorrelationBuilderImpl> messages) {
+    this.messages = messages;
+  }
+
+  public List<MessageCorrelationBatchResult> execute(final CommandContext commandContext) {
+    Map<String, Map<String, List<MessageCorrelationBatchMatch>>> matches = findMatches(commandContext);
+
+    List<MessageCorrelationBatchResult> results = new ArrayList<MessageCorrelationBatchResult>(messages.size());
+    for (MessageCorrelationBuilderImpl message : messages) {
+      results.add(correlate(commandContext, message, matches));
+    }
+    return results;
+  }
+
+  /**
+   * @return the matching executions by message name and business key
+   */
+  protected Map<String, Map<String, List<MessageCorrelationBatchMatch>>> findMatches(final CommandContext commandContext) {
+    final Set<String> messageNames = new HashSet<String>();
+    final Set<String> businessKeys = new HashSet<String>();
+    for (MessageCorrelationBuilderImpl message : messages) {
+      if (isCorrelatedByBusinessKeyOnly(message)) {
+        messageNames.add(message.getMessageName());
+        businessKeys.add(message.getBusinessKey());
+      }
+    }
+
+    Map<String, Map<String, List<MessageCorrelationBatchMatch>>> matches = new HashMap<String, Map<String, List<MessageCorrelationBatchMatch>>>();
+    if (messageNames.isEmpty()) {
+      return matches;
+    }
+
+    List<MessageCorrelationBatchMatch> foundMatches = commandContext.runWithoutAuthorization(new Callable<List<MessageCorrelationBatchMatch>>() {
+      public List<MessageCorrelationBatchMatch> call() throws Exception {
+        return commandContext.getEventSubscriptionManager().findMessageCorrelationBatchMatches(messageNames, businessKeys);
+      }
+    });
+
+    for (MessageCorrelationBatchMatch match : foundMatches) {
+      Map<String, List<MessageCorrelationBatchMatch>> matchesByBusinessKey = matches.get(match.getMessageName());
+      if (matchesByBusinessKey == null) {
+        matchesByBusinessKey = new HashMap<String, List<MessageCorrelationBatchMatch>>();
+        matches.put(match.getMessageName(), matchesByBusinessKey);
+      }
+
+      List<MessageCorrelationBatchMatch> matchList = matchesByBusinessKey.get(match.getBusinessKey());
+      if (matchList == null) {
+        matchList = new ArrayList<MessageCorrelationBatchMatch>();
+        matchesByBusinessKey.put(match.getBusinessKey(), matchList);
+      }
+      matchList.add(match);
+    }
+
+    return matches;
+  }
+
+  protected MessageCorrelationBatchResult correlate(final CommandContext commandContext, final MessageCorrelationBuilderImpl message,
+      Map<String, Map<String, List<MessageCorrelationBatchMatch>>> matches) {
+
+    String messageName = message.getMessageName();
+    String businessKey = message.getBusinessKey();
+
+    try {
+      if (isCorrelatedByBusinessKeyOnly(message)) {
+        MessageCorrelationResult result = correlateByMatches(commandContext, message, matches);
+        return MessageCorrelationBatchResultImpl.correlated(messageName, businessKey, result);
+      }
+      else {
+        MessageCorrelationResult result = new CorrelateMessageCmd(message).execute(commandContext);
+        return MessageCorrelationBatchResultImpl.correlated(messageName, businessKey, result);
+      }
+
+    } catch (MismatchingMessageCorrelationException e) {
+      return MessageCorrelationBatchResultImpl.failed(messageName, businessKey, e);
+    }
+  }
+
+  protected MessageCorrelationResult correlateByMatches(CommandContext commandContext, MessageCorrelationBuilderImpl message,
+      Map<String, Map<String, List<MessageCorrelationBatchMatch>>> matches) {
+
+    String messageName = message.getMessageName();
+
+    List<MessageCorrelationBatchMatch> executionMatches = null;
+    Map<String, List<MessageCorrelationBatchMatch>> matchesByBusinessKey = matches.get(messageName);
+    if (matchesByBusinessKey != null) {
+      executionMatches = matchesByBusinessKey.get(message.getBusinessKey());
+    }
+
+    if (executionMatches != null && executionMatches.size() > 1) {
+      throw LOG.exceptionCorrelateMessageToSingleExecution(messageName, executionMatches.size(), new CorrelationSet(message));
+    }
+
+    if (executionMatches != null) {
+      String executionId = executionMatches.get(0).getExecutionId();
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(executionId);
+      if (execution != null && correlatedExecutionIds.add(executionId)) {
+        return new BatchMessageCorrelation(message).correlate(commandContext, CorrelationHandlerResult.matchedExecution(execution));
+      }
+    }
+
+    // the execution was already correlated by a previous message of this batch or no execution
+    // was waiting when the batch started; correlate against the current state of the transaction
+    return new CorrelateMessageCmd(message).execute(commandContext);
+  }
+
+  protected boolean isCorrelatedByBusinessKeyOnly(MessageCorrelationBuilderImpl message) {
+    return message.getMessageName() != null
+        && message.getBusinessKey() != null
+        && isEmpty(message.getCorrelationProcessInstanceVariables())
+        && isEmpty(message.getCorrelationLocalVariables())
+        && message.getProcessInstanceId() == null
+        && message.getProcessDefinitionId() == null
+        && !message.isTenantIdSet();
+  }
+
+  protected boolean isEmpty(Map<String, Object> variables) {
+    return variables == null || variables.isEmpty();
+  }
+
+  protected static class BatchMessageCorrelation extends AbstractCorrelateMessageCmd {
+
+    protected BatchMessageCorrelation(MessageCorrelationBuilderImpl builder) {
+      super(builder);
+    }
+
+    public MessageCorrelationResult correlate(CommandContext commandContext, CorrelationHandlerResult correlationResult) {
+      checkAuthorization(correlationResult);
+      return createMessageCorrelationResult(commandContext, correlationResult);
+    }
+  }
+
+}
@@ -43,6 +43,7 @@ public class DeleteAuthorizationCmd implements Command<Void> {
     ensureNotNull("Authorization for Id '" + authorizationId + "' does not exist", "authorization", authorization);
 
     authorizationManager.delete(authorization);
+    authorizationManager.invalidateAuthorizationDecisions();
 
     return null;
   }
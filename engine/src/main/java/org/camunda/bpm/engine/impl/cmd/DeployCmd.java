@@ -15,7 +15,6 @@ package org.camunda.bpm.engine.impl.cmd;
 import java.io.ByteArrayInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -122,6 +121,9 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
       throw new NotValidException("No deployment resources contained to deploy.");
     }
 
+    // compute the content hashes before the deployment lock is acquired
+    computeContentHashes(deploymentBuilder);
+
     // perform deployment
     DeploymentWithDefinitions deployment = commandContext.runWithoutAuthorization(new Callable<DeploymentWithDefinitions>() {
       @Override
@@ -421,6 +423,15 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
     }
   }
 
+  protected void computeContentHashes(DeploymentBuilderImpl deploymentBuilder) {
+    Map<String, ResourceEntity> resources = deploymentBuilder.getDeployment().getResources();
+    if (resources != null) {
+      for (ResourceEntity resource : resources.values()) {
+        resource.getContentHash();
+      }
+    }
+  }
+
   protected DeploymentEntity initDeployment() {
     DeploymentEntity deployment = deploymentBuilder.getDeployment();
     deployment.setDeploymentTime(ClockUtil.getCurrentTime());
@@ -438,9 +449,21 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
         source = ProcessApplicationDeployment.PROCESS_APPLICATION_DEPLOYMENT_SOURCE;
       }
 
-      Map<String, ResourceEntity> existingResources = commandContext
-          .getResourceManager()
-          .findLatestResourcesByDeploymentName(deployment.getName(), containedResources.keySet(), source, deployment.getTenantId());
+      ResourceManager resourceManager = commandContext.getResourceManager();
+      Map<String, ResourceEntity> existingResources = resourceManager
+          .findLatestResourceContentHashesByDeploymentName(deployment.getName(), containedResources.keySet(), source, deployment.getTenantId());
+
+      // resources deployed before content hashes were stored have to be compared by their bytes
+      Set<String> resourcesWithoutHash = new HashSet<String>();
+      for (ResourceEntity existingResource : existingResources.values()) {
+        if (existingResource.getContentHash() == null && !existingResource.isGenerated()) {
+          resourcesWithoutHash.add(existingResource.getName());
+        }
+      }
+      if (!resourcesWithoutHash.isEmpty()) {
+        existingResources.putAll(resourceManager
+            .findLatestResourcesByDeploymentName(deployment.getName(), resourcesWithoutHash, source, deployment.getTenantId()));
+      }
 
       for (ResourceEntity deployedResource : containedResources.values()) {
         String resourceName = deployedResource.getName();
@@ -469,9 +492,12 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
   }
 
   protected boolean resourcesDiffer(ResourceEntity resource, ResourceEntity existing) {
-    byte[] bytes = resource.getBytes();
-    byte[] savedBytes = existing.getBytes();
-    return !Arrays.equals(bytes, savedBytes);
+    String contentHash = resource.getContentHash();
+    String savedContentHash = existing.getContentHash();
+    if (contentHash == null || savedContentHash == null) {
+      return contentHash != savedContentHash;
+    }
+    return !contentHash.equals(savedContentHash);
   }
 
   protected void deploy(DeploymentEntity deployment) {
@@ -19,8 +19,13 @@ import java.util.Collections;
 
 import org.camunda.bpm.engine.IdentityService;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.batch.AbstractBatchJobHandler;
+import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
+import org.camunda.bpm.engine.impl.batch.BatchThroughputMonitor;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -96,7 +101,19 @@ public class ExecuteJobsCmd implements Command<Void>, Serializable {
 
       commandContext.setCurrentJob(job);
 
-      job.execute(commandContext);
+      commandContext.getExecutionManager().prefetchProcessInstance(job.getProcessInstanceId());
+
+      if (isMonitoredBatchJob(processEngineConfiguration, job)) {
+        int batchJobInvocations = getBatchJobInvocations(processEngineConfiguration, job);
+        long startTime = System.currentTimeMillis();
+
+        job.execute(commandContext);
+
+        recordBatchJobExecution(commandContext, processEngineConfiguration, job, startTime, batchJobInvocations);
+
+      } else {
+        job.execute(commandContext);
+      }
 
     }
     finally {
@@ -109,4 +126,41 @@ public class ExecuteJobsCmd implements Command<Void>, Serializable {
     return null;
   }
 
+  /**
+   * @return true if the given job is handled by a batch job handler and its executions are
+   * recorded by the {@link BatchThroughputMonitor}
+   */
+  protected boolean isMonitoredBatchJob(ProcessEngineConfigurationImpl processEngineConfiguration, JobEntity job) {
+    return processEngineConfiguration.getBatchThroughputMonitor() != null
+        && job.getJobDefinitionId() != null
+        && processEngineConfiguration.getBatchHandlers().containsKey(job.getJobHandlerType());
+  }
+
+  /**
+   * @return the number of invocations of the given batch job
+   */
+  protected int getBatchJobInvocations(ProcessEngineConfigurationImpl processEngineConfiguration, JobEntity job) {
+    BatchJobHandler<?> batchJobHandler = processEngineConfiguration.getBatchHandlers().get(job.getJobHandlerType());
+    if (batchJobHandler instanceof AbstractBatchJobHandler) {
+      return ((AbstractBatchJobHandler<?>) batchJobHandler).getInvocations(job);
+    }
+    else {
+      return 1;
+    }
+  }
+
+  /**
+   * Records the duration of a batch job once it is committed, see {@link BatchThroughputMonitor}.
+   */
+  protected void recordBatchJobExecution(CommandContext commandContext, ProcessEngineConfigurationImpl processEngineConfiguration, JobEntity job, final long startTime, final int invocations) {
+    final BatchThroughputMonitor batchThroughputMonitor = processEngineConfiguration.getBatchThroughputMonitor();
+    final String jobDefinitionId = job.getJobDefinitionId();
+
+    commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+      public void execute(CommandContext commandContext) {
+        batchThroughputMonitor.jobCompleted(jobDefinitionId, System.currentTimeMillis() - startTime, invocations);
+      }
+    });
+  }
+
 }
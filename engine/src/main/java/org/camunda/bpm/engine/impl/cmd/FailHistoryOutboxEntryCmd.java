@@ -0,0 +1,71 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxEntryEntity;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * Records a failed attempt to write an entry of the history outbox and releases the lock of the entry.
+ * Once the maximum number of attempts is reached, the entry is moved aside and not written anymore.
+ * Returns <code>true</code> if the entry was moved aside.
+ */
+public class FailHistoryOutboxEntryCmd implements Command<Boolean> {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected String entryId;
+  protected String lockOwner;
+  protected Throwable exception;
+  protected int maxAttempts;
+
+  public FailHistoryOutboxEntryCmd(String entryId, String lockOwner, Throwable exception, int maxAttempts) {
+    this.entryId = entryId;
+    this.lockOwner = lockOwner;
+    this.exception = exception;
+    this.maxAttempts = maxAttempts;
+  }
+
+  public Boolean execute(CommandContext commandContext) {
+    HistoryOutboxEntryEntity entry = commandContext.getHistoryOutboxManager().findEntryById(entryId);
+
+    if (entry == null || !lockOwner.equals(entry.getLockOwner())) {
+      // the entry was written or claimed by another writer in the meantime
+      return false;
+    }
+
+    String errorMessage = exception.getMessage() != null ? exception.getMessage() : exception.getClass().getName();
+    entry.failed(errorMessage, maxAttempts);
+
+    LOG.exceptionWhileWritingHistoryOutboxEntry(entryId, entry.getAttempts(), exception);
+
+    if (entry.getState() != HistoryOutboxEntryEntity.STATE_FAILED) {
+      return false;
+    }
+
+    LOG.historyOutboxEntryFailed(entryId, entry.getAttempts());
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.HISTORY_OUTBOX_ENTRIES_FAILED);
+    }
+
+    return true;
+  }
+
+}
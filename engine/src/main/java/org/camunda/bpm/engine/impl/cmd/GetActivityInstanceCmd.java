@@ -23,6 +23,7 @@ import java.util.Map;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ActivityInstanceImpl;
@@ -344,17 +345,15 @@ public class GetActivityInstanceCmd implements Command<ActivityInstance> {
 
     // first try to load from cache
     // check whether the process instance is already (partially) loaded in command context
-    List<ExecutionEntity> cachedExecutions = commandContext.getDbEntityManager().getCachedEntitiesByType(ExecutionEntity.class);
-    for (ExecutionEntity executionEntity : cachedExecutions) {
-      if(processInstanceId.equals(executionEntity.getProcessInstanceId())) {
-        // found one execution from process instance
-        result = new ArrayList<ExecutionEntity>();
-        ExecutionEntity processInstance = executionEntity.getProcessInstance();
-        // add process instance
-        result.add(processInstance);
-        loadChildExecutionsFromCache(processInstance, result);
-        break;
-      }
+    List<ExecutionEntity> cachedExecutions = commandContext.getDbEntityManager()
+        .getCachedEntitiesByIndex(ExecutionEntity.class, DbEntityCacheKeyMapping.INDEX_PROCESS_INSTANCE_ID, processInstanceId);
+    if (!cachedExecutions.isEmpty()) {
+      // found one execution from process instance
+      result = new ArrayList<ExecutionEntity>();
+      ExecutionEntity processInstance = cachedExecutions.get(0).getProcessInstance();
+      // add process instance
+      result.add(processInstance);
+      loadChildExecutionsFromCache(processInstance, result);
     }
 
     if(result == null) {
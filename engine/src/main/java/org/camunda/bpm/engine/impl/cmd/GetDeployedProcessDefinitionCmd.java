@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.cmd;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
 
+import org.camunda.bpm.engine.impl.ProcessInstanceBatchBuilderImpl;
 import org.camunda.bpm.engine.impl.ProcessInstantiationBuilderImpl;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.interceptor.Command;
@@ -45,6 +46,14 @@ public class GetDeployedProcessDefinitionCmd implements Command<ProcessDefinitio
     this.checkReadPermission = checkReadPermission;
   }
 
+  public GetDeployedProcessDefinitionCmd(ProcessInstanceBatchBuilderImpl batchBuilder, boolean checkReadPermission) {
+    this.processDefinitionId = batchBuilder.getProcessDefinitionId();
+    this.processDefinitionKey = batchBuilder.getProcessDefinitionKey();
+    this.processDefinitionTenantId = batchBuilder.getProcessDefinitionTenantId();
+    this.isTenantIdSet = batchBuilder.isProcessDefinitionTenantIdSet();
+    this.checkReadPermission = checkReadPermission;
+  }
+
   @Override
   public ProcessDefinitionEntity execute(CommandContext commandContext) {
 
@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Determines which of the given topics have external tasks that can be locked right now.
+ */
+public class GetLockableExternalTaskTopicNamesCmd implements Command<Set<String>> {
+
+  protected Collection<String> topicNames;
+
+  public GetLockableExternalTaskTopicNamesCmd(Collection<String> topicNames) {
+    this.topicNames = topicNames;
+  }
+
+  public Set<String> execute(CommandContext commandContext) {
+    return new HashSet<String>(commandContext
+      .getExternalTaskManager()
+      .selectTopicNamesWithLockableExternalTasks(topicNames));
+  }
+
+}
@@ -0,0 +1,47 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.management.MetricsHistogram;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+public class GetMetricsHistogramCmd implements Command<MetricsHistogram> {
+
+  protected String name;
+
+  public GetMetricsHistogramCmd(String name) {
+    this.name = name;
+  }
+
+  public MetricsHistogram execute(CommandContext commandContext) {
+    ensureNotNull("name", name);
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (!processEngineConfiguration.isMetricsEnabled()) {
+      return null;
+    }
+
+    Histogram histogram = processEngineConfiguration.getMetricsRegistry().getHistogramByName(name);
+    if (histogram == null) {
+      return null;
+    }
+
+    return histogram.snapshot();
+  }
+
+}
@@ -13,9 +13,13 @@
  */
 package org.camunda.bpm.engine.impl.cmd;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
+
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
-import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
@@ -23,6 +27,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupCont
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandlerConfiguration;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
 import org.camunda.bpm.engine.runtime.Job;
@@ -36,6 +41,8 @@ public class HistoryCleanupCmd implements Command<Job> {
 
   public static final JobDeclaration HISTORY_CLEANUP_JOB_DECLARATION = new HistoryCleanupJobDeclaration();
 
+  public static final int MAX_THREADS_NUMBER = 60;
+
   private boolean immediatelyDue;
 
   public HistoryCleanupCmd(boolean immediatelyDue) {
@@ -51,38 +58,73 @@ public class HistoryCleanupCmd implements Command<Job> {
       LOG.debugHistoryCleanupWrongConfiguration();
     }
 
-    //find job instance
-    JobEntity historyCleanupJob = commandContext.getJobManager().findJobByHandlerType(HistoryCleanupJobHandler.TYPE);
+    //find job instances
+    List<JobEntity> historyCleanupJobs = findHistoryCleanupJobs(commandContext);
 
-    boolean createJob = historyCleanupJob == null && willBeScheduled(commandContext);
+    if (willBeScheduled(commandContext)) {
+      int degreeOfParallelism = commandContext.getProcessEngineConfiguration().getHistoryCleanupDegreeOfParallelism();
 
-    boolean reconfigureJob = historyCleanupJob != null && willBeScheduled(commandContext);
+      if (historyCleanupJobs.size() != degreeOfParallelism) {
+        //exclusive lock
+        commandContext.getPropertyManager().acquireExclusiveLockForHistoryCleanupJob();
 
-    boolean suspendJob = historyCleanupJob != null && !willBeScheduled(commandContext);
+        //check again after lock
+        historyCleanupJobs = findHistoryCleanupJobs(commandContext);
+      }
 
-    if (createJob) {
-      //exclusive lock
-      commandContext.getPropertyManager().acquireExclusiveLockForHistoryCleanupJob();
+      List<JobEntity> result = new ArrayList<JobEntity>();
+      for (int i = 0; i < degreeOfParallelism; i++) {
+        HistoryCleanupContext historyCleanupContext = new HistoryCleanupContext(immediatelyDue, i);
+
+        if (i < historyCleanupJobs.size()) {
+          //apply new configuration
+          JobEntity historyCleanupJob = historyCleanupJobs.get(i);
+          HISTORY_CLEANUP_JOB_DECLARATION.reconfigure(historyCleanupContext, historyCleanupJob);
+          Date newDueDate = HISTORY_CLEANUP_JOB_DECLARATION.resolveDueDate(historyCleanupContext);
+          commandContext.getJobManager().reschedule(historyCleanupJob, newDueDate);
+          result.add(historyCleanupJob);
+        } else {
+          JobEntity historyCleanupJob = HISTORY_CLEANUP_JOB_DECLARATION.createJobInstance(historyCleanupContext);
+          commandContext.getJobManager().insertAndHintJobExecutor(historyCleanupJob);
+          result.add(historyCleanupJob);
+        }
+      }
 
-      //check again after lock
-      historyCleanupJob = commandContext.getJobManager().findJobByHandlerType(HistoryCleanupJobHandler.TYPE);
+      //degree of parallelism was decreased
+      for (int i = degreeOfParallelism; i < historyCleanupJobs.size(); i++) {
+        commandContext.getJobManager().deleteJob(historyCleanupJobs.get(i));
+      }
 
-      if (historyCleanupJob == null) {
-        historyCleanupJob = HISTORY_CLEANUP_JOB_DECLARATION.createJobInstance(new HistoryCleanupContext(immediatelyDue));
-        Context.getCommandContext().getJobManager().insertAndHintJobExecutor(historyCleanupJob);
+      historyCleanupJobs = result;
+    } else {
+      for (JobEntity historyCleanupJob : historyCleanupJobs) {
+        historyCleanupJob.setDuedate(null);
+        historyCleanupJob.setSuspensionState(SuspensionState.SUSPENDED.getStateCode());
       }
-    } else if (reconfigureJob) {
-      //apply new configuration
-      HistoryCleanupContext historyCleanupContext = new HistoryCleanupContext(immediatelyDue);
-      HISTORY_CLEANUP_JOB_DECLARATION.reconfigure(historyCleanupContext, historyCleanupJob);
-      Date newDueDate = HISTORY_CLEANUP_JOB_DECLARATION.resolveDueDate(historyCleanupContext);
-      commandContext.getJobManager().reschedule(historyCleanupJob, newDueDate);
-    } else if (suspendJob) {
-      historyCleanupJob.setDuedate(null);
-      historyCleanupJob.setSuspensionState(SuspensionState.SUSPENDED.getStateCode());
     }
 
-    return historyCleanupJob;
+    if (historyCleanupJobs.isEmpty()) {
+      return null;
+    } else {
+      return historyCleanupJobs.get(0);
+    }
+  }
+
+  /**
+   * @return history cleanup jobs ordered by their index
+   */
+  protected List<JobEntity> findHistoryCleanupJobs(CommandContext commandContext) {
+    List<JobEntity> historyCleanupJobs = commandContext.getJobManager().findJobsByHandlerType(HistoryCleanupJobHandler.TYPE);
+    Collections.sort(historyCleanupJobs, new Comparator<JobEntity>() {
+      public int compare(JobEntity job1, JobEntity job2) {
+        return getJobIndex(job1) - getJobIndex(job2);
+      }
+    });
+    return historyCleanupJobs;
+  }
+
+  protected int getJobIndex(JobEntity historyCleanupJob) {
+    return ((HistoryCleanupJobHandlerConfiguration) historyCleanupJob.getJobHandlerConfiguration()).getJobIndex();
   }
 
   private boolean willBeScheduled(CommandContext commandContext) {
@@ -0,0 +1,55 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+
+/**
+ * Removes the definitions of deployments which were deleted by other process engines
+ * (e.g. other nodes of a cluster) from the deployment cache of this process engine.
+ * Returns the ids of the removed deployments.
+ */
+public class InvalidateDeploymentCacheCmd implements Command<List<String>> {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public List<String> execute(CommandContext commandContext) {
+    DeploymentCache deploymentCache = commandContext.getProcessEngineConfiguration().getDeploymentCache();
+
+    Set<String> cachedDeploymentIds = deploymentCache.getCachedDeploymentIds();
+    if (cachedDeploymentIds.isEmpty()) {
+      return new ArrayList<String>();
+    }
+
+    List<String> deletedDeploymentIds = new ArrayList<String>(cachedDeploymentIds);
+    List<String> existingDeploymentIds = commandContext.getDeploymentManager()
+      .findExistingDeploymentIds(new ArrayList<String>(cachedDeploymentIds));
+    deletedDeploymentIds.removeAll(existingDeploymentIds);
+
+    if (!deletedDeploymentIds.isEmpty()) {
+      deploymentCache.invalidateDeployments(deletedDeploymentIds);
+      LOG.invalidatedDeploymentCache(deletedDeploymentIds);
+    }
+
+    return deletedDeploymentIds;
+  }
+
+}
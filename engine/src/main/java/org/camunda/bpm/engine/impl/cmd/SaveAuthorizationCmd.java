@@ -50,6 +50,8 @@ public class SaveAuthorizationCmd implements Command<Authorization> {
       authorizationManager.update(authorization);
       
     }
+
+    authorizationManager.invalidateAuthorizationDecisions();
     
     return authorization;
   }
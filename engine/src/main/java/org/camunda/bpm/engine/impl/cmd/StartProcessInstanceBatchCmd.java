@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.ProcessInstanceBatchBuilderImpl;
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+
+/**
+ * Starts several instances of a process definition in one transaction. The process
+ * definition is resolved and the authorization is checked once for all instances.
+ */
+public class StartProcessInstanceBatchCmd implements Command<List<String>> {
+
+  protected final ProcessInstanceBatchBuilderImpl batchBuilder;
+  protected final List<String> businessKeys;
+  protected final List<Map<String, Object>> variables;
+
+  protected String processDefinitionId;
+
+  /**
+   * @param processDefinitionId the id of the process definition if it was already resolved
+   *   by a previous transaction of the batch or null to resolve it from the builder
+   */
+  public StartProcessInstanceBatchCmd(ProcessInstanceBatchBuilderImpl batchBuilder, String processDefinitionId,
+      List<String> businessKeys, List<Map<String, Object>> variables) {
+    this.batchBuilder = batchBuilder;
+    this.processDefinitionId = processDefinitionId;
+    this.businessKeys = businessKeys;
+    this.variables = variables;
+  }
+
+  public List<String> execute(CommandContext commandContext) {
+
+    GetDeployedProcessDefinitionCmd getProcessDefinitionCmd = processDefinitionId != null
+        ? new GetDeployedProcessDefinitionCmd(processDefinitionId, false)
+        : new GetDeployedProcessDefinitionCmd(batchBuilder, false);
+
+    ProcessDefinitionEntity processDefinition = getProcessDefinitionCmd.execute(commandContext);
+    processDefinitionId = processDefinition.getId();
+
+    for(CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
+      checker.checkCreateProcessInstance(processDefinition);
+    }
+
+    List<String> processInstanceIds = new ArrayList<String>(businessKeys.size());
+
+    for (int i = 0; i < businessKeys.size(); i++) {
+      ExecutionEntity processInstance = processDefinition.createProcessInstance(businessKeys.get(i), null);
+      processInstance.start(variables.get(i));
+
+      processInstanceIds.add(processInstance.getId());
+    }
+
+    return processInstanceIds;
+  }
+
+  /**
+   * @return the id of the process definition the instances were started in
+   */
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+}
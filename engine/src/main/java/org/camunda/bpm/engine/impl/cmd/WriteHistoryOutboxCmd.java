@@ -0,0 +1,153 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.HistoryOutboxDbEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.OutboxHistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxEntryEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxManager;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * Writes the history events of the given history outbox entries to the history tables
+ * and deletes the entries. Entries which are not locked by the given lock owner anymore
+ * are skipped. Updates of an activity instance which was started by the same batch are
+ * merged into the start event, so that only one insert is executed. Returns the number
+ * of written entries.
+ */
+public class WriteHistoryOutboxCmd implements Command<Integer> {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected List<String> entryIds;
+  protected String lockOwner;
+  protected int maxAttempts;
+
+  public WriteHistoryOutboxCmd(List<String> entryIds, String lockOwner, int maxAttempts) {
+    this.entryIds = entryIds;
+    this.lockOwner = lockOwner;
+    this.maxAttempts = maxAttempts;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    HistoryOutboxManager historyOutboxManager = commandContext.getHistoryOutboxManager();
+
+    List<HistoryOutboxEntryEntity> entries = new ArrayList<HistoryOutboxEntryEntity>();
+    for (String entryId : entryIds) {
+      HistoryOutboxEntryEntity entry = historyOutboxManager.findEntryById(entryId);
+      if (entry != null && lockOwner.equals(entry.getLockOwner())) {
+        entries.add(entry);
+      }
+    }
+
+    if (entries.isEmpty()) {
+      return 0;
+    }
+
+    List<HistoryEvent> events = new ArrayList<HistoryEvent>();
+    for (HistoryOutboxEntryEntity entry : entries) {
+      events.addAll(OutboxHistoryEventHandler.deserializeEvents(entry));
+    }
+
+    List<HistoryEvent> coalescedEvents = coalesceEvents(events);
+    new HistoryOutboxDbEventHandler(isInitialEventRequired(entries)).handleEvents(coalescedEvents);
+
+    for (HistoryOutboxEntryEntity entry : entries) {
+      historyOutboxManager.deleteEntry(entry);
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.HISTORY_OUTBOX_ENTRIES_WRITTEN, entries.size());
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.HISTORY_OUTBOX_EVENTS_WRITTEN, events.size());
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.HISTORY_OUTBOX_EVENTS_COALESCED, events.size() - coalescedEvents.size());
+    }
+
+    LOG.writtenHistoryOutboxEntries(entries.size(), events.size());
+
+    return entries.size();
+  }
+
+  /**
+   * An update whose initial event was not written yet (e.g. because another writer holds
+   * the entry with the initial event) fails the write, so that the entry is retried later.
+   * On the last attempt of a single entry, the update is written without the initial event.
+   */
+  protected boolean isInitialEventRequired(List<HistoryOutboxEntryEntity> entries) {
+    return entries.size() > 1 || entries.get(0).getAttempts() < maxAttempts - 1;
+  }
+
+  protected List<HistoryEvent> coalesceEvents(List<HistoryEvent> events) {
+    List<HistoryEvent> coalescedEvents = new ArrayList<HistoryEvent>();
+    Map<String, HistoricActivityInstanceEventEntity> startedActivityInstances = new HashMap<String, HistoricActivityInstanceEventEntity>();
+
+    for (HistoryEvent event : events) {
+      if (event instanceof HistoricActivityInstanceEventEntity && event.getId() != null) {
+        HistoricActivityInstanceEventEntity activityInstanceEvent = (HistoricActivityInstanceEventEntity) event;
+
+        if (event.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_START)) {
+          startedActivityInstances.put(event.getId(), activityInstanceEvent);
+
+        } else {
+          HistoricActivityInstanceEventEntity startEvent = startedActivityInstances.get(event.getId());
+          if (startEvent != null) {
+            applyActivityInstanceUpdate(startEvent, activityInstanceEvent);
+            continue;
+          }
+        }
+      }
+
+      coalescedEvents.add(event);
+    }
+
+    return coalescedEvents;
+  }
+
+  /**
+   * Applies the fields which are written by the update statement of the historic activity instance.
+   */
+  protected void applyActivityInstanceUpdate(HistoricActivityInstanceEventEntity startEvent, HistoricActivityInstanceEventEntity updateEvent) {
+    startEvent.setExecutionId(updateEvent.getExecutionId());
+    startEvent.setProcessDefinitionKey(updateEvent.getProcessDefinitionKey());
+    startEvent.setProcessDefinitionId(updateEvent.getProcessDefinitionId());
+    startEvent.setActivityId(updateEvent.getActivityId());
+    startEvent.setActivityName(updateEvent.getActivityName());
+    startEvent.setActivityType(updateEvent.getActivityType());
+    startEvent.setParentActivityInstanceId(updateEvent.getParentActivityInstanceId());
+
+    if (updateEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_UPDATE)) {
+      startEvent.setTaskAssignee(updateEvent.getTaskAssignee());
+      startEvent.setTaskId(updateEvent.getTaskId());
+    }
+
+    if (updateEvent.getEndTime() != null) {
+      startEvent.setEndTime(updateEvent.getEndTime());
+      startEvent.setDurationInMillis(updateEvent.getDurationInMillis());
+      startEvent.setActivityInstanceState(updateEvent.getActivityInstanceState());
+    }
+  }
+
+}
@@ -26,6 +26,7 @@ import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
 import org.camunda.bpm.engine.impl.core.variable.event.VariableEvent;
 import org.camunda.bpm.engine.impl.core.variable.event.VariableEventDispatcher;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.javax.el.ELContext;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.camunda.bpm.engine.variable.VariableMap;
@@ -91,12 +92,17 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
     boolean collectAll = (variableNames == null);
 
     List<CoreVariableInstance> localVariables = getVariableInstancesLocal();
+    List<CoreVariableInstance> collectedVariables = new ArrayList<CoreVariableInstance>();
     for (CoreVariableInstance var : localVariables) {
       if(!resultVariables.containsKey(var.getName())
          && (collectAll || variableNames.contains(var.getName()))) {
-        resultVariables.put(var.getName(), var.getTypedValue(deserializeValues));
+        collectedVariables.add(var);
       }
     }
+    prefetchByteArrays(collectedVariables);
+    for (CoreVariableInstance var : collectedVariables) {
+      resultVariables.put(var.getName(), var.getTypedValue(deserializeValues));
+    }
     if(!isLocal) {
       AbstractVariableScope parentScope = getParentVariableScope();
       // Do not propagate to parent if all variables in 'variableNames' are already collected!
@@ -106,6 +112,26 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
     }
   }
 
+  /**
+   * Loads the byte arrays of the given persistent variables with a single select
+   * before their values are read one by one.
+   */
+  protected void prefetchByteArrays(List<CoreVariableInstance> variables) {
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext == null || variables.size() < 2) {
+      return;
+    }
+
+    List<String> byteArrayIds = new ArrayList<String>();
+    for (CoreVariableInstance variable : variables) {
+      if (variable instanceof VariableInstanceEntity) {
+        byteArrayIds.add(((VariableInstanceEntity) variable).getByteArrayValueId());
+      }
+    }
+
+    commandContext.getByteArrayManager().prefetchByteArrays(byteArrayIds);
+  }
+
   // get single variable /////////////////////////////////////
 
   public Object getVariable(String variableName) {
@@ -30,6 +30,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
@@ -649,4 +650,117 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
         "081", "No startup lock property found in databse");
   }
 
+  public ProcessEngineException wrongBatchResultsSizeException(List<DbOperation> operationsToFlush) {
+    return new ProcessEngineException(exceptionMessage(
+        "082",
+        "Unexpected batch results size. The number of update counts returned by the JDBC batch does not match the number of flushed operations. Flush summary: \n {}",
+        buildStringFromList(operationsToFlush)
+        ));
+  }
+
+  public void usingFallbackIdGenerator(Object fallbackIdGenerator, Throwable cause) {
+    logWarn(
+        "083",
+        "Could not fetch the next id block, using fallback id generator '{}' until a block can be fetched: {}",
+        fallbackIdGenerator,
+        cause.getMessage());
+  }
+
+  public void prefetchingIdBlock(int idBlockSize) {
+    logDebug(
+        "084", "Prefetching next id block of size {}", idBlockSize);
+  }
+
+  public ProcessEngineException exceptionWhileSerializingHistoryOutboxEntry(Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "085", "Exception while serializing history events into the history outbox: {}", cause.getMessage()), cause);
+  }
+
+  public ProcessEngineException exceptionWhileDeserializingHistoryOutboxEntry(String entryId, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "086", "Exception while deserializing history events of history outbox entry '{}': {}", entryId, cause.getMessage()), cause);
+  }
+
+  public void exceptionWhileWritingHistoryOutbox(Throwable cause) {
+    logWarn(
+        "087", "Exception while writing history events from the history outbox, retrying in the next cycle: {}", cause.getMessage(), cause);
+  }
+
+  public void writtenHistoryOutboxEntries(int entries, int events) {
+    logDebug(
+        "088", "Written {} history events of {} history outbox entries", events, entries);
+  }
+
+  public void exceptionWhileReadingDeploymentSnapshot(String deploymentId, String resourceName, Throwable cause) {
+    logWarn(
+        "089", "Exception while reading the snapshot of resource '{}' of deployment '{}' from the second level deployment cache, parsing the resource instead: {}",
+        resourceName, deploymentId, cause.getMessage(), cause);
+  }
+
+  public void exceptionWhileWritingDeploymentSnapshot(String deploymentId, String resourceName, Throwable cause) {
+    logWarn(
+        "090", "Exception while writing the snapshot of resource '{}' of deployment '{}' to the second level deployment cache: {}",
+        resourceName, deploymentId, cause.getMessage(), cause);
+  }
+
+  public void invalidatedDeploymentCache(Collection<String> deploymentIds) {
+    logDebug(
+        "091", "Removed the definitions of deleted deployments {} from the deployment cache", deploymentIds);
+  }
+
+  public void exceptionWhileInvalidatingDeploymentCache(Throwable cause) {
+    logWarn(
+        "092", "Exception while invalidating the deployment cache, retrying in the next cycle: {}", cause.getMessage(), cause);
+  }
+
+  public ProcessEngineException entityCacheIndexNotFoundException(Class<?> cacheKey, String indexName) {
+    return new ProcessEngineException(exceptionMessage(
+        "093", "No entity cache index '{}' is registered for entities of type '{}'", indexName, cacheKey));
+  }
+
+  public ProcessEngineException interruptedWhileWaitingForDeploymentParseTasks(InterruptedException cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "094", "Interrupted while waiting for the parsing of deployment resources"), cause);
+  }
+
+  public ProcessEngineException exceptionWhileRunningDeploymentParseTask(Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "095", "Exception while parsing deployment resources: {}", cause.getMessage()), cause);
+  }
+
+  public void warmedUpDeploymentCache(int deployments, long durationInMillis) {
+    logInfo(
+        "096", "Warmed up the deployment cache with the latest process definitions of {} deployments in {} ms", deployments, durationInMillis);
+  }
+
+  public void exceptionWhileWarmingUpDeploymentCache(String processDefinitionId, Throwable cause) {
+    logWarn(
+        "097", "Exception while warming up the deployment cache with process definition '{}': {}", processDefinitionId, cause.getMessage(), cause);
+  }
+
+  public void exceptionWhileWritingHistoryOutboxBatch(int entries, Throwable cause) {
+    logDebug(
+        "098", "Exception while writing a batch of {} history outbox entries, writing the entries one by one: {}", entries, cause.getMessage(), cause);
+  }
+
+  public void exceptionWhileWritingHistoryOutboxEntry(String entryId, int attempts, Throwable cause) {
+    logWarn(
+        "099", "Exception while writing history outbox entry '{}' (attempt {}): {}", entryId, attempts, cause.getMessage(), cause);
+  }
+
+  public void historyOutboxEntryFailed(String entryId, int attempts) {
+    logError(
+        "100", "History outbox entry '{}' could not be written in {} attempts and is not written anymore", entryId, attempts);
+  }
+
+  public ProcessEngineException historyEventWithoutInitialEventException(HistoryEvent historyEvent) {
+    return new ProcessEngineException(exceptionMessage(
+        "101", "History event '{}' of type '{}' updates an entity which was not written yet", historyEvent.getId(), historyEvent.getEventType()));
+  }
+
+  public void fetchedIdBlockAfterFallback() {
+    logInfo(
+        "102", "Fetched the next id block, no longer using the fallback id generator");
+  }
+
 }
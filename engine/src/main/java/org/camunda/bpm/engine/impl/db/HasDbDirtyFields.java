@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+/**
+ * Implemented by entities which record modifications of their persistent
+ * fields themselves. If dirty field tracking is enabled, the entity cache
+ * uses these flags to decide whether an entity has to be updated instead of
+ * comparing {@link DbEntity#getPersistentState()} against a copy.
+ *
+ * <p>Implementations must flag every modification of a field that is part of
+ * the persistent state.</p>
+ */
+public interface HasDbDirtyFields {
+
+  /**
+   * @return a bitmask of the persistent fields which have been modified since
+   *   the last call to {@link #clearDirtyFields()}; 0 if none has been modified
+   */
+  long getDirtyFields();
+
+  void clearDirtyFields();
+
+}
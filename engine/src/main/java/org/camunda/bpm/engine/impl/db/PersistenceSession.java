@@ -16,6 +16,7 @@ import java.util.List;
 
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.Session;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -28,8 +29,31 @@ public interface PersistenceSession extends Session {
 
   void executeDbOperation(DbOperation operation);
 
+  /**
+   * Sends all statements queued by {@link #executeDbOperation(DbOperation)} to the
+   * database and applies the resulting update counts to the given operations.
+   * Only has an effect if {@link #isBatchProcessing()} returns true, otherwise
+   * the operations were already executed.
+   *
+   * @param operations the operations in the order they were executed
+   */
+  void flushOperations(List<DbOperation> operations);
+
+  /**
+   * @return true if database operations are queued and sent to the database
+   * as JDBC batches when calling {@link #flushOperations(List)}
+   */
+  boolean isBatchProcessing();
+
   List<?> selectList(String statement, Object parameter);
 
+  /**
+   * Passes the results of the statement one by one to the handler while they are read.
+   * The results are not collected in memory and no entity loaded events are fired,
+   * i.e. they are not added to the entity cache.
+   */
+  void selectForEach(String statement, Object parameter, QueryResultHandler<Object> resultHandler);
+
   <T extends DbEntity> T selectById(Class<T> type, String id);
 
   Object selectOne(String statement, Object parameter);
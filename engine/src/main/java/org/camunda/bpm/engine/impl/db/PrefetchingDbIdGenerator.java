@@ -0,0 +1,372 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+
+/**
+ * <p>{@link DbIdGenerator} which does not block callers while ids are handed out.</p>
+ *
+ * <p>Ids of the current block are handed out using an {@link AtomicLong}. Once the number
+ * of remaining ids of the current block drops to the low-water mark, the next block is
+ * fetched in the background, so that callers usually don't have to wait for
+ * {@link GetNextIdBlockCmd} when the current block is exhausted.</p>
+ *
+ * <p>If a stripe size greater than 1 is configured, every thread reserves a stripe of
+ * ids from the current block at once and hands them out without touching shared state.</p>
+ *
+ * <p>If fetching a new block fails and a fallback id generator (e.g.
+ * {@link org.camunda.bpm.engine.impl.persistence.StrongUuidGenerator}) is configured,
+ * ids are generated by the fallback until a new block can be fetched.</p>
+ *
+ * <p>The background fetching must be stopped by {@link #shutdown()} when the generator
+ * is not used anymore.</p>
+ */
+public class PrefetchingDbIdGenerator extends DbIdGenerator {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  /**
+   * the number of remaining ids in the current block at which the next block is prefetched;
+   * if not positive, a quarter of the id block size is used
+   */
+  protected int lowWaterMark = 0;
+
+  /**
+   * the number of ids reserved by a thread at once; values lower than 2 disable striping
+   */
+  protected int stripeSize = 0;
+
+  /**
+   * the number of attempts to fetch a new id block when the
+   * <code>next.dbid</code> property was updated concurrently
+   */
+  protected int maxFetchAttempts = 3;
+
+  protected IdGenerator fallbackIdGenerator;
+
+  protected volatile IdRange currentRange;
+  protected volatile ThreadLocal<IdRange> stripes;
+  protected AtomicReference<Future<IdBlock>> prefetchedBlock;
+
+  protected ThreadPoolExecutor prefetchExecutor;
+
+  /**
+   * true while ids are generated by the fallback id generator
+   */
+  protected AtomicBoolean usingFallback = new AtomicBoolean(false);
+
+  public PrefetchingDbIdGenerator() {
+    prefetchedBlock = new AtomicReference<Future<IdBlock>>();
+    prefetchExecutor = createPrefetchExecutor();
+    reset();
+  }
+
+  protected ThreadPoolExecutor createPrefetchExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+      new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "camunda-id-block-prefetch");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    // do not keep an idle thread alive if ids are rarely required
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  public String getNextId() {
+    if (stripeSize > 1) {
+      return getNextStripedId();
+    }
+
+    while (true) {
+      IdRange range = currentRange;
+      long id = range.next();
+
+      if (id != IdRange.EXHAUSTED) {
+        if (range.getLastId() - id <= getEffectiveLowWaterMark()) {
+          prefetchNextBlock();
+        }
+        return Long.toString(id);
+      }
+
+      try {
+        switchToNextBlock(range);
+      } catch (RuntimeException e) {
+        return getFallbackId(e);
+      }
+    }
+  }
+
+  protected String getNextStripedId() {
+    ThreadLocal<IdRange> threadStripes = stripes;
+
+    IdRange stripe = threadStripes.get();
+    long id = stripe != null ? stripe.next() : IdRange.EXHAUSTED;
+
+    while (id == IdRange.EXHAUSTED) {
+      IdRange range = currentRange;
+      stripe = range.reserve(stripeSize);
+
+      if (stripe != null) {
+        if (range.getRemaining() <= getEffectiveLowWaterMark()) {
+          prefetchNextBlock();
+        }
+        threadStripes.set(stripe);
+        id = stripe.next();
+
+      } else {
+        try {
+          switchToNextBlock(range);
+        } catch (RuntimeException e) {
+          return getFallbackId(e);
+        }
+      }
+    }
+
+    return Long.toString(id);
+  }
+
+  protected String getFallbackId(RuntimeException cause) {
+    if (fallbackIdGenerator == null) {
+      throw cause;
+    }
+    if (usingFallback.compareAndSet(false, true)) {
+      // log once until a block can be fetched again
+      LOG.usingFallbackIdGenerator(fallbackIdGenerator, cause);
+    }
+    return fallbackIdGenerator.getNextId();
+  }
+
+  /**
+   * Replaces the exhausted range by the next block. Only the first thread observing the
+   * exhausted range performs the switch, all others continue with the new range.
+   */
+  protected synchronized void switchToNextBlock(IdRange exhaustedRange) {
+    if (currentRange != exhaustedRange) {
+      // another thread already switched to the next block
+      return;
+    }
+
+    IdBlock idBlock = awaitNextBlock();
+    currentRange = new IdRange(idBlock.getNextId(), idBlock.getLastId());
+
+    if (usingFallback.compareAndSet(true, false)) {
+      LOG.fetchedIdBlockAfterFallback();
+    }
+  }
+
+  protected IdBlock awaitNextBlock() {
+    Future<IdBlock> prefetched = prefetchedBlock.getAndSet(null);
+    if (prefetched == null) {
+      return fetchBlock();
+    }
+
+    try {
+      return prefetched.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProcessEngineException("Interrupted while waiting for the next id block", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else {
+        throw new ProcessEngineException("Could not fetch the next id block", cause);
+      }
+    }
+  }
+
+  protected void prefetchNextBlock() {
+    if (prefetchedBlock.get() != null || prefetchExecutor.isShutdown()) {
+      // the next block is fetched when the current one is exhausted
+      return;
+    }
+
+    FutureTask<IdBlock> prefetchTask = new FutureTask<IdBlock>(new Callable<IdBlock>() {
+      public IdBlock call() throws Exception {
+        return fetchBlock();
+      }
+    });
+
+    if (prefetchedBlock.compareAndSet(null, prefetchTask)) {
+      LOG.prefetchingIdBlock(idBlockSize);
+      try {
+        prefetchExecutor.execute(prefetchTask);
+      } catch (RejectedExecutionException e) {
+        // shut down concurrently
+        prefetchedBlock.compareAndSet(prefetchTask, null);
+      }
+    }
+  }
+
+  /**
+   * Stops fetching blocks in the background. Afterwards, the next block is fetched
+   * when the current one is exhausted.
+   */
+  public void shutdown() {
+    prefetchExecutor.shutdown();
+
+    Future<IdBlock> prefetched = prefetchedBlock.getAndSet(null);
+    if (prefetched != null) {
+      prefetched.cancel(false);
+    }
+  }
+
+  protected IdBlock fetchBlock() {
+    int attempt = 1;
+    while (true) {
+      try {
+        return commandExecutor.execute(new GetNextIdBlockCmd(idBlockSize));
+      } catch (OptimisticLockingException e) {
+        // the property was updated by another engine concurrently
+        if (attempt >= maxFetchAttempts) {
+          throw e;
+        }
+        attempt++;
+      }
+    }
+  }
+
+  protected int getEffectiveLowWaterMark() {
+    if (lowWaterMark > 0) {
+      return lowWaterMark;
+    } else {
+      return idBlockSize / 4;
+    }
+  }
+
+  /**
+   * Reset inner state so that the generator fetches a new block of IDs from the database
+   * when the next ID generation request is received.
+   */
+  @Override
+  public synchronized void reset() {
+    super.reset();
+    currentRange = IdRange.EMPTY;
+    stripes = new ThreadLocal<IdRange>();
+
+    if (prefetchedBlock != null) {
+      Future<IdBlock> prefetched = prefetchedBlock.getAndSet(null);
+      if (prefetched != null) {
+        prefetched.cancel(false);
+      }
+    }
+  }
+
+  // getters / setters ////////////////////////////////////
+
+  public int getLowWaterMark() {
+    return lowWaterMark;
+  }
+
+  public void setLowWaterMark(int lowWaterMark) {
+    this.lowWaterMark = lowWaterMark;
+  }
+
+  public int getStripeSize() {
+    return stripeSize;
+  }
+
+  public void setStripeSize(int stripeSize) {
+    this.stripeSize = stripeSize;
+  }
+
+  public int getMaxFetchAttempts() {
+    return maxFetchAttempts;
+  }
+
+  public void setMaxFetchAttempts(int maxFetchAttempts) {
+    this.maxFetchAttempts = maxFetchAttempts;
+  }
+
+  public IdGenerator getFallbackIdGenerator() {
+    return fallbackIdGenerator;
+  }
+
+  public void setFallbackIdGenerator(IdGenerator fallbackIdGenerator) {
+    this.fallbackIdGenerator = fallbackIdGenerator;
+  }
+
+  /**
+   * A range of ids <code>[nextId, lastId]</code> which can be consumed concurrently.
+   */
+  public static class IdRange {
+
+    public static final long EXHAUSTED = -1;
+
+    protected static final IdRange EMPTY = new IdRange(0, -1);
+
+    protected final AtomicLong nextId;
+    protected final long lastId;
+
+    public IdRange(long nextId, long lastId) {
+      this.nextId = new AtomicLong(nextId);
+      this.lastId = lastId;
+    }
+
+    /**
+     * @return the next id of this range or {@link #EXHAUSTED}
+     */
+    public long next() {
+      long id = nextId.getAndIncrement();
+      if (id <= lastId) {
+        return id;
+      } else {
+        return EXHAUSTED;
+      }
+    }
+
+    /**
+     * Reserves up to <code>count</code> consecutive ids of this range.
+     *
+     * @return the reserved ids or null if the range is exhausted
+     */
+    public IdRange reserve(int count) {
+      long firstId = nextId.getAndAdd(count);
+      if (firstId <= lastId) {
+        return new IdRange(firstId, Math.min(firstId + count - 1, lastId));
+      } else {
+        return null;
+      }
+    }
+
+    public long getRemaining() {
+      return Math.max(0, lastId - nextId.get() + 1);
+    }
+
+    public long getLastId() {
+      return lastId;
+    }
+  }
+
+}
@@ -67,6 +67,8 @@ import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 /**
  *
@@ -128,6 +130,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
       }
     }
 
+    if (processEngineConfiguration != null) {
+      dbEntityCache.setDirtyFieldTracking(processEngineConfiguration.isDbEntityDirtyFieldTrackingEnabled());
+    }
+
   }
 
   // selects /////////////////////////////////////////////////
@@ -169,6 +175,16 @@ public class DbEntityManager implements Session, EntityLoadListener {
     return filterLoadedObjects(loadedObjects);
   }
 
+  /**
+   * Passes the results of the statement one by one to the handler. In contrast to
+   * {@link #selectList(String, Object)}, the results are neither collected in memory nor added
+   * to the entity cache. Modifications of cached entities which are not flushed yet are not visible.
+   */
+  @SuppressWarnings("unchecked")
+  public void selectForEach(String statement, Object parameter, QueryResultHandler<?> resultHandler) {
+    persistenceSession.selectForEach(statement, parameter, (QueryResultHandler<Object>) resultHandler);
+  }
+
   public Object selectOne(String statement, Object parameter) {
     Object result = persistenceSession.selectOne(statement, parameter);
     if (result instanceof DbEntity) {
@@ -211,6 +227,20 @@ public class DbEntityManager implements Session, EntityLoadListener {
     return dbEntityCache.getEntitiesByType(type);
   }
 
+  /**
+   * @see DbEntityCache#getEntitiesByIndex(Class, String, String)
+   */
+  public <T extends DbEntity> List<T> getCachedEntitiesByIndex(Class<T> type, String indexName, String value) {
+    return dbEntityCache.getEntitiesByIndex(type, indexName, value);
+  }
+
+  /**
+   * @see DbEntityCache#updateIndexes(DbEntity)
+   */
+  public void updateCacheIndexes(DbEntity dbEntity) {
+    dbEntityCache.updateIndexes(dbEntity);
+  }
+
   protected List filterLoadedObjects(List<Object> loadedObjects) {
     if (loadedObjects.isEmpty() || loadedObjects.get(0) == null) {
       return loadedObjects;
@@ -273,12 +303,20 @@ public class DbEntityManager implements Session, EntityLoadListener {
   }
 
   public void flush() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    boolean isMetricsEnabled = processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled();
+    long start = isMetricsEnabled ? System.nanoTime() : 0;
 
     // flush the entity cache which inserts operations to the db operation manager
     flushEntityCache();
 
     // flush the db operation manager
     flushDbOperationManager();
+
+    if (isMetricsEnabled) {
+      processEngineConfiguration.getMetricsRegistry()
+        .recordValue(Metrics.DB_FLUSH_TIME, (System.nanoTime() - start) / 1000);
+    }
   }
 
   public void setIgnoreForeignKeysForNextFlush(boolean ignoreForeignKeysForNextFlush) {
@@ -298,15 +336,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
     }
     // execute the flush
     try {
-      for (DbOperation dbOperation : operationsToFlush) {
-        try {
-          persistenceSession.executeDbOperation(dbOperation);
-        } catch (Exception e) {
-          throw LOG.flushDbOperationException(operationsToFlush, dbOperation, e);
-        }
-        if (dbOperation.isFailed()) {
-          handleOptimisticLockingException(dbOperation);
-        }
+      if (persistenceSession.isBatchProcessing()) {
+        flushDbOperationsInBatch(operationsToFlush);
+      } else {
+        flushDbOperations(operationsToFlush);
       }
     } finally {
       if (isIgnoreForeignKeysForNextFlush) {
@@ -316,6 +349,43 @@ public class DbEntityManager implements Session, EntityLoadListener {
     }
   }
 
+  protected void flushDbOperations(List<DbOperation> operationsToFlush) {
+    for (DbOperation dbOperation : operationsToFlush) {
+      executeDbOperation(operationsToFlush, dbOperation);
+      if (dbOperation.isFailed()) {
+        handleOptimisticLockingException(dbOperation);
+      }
+    }
+  }
+
+  /**
+   * Queues all operations in the persistence session first and sends them to the database afterwards.
+   * Consecutive operations using the same statement (as ordered by {@link DbOperationManager#calculateFlush()})
+   * are executed as one JDBC batch. Optimistic locking failures can only be detected once the batch is
+   * flushed, so they are handled after all operations were executed.
+   */
+  protected void flushDbOperationsInBatch(List<DbOperation> operationsToFlush) {
+    for (DbOperation dbOperation : operationsToFlush) {
+      executeDbOperation(operationsToFlush, dbOperation);
+    }
+
+    persistenceSession.flushOperations(operationsToFlush);
+
+    for (DbOperation dbOperation : operationsToFlush) {
+      if (dbOperation.isFailed()) {
+        handleOptimisticLockingException(dbOperation);
+      }
+    }
+  }
+
+  protected void executeDbOperation(List<DbOperation> operationsToFlush, DbOperation dbOperation) {
+    try {
+      persistenceSession.executeDbOperation(dbOperation);
+    } catch (Exception e) {
+      throw LOG.flushDbOperationException(operationsToFlush, dbOperation, e);
+    }
+  }
+
   public void flushEntity(DbEntity entity) {
     CachedDbEntity cachedEntity = dbEntityCache.getCachedEntity(entity);
     if (cachedEntity != null) {
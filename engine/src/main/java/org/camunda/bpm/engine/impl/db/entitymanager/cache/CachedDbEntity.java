@@ -13,9 +13,12 @@
 package org.camunda.bpm.engine.impl.db.entitymanager.cache;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbDirtyFields;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.entitymanager.Recyclable;
 
@@ -33,16 +36,29 @@ public class CachedDbEntity implements Recyclable {
 
   protected DbEntityState entityState;
 
+  /**
+   * If true, modifications are detected through {@link HasDbDirtyFields}
+   * and no copy of the persistent state is kept.
+   */
+  protected boolean dirtyFieldTracking;
+
   /**
    * Ids of referenced entities of the same entity type
    */
   protected Set<String> flushRelevantEntityReferences = null;
 
+  /**
+   * The values under which the entity is currently indexed by the {@link DbEntityCacheIndex cache indexes}
+   */
+  protected Map<DbEntityCacheIndex, String> indexedValues = null;
+
   public void recycle() {
     // clean out state
     dbEntity = null;
     copy = null;
     entityState = null;
+    dirtyFieldTracking = false;
+    indexedValues = null;
   }
 
   /**
@@ -50,7 +66,13 @@ public class CachedDbEntity implements Recyclable {
    * @return true if the entity is dirty (state has changed since it was put into the cache)
    */
   public boolean isDirty() {
-    return !dbEntity.getPersistentState().equals(copy);
+    if (dirtyFieldTracking) {
+      // the copy is only set if the entity was forced to be dirty
+      return copy != null || ((HasDbDirtyFields) dbEntity).getDirtyFields() != 0;
+    }
+    else {
+      return !dbEntity.getPersistentState().equals(copy);
+    }
   }
 
   public void forceSetDirty() {
@@ -59,7 +81,13 @@ public class CachedDbEntity implements Recyclable {
   }
 
   public void makeCopy() {
-    copy = dbEntity.getPersistentState();
+    if (dirtyFieldTracking) {
+      ((HasDbDirtyFields) dbEntity).clearDirtyFields();
+      copy = null;
+    }
+    else {
+      copy = dbEntity.getPersistentState();
+    }
   }
 
   public String toString() {
@@ -83,6 +111,20 @@ public class CachedDbEntity implements Recyclable {
     return flushRelevantEntityReferences;
   }
 
+  public String getIndexedValue(DbEntityCacheIndex index) {
+    if (indexedValues == null) {
+      return null;
+    }
+    return indexedValues.get(index);
+  }
+
+  public void setIndexedValue(DbEntityCacheIndex index, String value) {
+    if (indexedValues == null) {
+      indexedValues = new HashMap<DbEntityCacheIndex, String>();
+    }
+    indexedValues.put(index, value);
+  }
+
   // getters / setters ////////////////////////////
 
   public DbEntity getEntity() {
@@ -93,6 +135,18 @@ public class CachedDbEntity implements Recyclable {
     this.dbEntity = dbEntity;
   }
 
+  public boolean isDirtyFieldTracking() {
+    return dirtyFieldTracking;
+  }
+
+  /**
+   * Enables dirty field tracking if the entity supports it. Must be called after
+   * the entity has been set and before the first copy is made.
+   */
+  public void setDirtyFieldTracking(boolean dirtyFieldTracking) {
+    this.dirtyFieldTracking = dirtyFieldTracking && dbEntity instanceof HasDbDirtyFields;
+  }
+
   public DbEntityState getEntityState() {
     return entityState;
   }
@@ -22,8 +22,10 @@ import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.T
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -53,8 +55,20 @@ public class DbEntityCache {
    */
   protected Map<Class<?>, Map<String, CachedDbEntity>> cachedEntites = new HashMap<Class<?>, Map<String, CachedDbEntity>>();
 
+  /**
+   * The secondary indexes: map the indexed values of each {@link DbEntityCacheIndex} to the ids of
+   * the cached entities with that value, see {@link DbEntityCacheKeyMapping#getEntityCacheIndexes(Class)}.
+   */
+  protected Map<DbEntityCacheIndex, Map<String, Set<String>>> indexedEntityIds = new HashMap<DbEntityCacheIndex, Map<String, Set<String>>>();
+
   protected DbEntityCacheKeyMapping cacheKeyMapping;
 
+  /**
+   * Whether entities implementing {@link org.camunda.bpm.engine.impl.db.HasDbDirtyFields} are checked for
+   * modifications through their dirty flags.
+   */
+  protected boolean dirtyFieldTracking;
+
   public DbEntityCache() {
     this.cacheKeyMapping = DbEntityCacheKeyMapping.emptyMapping();
   }
@@ -112,6 +126,103 @@ public class DbEntityCache {
     }
   }
 
+  /**
+   * Looks up the cached entities of a type by a secondary index.
+   *
+   * @param type the type of the entities
+   * @param indexName the name of the {@link DbEntityCacheIndex} registered for the type
+   * @param value the indexed value
+   * @return the cached entities with the given indexed value
+   * @throws ProcessEngineException if no index with the given name is registered for the type
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends DbEntity> List<T> getEntitiesByIndex(Class<T> type, String indexName, String value) {
+    Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(type);
+    DbEntityCacheIndex index = cacheKeyMapping.getEntityCacheIndex(cacheKey, indexName);
+    if (index == null) {
+      throw LOG.entityCacheIndexNotFoundException(cacheKey, indexName);
+    }
+
+    Set<String> ids = getIndexedIds(index, value, false);
+    Map<String, CachedDbEntity> entities = cachedEntites.get(cacheKey);
+    if (ids == null || ids.isEmpty() || entities == null) {
+      return Collections.emptyList();
+    }
+
+    List<T> result = new ArrayList<T>();
+    for (String id : ids) {
+      CachedDbEntity cachedEntity = entities.get(id);
+      if (cachedEntity != null) {
+        DbEntity entity = cachedEntity.getEntity();
+        // skip entities whose value was changed without updating the index
+        if (type.isAssignableFrom(entity.getClass()) && value.equals(index.getIndexedValue(entity))) {
+          result.add((T) entity);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Updates the secondary indexes of a cached entity. Must be called if an indexed
+   * property of an entity changes while it is cached.
+   *
+   * @param dbEntity the entity whose indexed properties changed
+   */
+  public void updateIndexes(DbEntity dbEntity) {
+    Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(dbEntity.getClass());
+    if (cacheKeyMapping.getEntityCacheIndexes(cacheKey).isEmpty()) {
+      return;
+    }
+
+    CachedDbEntity cachedEntity = getCachedEntity(cacheKey, dbEntity.getId());
+    if (cachedEntity != null && cachedEntity.getEntity() == dbEntity) {
+      removeFromIndexes(cachedEntity, cacheKey);
+      addToIndexes(cachedEntity, cacheKey);
+    }
+  }
+
+  protected void addToIndexes(CachedDbEntity cachedEntity, Class<?> cacheKey) {
+    DbEntity entity = cachedEntity.getEntity();
+    for (DbEntityCacheIndex index : cacheKeyMapping.getEntityCacheIndexes(cacheKey)) {
+      String value = index.getIndexedValue(entity);
+      cachedEntity.setIndexedValue(index, value);
+      if (value != null) {
+        getIndexedIds(index, value, true).add(entity.getId());
+      }
+    }
+  }
+
+  protected void removeFromIndexes(CachedDbEntity cachedEntity, Class<?> cacheKey) {
+    for (DbEntityCacheIndex index : cacheKeyMapping.getEntityCacheIndexes(cacheKey)) {
+      String value = cachedEntity.getIndexedValue(index);
+      if (value != null) {
+        Set<String> ids = getIndexedIds(index, value, false);
+        if (ids != null) {
+          ids.remove(cachedEntity.getEntity().getId());
+        }
+      }
+    }
+  }
+
+  protected Set<String> getIndexedIds(DbEntityCacheIndex index, String value, boolean create) {
+    Map<String, Set<String>> idsByValue = indexedEntityIds.get(index);
+    if (idsByValue == null) {
+      if (!create) {
+        return null;
+      }
+      idsByValue = new HashMap<String, Set<String>>();
+      indexedEntityIds.put(index, idsByValue);
+    }
+
+    Set<String> ids = idsByValue.get(value);
+    if (ids == null && create) {
+      ids = new HashSet<String>();
+      idsByValue.put(value, ids);
+    }
+    return ids;
+  }
+
   /**
    * Looks up an entity in the cache.
    *
@@ -147,6 +258,7 @@ public class DbEntityCache {
     CachedDbEntity cachedDbEntity = new CachedDbEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(TRANSIENT);
+    cachedDbEntity.setDirtyFieldTracking(dirtyFieldTracking);
     putInternal(cachedDbEntity);
   }
 
@@ -159,6 +271,7 @@ public class DbEntityCache {
     CachedDbEntity cachedDbEntity = new CachedDbEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(PERSISTENT);
+    cachedDbEntity.setDirtyFieldTracking(dirtyFieldTracking);
     cachedDbEntity.determineEntityReferences();
     cachedDbEntity.makeCopy();
 
@@ -174,6 +287,7 @@ public class DbEntityCache {
     CachedDbEntity cachedDbEntity = new CachedDbEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(MERGED);
+    cachedDbEntity.setDirtyFieldTracking(dirtyFieldTracking);
     cachedDbEntity.determineEntityReferences();
     // no copy required
 
@@ -194,7 +308,7 @@ public class DbEntityCache {
     CachedDbEntity existingCachedEntity = map.get(entityToAdd.getEntity().getId());
     if(existingCachedEntity == null) {
       // no such entity exists -> put it into the cache
-      map.put(entityToAdd.getEntity().getId(), entityToAdd);
+      putCachedEntity(map, cacheKey, entityToAdd, null);
 
     } else {
       // the same entity is already cached
@@ -214,7 +328,7 @@ public class DbEntityCache {
       case PERSISTENT:
         if(existingCachedEntity.getEntityState() == PERSISTENT) {
           // use new entity state, replacing the existing one.
-          map.put(entityToAdd.getEntity().getId(), entityToAdd);
+          putCachedEntity(map, cacheKey, entityToAdd, existingCachedEntity);
           break;
         }
         if(existingCachedEntity.getEntityState() == DELETED_PERSISTENT
@@ -231,7 +345,7 @@ public class DbEntityCache {
         if(existingCachedEntity.getEntityState() == PERSISTENT
             || existingCachedEntity.getEntityState() == MERGED) {
           // use new entity state, replacing the existing one.
-          map.put(entityToAdd.getEntity().getId(), entityToAdd);
+          putCachedEntity(map, cacheKey, entityToAdd, existingCachedEntity);
           break;
         }
         if(existingCachedEntity.getEntityState() == DELETED_PERSISTENT
@@ -246,12 +360,20 @@ public class DbEntityCache {
 
       default:
         // deletes are always added
-        map.put(entityToAdd.getEntity().getId(), entityToAdd);
+        putCachedEntity(map, cacheKey, entityToAdd, existingCachedEntity);
         break;
       }
     }
   }
 
+  protected void putCachedEntity(Map<String, CachedDbEntity> map, Class<?> cacheKey, CachedDbEntity entityToAdd, CachedDbEntity existingCachedEntity) {
+    if (existingCachedEntity != null) {
+      removeFromIndexes(existingCachedEntity, cacheKey);
+    }
+    map.put(entityToAdd.getEntity().getId(), entityToAdd);
+    addToIndexes(entityToAdd, cacheKey);
+  }
+
   /**
    * Remove an entity from the cache
    * @param e the entity to remove
@@ -261,7 +383,12 @@ public class DbEntityCache {
     Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(e.getClass());
     Map<String, CachedDbEntity> typeMap = cachedEntites.get(cacheKey);
     if(typeMap != null) {
-      return typeMap.remove(e.getId()) != null;
+      CachedDbEntity removedEntity = typeMap.remove(e.getId());
+      if (removedEntity != null) {
+        removeFromIndexes(removedEntity, cacheKey);
+        return true;
+      }
+      return false;
     } else {
       return false;
     }
@@ -383,4 +510,12 @@ public class DbEntityCache {
     }
   }
 
+  public boolean isDirtyFieldTracking() {
+    return dirtyFieldTracking;
+  }
+
+  public void setDirtyFieldTracking(boolean dirtyFieldTracking) {
+    this.dirtyFieldTracking = dirtyFieldTracking;
+  }
+
 }
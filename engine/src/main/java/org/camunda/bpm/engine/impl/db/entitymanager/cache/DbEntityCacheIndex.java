@@ -0,0 +1,50 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * A secondary index of the {@link DbEntityCache}: cached entities of a type can be
+ * looked up by the value of a property (typically a foreign key) without scanning all
+ * cached entities of the type.
+ *
+ * <p>The cache determines the indexed value when an entity is put into the cache.
+ * If the property of an entity changes while it is cached, the index has to be updated
+ * through {@link DbEntityCache#updateIndexes(DbEntity)}.</p>
+ *
+ * @see DbEntityCacheKeyMapping#registerEntityCacheIndex(Class, DbEntityCacheIndex)
+ */
+public abstract class DbEntityCacheIndex {
+
+  protected String name;
+
+  public DbEntityCacheIndex(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the value under which the entity is indexed or <code>null</code>
+   *   if the entity should not be indexed
+   */
+  public abstract String getIndexedValue(DbEntity entity);
+
+  public String toString() {
+    return "DbEntityCacheIndex[" + name + "]";
+  }
+
+}
@@ -12,15 +12,20 @@
  */
 package org.camunda.bpm.engine.impl.db.entitymanager.cache;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoricDetailEventEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoricFormPropertyEventEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricFormPropertyEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
@@ -31,14 +36,24 @@ import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
  * common key such that querying the cache with a superclass or with a subclass both return the cached
  * entities.
  *
+ * <p>In addition, it provides the secondary {@link DbEntityCacheIndex indexes} maintained by the cache
+ * for the entities of a cache key.</p>
+ *
  * @author Thorben Lindhauer
  */
 public class DbEntityCacheKeyMapping {
 
+  public static final String INDEX_PROCESS_INSTANCE_ID = "processInstanceId";
+  public static final String INDEX_CASE_INSTANCE_ID = "caseInstanceId";
+  public static final String INDEX_TASK_ID = "taskId";
+
   protected Map<Class<?>, Class<?>> entityCacheKeys;
 
+  protected Map<Class<?>, List<DbEntityCacheIndex>> entityCacheIndexes;
+
   public DbEntityCacheKeyMapping() {
     this.entityCacheKeys = new HashMap<Class<?>, Class<?>>();
+    this.entityCacheIndexes = new HashMap<Class<?>, List<DbEntityCacheIndex>>();
   }
 
   public Class<?> getEntityCacheKey(Class<?> entityType) {
@@ -54,6 +69,37 @@ public class DbEntityCacheKeyMapping {
     this.entityCacheKeys.put(entityType, cacheKey);
   }
 
+  /**
+   * @return the indexes of the entities cached under the given cache key
+   */
+  public List<DbEntityCacheIndex> getEntityCacheIndexes(Class<?> cacheKey) {
+    List<DbEntityCacheIndex> indexes = entityCacheIndexes.get(cacheKey);
+    if (indexes == null) {
+      return Collections.emptyList();
+    }
+
+    return indexes;
+  }
+
+  public DbEntityCacheIndex getEntityCacheIndex(Class<?> cacheKey, String indexName) {
+    for (DbEntityCacheIndex index : getEntityCacheIndexes(cacheKey)) {
+      if (index.getName().equals(indexName)) {
+        return index;
+      }
+    }
+
+    return null;
+  }
+
+  public void registerEntityCacheIndex(Class<?> cacheKey, DbEntityCacheIndex index) {
+    List<DbEntityCacheIndex> indexes = entityCacheIndexes.get(cacheKey);
+    if (indexes == null) {
+      indexes = new ArrayList<DbEntityCacheIndex>();
+      entityCacheIndexes.put(cacheKey, indexes);
+    }
+    indexes.add(index);
+  }
+
   public static DbEntityCacheKeyMapping defaultEntityCacheKeyMapping() {
     DbEntityCacheKeyMapping mapping = new DbEntityCacheKeyMapping();
 
@@ -67,6 +113,30 @@ public class DbEntityCacheKeyMapping {
     mapping.registerEntityCacheKey(HistoricVariableUpdateEventEntity.class, HistoricDetailEventEntity.class);
     mapping.registerEntityCacheKey(HistoricDetailVariableInstanceUpdateEntity.class, HistoricDetailEventEntity.class);
 
+    // secondary indexes for lookups which otherwise scan all cached entities of a type
+    mapping.registerEntityCacheIndex(ExecutionEntity.class, new DbEntityCacheIndex(INDEX_PROCESS_INSTANCE_ID) {
+      public String getIndexedValue(DbEntity entity) {
+        return ((ExecutionEntity) entity).getProcessInstanceId();
+      }
+    });
+
+    mapping.registerEntityCacheIndex(HistoricVariableInstanceEntity.class, new DbEntityCacheIndex(INDEX_PROCESS_INSTANCE_ID) {
+      public String getIndexedValue(DbEntity entity) {
+        return ((HistoricVariableInstanceEntity) entity).getProcessInstanceId();
+      }
+    });
+    mapping.registerEntityCacheIndex(HistoricVariableInstanceEntity.class, new DbEntityCacheIndex(INDEX_CASE_INSTANCE_ID) {
+      public String getIndexedValue(DbEntity entity) {
+        return ((HistoricVariableInstanceEntity) entity).getCaseInstanceId();
+      }
+    });
+
+    mapping.registerEntityCacheIndex(HistoricDetailEventEntity.class, new DbEntityCacheIndex(INDEX_TASK_ID) {
+      public String getIndexedValue(DbEntity entity) {
+        return ((HistoricDetailEventEntity) entity).getTaskId();
+      }
+    });
+
     return mapping;
   }
 
@@ -29,9 +29,15 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
+import org.apache.ibatis.executor.BatchExecutorException;
+import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.SqlSession;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -42,8 +48,10 @@ import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -69,18 +77,30 @@ public class DbSqlSession extends AbstractPersistenceSession {
     this.dbSqlSessionFactory = dbSqlSessionFactory;
     this.sqlSession = dbSqlSessionFactory
       .getSqlSessionFactory()
-      .openSession();
+      .openSession(getExecutorType());
   }
 
   public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, Connection connection, String catalog, String schema) {
     this.dbSqlSessionFactory = dbSqlSessionFactory;
     this.sqlSession = dbSqlSessionFactory
       .getSqlSessionFactory()
-      .openSession(connection);
+      .openSession(getExecutorType(), connection);
     this.connectionMetadataDefaultCatalog = catalog;
     this.connectionMetadataDefaultSchema = schema;
   }
 
+  protected ExecutorType getExecutorType() {
+    if (isBatchProcessing()) {
+      return ExecutorType.BATCH;
+    } else {
+      return ExecutorType.SIMPLE;
+    }
+  }
+
+  public boolean isBatchProcessing() {
+    return dbSqlSessionFactory.isJdbcBatchProcessing();
+  }
+
   // select ////////////////////////////////////////////
 
   public List<?> selectList(String statement, Object parameter){
@@ -92,6 +112,15 @@ public class DbSqlSession extends AbstractPersistenceSession {
     return resultList;
   }
 
+  public void selectForEach(String statement, Object parameter, final QueryResultHandler<Object> resultHandler) {
+    statement = dbSqlSessionFactory.mapStatement(statement);
+    sqlSession.select(statement, parameter, new ResultHandler<Object>() {
+      public void handleResult(ResultContext<? extends Object> resultContext) {
+        resultHandler.handleResult(resultContext.getResultObject());
+      }
+    });
+  }
+
   @SuppressWarnings("unchecked")
   public <T extends DbEntity> T selectById(Class<T> type, String id) {
     String selectStatement = dbSqlSessionFactory.getSelectStatement(type);
@@ -119,6 +148,11 @@ public class DbSqlSession extends AbstractPersistenceSession {
     if (!DbSqlSessionFactory.H2.equals(dbSqlSessionFactory.getDatabaseType())) {
       String mappedStatement = dbSqlSessionFactory.mapStatement(statement);
       sqlSession.update(mappedStatement, parameter);
+
+      if (isBatchProcessing()) {
+        // the lock must be acquired right away and not with the next flush
+        sqlSession.flushStatements();
+      }
     }
   }
 
@@ -172,6 +206,15 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // execute the delete
     int nrOfRowsDeleted = executeDelete(deleteStatement, dbEntity);
 
+    if (!isBatchProcessing()) {
+      entityDeleted(operation, nrOfRowsDeleted);
+    }
+    // else: the number of deleted rows is known after flushing the batch
+  }
+
+  protected void entityDeleted(DbEntityOperation operation, int nrOfRowsDeleted) {
+    final DbEntity dbEntity = operation.getEntity();
+
     // It only makes sense to check for optimistic locking exceptions for objects that actually have a revision
     if (dbEntity instanceof HasDbRevision && nrOfRowsDeleted == 0) {
       operation.setFailed(true);
@@ -217,6 +260,15 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // execute update
     int numOfRowsUpdated = executeUpdate(updateStatement, dbEntity);
 
+    if (!isBatchProcessing()) {
+      entityUpdated(operation, numOfRowsUpdated);
+    }
+    // else: the number of updated rows is known after flushing the batch
+  }
+
+  protected void entityUpdated(DbEntityOperation operation, int numOfRowsUpdated) {
+    final DbEntity dbEntity = operation.getEntity();
+
     if (dbEntity instanceof HasDbRevision) {
       if(numOfRowsUpdated != 1) {
         // failed with optimistic locking
@@ -248,7 +300,14 @@ public class DbSqlSession extends AbstractPersistenceSession {
     if (mappedStatement.getBoundSql(parameter).getSql().isEmpty())
       return 0;
 
-    return sqlSession.update(updateStmt, parameter);
+    int result = sqlSession.update(updateStmt, parameter);
+
+    if (isBatchProcessing()) {
+      // statement is not related to a db operation and must not end up in the batch results of a flush
+      sqlSession.flushStatements();
+    }
+
+    return result;
   }
 
   protected void entityUpdated(final DbEntity entity) {
@@ -271,6 +330,79 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // nothing to do
   }
 
+  public void flushOperations(List<DbOperation> operations) {
+    if (!isBatchProcessing()) {
+      // operations were executed right away
+      return;
+    }
+
+    List<BatchResult> batchResults;
+    try {
+      batchResults = sqlSession.flushStatements();
+    } catch (RuntimeException e) {
+      DbOperation failedOperation = findFailedOperation(operations, e);
+      throw LOG.flushDbOperationException(operations, failedOperation, e);
+    }
+
+    // statements of consecutive operations are grouped into one batch result per statement;
+    // the update counts appear in the same order as the operations were executed
+    Iterator<DbOperation> operationIt = operations.iterator();
+    for (BatchResult batchResult : batchResults) {
+      for (int updateCount : batchResult.getUpdateCounts()) {
+        if (!operationIt.hasNext()) {
+          throw LOG.wrongBatchResultsSizeException(operations);
+        }
+        applyUpdateCount(operationIt.next(), updateCount);
+      }
+    }
+
+    if (operationIt.hasNext()) {
+      throw LOG.wrongBatchResultsSizeException(operations);
+    }
+  }
+
+  protected void applyUpdateCount(DbOperation operation, int updateCount) {
+    if (updateCount == Statement.SUCCESS_NO_INFO) {
+      // some drivers (e.g. Oracle) do not report the number of affected rows for batched statements
+      updateCount = 1;
+    }
+
+    switch (operation.getOperationType()) {
+      case UPDATE:
+        entityUpdated((DbEntityOperation) operation, updateCount);
+        break;
+      case DELETE:
+        entityDeleted((DbEntityOperation) operation, updateCount);
+        break;
+      default:
+        // nothing to do
+    }
+  }
+
+  protected DbOperation findFailedOperation(List<DbOperation> operations, RuntimeException e) {
+    Throwable cause = e;
+    while (cause != null && !(cause instanceof BatchExecutorException)) {
+      cause = cause.getCause();
+    }
+    if (cause == null) {
+      return operations.get(0);
+    }
+    BatchExecutorException batchException = (BatchExecutorException) cause;
+
+    // all operations of the successful batch results were executed before the failing one
+    int failedIndex = 0;
+    for (BatchResult successfulResult : batchException.getSuccessfulBatchResults()) {
+      failedIndex += successfulResult.getUpdateCounts().length;
+    }
+
+    int[] executedUpdateCounts = batchException.getBatchUpdateException().getUpdateCounts();
+    if (executedUpdateCounts != null) {
+      failedIndex += executedUpdateCounts.length;
+    }
+
+    return operations.get(Math.min(failedIndex, operations.size() - 1));
+  }
+
   public void close() {
     sqlSession.close();
   }
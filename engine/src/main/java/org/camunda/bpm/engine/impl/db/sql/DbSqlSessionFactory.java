@@ -39,6 +39,11 @@ public class DbSqlSessionFactory implements SessionFactory {
   public static final String POSTGRES = "postgres";
   public static final String MARIADB = "mariadb";
 
+  /**
+   * Maximum number of elements of an IN list, e.g. Oracle does not accept more than 1000
+   */
+  public static final int MAXIMUM_NUMBER_PARAMS = 1000;
+
   protected static final Map<String, Map<String, String>> databaseSpecificStatements = new HashMap<String, Map<String,String>>();
 
   public static final Map<String, String> databaseSpecificLimitBeforeStatements = new HashMap<String, String>();
@@ -72,6 +77,20 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   public static final Map<String, String> databaseSpecificDaysComparator = new HashMap<String, String>();
 
+  /**
+   * Locking clauses which make a select skip rows locked by concurrent transactions;
+   * only contains the databases which support claiming with skip locked
+   */
+  public static final Map<String, String> databaseSpecificSkipLocked = new HashMap<String, String>();
+
+  /**
+   * Fetch size of selects whose results are streamed to a result handler. MySQL and MariaDB
+   * only stream results row by row with a fetch size of {@link Integer#MIN_VALUE}, other
+   * drivers read results in chunks of the given size.
+   */
+  public static final int DEFAULT_STREAMING_FETCH_SIZE = 1000;
+  public static final Map<String, String> databaseSpecificStreamingFetchSize = new HashMap<String, String>();
+
   static {
 
     String defaultOrderBy = "order by ${internalOrderBy}";
@@ -99,6 +118,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificIfNull.put(H2, "IFNULL");
 
     databaseSpecificDaysComparator.put(H2, "DATEDIFF(DAY, ${date}, #{currentTimestamp}) >= ${days}");
+    // H2 cannot skip locked rows, the locking clause is a stand-in to test the claim mode
+    databaseSpecificSkipLocked.put(H2, "for update");
 
     HashMap<String, String> constants = new HashMap<String, String>();
     constants.put("constant.event", "'event'");
@@ -108,6 +129,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.datepart.month", "MONTH");
     constants.put("constant.null.startTime", "null START_TIME_");
     constants.put("constant.varchar.cast", "'${key}'");
+    constants.put("constant.job.shardIndex", "MOD(ASCII(SUBSTR(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_), LENGTH(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_)), 1)), ${parameter.shardCount})");
     dbSpecificConstants.put(H2, constants);
 
     // mysql specific
@@ -136,6 +158,11 @@ public class DbSqlSessionFactory implements SessionFactory {
       databaseSpecificIfNull.put(mysqlLikeDatabase, "IFNULL");
 
       databaseSpecificDaysComparator.put(mysqlLikeDatabase, "DATEDIFF(#{currentTimestamp}, ${date}) >= ${days}");
+      databaseSpecificStreamingFetchSize.put(mysqlLikeDatabase, String.valueOf(Integer.MIN_VALUE));
+      if (MYSQL.equals(mysqlLikeDatabase)) {
+        // requires MySQL 8
+        databaseSpecificSkipLocked.put(mysqlLikeDatabase, "for update of RES skip locked");
+      }
 
       addDatabaseSpecificStatement(mysqlLikeDatabase, "toggleForeignKey", "toggleForeignKey_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "selectProcessDefinitionsByQueryCriteria", "selectProcessDefinitionsByQueryCriteria_mysql");
@@ -168,6 +195,7 @@ public class DbSqlSessionFactory implements SessionFactory {
       constants.put("constant.datepart.month", "MONTH");
       constants.put("constant.null.startTime", "null START_TIME_");
       constants.put("constant.varchar.cast", "'${key}'");
+      constants.put("constant.job.shardIndex", "MOD(ASCII(SUBSTR(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_), LENGTH(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_)), 1)), ${parameter.shardCount})");
       dbSpecificConstants.put(mysqlLikeDatabase, constants);
     }
 
@@ -194,10 +222,15 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificIfNull.put(POSTGRES, "COALESCE");
 
     databaseSpecificDaysComparator.put(POSTGRES, "EXTRACT (DAY FROM #{currentTimestamp} - ${date}) >= ${days}");
+    databaseSpecificSkipLocked.put(POSTGRES, "for update of RES skip locked");
 
     addDatabaseSpecificStatement(POSTGRES, "insertByteArray", "insertByteArray_postgres");
     addDatabaseSpecificStatement(POSTGRES, "updateByteArray", "updateByteArray_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectByteArray", "selectByteArray_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "insertHistoryOutboxEntry", "insertHistoryOutboxEntry_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectHistoryOutboxEntry", "selectHistoryOutboxEntry_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectHistoryOutboxEntriesToLock", "selectHistoryOutboxEntriesToLock_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectByteArraysByIds", "selectByteArraysByIds_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectResourceByDeploymentIdAndResourceName", "selectResourceByDeploymentIdAndResourceName_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectResourceByDeploymentIdAndResourceNames", "selectResourceByDeploymentIdAndResourceNames_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectResourceByDeploymentIdAndResourceId", "selectResourceByDeploymentIdAndResourceId_postgres");
@@ -226,6 +259,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.datepart.month", "MONTH");
     constants.put("constant.null.startTime", "null START_TIME_");
     constants.put("constant.varchar.cast", "cast('${key}' as varchar(64))");
+    constants.put("constant.job.shardIndex", "MOD(ASCII(SUBSTR(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_), LENGTH(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_)), 1)), ${parameter.shardCount})");
     dbSpecificConstants.put(POSTGRES, constants);
 
     // oracle
@@ -265,6 +299,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.datepart.month", "'MM'");
     constants.put("constant.null.startTime", "null START_TIME_");
     constants.put("constant.varchar.cast", "'${key}'");
+    constants.put("constant.job.shardIndex", "MOD(ASCII(SUBSTR(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_), LENGTH(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_)), 1)), ${parameter.shardCount})");
     dbSpecificConstants.put(ORACLE, constants);
 
     // db2
@@ -312,6 +347,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.datepart.month", "MONTH");
     constants.put("constant.null.startTime", "CAST(NULL as timestamp) as START_TIME_");
     constants.put("constant.varchar.cast", "cast('${key}' as varchar(64))");
+    constants.put("constant.job.shardIndex", "MOD(ASCII(SUBSTR(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_), LENGTH(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_)), 1)), ${parameter.shardCount})");
     dbSpecificConstants.put(DB2, constants);
 
     // mssql
@@ -362,6 +398,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.datepart.month", "MONTH");
     constants.put("constant.null.startTime", "null START_TIME_");
     constants.put("constant.varchar.cast", "'${key}'");
+    constants.put("constant.job.shardIndex", "ASCII(RIGHT(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_), 1)) % ${parameter.shardCount}");
     dbSpecificConstants.put(MSSQL, constants);
   }
 
@@ -385,6 +422,7 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected boolean isDbHistoryUsed = true;
   protected boolean cmmnEnabled = true;
   protected boolean dmnEnabled = true;
+  protected boolean jdbcBatchProcessing = false;
 
   public Class< ? > getSessionType() {
     return DbSqlSession.class;
@@ -472,6 +510,13 @@ public class DbSqlSessionFactory implements SessionFactory {
     return databaseType;
   }
 
+  /**
+   * @return true if rows can be claimed by a select that skips rows locked by concurrent transactions
+   */
+  public boolean isSkipLockedSupported() {
+    return databaseSpecificSkipLocked.containsKey(databaseType);
+  }
+
 
   public Map<String, String> getStatementMappings() {
     return statementMappings;
@@ -554,6 +599,14 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.dmnEnabled = dmnEnabled;
   }
 
+  public boolean isJdbcBatchProcessing() {
+    return jdbcBatchProcessing;
+  }
+
+  public void setJdbcBatchProcessing(boolean jdbcBatchProcessing) {
+    this.jdbcBatchProcessing = jdbcBatchProcessing;
+  }
+
   public void setDatabaseTablePrefix(String databaseTablePrefix) {
     this.databaseTablePrefix = databaseTablePrefix;
   }
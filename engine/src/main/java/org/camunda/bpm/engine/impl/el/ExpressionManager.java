@@ -27,7 +27,13 @@ import org.camunda.bpm.engine.impl.javax.el.FunctionMapper;
 import org.camunda.bpm.engine.impl.javax.el.ListELResolver;
 import org.camunda.bpm.engine.impl.javax.el.MapELResolver;
 import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.Builder.Feature;
+import org.camunda.bpm.engine.impl.juel.Cache;
+import org.camunda.bpm.engine.impl.juel.CompilingTreeBuilder;
 import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.TreeCompiler;
+import org.camunda.bpm.engine.impl.juel.TreeStore;
 import org.camunda.bpm.engine.test.mock.MockElResolver;
 import org.camunda.bpm.engine.variable.context.VariableContext;
 
@@ -82,6 +88,20 @@ public class ExpressionManager {
     this.expressionFactory = expressionFactory;
   }
 
+  /**
+   * Switches to an expression factory whose cached parse trees are compiled by
+   * {@link #createTreeCompiler()}. Only affects expressions created afterwards.
+   */
+  public void enableExpressionCompilation() {
+    // same features and cache size as the default ExpressionFactoryImpl
+    CompilingTreeBuilder builder = new CompilingTreeBuilder(new Builder(Feature.METHOD_INVOCATIONS, Feature.VARARGS), createTreeCompiler());
+    expressionFactory = new ExpressionFactoryImpl(new TreeStore(builder, new Cache(1000)));
+  }
+
+  protected TreeCompiler createTreeCompiler() {
+    return new ProcessEngineTreeCompiler();
+  }
+
   public ELContext getElContext(VariableScope variableScope) {
     ELContext elContext = null;
     if (variableScope instanceof AbstractVariableScope) {
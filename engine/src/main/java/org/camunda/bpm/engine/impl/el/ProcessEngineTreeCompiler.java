@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.juel.TreeCompiler;
+import org.camunda.bpm.engine.test.mock.Mocks;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+
+/**
+ * Compiles expressions for the resolver chain built by {@link ExpressionManager}.
+ *
+ * <p>In that chain, the property of a non-null base which is neither a map, a list nor an array
+ * is resolved by a bean resolver unless a {@link VariableContext} is present, a process application
+ * contributes its own resolvers or a mock is registered under the property name. In all other
+ * cases, compiled property accesses may invoke the cached read method directly.</p>
+ */
+public class ProcessEngineTreeCompiler extends TreeCompiler {
+
+  private static final long serialVersionUID = 1L;
+
+  protected boolean isPropertyInlineCacheApplicable(ELContext context, Object base, String property) {
+    return !(base instanceof Map || base instanceof List || base.getClass().isArray())
+        && context.getContext(VariableContext.class) == null
+        && Context.getCurrentProcessApplication() == null
+        && Mocks.get(property) == null;
+  }
+
+}
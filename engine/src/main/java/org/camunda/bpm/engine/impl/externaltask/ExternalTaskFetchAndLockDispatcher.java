@@ -0,0 +1,320 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.GetLockableExternalTaskTopicNamesCmd;
+import org.camunda.bpm.engine.impl.cmd.UnlockExternalTaskCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * <p>Parks fetch and lock requests which could not lock any external task
+ * until tasks become available or their timeout expires (long polling).</p>
+ *
+ * <p>A single dispatcher thread serves all pending requests. In every cycle,
+ * it determines with one query which of the requested topics have lockable tasks
+ * and only executes the fetch and lock command for requests of these topics.
+ * A cycle is performed whenever external tasks were created or unlocked on this node
+ * (see {@link #notifyExternalTasksAvailable()}), when a request expires and at least
+ * every {@link #pollInterval} milliseconds to detect tasks created on other nodes
+ * or tasks whose lock expired.</p>
+ */
+public class ExternalTaskFetchAndLockDispatcher implements Runnable {
+
+  protected static final ExternalTaskLogger LOG = ProcessEngineLogger.EXTERNAL_TASK_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected IdentityService identityService;
+
+  protected long pollInterval = 5000;
+
+  protected final List<PendingFetchAndLockRequest> pendingRequests = new ArrayList<PendingFetchAndLockRequest>();
+
+  /**
+   * incremented whenever external tasks become available on this node
+   */
+  protected volatile long notificationCount = 0;
+  protected boolean tasksAvailable = false;
+  protected long lastCycleTime = 0;
+
+  protected boolean isActive = false;
+  protected Thread dispatcherThread;
+
+  public ExternalTaskFetchAndLockDispatcher(CommandExecutor commandExecutor, IdentityService identityService) {
+    this.commandExecutor = commandExecutor;
+    this.identityService = identityService;
+  }
+
+  /**
+   * Parks the request until it is completed by the dispatcher thread.
+   *
+   * @param request the request to park
+   * @param notificationCountBeforeFetch the value of {@link #getNotificationCount()} before
+   *   the caller unsuccessfully tried to lock tasks; a cycle is performed right away if tasks
+   *   became available in the meantime
+   * @return the locked tasks; empty if the timeout of the request expired
+   */
+  public List<LockedExternalTask> await(PendingFetchAndLockRequest request, long notificationCountBeforeFetch) {
+    // tasks are locked on behalf of the user who submitted the request
+    request.setAuthentication(identityService.getCurrentAuthentication());
+
+    synchronized (this) {
+      ensureStarted();
+      if (pendingRequests.isEmpty()) {
+        // the caller just tried to lock tasks, no need to query again right away
+        lastCycleTime = System.currentTimeMillis();
+      }
+      pendingRequests.add(request);
+
+      if (notificationCount != notificationCountBeforeFetch) {
+        tasksAvailable = true;
+      }
+      notifyAll();
+    }
+
+    try {
+      return request.await();
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      if (request.cancel()) {
+        synchronized (this) {
+          pendingRequests.remove(request);
+        }
+        return Collections.emptyList();
+
+      } else {
+        // the request was completed concurrently; tasks locked for it are returned
+        // instead of keeping them locked until their lock expires
+        return request.getResult();
+      }
+    }
+  }
+
+  /**
+   * Wakes up the dispatcher since external tasks were created or unlocked.
+   */
+  public synchronized void notifyExternalTasksAvailable() {
+    notificationCount++;
+    if (!pendingRequests.isEmpty()) {
+      tasksAvailable = true;
+      notifyAll();
+    }
+  }
+
+  public synchronized boolean hasPendingRequests() {
+    return !pendingRequests.isEmpty();
+  }
+
+  public long getNotificationCount() {
+    return notificationCount;
+  }
+
+  // lifecycle ////////////////////////////////////////////
+
+  protected void ensureStarted() {
+    if (!isActive) {
+      isActive = true;
+      dispatcherThread = new Thread(this, "camunda-external-task-fetch-and-lock");
+      dispatcherThread.setDaemon(true);
+      dispatcherThread.start();
+    }
+  }
+
+  public void shutdown() {
+    Thread thread;
+    synchronized (this) {
+      if (!isActive) {
+        return;
+      }
+      isActive = false;
+      thread = dispatcherThread;
+      dispatcherThread = null;
+      notifyAll();
+    }
+
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // dispatching //////////////////////////////////////////
+
+  public void run() {
+    while (true) {
+      List<PendingFetchAndLockRequest> requests;
+
+      synchronized (this) {
+        if (!awaitNextCycle()) {
+          break;
+        }
+        requests = new ArrayList<PendingFetchAndLockRequest>(pendingRequests);
+        tasksAvailable = false;
+        lastCycleTime = System.currentTimeMillis();
+      }
+
+      try {
+        dispatch(requests);
+      } catch (Throwable t) {
+        LOG.exceptionWhileDispatchingFetchAndLockRequests(t);
+      }
+    }
+
+    // complete all requests which are still pending on shutdown
+    synchronized (this) {
+      for (PendingFetchAndLockRequest request : pendingRequests) {
+        request.complete(Collections.<LockedExternalTask>emptyList());
+      }
+      pendingRequests.clear();
+    }
+  }
+
+  /**
+   * Waits until the next cycle is due. Must be called while holding the monitor.
+   *
+   * @return false if the dispatcher was shut down
+   */
+  protected boolean awaitNextCycle() {
+    while (isActive) {
+      if (pendingRequests.isEmpty()) {
+        waitFor(0);
+        continue;
+      }
+
+      long now = System.currentTimeMillis();
+      long nextCycleTime = Math.min(lastCycleTime + pollInterval, getEarliestDeadline());
+
+      if (tasksAvailable || nextCycleTime <= now) {
+        return true;
+      }
+
+      waitFor(nextCycleTime - now);
+    }
+    return false;
+  }
+
+  protected void waitFor(long millis) {
+    try {
+      wait(millis);
+    } catch (InterruptedException e) {
+      isActive = false;
+    }
+  }
+
+  protected long getEarliestDeadline() {
+    long earliestDeadline = Long.MAX_VALUE;
+    for (PendingFetchAndLockRequest request : pendingRequests) {
+      earliestDeadline = Math.min(earliestDeadline, request.getDeadline());
+    }
+    return earliestDeadline;
+  }
+
+  protected void dispatch(List<PendingFetchAndLockRequest> requests) {
+    long now = System.currentTimeMillis();
+    Set<String> requestedTopics = new HashSet<String>();
+
+    Iterator<PendingFetchAndLockRequest> requestIt = requests.iterator();
+    while (requestIt.hasNext()) {
+      PendingFetchAndLockRequest request = requestIt.next();
+      if (request.isExpired(now)) {
+        complete(request, Collections.<LockedExternalTask>emptyList());
+        requestIt.remove();
+      } else {
+        requestedTopics.addAll(request.getTopicNames());
+      }
+    }
+
+    if (requests.isEmpty()) {
+      return;
+    }
+
+    Set<String> lockableTopics = commandExecutor.execute(new GetLockableExternalTaskTopicNamesCmd(requestedTopics));
+    if (lockableTopics.isEmpty()) {
+      return;
+    }
+
+    // serve requests in the order they arrived
+    for (PendingFetchAndLockRequest request : requests) {
+      if (!Collections.disjoint(request.getTopicNames(), lockableTopics)) {
+        List<LockedExternalTask> lockedTasks = fetchAndLock(request);
+        if (!lockedTasks.isEmpty()) {
+          complete(request, lockedTasks);
+        }
+      }
+    }
+  }
+
+  protected List<LockedExternalTask> fetchAndLock(PendingFetchAndLockRequest request) {
+    identityService.setAuthentication(request.getAuthentication());
+    try {
+      return commandExecutor.execute(request.createFetchCommand());
+
+    } catch (RuntimeException e) {
+      LOG.exceptionWhileFetchingAndLockingForPendingRequest(request.getWorkerId(), e);
+      return Collections.emptyList();
+
+    } finally {
+      identityService.clearAuthentication();
+    }
+  }
+
+  protected void complete(PendingFetchAndLockRequest request, List<LockedExternalTask> lockedTasks) {
+    synchronized (this) {
+      pendingRequests.remove(request);
+    }
+    if (!request.complete(lockedTasks)) {
+      // the request was cancelled while the tasks were locked for it
+      unlock(request, lockedTasks);
+    }
+  }
+
+  protected void unlock(PendingFetchAndLockRequest request, List<LockedExternalTask> lockedTasks) {
+    identityService.setAuthentication(request.getAuthentication());
+    try {
+      for (LockedExternalTask lockedTask : lockedTasks) {
+        try {
+          commandExecutor.execute(new UnlockExternalTaskCmd(lockedTask.getId()));
+        } catch (RuntimeException e) {
+          // the lock of the task expires eventually
+          LOG.exceptionWhileUnlockingForCancelledRequest(lockedTask.getId(), request.getWorkerId(), e);
+        }
+      }
+
+    } finally {
+      identityService.clearAuthentication();
+    }
+  }
+
+  // getters / setters ////////////////////////////////////
+
+  public long getPollInterval() {
+    return pollInterval;
+  }
+
+  public void setPollInterval(long pollInterval) {
+    this.pollInterval = pollInterval;
+  }
+
+}
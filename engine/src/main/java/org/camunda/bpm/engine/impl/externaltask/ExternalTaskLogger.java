@@ -39,4 +39,28 @@ public class ExternalTaskLogger extends ProcessEngineLogger {
         "Could not determine priority for external task created in context of execution {}. Using default priority {}",
         execution, value, e);
   }
+
+  public void exceptionWhileDispatchingFetchAndLockRequests(Throwable e) {
+    logError(
+        "002",
+        "Exception while dispatching pending fetch and lock requests",
+        e);
+  }
+
+  public void exceptionWhileFetchingAndLockingForPendingRequest(String workerId, Throwable e) {
+    logWarn(
+        "003",
+        "Exception while fetching and locking external tasks for pending request of worker '{}'",
+        workerId,
+        e);
+  }
+
+  public void exceptionWhileUnlockingForCancelledRequest(String externalTaskId, String workerId, Throwable e) {
+    logWarn(
+        "004",
+        "Exception while unlocking external task '{}' which was locked for the cancelled pending request of worker '{}'",
+        externalTaskId,
+        workerId,
+        e);
+  }
 }
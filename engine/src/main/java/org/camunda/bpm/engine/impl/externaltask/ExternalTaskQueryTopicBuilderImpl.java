@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.cmd.FetchExternalTasksCmd;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.util.EnsureUtil;
 
 /**
  * @author Thorben Lindhauer
@@ -31,6 +32,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 public class ExternalTaskQueryTopicBuilderImpl implements ExternalTaskQueryTopicBuilder {
 
   protected CommandExecutor commandExecutor;
+  protected ExternalTaskFetchAndLockDispatcher fetchAndLockDispatcher;
 
   protected String workerId;
   protected int maxTasks;
@@ -44,7 +46,13 @@ public class ExternalTaskQueryTopicBuilderImpl implements ExternalTaskQueryTopic
   protected TopicFetchInstruction currentInstruction;
 
   public ExternalTaskQueryTopicBuilderImpl(CommandExecutor commandExecutor, String workerId, int maxTasks, boolean usePriority) {
+    this(commandExecutor, null, workerId, maxTasks, usePriority);
+  }
+
+  public ExternalTaskQueryTopicBuilderImpl(CommandExecutor commandExecutor, ExternalTaskFetchAndLockDispatcher fetchAndLockDispatcher,
+      String workerId, int maxTasks, boolean usePriority) {
     this.commandExecutor = commandExecutor;
+    this.fetchAndLockDispatcher = fetchAndLockDispatcher;
     this.workerId = workerId;
     this.maxTasks = maxTasks;
     this.usePriority = usePriority;
@@ -56,6 +64,26 @@ public class ExternalTaskQueryTopicBuilderImpl implements ExternalTaskQueryTopic
     return commandExecutor.execute(new FetchExternalTasksCmd(workerId, maxTasks, instructions, usePriority));
   }
 
+  public List<LockedExternalTask> execute(long asyncResponseTimeout) {
+    EnsureUtil.ensureGreaterThanOrEqual("asyncResponseTimeout", asyncResponseTimeout, 0);
+
+    if (asyncResponseTimeout == 0 || fetchAndLockDispatcher == null) {
+      return execute();
+    }
+
+    long notificationCount = fetchAndLockDispatcher.getNotificationCount();
+    long deadline = System.currentTimeMillis() + asyncResponseTimeout;
+
+    List<LockedExternalTask> lockedTasks = execute();
+    if (!lockedTasks.isEmpty() || maxTasks == 0) {
+      return lockedTasks;
+    }
+
+    PendingFetchAndLockRequest request = new PendingFetchAndLockRequest(workerId, maxTasks, usePriority, instructions, deadline);
+
+    return fetchAndLockDispatcher.await(request, notificationCount);
+  }
+
   public ExternalTaskQueryTopicBuilder topic(String topicName, long lockDuration) {
     submitCurrentInstruction();
     currentInstruction = new TopicFetchInstruction(topicName, lockDuration);
@@ -0,0 +1,132 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.cmd.FetchExternalTasksCmd;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+
+/**
+ * A fetch and lock request which is parked by the {@link ExternalTaskFetchAndLockDispatcher}
+ * until external tasks can be locked for it or its timeout expires.
+ */
+public class PendingFetchAndLockRequest {
+
+  protected String workerId;
+  protected int maxTasks;
+  protected boolean usePriority;
+  protected Map<String, TopicFetchInstruction> instructions;
+
+  /**
+   * the authentication of the thread that submitted the request
+   */
+  protected Authentication authentication;
+
+  /**
+   * point in time (in milliseconds) at which the request is completed without tasks
+   */
+  protected long deadline;
+
+  protected CountDownLatch completed = new CountDownLatch(1);
+  protected List<LockedExternalTask> result = Collections.emptyList();
+  protected boolean isCancelled = false;
+
+  public PendingFetchAndLockRequest(String workerId, int maxTasks, boolean usePriority,
+      Map<String, TopicFetchInstruction> instructions, long deadline) {
+    this.workerId = workerId;
+    this.maxTasks = maxTasks;
+    this.usePriority = usePriority;
+    this.instructions = instructions;
+    this.deadline = deadline;
+  }
+
+  public FetchExternalTasksCmd createFetchCommand() {
+    return new FetchExternalTasksCmd(workerId, maxTasks, instructions, usePriority);
+  }
+
+  /**
+   * Completes the request with the given tasks unless it was cancelled.
+   *
+   * @return false if the request was cancelled or completed before; the caller
+   *   remains responsible for the given tasks then
+   */
+  public synchronized boolean complete(List<LockedExternalTask> result) {
+    if (isCancelled || isCompleted()) {
+      return false;
+    }
+    this.result = result;
+    completed.countDown();
+    return true;
+  }
+
+  /**
+   * Cancels the request unless it was completed.
+   *
+   * @return false if the request was completed before; its result must be
+   *   returned then
+   */
+  public synchronized boolean cancel() {
+    if (isCompleted()) {
+      return false;
+    }
+    isCancelled = true;
+    return true;
+  }
+
+  public boolean isCompleted() {
+    return completed.getCount() == 0;
+  }
+
+  public synchronized List<LockedExternalTask> getResult() {
+    return result;
+  }
+
+  /**
+   * Blocks the calling thread until the request is completed.
+   */
+  public List<LockedExternalTask> await() throws InterruptedException {
+    completed.await();
+    return result;
+  }
+
+  public boolean isExpired(long now) {
+    return deadline <= now;
+  }
+
+  public Set<String> getTopicNames() {
+    return instructions.keySet();
+  }
+
+  public Authentication getAuthentication() {
+    return authentication;
+  }
+
+  public void setAuthentication(Authentication authentication) {
+    this.authentication = authentication;
+  }
+
+  public long getDeadline() {
+    return deadline;
+  }
+
+  public String getWorkerId() {
+    return workerId;
+  }
+
+}
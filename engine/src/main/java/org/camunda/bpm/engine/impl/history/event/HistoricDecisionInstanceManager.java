@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.QueryOrderingProperty;
 import org.camunda.bpm.engine.impl.QueryPropertyImpl;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupIdRange;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -141,11 +142,25 @@ public class HistoricDecisionInstanceManager extends AbstractHistoricManager {
     }
   }
 
-  @SuppressWarnings("unchecked")
   public List<String> findHistoricDecisionInstanceIdsForCleanup(Integer batchSize) {
+    return findHistoricDecisionInstanceIdsForCleanup(batchSize, null, null);
+  }
+
+  /**
+   * Restricts the ids to the given id range and excludes the given id ranges, see
+   * {@link org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper}. If ranges are given, the ids
+   * are ordered by id, so that they can be split into disjoint id ranges, otherwise by evaluation time.
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findHistoricDecisionInstanceIdsForCleanup(Integer batchSize, HistoryCleanupIdRange idRange, List<HistoryCleanupIdRange> excludedIdRanges) {
     ListQueryParameterObject parameterObject = new ListQueryParameterObject();
-    parameterObject.setParameter(ClockUtil.getCurrentTime());
-    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl("EVAL_TIME_"), Direction.ASCENDING));
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("currentTimestamp", ClockUtil.getCurrentTime());
+    parameters.put("idRange", idRange);
+    parameters.put("excludedIdRanges", excludedIdRanges);
+    parameterObject.setParameter(parameters);
+    String orderingProperty = idRange != null || excludedIdRanges != null ? "ID_" : "EVAL_TIME_";
+    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl(orderingProperty), Direction.ASCENDING));
     parameterObject.setFirstResult(0);
     parameterObject.setMaxResults(batchSize);
     return (List<String>) getDbEntityManager().selectList("selectHistoricDecisionInstanceIdsForCleanup", parameterObject);
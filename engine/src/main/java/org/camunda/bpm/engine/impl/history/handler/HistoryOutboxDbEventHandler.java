@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+
+/**
+ * <p>Writes the history events of the history outbox to the history tables.</p>
+ *
+ * <p>In contrast to the runtime transaction, the events of an entity are not produced by
+ * updating the cached entity. If an update event refers to an entity which was inserted or
+ * updated by the same write, the update is therefore executed as an additional statement
+ * after the insert.</p>
+ *
+ * <p>Since entries are claimed by several writers, the entry with the start event of a scope
+ * may not be written yet when an update of the scope is written. If the initial event is
+ * required, such an update fails, so that its entry is retried later. Otherwise the update
+ * is merged, as by the {@link DbHistoryEventHandler}.</p>
+ */
+public class HistoryOutboxDbEventHandler extends DbHistoryEventHandler {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected boolean initialEventRequired;
+
+  public HistoryOutboxDbEventHandler(boolean initialEventRequired) {
+    this.initialEventRequired = initialEventRequired;
+  }
+
+  protected void insertOrUpdate(HistoryEvent historyEvent) {
+    DbEntityManager dbEntityManager = getDbEntityManager();
+
+    if (!isInitialEvent(historyEvent) && historyEvent.getId() != null) {
+      HistoryEvent existingEvent = dbEntityManager.getCachedEntity(historyEvent.getClass(), historyEvent.getId());
+
+      if (existingEvent == null && historyEvent instanceof HistoricScopeInstanceEvent) {
+        existingEvent = dbEntityManager.selectById(historyEvent.getClass(), historyEvent.getId());
+
+        if (existingEvent == null && initialEventRequired) {
+          throw LOG.historyEventWithoutInitialEventException(historyEvent);
+        }
+      }
+
+      if (existingEvent != null) {
+        update(historyEvent, existingEvent);
+        return;
+      }
+    }
+
+    super.insertOrUpdate(historyEvent);
+  }
+
+  protected void update(HistoryEvent historyEvent, HistoryEvent existingEvent) {
+    if (historyEvent instanceof HistoricScopeInstanceEvent) {
+      ((HistoricScopeInstanceEvent) historyEvent).setStartTime(((HistoricScopeInstanceEvent) existingEvent).getStartTime());
+    }
+
+    String updateStatement = Context.getProcessEngineConfiguration()
+      .getDbSqlSessionFactory()
+      .getUpdateStatement(historyEvent);
+    getDbEntityManager().update(historyEvent.getClass(), updateStatement, historyEvent);
+  }
+
+}
@@ -0,0 +1,99 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandContextListener;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxEntryEntity;
+
+/**
+ * <p>Collects the history events of a command context for the {@link OutboxHistoryEventHandler}.</p>
+ *
+ * <p>When the command context is closed (i.e. before the entity manager is flushed), the collected
+ * events are stored as one entry of the history outbox. After the transaction committed, the
+ * {@link HistoryOutboxWriter} is notified about the new entry.</p>
+ */
+public class HistoryOutboxSession implements Session, CommandContextListener {
+
+  protected List<HistoryEvent> events = new ArrayList<HistoryEvent>();
+
+  protected boolean isListenerRegistered = false;
+  protected boolean isCommandContextClosed = false;
+
+  protected List<String> insertedEntryIds = new ArrayList<String>();
+
+  public void addEvent(HistoryEvent historyEvent) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    if (isCommandContextClosed) {
+      // the event was produced by another command context listener
+      insertEntry(commandContext, Collections.singletonList(historyEvent));
+
+    } else {
+      if (!isListenerRegistered) {
+        commandContext.registerCommandContextListener(this);
+        isListenerRegistered = true;
+      }
+      events.add(historyEvent);
+    }
+  }
+
+  public void onCommandContextClose(CommandContext commandContext) {
+    isCommandContextClosed = true;
+
+    if (!events.isEmpty()) {
+      insertEntry(commandContext, events);
+    }
+  }
+
+  public void onCommandFailed(CommandContext commandContext, Throwable t) {
+    // nothing to do
+  }
+
+  protected void insertEntry(CommandContext commandContext, List<HistoryEvent> historyEvents) {
+    final HistoryOutboxWriter writer = commandContext.getProcessEngineConfiguration().getHistoryOutboxWriter();
+
+    HistoryOutboxEntryEntity entry = writer.createEntry(OutboxHistoryEventHandler.serializeEvents(historyEvents));
+    commandContext.getHistoryOutboxManager().insertEntry(entry);
+
+    if (insertedEntryIds.isEmpty()) {
+      commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          writer.entriesCommitted(insertedEntryIds);
+        }
+      });
+    }
+    insertedEntryIds.add(entry.getId());
+  }
+
+  public void flush() {
+    // the entry is inserted on command context close
+  }
+
+  public void close() {
+  }
+
+  public List<HistoryEvent> getEvents() {
+    return events;
+  }
+
+}
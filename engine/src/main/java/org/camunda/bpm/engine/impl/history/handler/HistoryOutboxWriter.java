@@ -0,0 +1,312 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.ClaimHistoryOutboxEntriesCmd;
+import org.camunda.bpm.engine.impl.cmd.FailHistoryOutboxEntryCmd;
+import org.camunda.bpm.engine.impl.cmd.WriteHistoryOutboxCmd;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxEntryEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>Writes the history events of the history outbox to the history tables.</p>
+ *
+ * <p>The writer thread is woken up when enough entries were committed to fill a batch, or
+ * after the write interval elapsed. The writer claims the oldest entries by locking them,
+ * so that several nodes can write the outbox concurrently. Entries are ordered by their
+ * sequence, which is derived from the time of their creation and a counter of this writer.</p>
+ *
+ * <p>If a batch cannot be written, its entries are written one by one, so that a single
+ * broken entry does not block the outbox. An entry which fails to be written is released
+ * and retried later, until the maximum number of attempts is reached. Then it is moved
+ * aside and not written anymore.</p>
+ *
+ * <p>If the number of committed but unwritten entries of this node (the backlog) exceeds
+ * the maximum backlog, committing transactions write the outbox themselves until the backlog
+ * is reduced (backpressure). In read-your-writes mode, the entries are created locked by this
+ * writer and every committing transaction writes its own entries, so that its history is visible
+ * once the API call returned.</p>
+ */
+public class HistoryOutboxWriter implements Runnable {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected CommandExecutor commandExecutor;
+
+  protected int batchSize = 100;
+  protected long writeInterval = 1000;
+  protected int maxBacklog = 1000;
+  protected boolean readYourWrites = false;
+  protected int maxAttempts = 3;
+  protected long lockTime = 300000;
+
+  protected String lockOwner = UUID.randomUUID().toString();
+
+  protected AtomicLong entryCounter = new AtomicLong(0);
+  protected AtomicInteger backlog = new AtomicInteger(0);
+
+  protected ReentrantLock writeLock = new ReentrantLock();
+
+  protected final Object monitor = new Object();
+  protected volatile boolean isRunning = false;
+  protected Thread writerThread;
+
+  public HistoryOutboxWriter(ProcessEngineConfigurationImpl processEngineConfiguration, CommandExecutor commandExecutor) {
+    this.processEngineConfiguration = processEngineConfiguration;
+    this.commandExecutor = commandExecutor;
+  }
+
+  public void start() {
+    if (isRunning) {
+      return;
+    }
+    isRunning = true;
+    writerThread = new Thread(this, "camunda-history-outbox-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  public void stop() {
+    if (!isRunning) {
+      return;
+    }
+    isRunning = false;
+    synchronized (monitor) {
+      monitor.notifyAll();
+    }
+    try {
+      writerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    writerThread = null;
+
+    // write the entries which were committed while shutting down
+    tryWriteAll();
+  }
+
+  public void run() {
+    while (isRunning) {
+      tryWriteAll();
+
+      synchronized (monitor) {
+        if (isRunning && backlog.get() < batchSize) {
+          try {
+            monitor.wait(writeInterval);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the sequence of a new entry of the history outbox; entries which are
+   * created in the same millisecond are ordered by a counter of this writer
+   */
+  public long nextEntrySequence() {
+    long counter = entryCounter.incrementAndGet() % 1000;
+    return System.currentTimeMillis() * 1000 + counter;
+  }
+
+  /**
+   * @return a new entry of the history outbox; in read-your-writes mode, the entry is
+   * locked by this writer, so that it is written by the committing transaction only
+   */
+  public HistoryOutboxEntryEntity createEntry(byte[] bytes) {
+    HistoryOutboxEntryEntity entry = new HistoryOutboxEntryEntity(nextEntrySequence(), bytes);
+    if (readYourWrites) {
+      entry.lock(lockOwner, new Date(ClockUtil.getCurrentTime().getTime() + lockTime));
+    }
+    return entry;
+  }
+
+  /**
+   * Called after a transaction committed the given history outbox entries.
+   */
+  public void entriesCommitted(List<String> entryIds) {
+    int currentBacklog = backlog.addAndGet(entryIds.size());
+
+    if (readYourWrites) {
+      // the entries are locked by this writer, no other transaction claims them
+      writeEntries(entryIds);
+
+    } else if (currentBacklog > maxBacklog) {
+      if (processEngineConfiguration.isMetricsEnabled()) {
+        processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.HISTORY_OUTBOX_BACKPRESSURE);
+      }
+      tryWriteAll();
+
+    } else if (currentBacklog >= batchSize) {
+      synchronized (monitor) {
+        monitor.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Writes all entries of the history outbox in batches.
+   */
+  public void writeAll() {
+    writeLock.lock();
+    try {
+      List<String> entryIds;
+      boolean successful;
+      do {
+        entryIds = commandExecutor.execute(new ClaimHistoryOutboxEntriesCmd(lockOwner, lockTime, batchSize));
+        // failed entries are retried by the next write
+        successful = writeEntries(entryIds);
+      } while (successful && entryIds.size() >= batchSize);
+
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * @return true if all of the given entries were written
+   */
+  protected boolean writeEntries(List<String> entryIds) {
+    if (entryIds.isEmpty()) {
+      return true;
+    }
+
+    try {
+      decreaseBacklog(commandExecutor.execute(new WriteHistoryOutboxCmd(entryIds, lockOwner, maxAttempts)));
+      return true;
+
+    } catch (RuntimeException e) {
+      if (entryIds.size() == 1) {
+        failEntry(entryIds.get(0), e);
+        return false;
+      }
+
+      LOG.exceptionWhileWritingHistoryOutboxBatch(entryIds.size(), e);
+
+      boolean successful = true;
+      for (String entryId : entryIds) {
+        successful &= writeEntries(Collections.singletonList(entryId));
+      }
+      return successful;
+    }
+  }
+
+  protected void failEntry(String entryId, RuntimeException exception) {
+    try {
+      boolean movedAside = commandExecutor.execute(new FailHistoryOutboxEntryCmd(entryId, lockOwner, exception, maxAttempts));
+      if (movedAside) {
+        decreaseBacklog(1);
+      }
+    } catch (RuntimeException e) {
+      // the lock of the entry expires eventually
+      LOG.exceptionWhileWritingHistoryOutbox(e);
+    }
+  }
+
+  protected void tryWriteAll() {
+    try {
+      writeAll();
+    } catch (RuntimeException e) {
+      // e.g. if the entries could not be claimed
+      LOG.exceptionWhileWritingHistoryOutbox(e);
+    }
+  }
+
+  protected void decreaseBacklog(int writtenEntries) {
+    // the written entries may include entries committed on other nodes
+    while (true) {
+      int current = backlog.get();
+      int next = Math.max(0, current - writtenEntries);
+      if (backlog.compareAndSet(current, next)) {
+        return;
+      }
+    }
+  }
+
+  public int getBacklog() {
+    return backlog.get();
+  }
+
+  public boolean isRunning() {
+    return isRunning;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getWriteInterval() {
+    return writeInterval;
+  }
+
+  public void setWriteInterval(long writeInterval) {
+    this.writeInterval = writeInterval;
+  }
+
+  public int getMaxBacklog() {
+    return maxBacklog;
+  }
+
+  public void setMaxBacklog(int maxBacklog) {
+    this.maxBacklog = maxBacklog;
+  }
+
+  public boolean isReadYourWrites() {
+    return readYourWrites;
+  }
+
+  public void setReadYourWrites(boolean readYourWrites) {
+    this.readYourWrites = readYourWrites;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public void setMaxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  public long getLockTime() {
+    return lockTime;
+  }
+
+  public void setLockTime(long lockTime) {
+    this.lockTime = lockTime;
+  }
+
+  public String getLockOwner() {
+    return lockOwner;
+  }
+
+}
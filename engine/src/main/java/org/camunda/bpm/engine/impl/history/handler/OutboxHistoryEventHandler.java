@@ -0,0 +1,92 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxEntryEntity;
+
+/**
+ * <p>History event handler that does not write history events to the history tables
+ * in the runtime transaction. Instead, all events of a transaction are serialized into one
+ * entry of the history outbox, which is stored as a {@link HistoryOutboxEntryEntity} in the same
+ * transaction. The {@link HistoryOutboxWriter} writes the events of committed entries to the
+ * history tables in the background.</p>
+ *
+ * <p>Decision evaluation events are written synchronously by a {@link DbHistoryEventHandler}
+ * since they only insert new entities.</p>
+ *
+ * @see HistoryOutboxSession
+ */
+public class OutboxHistoryEventHandler implements HistoryEventHandler {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected DbHistoryEventHandler synchronousHandler = new DbHistoryEventHandler();
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    if (historyEvent instanceof HistoricDecisionEvaluationEvent) {
+      synchronousHandler.handleEvent(historyEvent);
+    } else {
+      Context.getCommandContext()
+        .getSession(HistoryOutboxSession.class)
+        .addEvent(historyEvent);
+    }
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    for (HistoryEvent historyEvent : historyEvents) {
+      handleEvent(historyEvent);
+    }
+  }
+
+  public static byte[] serializeEvents(List<HistoryEvent> historyEvents) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      ObjectOutputStream out = new ObjectOutputStream(bytes);
+      out.writeObject(new ArrayList<HistoryEvent>(historyEvents));
+      out.close();
+      return bytes.toByteArray();
+
+    } catch (IOException e) {
+      throw LOG.exceptionWhileSerializingHistoryOutboxEntry(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public static List<HistoryEvent> deserializeEvents(HistoryOutboxEntryEntity entry) {
+    try {
+      ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(entry.getBytes()));
+      try {
+        return (List<HistoryEvent>) in.readObject();
+      } finally {
+        in.close();
+      }
+
+    } catch (Exception e) {
+      throw LOG.exceptionWhileDeserializingHistoryOutboxEntry(entry.getId(), e);
+    }
+  }
+
+}
@@ -72,6 +72,8 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
       deleteTenantMembershipsOfUser(userId);
 
       deleteAuthorizations(Resources.USER, userId);
+      // the id can be reused by a new user which must not inherit cached permissions
+      getAuthorizationManager().invalidateAuthorizationDecisions();
       getDbEntityManager().delete(user);
     }
   }
@@ -104,6 +106,8 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
       deleteTenantMembershipsOfGroup(groupId);
 
       deleteAuthorizations(Resources.GROUP, groupId);
+      // the id can be reused by a new group which must not inherit cached permissions
+      getAuthorizationManager().invalidateAuthorizationDecisions();
       getDbEntityManager().delete(group);
     }
   }
@@ -135,6 +139,8 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
       deleteTenantMembershipsOfTenant(tenantId);
 
       deleteAuthorizations(Resources.TENANT, tenantId);
+      // the id can be reused by a new tenant which must not inherit cached permissions
+      getAuthorizationManager().invalidateAuthorizationDecisions();
       getDbEntityManager().delete(tenant);
     }
   }
@@ -268,6 +268,10 @@ public class CommandContext {
     return getSession(MeterLogManager.class);
   }
 
+  public HistoryOutboxManager getHistoryOutboxManager() {
+    return getSession(HistoryOutboxManager.class);
+  }
+
   public IdentityLinkManager getIdentityLinkManager() {
     return getSession(IdentityLinkManager.class);
   }
@@ -12,7 +12,9 @@
  */
 package org.camunda.bpm.engine.impl.interceptor;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.management.Metrics;
 
 
 /**
@@ -21,6 +23,18 @@ import org.camunda.bpm.engine.impl.context.Context;
 public class CommandExecutorImpl extends CommandInterceptor {
 
   public <T> T execute(Command<T> command) {
-    return command.execute(Context.getCommandContext());
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration == null || !processEngineConfiguration.isMetricsEnabled()) {
+      return command.execute(Context.getCommandContext());
+    }
+
+    long start = System.nanoTime();
+    try {
+      return command.execute(Context.getCommandContext());
+    }
+    finally {
+      processEngineConfiguration.getMetricsRegistry()
+        .recordValue(Metrics.COMMAND_EXECUTION_TIME, (System.nanoTime() - start) / 1000);
+    }
   }
 }
@@ -84,4 +84,12 @@ public abstract class AcquireJobsRunnable implements Runnable {
   public boolean isJobAdded() {
     return isJobAdded;
   }
+
+  /**
+   * @return the current backoff level of job acquisition due to locking failures or 0
+   *   if the acquisition strategy does not back off
+   */
+  public int getBackoffLevel() {
+    return 0;
+  }
 }
@@ -0,0 +1,186 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.bpmn.behavior.BpmnBehaviorLogger;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.incident.IncidentContext;
+import org.camunda.bpm.engine.impl.incident.IncidentHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AsyncJavaDelegateJobHandler.AsyncJavaDelegateJobConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Incident;
+
+/**
+ * Continues an execution which waits in the service task of an
+ * {@link org.camunda.bpm.engine.delegate.AsyncJavaDelegate}.
+ *
+ * <p>A message job signals the execution once the delegate completed, or
+ * creates an incident if the delegate failed. A timer job creates an incident
+ * if the delegate did not complete within the configured timeout.</p>
+ *
+ * <p>The jobs are exclusive, so the execution is never continued concurrently
+ * with other jobs of the same process instance, and are retried like any
+ * other job.</p>
+ */
+public class AsyncJavaDelegateJobHandler implements JobHandler<AsyncJavaDelegateJobConfiguration> {
+
+  protected static final BpmnBehaviorLogger LOG = ProcessEngineLogger.BPMN_BEHAVIOR_LOGGER;
+
+  public static final String TYPE = "async-java-delegate";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(AsyncJavaDelegateJobConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
+    String activityInstanceId = configuration.getActivityInstanceId();
+
+    if (execution == null || !activityInstanceId.equals(execution.getActivityInstanceId())) {
+      // the execution does not wait for the completion anymore,
+      // e.g. because the process instance was modified
+      LOG.debugIgnoreAsyncJavaDelegateCompletion(execution != null ? execution.getId() : null, activityInstanceId);
+      return;
+    }
+
+    if (configuration.getFailureMessage() != null) {
+      createIncident(commandContext, execution, configuration);
+    }
+    else {
+      execution.signal(null, null);
+    }
+  }
+
+  protected void createIncident(CommandContext commandContext, ExecutionEntity execution, AsyncJavaDelegateJobConfiguration configuration) {
+    IncidentHandler incidentHandler = commandContext
+        .getProcessEngineConfiguration()
+        .getIncidentHandler(Incident.ASYNC_JAVA_DELEGATE_HANDLER_TYPE);
+
+    IncidentContext context = new IncidentContext();
+    context.setProcessDefinitionId(execution.getProcessDefinitionId());
+    context.setExecutionId(execution.getId());
+    context.setActivityId(execution.getActivityId());
+    context.setTenantId(execution.getTenantId());
+    context.setConfiguration(configuration.getActivityInstanceId());
+
+    incidentHandler.handleIncident(context, configuration.getFailureMessage());
+  }
+
+  public AsyncJavaDelegateJobConfiguration newConfiguration(String canonicalString) {
+    return AsyncJavaDelegateJobConfiguration.fromCanonicalString(canonicalString);
+  }
+
+  public void onDelete(AsyncJavaDelegateJobConfiguration configuration, JobEntity jobEntity) {
+    // do nothing
+  }
+
+  /**
+   * Creates the message job which continues the execution after the delegate
+   * completed, or failed if the failure message is not null.
+   */
+  public static MessageEntity sendContinuation(ExecutionEntity execution, String activityInstanceId, String failureMessage) {
+    MessageEntity message = new MessageEntity();
+    initializeJob(message, execution, new AsyncJavaDelegateJobConfiguration(activityInstanceId, failureMessage));
+
+    Context.getCommandContext().getJobManager().send(message);
+    return message;
+  }
+
+  /**
+   * Creates the timer job which fails the delegate if it did not complete within the timeout.
+   */
+  public static TimerEntity scheduleTimeout(ExecutionEntity execution, String activityInstanceId, long timeout) {
+    TimerEntity timer = new TimerEntity();
+    initializeJob(timer, execution, new AsyncJavaDelegateJobConfiguration(activityInstanceId,
+        LOG.asyncJavaDelegateTimeoutException(activityInstanceId, timeout).getMessage()));
+    timer.setDuedate(new Date(ClockUtil.getCurrentTime().getTime() + timeout));
+
+    Context.getCommandContext().getJobManager().schedule(timer);
+    return timer;
+  }
+
+  /**
+   * Deletes the timeout timer of the given execution, if any.
+   */
+  public static void deleteTimeout(ExecutionEntity execution) {
+    for (JobEntity job : new ArrayList<JobEntity>(execution.getJobs())) {
+      if (job instanceof TimerEntity && TYPE.equals(job.getJobHandlerType())) {
+        job.delete();
+      }
+    }
+  }
+
+  protected static void initializeJob(JobEntity job, ExecutionEntity execution, AsyncJavaDelegateJobConfiguration configuration) {
+    job.setJobHandlerType(TYPE);
+    job.setJobHandlerConfiguration(configuration);
+    job.setExclusive(true);
+    job.setExecution(execution);
+    job.setProcessDefinitionId(execution.getProcessDefinitionId());
+    job.setProcessDefinitionKey(execution.getProcessDefinition().getKey());
+    job.setDeploymentId(execution.getProcessDefinition().getDeploymentId());
+    job.setTenantId(execution.getTenantId());
+  }
+
+  public static class AsyncJavaDelegateJobConfiguration implements JobHandlerConfiguration {
+
+    protected static final String FAILURE_SEPARATOR = "$";
+
+    protected String activityInstanceId;
+    protected String failureMessage;
+
+    public AsyncJavaDelegateJobConfiguration(String activityInstanceId, String failureMessage) {
+      this.activityInstanceId = activityInstanceId;
+      if (failureMessage != null && failureMessage.length() > JobEntity.MAX_EXCEPTION_MESSAGE_LENGTH) {
+        failureMessage = failureMessage.substring(0, JobEntity.MAX_EXCEPTION_MESSAGE_LENGTH);
+      }
+      this.failureMessage = failureMessage;
+    }
+
+    public String getActivityInstanceId() {
+      return activityInstanceId;
+    }
+
+    /**
+     * @return the message of the incident to create, or null if the delegate completed
+     */
+    public String getFailureMessage() {
+      return failureMessage;
+    }
+
+    public String toCanonicalString() {
+      if (failureMessage == null) {
+        return activityInstanceId;
+      }
+      return activityInstanceId + FAILURE_SEPARATOR + failureMessage;
+    }
+
+    public static AsyncJavaDelegateJobConfiguration fromCanonicalString(String canonicalString) {
+      int separatorIndex = canonicalString.indexOf(FAILURE_SEPARATOR);
+      if (separatorIndex < 0) {
+        return new AsyncJavaDelegateJobConfiguration(canonicalString, null);
+      }
+      return new AsyncJavaDelegateJobConfiguration(canonicalString.substring(0, separatorIndex),
+          canonicalString.substring(separatorIndex + 1));
+    }
+
+  }
+
+}
@@ -304,4 +304,8 @@ public class BackoffJobAcquisitionStrategy implements JobAcquisitionStrategy {
       return baseNumJobsToAcquire;
     }
   }
+
+  public int getBackoffLevel() {
+    return backoffLevel;
+  }
 }
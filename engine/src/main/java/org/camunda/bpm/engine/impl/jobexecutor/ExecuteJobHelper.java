@@ -17,20 +17,36 @@ import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
 
 public class ExecuteJobHelper {
 
   private static final JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
 
   public static void executeJob(String jobId, CommandExecutor commandExecutor) {
+    executeJob(jobId, commandExecutor, (MetricsRegistry) null);
+  }
+
+  /**
+   * @param metricsRegistry if not null, the execution time of the job is recorded
+   *   as {@link Metrics#JOB_EXECUTION_TIME}
+   */
+  public static void executeJob(String jobId, CommandExecutor commandExecutor, MetricsRegistry metricsRegistry) {
 
     JobFailureCollector jobFailureCollector = new JobFailureCollector(jobId);
 
-    ExecuteJobHelper.executeJob(jobId, commandExecutor, jobFailureCollector, new ExecuteJobsCmd(jobId, jobFailureCollector));
+    ExecuteJobHelper.executeJob(jobId, commandExecutor, jobFailureCollector, new ExecuteJobsCmd(jobId, jobFailureCollector), metricsRegistry);
 
   }
 
   public static void executeJob(String nextJobId, CommandExecutor commandExecutor, JobFailureCollector jobFailureCollector, Command<Void> cmd) {
+    executeJob(nextJobId, commandExecutor, jobFailureCollector, cmd, null);
+  }
+
+  public static void executeJob(String nextJobId, CommandExecutor commandExecutor, JobFailureCollector jobFailureCollector, Command<Void> cmd,
+      MetricsRegistry metricsRegistry) {
+    long start = System.nanoTime();
     try {
 
       commandExecutor.execute(cmd);
@@ -46,6 +62,9 @@ public class ExecuteJobHelper {
       throw LOG.wrapJobExecutionFailure(jobFailureCollector, exception);
 
     } finally {
+      if (metricsRegistry != null) {
+        metricsRegistry.recordValue(Metrics.JOB_EXECUTION_TIME, (System.nanoTime() - start) / 1000);
+      }
       ExecuteJobHelper.invokeJobListener(commandExecutor, jobFailureCollector);
     }
 
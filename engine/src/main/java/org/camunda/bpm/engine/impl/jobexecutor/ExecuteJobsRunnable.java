@@ -14,9 +14,12 @@ package org.camunda.bpm.engine.impl.jobexecutor;
 
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.UnlockJobCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
 
 import java.util.List;
 
@@ -32,14 +35,21 @@ public class ExecuteJobsRunnable implements Runnable {
   protected final List<String> jobIds;
   protected JobExecutor jobExecutor;
   protected ProcessEngineImpl processEngine;
+  protected long creationTime;
 
   public ExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine) {
     this.jobIds = jobIds;
     this.processEngine = processEngine;
     this.jobExecutor = processEngine.getProcessEngineConfiguration().getJobExecutor();
+    this.creationTime = System.nanoTime();
   }
 
   public void run() {
+    MetricsRegistry metricsRegistry = getMetricsRegistry();
+    if (metricsRegistry != null) {
+      metricsRegistry.recordValue(Metrics.JOB_QUEUE_WAIT_TIME, (System.nanoTime() - creationTime) / 1000);
+    }
+
     final JobExecutorContext jobExecutorContext = new JobExecutorContext();
 
     final List<String> currentProcessorJobQueue = jobExecutorContext.getCurrentProcessorJobQueue();
@@ -85,7 +95,15 @@ public class ExecuteJobsRunnable implements Runnable {
    * org.camunda.bpm.container.impl.threading.ra.inflow.JcaInflowExecuteJobsRunnable.executeJob(String, CommandExecutor)
    */
   protected void executeJob(String nextJobId, CommandExecutor commandExecutor) {
-    ExecuteJobHelper.executeJob(nextJobId, commandExecutor);
+    ExecuteJobHelper.executeJob(nextJobId, commandExecutor, getMetricsRegistry());
+  }
+
+  protected MetricsRegistry getMetricsRegistry() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = processEngine.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      return processEngineConfiguration.getMetricsRegistry();
+    }
+    return null;
   }
 
   protected void unlockJob(String nextJobId, CommandExecutor commandExecutor) {
@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+/**
+ * <p>A partition of the job table that is acquired by one acquisition thread
+ * of a {@link ShardedJobAcquisitionRunnable}.</p>
+ *
+ * <p>Jobs are assigned to shards by the character code of the last character of their
+ * process instance id (or of their own id if they do not belong to a process instance)
+ * modulo the number of shards. Exclusive jobs of the same process instance are therefore
+ * always acquired by the same shard, and the shards are disjoint and together cover all
+ * jobs, independent of the characters used by the id generator.</p>
+ *
+ * <p>The ids of the {@link org.camunda.bpm.engine.impl.db.DbIdGenerator} end with a
+ * decimal digit, so there are only ten possible last characters. The number of shards
+ * is therefore limited to ten, otherwise the additional shards would not acquire any
+ * jobs. The ids of the {@link org.camunda.bpm.engine.impl.persistence.StrongUuidGenerator}
+ * end with a hexadecimal digit and are distributed over all ten shards as well.</p>
+ */
+public class JobAcquisitionShard {
+
+  /**
+   * the number of possible last characters of the ids of the {@link org.camunda.bpm.engine.impl.db.DbIdGenerator}
+   */
+  public static final int MAX_SHARD_COUNT = 10;
+
+  protected int shardIndex;
+  protected int shardCount;
+
+  public JobAcquisitionShard(int shardIndex, int shardCount) {
+    this.shardIndex = shardIndex;
+    this.shardCount = shardCount;
+  }
+
+  public int getShardIndex() {
+    return shardIndex;
+  }
+
+  public int getShardCount() {
+    return shardCount;
+  }
+
+  public String toString() {
+    return "JobAcquisitionShard[" + shardIndex + "/" + shardCount + "]";
+  }
+
+}
@@ -45,6 +45,7 @@ public abstract class JobExecutor {
   protected List<ProcessEngineImpl> processEngines = new CopyOnWriteArrayList<ProcessEngineImpl>();
   protected AcquireJobsCommandFactory acquireJobsCmdFactory;
   protected AcquireJobsRunnable acquireJobsRunnable;
+  protected LocalJobDispatcher localJobDispatcher;
   protected RejectedJobsHandler rejectedJobsHandler;
   protected Thread jobAcquisitionThread;
 
@@ -53,6 +54,12 @@ public abstract class JobExecutor {
 
   protected int maxJobsPerAcquisition = 3;
 
+  /**
+   * The number of threads acquiring jobs in parallel. If greater than 1,
+   * every thread acquires a disjoint {@link JobAcquisitionShard} of the jobs.
+   */
+  protected int acquisitionThreadCount = 1;
+
   // waiting when job acquisition is idle
   protected int waitTimeInMillis = 5 * 1000;
   protected float waitIncreaseFactor = 2;
@@ -68,6 +75,17 @@ public abstract class JobExecutor {
    */
   protected int backoffDecreaseThreshold = 100;
 
+  /**
+   * If enabled, jobs created on this node are locked when they are inserted
+   * and handed over for execution right after the creating transaction committed.
+   */
+  protected boolean localDispatchEnabled = false;
+
+  /**
+   * The maximum number of jobs that are locked for local dispatch but not yet handed over.
+   */
+  protected int localDispatchQueueSize = 100;
+
   protected String lockOwner = UUID.randomUUID().toString();
   protected int lockTimeInMillis = 5 * 60 * 1000;
 
@@ -94,12 +112,21 @@ public abstract class JobExecutor {
 
   protected void ensureInitialization() {
     acquireJobsCmdFactory = new DefaultAcquireJobsCommandFactory(this);
-    acquireJobsRunnable = new SequentialJobAcquisitionRunnable(this);
+    if (acquisitionThreadCount > 1) {
+      acquireJobsRunnable = new ShardedJobAcquisitionRunnable(this, acquisitionThreadCount);
+    }
+    else {
+      acquireJobsRunnable = new SequentialJobAcquisitionRunnable(this);
+    }
+    if (localDispatchEnabled) {
+      localJobDispatcher = new LocalJobDispatcher(this, localDispatchQueueSize);
+    }
   }
 
   protected void ensureCleanup() {
     acquireJobsCmdFactory = null;
     acquireJobsRunnable = null;
+    localJobDispatcher = null;
   }
 
   public void jobWasAdded() {
@@ -130,6 +157,27 @@ public abstract class JobExecutor {
   protected abstract void stopExecutingJobs();
   public abstract void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine);
 
+  /**
+   * Submits the jobs for execution like {@link #executeJobs(List, ProcessEngineImpl)}
+   * but does not invoke the {@link RejectedJobsHandler} if they are rejected.
+   * Used to execute jobs dispatched by the {@link LocalJobDispatcher}.
+   *
+   * @return false if the jobs were not accepted for execution
+   */
+  public boolean tryExecuteJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    return false;
+  }
+
+  /**
+   * Indicates that the job executor cannot accept further jobs for execution
+   * at the moment. Used to throttle the creation of batch jobs.
+   *
+   * @return true if no capacity is left to execute jobs
+   */
+  public boolean isSaturated() {
+    return false;
+  }
+
   /**
    * Deprecated: use {@link #executeJobs(List, ProcessEngineImpl)} instead
    * @param jobIds
@@ -267,6 +315,38 @@ public abstract class JobExecutor {
     this.maxJobsPerAcquisition = maxJobsPerAcquisition;
   }
 
+  public int getAcquisitionThreadCount() {
+    return acquisitionThreadCount;
+  }
+
+  public void setAcquisitionThreadCount(int acquisitionThreadCount) {
+    this.acquisitionThreadCount = acquisitionThreadCount;
+  }
+
+  public boolean isLocalDispatchEnabled() {
+    return localDispatchEnabled;
+  }
+
+  public void setLocalDispatchEnabled(boolean localDispatchEnabled) {
+    this.localDispatchEnabled = localDispatchEnabled;
+  }
+
+  public int getLocalDispatchQueueSize() {
+    return localDispatchQueueSize;
+  }
+
+  public void setLocalDispatchQueueSize(int localDispatchQueueSize) {
+    this.localDispatchQueueSize = localDispatchQueueSize;
+  }
+
+  /**
+   * @return the dispatcher for jobs created on this node; null if local dispatch is disabled
+   *   or the job executor is not active
+   */
+  public LocalJobDispatcher getLocalJobDispatcher() {
+    return localJobDispatcher;
+  }
+
   public float getWaitIncreaseFactor() {
     return waitIncreaseFactor;
   }
@@ -174,4 +174,15 @@ public class JobExecutorLogger extends ProcessEngineLogger {
         "027", "Falling back to default retry strategy. Exception while executing job {}: {}", jobId, exceptionMessage);
   }
 
+  public ProcessEngineException invalidAcquisitionThreadCount(int acquisitionThreadCount, int maxAcquisitionThreadCount) {
+    return new ProcessEngineException(exceptionMessage(
+        "028", "Invalid number of job acquisition threads {}. The number must be between 1 and {}.",
+        acquisitionThreadCount, maxAcquisitionThreadCount));
+  }
+
+  public void exceptionWhileUnlockingLocallyDispatchedJobs(Collection<String> jobIds, Throwable t) {
+    logWarn(
+        "029", "Exception while giving back locally dispatched jobs {}. They are acquired again once their lock expired.", jobIds, t);
+  }
+
 }
@@ -0,0 +1,75 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * Collects the jobs of a transaction which are dispatched locally and hands them
+ * over to the {@link LocalJobDispatcher} once the transaction committed. Like in
+ * {@link org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd}, exclusive jobs of the same
+ * process instance are executed in one batch.
+ */
+public class LocalJobDispatchNotification implements TransactionListener {
+
+  protected LocalJobDispatcher dispatcher;
+
+  protected List<List<String>> jobIdBatches = new ArrayList<List<String>>();
+  protected Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<String, List<String>>();
+  protected int numJobs = 0;
+
+  public LocalJobDispatchNotification(LocalJobDispatcher dispatcher) {
+    this.dispatcher = dispatcher;
+  }
+
+  public void addJob(JobEntity job) {
+    if (job.isExclusive() && job.getProcessInstanceId() != null) {
+      List<String> jobIds = exclusiveJobsByProcessInstance.get(job.getProcessInstanceId());
+      if (jobIds == null) {
+        jobIds = new ArrayList<String>();
+        exclusiveJobsByProcessInstance.put(job.getProcessInstanceId(), jobIds);
+        jobIdBatches.add(jobIds);
+      }
+      jobIds.add(job.getId());
+    }
+    else {
+      List<String> jobIds = new ArrayList<String>();
+      jobIds.add(job.getId());
+      jobIdBatches.add(jobIds);
+    }
+    numJobs++;
+  }
+
+  public void execute(CommandContext commandContext) {
+    dispatcher.dispatch(jobIdBatches, numJobs, commandContext.getProcessEngineConfiguration().getProcessEngine());
+  }
+
+  /**
+   * @return a listener which releases the reserved slots if the transaction is rolled back
+   */
+  public TransactionListener getRollbackListener() {
+    return new TransactionListener() {
+      public void execute(CommandContext commandContext) {
+        dispatcher.release(numJobs);
+      }
+    };
+  }
+
+}
@@ -0,0 +1,115 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.UnlockJobsCmd;
+
+/**
+ * <p>Hands jobs which were created on this node directly over to the {@link JobExecutor}
+ * after the creating transaction committed, instead of waiting for the next acquisition cycle.</p>
+ *
+ * <p>Jobs are locked for the job executor when they are inserted (see
+ * {@link org.camunda.bpm.engine.impl.persistence.entity.JobManager#hintJobExecutor}).
+ * The number of jobs that are locked but not yet handed over is bounded by the queue size.
+ * If the queue is full, new jobs are left to the regular job acquisition. If the job executor
+ * rejects the jobs, they are unlocked and thereby given back to the shared pool.</p>
+ */
+public class LocalJobDispatcher {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected JobExecutor jobExecutor;
+  protected int queueSize;
+
+  protected AtomicInteger reservedJobs = new AtomicInteger(0);
+
+  public LocalJobDispatcher(JobExecutor jobExecutor, int queueSize) {
+    this.jobExecutor = jobExecutor;
+    this.queueSize = queueSize;
+  }
+
+  /**
+   * Reserves a slot of the queue for a job that is going to be dispatched locally.
+   *
+   * @return false if the queue is full
+   */
+  public boolean reserve() {
+    while (true) {
+      int current = reservedJobs.get();
+      if (current >= queueSize) {
+        return false;
+      }
+      if (reservedJobs.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  public void release(int numJobs) {
+    reservedJobs.addAndGet(-numJobs);
+  }
+
+  /**
+   * Submits the given batches of jobs for execution and releases their slots.
+   * Batches rejected by the job executor are given back to the shared pool.
+   */
+  public void dispatch(List<List<String>> jobIdBatches, int numJobs, ProcessEngineImpl processEngine) {
+    List<String> rejectedJobIds = new ArrayList<String>();
+
+    try {
+      for (List<String> jobIds : jobIdBatches) {
+        LOG.executeJobs(processEngine.getName(), jobIds);
+
+        if (!jobExecutor.tryExecuteJobs(jobIds, processEngine)) {
+          rejectedJobIds.addAll(jobIds);
+        }
+      }
+    } finally {
+      release(numJobs);
+    }
+
+    if (!rejectedJobIds.isEmpty()) {
+      giveBack(rejectedJobIds, processEngine);
+    }
+  }
+
+  protected void giveBack(List<String> jobIds, ProcessEngineImpl processEngine) {
+    jobExecutor.logRejectedExecution(processEngine, jobIds.size());
+    try {
+      processEngine.getProcessEngineConfiguration()
+        .getCommandExecutorTxRequiresNew()
+        .execute(new UnlockJobsCmd(jobIds, jobExecutor.getLockOwner()));
+
+      jobExecutor.jobWasAdded();
+
+    } catch (RuntimeException e) {
+      // the jobs are acquired again once their lock expired
+      LOG.exceptionWhileUnlockingLocallyDispatchedJobs(jobIds, e);
+    }
+  }
+
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  public int getReservedJobs() {
+    return reservedJobs.get();
+  }
+
+}
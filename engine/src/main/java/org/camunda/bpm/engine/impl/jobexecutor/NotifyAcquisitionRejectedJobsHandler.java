@@ -25,8 +25,15 @@ public class NotifyAcquisitionRejectedJobsHandler implements RejectedJobsHandler
   @Override
   public void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
     AcquireJobsRunnable acquireJobsRunnable = jobExecutor.getAcquireJobsRunnable();
+    JobAcquisitionContext context = null;
     if (acquireJobsRunnable instanceof SequentialJobAcquisitionRunnable) {
-      JobAcquisitionContext context = ((SequentialJobAcquisitionRunnable) acquireJobsRunnable).getAcquisitionContext();
+      context = ((SequentialJobAcquisitionRunnable) acquireJobsRunnable).getAcquisitionContext();
+    }
+    else if (acquireJobsRunnable instanceof ShardedJobAcquisitionRunnable) {
+      context = ((ShardedJobAcquisitionRunnable) acquireJobsRunnable).getAcquisitionContext();
+    }
+
+    if (context != null) {
       context.submitRejectedBatch(processEngine.getName(), jobIds);
     }
     else {
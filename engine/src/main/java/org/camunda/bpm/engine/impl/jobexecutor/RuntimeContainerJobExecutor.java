@@ -58,6 +58,13 @@ public class RuntimeContainerJobExecutor extends JobExecutor {
     }
   }
 
+  public boolean tryExecuteJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    final RuntimeContainerDelegate runtimeContainerDelegate = getRuntimeContainerDelegate();
+    final ExecutorService executorService = runtimeContainerDelegate.getExecutorService();
+
+    return executorService.schedule(getExecuteJobsRunnable(jobIds, processEngine), false);
+  }
+
   protected RuntimeContainerDelegate getRuntimeContainerDelegate() {
     return RuntimeContainerDelegate.INSTANCE.get();
   }
@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 
 
@@ -31,6 +32,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
   protected final JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
 
   protected JobAcquisitionContext acquisitionContext;
+  protected volatile JobAcquisitionStrategy acquisitionStrategy;
 
   public SequentialJobAcquisitionRunnable(JobExecutor jobExecutor) {
     super(jobExecutor);
@@ -41,6 +43,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     LOG.startingToAcquireJobs(jobExecutor.getName());
 
     JobAcquisitionStrategy acquisitionStrategy = initializeAcquisitionStrategy();
+    this.acquisitionStrategy = acquisitionStrategy;
 
     while (!isInterrupted) {
       acquisitionContext.reset();
@@ -107,6 +110,18 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
 
   }
 
+  public JobAcquisitionStrategy getAcquisitionStrategy() {
+    return acquisitionStrategy;
+  }
+
+  public int getBackoffLevel() {
+    JobAcquisitionStrategy strategy = acquisitionStrategy;
+    if (strategy instanceof BackoffJobAcquisitionStrategy) {
+      return ((BackoffJobAcquisitionStrategy) strategy).getBackoffLevel();
+    }
+    return 0;
+  }
+
   protected void executeJobs(JobAcquisitionContext context, ProcessEngineImpl currentProcessEngine, AcquiredJobs acquiredJobs) {
     // submit those jobs that were acquired in previous cycles but could not be scheduled for execution
     List<List<String>> additionalJobs = context.getAdditionalJobsByEngine().get(currentProcessEngine.getName());
@@ -126,6 +141,10 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     }
   }
 
+  protected Command<AcquiredJobs> getAcquireJobsCmd(int numJobsToAcquire) {
+    return jobExecutor.getAcquireJobsCmd(numJobsToAcquire);
+  }
+
   protected AcquiredJobs acquireJobs(
       JobAcquisitionContext context,
       JobAcquisitionStrategy acquisitionStrategy,
@@ -139,7 +158,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
 
     if (numJobsToAcquire > 0) {
       jobExecutor.logAcquisitionAttempt(currentProcessEngine);
-      acquiredJobs = commandExecutor.execute(jobExecutor.getAcquireJobsCmd(numJobsToAcquire));
+      acquiredJobs = commandExecutor.execute(getAcquireJobsCmd(numJobsToAcquire));
     }
     else {
       acquiredJobs = new AcquiredJobs(numJobsToAcquire);
@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+
+/**
+ * Creates commands which only acquire the jobs of one {@link JobAcquisitionShard}.
+ */
+public class ShardedAcquireJobsCommandFactory implements AcquireJobsCommandFactory {
+
+  protected JobExecutor jobExecutor;
+  protected JobAcquisitionShard shard;
+
+  public ShardedAcquireJobsCommandFactory(JobExecutor jobExecutor, JobAcquisitionShard shard) {
+    this.jobExecutor = jobExecutor;
+    this.shard = shard;
+  }
+
+  public Command<AcquiredJobs> getCommand(int numJobsToAcquire) {
+    return new AcquireJobsCmd(jobExecutor, numJobsToAcquire, shard);
+  }
+
+  public JobAcquisitionShard getShard() {
+    return shard;
+  }
+}
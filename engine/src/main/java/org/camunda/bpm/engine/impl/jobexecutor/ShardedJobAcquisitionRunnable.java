@@ -0,0 +1,142 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+
+/**
+ * <p>
+ *   Acquires jobs with multiple acquisition threads in parallel. Every thread acquires
+ *   the jobs of one {@link JobAcquisitionShard}, so that the threads do not compete for the
+ *   same jobs. Each shard is acquired by a {@link SequentialJobAcquisitionRunnable} with its
+ *   own {@link JobAcquisitionContext} and {@link JobAcquisitionStrategy}, i.e. idle and
+ *   backoff times are managed per shard.
+ * </p>
+ *
+ * <p>
+ *   The thread running this runnable acquires the first shard, the other shards are
+ *   acquired by threads started and joined by this runnable.
+ * </p>
+ */
+public class ShardedJobAcquisitionRunnable extends AcquireJobsRunnable {
+
+  protected final JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected List<SequentialJobAcquisitionRunnable> shardRunnables = new ArrayList<SequentialJobAcquisitionRunnable>();
+
+  /**
+   * the shard acquired by the current thread, used to resubmit rejected jobs
+   */
+  protected ThreadLocal<SequentialJobAcquisitionRunnable> currentShardRunnable = new ThreadLocal<SequentialJobAcquisitionRunnable>();
+
+  public ShardedJobAcquisitionRunnable(JobExecutor jobExecutor, int shardCount) {
+    super(jobExecutor);
+    if (shardCount < 1 || shardCount > JobAcquisitionShard.MAX_SHARD_COUNT) {
+      throw LOG.invalidAcquisitionThreadCount(shardCount, JobAcquisitionShard.MAX_SHARD_COUNT);
+    }
+
+    for (int i = 0; i < shardCount; i++) {
+      shardRunnables.add(createShardRunnable(new JobAcquisitionShard(i, shardCount)));
+    }
+  }
+
+  protected SequentialJobAcquisitionRunnable createShardRunnable(JobAcquisitionShard shard) {
+    final AcquireJobsCommandFactory commandFactory = new ShardedAcquireJobsCommandFactory(jobExecutor, shard);
+
+    return new SequentialJobAcquisitionRunnable(jobExecutor) {
+      protected Command<AcquiredJobs> getAcquireJobsCmd(int numJobsToAcquire) {
+        return commandFactory.getCommand(numJobsToAcquire);
+      }
+    };
+  }
+
+  public void run() {
+    List<Thread> shardThreads = new ArrayList<Thread>();
+    for (int i = 1; i < shardRunnables.size(); i++) {
+      Thread shardThread = new Thread(createShardThreadRunnable(shardRunnables.get(i)), jobExecutor.getName() + "-" + i);
+      shardThreads.add(shardThread);
+      shardThread.start();
+    }
+
+    createShardThreadRunnable(shardRunnables.get(0)).run();
+
+    for (Thread shardThread : shardThreads) {
+      try {
+        shardThread.join();
+      } catch (InterruptedException e) {
+        LOG.interruptedWhileShuttingDownjobExecutor(e);
+      }
+    }
+  }
+
+  protected Runnable createShardThreadRunnable(final SequentialJobAcquisitionRunnable shardRunnable) {
+    return new Runnable() {
+      public void run() {
+        currentShardRunnable.set(shardRunnable);
+        try {
+          shardRunnable.run();
+        } finally {
+          currentShardRunnable.remove();
+        }
+      }
+    };
+  }
+
+  public void stop() {
+    super.stop();
+    for (SequentialJobAcquisitionRunnable shardRunnable : shardRunnables) {
+      shardRunnable.stop();
+    }
+  }
+
+  public void jobWasAdded() {
+    super.jobWasAdded();
+    // the shard of the added job is unknown
+    for (SequentialJobAcquisitionRunnable shardRunnable : shardRunnables) {
+      shardRunnable.jobWasAdded();
+    }
+  }
+
+  /**
+   * @return the acquisition context of the shard acquired by the current thread;
+   *   null if the current thread is no acquisition thread
+   */
+  public JobAcquisitionContext getAcquisitionContext() {
+    SequentialJobAcquisitionRunnable shardRunnable = currentShardRunnable.get();
+    if (shardRunnable != null) {
+      return shardRunnable.getAcquisitionContext();
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * @return the highest backoff level of all shards
+   */
+  public int getBackoffLevel() {
+    int backoffLevel = 0;
+    for (SequentialJobAcquisitionRunnable shardRunnable : shardRunnables) {
+      backoffLevel = Math.max(backoffLevel, shardRunnable.getBackoffLevel());
+    }
+    return backoffLevel;
+  }
+
+  public List<SequentialJobAcquisitionRunnable> getShardRunnables() {
+    return shardRunnables;
+  }
+
+}
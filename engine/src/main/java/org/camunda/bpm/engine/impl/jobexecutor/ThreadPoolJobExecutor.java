@@ -46,6 +46,22 @@ public class ThreadPoolJobExecutor extends JobExecutor {
     }
   }
 
+  public boolean tryExecuteJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    try {
+      threadPoolExecutor.execute(getExecuteJobsRunnable(jobIds, processEngine));
+      return true;
+
+    } catch (RejectedExecutionException e) {
+      return false;
+    }
+  }
+
+  public boolean isSaturated() {
+    return threadPoolExecutor != null
+        && threadPoolExecutor.getActiveCount() >= threadPoolExecutor.getMaximumPoolSize()
+        && threadPoolExecutor.getQueue().remainingCapacity() == 0;
+  }
+
   // getters / setters
 
   public ThreadPoolExecutor getThreadPoolExecutor() {
@@ -6,11 +6,17 @@ package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
 public class HistoryCleanupContext {
 
   private boolean immediatelyDue;
+  private int jobIndex = 0;
 
   public HistoryCleanupContext(boolean immediatelyDue) {
     this.immediatelyDue = immediatelyDue;
   }
 
+  public HistoryCleanupContext(boolean immediatelyDue, int jobIndex) {
+    this.immediatelyDue = immediatelyDue;
+    this.jobIndex = jobIndex;
+  }
+
   public boolean isImmediatelyDue() {
     return immediatelyDue;
   }
@@ -18,4 +24,12 @@ public class HistoryCleanupContext {
   public void setImmediatelyDue(boolean immediatelyDue) {
     this.immediatelyDue = immediatelyDue;
   }
+
+  public int getJobIndex() {
+    return jobIndex;
+  }
+
+  public void setJobIndex(int jobIndex) {
+    this.jobIndex = jobIndex;
+  }
 }
@@ -2,6 +2,7 @@ package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -10,6 +11,7 @@ import java.util.Map;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
 /**
@@ -145,22 +147,83 @@ public abstract class HistoryCleanupHelper {
     return commandContext.getProcessEngineConfiguration().getHistoryCleanupBatchSize();
   }
 
+  private static Integer getBatchSize(CommandContext commandContext, HistoryCleanupJobHandlerConfiguration configuration) {
+    Integer maxBatchSize = getHistoryCleanupBatchSize(commandContext);
+    Integer batchSize = configuration.getBatchSize();
+    if (batchSize != null && batchSize > 0 && batchSize < maxBatchSize) {
+      return batchSize;
+    }
+    return maxBatchSize;
+  }
+
+  /**
+   * Calculates the batch size for the next run of a history cleanup job, so that the run takes approximately the configured
+   * target batch duration. The result is bounded by the batch size threshold and the configured batch size.
+   *
+   * @param commandContext
+   * @param cleanedUpCount number of entities cleaned up by the current run
+   * @param duration duration of the current run in milliseconds
+   * @return batch size for the next run or <code>null</code> if no target batch duration is configured
+   */
+  public static Integer calculateNextBatchSize(CommandContext commandContext, int cleanedUpCount, long duration) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    long targetDuration = processEngineConfiguration.getHistoryCleanupTargetBatchDuration();
+    if (targetDuration <= 0 || cleanedUpCount == 0) {
+      return null;
+    }
+    int maxBatchSize = processEngineConfiguration.getHistoryCleanupBatchSize();
+    int minBatchSize = Math.max(1, Math.min(processEngineConfiguration.getHistoryCleanupBatchThreshold(), maxBatchSize));
+    long nextBatchSize = cleanedUpCount * targetDuration / Math.max(1, duration);
+    return (int) Math.max(minBatchSize, Math.min(maxBatchSize, nextBatchSize));
+  }
+
   /**
    * Creates next batch object for history cleanup. First searches for historic process instances ready for cleanup. If there is still some place left in batch (configured batch
    * size was not reached), searches for historic decision instances and also adds them to the batch. Then if there is still some place left in batch, searches for historic case
    * instances and historic batches - and adds them to the batch.
    *
+   * <p>If several history cleanup jobs run in parallel, only the first job selects the data. It selects one batch for itself and for
+   * each idle job, skipping the id ranges which are not yet cleaned up by the busy jobs. The selected ids are ordered by id, so that
+   * they can be handed out as disjoint id ranges, see {@link #handOutIdRanges(CommandContext, HistoryCleanupBatch, List)}. The other
+   * jobs then select their data within these ranges, which the primary key index can serve, instead of scanning all data again.</p>
+   *
    * @param commandContext
+   * @param configuration configuration of the history cleanup job
+   * @param idleJobs the other history cleanup jobs which can get new id ranges, <code>null</code> if there is only one history cleanup job
+   * @param busyConfigurations the configurations of the other history cleanup jobs whose id ranges are not cleaned up yet,
+   *        <code>null</code> if there is only one history cleanup job
    * @return
    */
-  public static HistoryCleanupBatch getNextBatch(CommandContext commandContext) {
-    final Integer batchSize = getHistoryCleanupBatchSize(commandContext);
+  public static HistoryCleanupBatch getNextBatch(CommandContext commandContext, HistoryCleanupJobHandlerConfiguration configuration,
+      List<JobEntity> idleJobs, List<HistoryCleanupJobHandlerConfiguration> busyConfigurations) {
+    int batchSize = getBatchSize(commandContext, configuration);
+    if (idleJobs != null) {
+      batchSize *= idleJobs.size() + 1;
+    }
+
+    List<HistoryCleanupIdRange> excludedProcessInstanceIdRanges = null;
+    List<HistoryCleanupIdRange> excludedDecisionInstanceIdRanges = null;
+    List<HistoryCleanupIdRange> excludedCaseInstanceIdRanges = null;
+    List<HistoryCleanupIdRange> excludedBatchIdRanges = null;
+    if (busyConfigurations != null) {
+      excludedProcessInstanceIdRanges = new ArrayList<HistoryCleanupIdRange>();
+      excludedDecisionInstanceIdRanges = new ArrayList<HistoryCleanupIdRange>();
+      excludedCaseInstanceIdRanges = new ArrayList<HistoryCleanupIdRange>();
+      excludedBatchIdRanges = new ArrayList<HistoryCleanupIdRange>();
+      for (HistoryCleanupJobHandlerConfiguration busyConfiguration : busyConfigurations) {
+        addIfNotNull(excludedProcessInstanceIdRanges, busyConfiguration.getProcessInstanceIdRange());
+        addIfNotNull(excludedDecisionInstanceIdRanges, busyConfiguration.getDecisionInstanceIdRange());
+        addIfNotNull(excludedCaseInstanceIdRanges, busyConfiguration.getCaseInstanceIdRange());
+        addIfNotNull(excludedBatchIdRanges, busyConfiguration.getBatchIdRange());
+      }
+    }
+
     HistoryCleanupBatch historyCleanupBatch = new HistoryCleanupBatch();
     ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
 
     //add process instance ids
     final List<String> historicProcessInstanceIds = commandContext.getHistoricProcessInstanceManager()
-        .findHistoricProcessInstanceIdsForCleanup(batchSize);
+        .findHistoricProcessInstanceIdsForCleanup(batchSize, null, excludedProcessInstanceIdRanges);
     if (historicProcessInstanceIds.size() > 0) {
       historyCleanupBatch.setHistoricProcessInstanceIds(historicProcessInstanceIds);
     }
@@ -168,7 +231,7 @@ public abstract class HistoryCleanupHelper {
     //if batch is not full, add decision instance ids
     if (historyCleanupBatch.size() < batchSize && processEngineConfiguration.isDmnEnabled()) {
       final List<String> historicDecisionInstanceIds = commandContext.getHistoricDecisionInstanceManager()
-          .findHistoricDecisionInstanceIdsForCleanup(batchSize - historyCleanupBatch.size());
+          .findHistoricDecisionInstanceIdsForCleanup(batchSize - historyCleanupBatch.size(), null, excludedDecisionInstanceIdRanges);
       if (historicDecisionInstanceIds.size() > 0) {
         historyCleanupBatch.setHistoricDecisionInstanceIds(historicDecisionInstanceIds);
       }
@@ -177,7 +240,7 @@ public abstract class HistoryCleanupHelper {
     //if batch is not full, add case instance ids
     if (historyCleanupBatch.size() < batchSize && processEngineConfiguration.isCmmnEnabled()) {
       final List<String> historicCaseInstanceIds = commandContext.getHistoricCaseInstanceManager()
-          .findHistoricCaseInstanceIdsForCleanup(batchSize - historyCleanupBatch.size());
+          .findHistoricCaseInstanceIdsForCleanup(batchSize - historyCleanupBatch.size(), null, excludedCaseInstanceIdRanges);
       if (historicCaseInstanceIds.size() > 0) {
         historyCleanupBatch.setHistoricCaseInstanceIds(historicCaseInstanceIds);
       }
@@ -188,7 +251,7 @@ public abstract class HistoryCleanupHelper {
     if (historyCleanupBatch.size() < batchSize && batchOperationsForHistoryCleanup != null && !batchOperationsForHistoryCleanup.isEmpty()) {
       List<String> historicBatchIds = commandContext
           .getHistoricBatchManager()
-          .findHistoricBatchIdsForCleanup(batchSize - historyCleanupBatch.size(), batchOperationsForHistoryCleanup);
+          .findHistoricBatchIdsForCleanup(batchSize - historyCleanupBatch.size(), batchOperationsForHistoryCleanup, null, excludedBatchIdRanges);
       if (historicBatchIds.size() > 0) {
         historyCleanupBatch.setHistoricBatchIds(historicBatchIds);
       }
@@ -196,4 +259,123 @@ public abstract class HistoryCleanupHelper {
 
     return historyCleanupBatch;
   }
+
+  /**
+   * Creates the batch of a history cleanup job which got id ranges handed out by the first history cleanup job.
+   * Only the data within these id ranges is selected.
+   *
+   * @param commandContext
+   * @param configuration configuration of the history cleanup job
+   * @return
+   */
+  public static HistoryCleanupBatch getNextBatchInIdRanges(CommandContext commandContext, HistoryCleanupJobHandlerConfiguration configuration) {
+    //the id ranges contain at most one batch, unless more data became ready for cleanup in the meantime
+    final Integer batchSize = getHistoryCleanupBatchSize(commandContext);
+    HistoryCleanupBatch historyCleanupBatch = new HistoryCleanupBatch();
+
+    HistoryCleanupIdRange processInstanceIdRange = configuration.getProcessInstanceIdRange();
+    if (processInstanceIdRange != null) {
+      historyCleanupBatch.setHistoricProcessInstanceIds(commandContext.getHistoricProcessInstanceManager()
+          .findHistoricProcessInstanceIdsForCleanup(batchSize, processInstanceIdRange, null));
+    }
+
+    HistoryCleanupIdRange decisionInstanceIdRange = configuration.getDecisionInstanceIdRange();
+    if (decisionInstanceIdRange != null) {
+      historyCleanupBatch.setHistoricDecisionInstanceIds(commandContext.getHistoricDecisionInstanceManager()
+          .findHistoricDecisionInstanceIdsForCleanup(batchSize, decisionInstanceIdRange, null));
+    }
+
+    HistoryCleanupIdRange caseInstanceIdRange = configuration.getCaseInstanceIdRange();
+    if (caseInstanceIdRange != null) {
+      historyCleanupBatch.setHistoricCaseInstanceIds(commandContext.getHistoricCaseInstanceManager()
+          .findHistoricCaseInstanceIdsForCleanup(batchSize, caseInstanceIdRange, null));
+    }
+
+    HistoryCleanupIdRange batchIdRange = configuration.getBatchIdRange();
+    Map<String, Integer> batchOperationsForHistoryCleanup = commandContext.getProcessEngineConfiguration().getParsedBatchOperationsForHistoryCleanup();
+    if (batchIdRange != null && batchOperationsForHistoryCleanup != null && !batchOperationsForHistoryCleanup.isEmpty()) {
+      historyCleanupBatch.setHistoricBatchIds(commandContext.getHistoricBatchManager()
+          .findHistoricBatchIdsForCleanup(batchSize, batchOperationsForHistoryCleanup, batchIdRange, null));
+    }
+
+    return historyCleanupBatch;
+  }
+
+  /**
+   * Splits the ids of each kind of the given batch, which are ordered by id, into one part for the current job and one part for each
+   * idle job. The parts of the idle jobs are handed out to them as id ranges and the idle jobs are rescheduled. The part of the
+   * current job contains the lowest ids.
+   *
+   * @return the batch of the current job
+   */
+  public static HistoryCleanupBatch handOutIdRanges(CommandContext commandContext, HistoryCleanupBatch batch, List<JobEntity> idleJobs) {
+    int numberOfParts = idleJobs.size() + 1;
+    List<HistoryCleanupJobHandlerConfiguration> idleConfigurations = new ArrayList<HistoryCleanupJobHandlerConfiguration>();
+    for (JobEntity idleJob : idleJobs) {
+      idleConfigurations.add((HistoryCleanupJobHandlerConfiguration) idleJob.getJobHandlerConfiguration());
+    }
+
+    HistoryCleanupBatch ownBatch = new HistoryCleanupBatch();
+
+    List<String> ids = batch.getHistoricProcessInstanceIds();
+    ownBatch.setHistoricProcessInstanceIds(getPart(ids, 0, numberOfParts));
+    for (int i = 0; i < idleConfigurations.size(); i++) {
+      idleConfigurations.get(i).setProcessInstanceIdRange(getIdRange(ids, i + 1, numberOfParts));
+    }
+
+    ids = batch.getHistoricDecisionInstanceIds();
+    ownBatch.setHistoricDecisionInstanceIds(getPart(ids, 0, numberOfParts));
+    for (int i = 0; i < idleConfigurations.size(); i++) {
+      idleConfigurations.get(i).setDecisionInstanceIdRange(getIdRange(ids, i + 1, numberOfParts));
+    }
+
+    ids = batch.getHistoricCaseInstanceIds();
+    ownBatch.setHistoricCaseInstanceIds(getPart(ids, 0, numberOfParts));
+    for (int i = 0; i < idleConfigurations.size(); i++) {
+      idleConfigurations.get(i).setCaseInstanceIdRange(getIdRange(ids, i + 1, numberOfParts));
+    }
+
+    ids = batch.getHistoricBatchIds();
+    ownBatch.setHistoricBatchIds(getPart(ids, 0, numberOfParts));
+    for (int i = 0; i < idleConfigurations.size(); i++) {
+      idleConfigurations.get(i).setBatchIdRange(getIdRange(ids, i + 1, numberOfParts));
+    }
+
+    for (int i = 0; i < idleJobs.size(); i++) {
+      HistoryCleanupJobHandlerConfiguration idleConfiguration = idleConfigurations.get(i);
+      if (idleConfiguration.hasIdRanges()) {
+        JobEntity idleJob = idleJobs.get(i);
+        idleJob.setJobHandlerConfiguration(idleConfiguration);
+        commandContext.getJobManager().reschedule(idleJob, ClockUtil.getCurrentTime());
+      }
+    }
+
+    return ownBatch;
+  }
+
+  /**
+   * @return the given part of the ids, if they are split into the given number of parts of about the same size
+   */
+  protected static List<String> getPart(List<String> ids, int part, int numberOfParts) {
+    int fromIndex = part * ids.size() / numberOfParts;
+    int toIndex = (part + 1) * ids.size() / numberOfParts;
+    return ids.subList(fromIndex, toIndex);
+  }
+
+  /**
+   * @return the id range of the given part of the ids, <code>null</code> if the part is empty
+   */
+  protected static HistoryCleanupIdRange getIdRange(List<String> ids, int part, int numberOfParts) {
+    List<String> partIds = getPart(ids, part, numberOfParts);
+    if (partIds.isEmpty()) {
+      return null;
+    }
+    return new HistoryCleanupIdRange(partIds.get(0), partIds.get(partIds.size() - 1));
+  }
+
+  protected static void addIfNotNull(List<HistoryCleanupIdRange> idRanges, HistoryCleanupIdRange idRange) {
+    if (idRange != null) {
+      idRanges.add(idRange);
+    }
+  }
 }
@@ -0,0 +1,57 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
+
+import org.camunda.bpm.engine.impl.util.json.JSONObject;
+
+/**
+ * Range of ids (both inclusive) of historic instances which are cleaned up by one history cleanup job.
+ * The ranges are handed out by the first history cleanup job, see {@link HistoryCleanupHelper#handOutIdRanges}.
+ */
+public class HistoryCleanupIdRange {
+
+  protected static final String JSON_FROM = "from";
+  protected static final String JSON_TO = "to";
+
+  protected String from;
+  protected String to;
+
+  public HistoryCleanupIdRange(String from, String to) {
+    this.from = from;
+    this.to = to;
+  }
+
+  public String getFrom() {
+    return from;
+  }
+
+  public String getTo() {
+    return to;
+  }
+
+  public JSONObject toJson() {
+    JSONObject json = new JSONObject();
+    json.put(JSON_FROM, from);
+    json.put(JSON_TO, to);
+    return json;
+  }
+
+  public static HistoryCleanupIdRange fromJson(JSONObject json) {
+    return new HistoryCleanupIdRange(json.getString(JSON_FROM), json.getString(JSON_TO));
+  }
+
+  public String toString() {
+    return "[" + from + ", " + to + "]";
+  }
+
+}
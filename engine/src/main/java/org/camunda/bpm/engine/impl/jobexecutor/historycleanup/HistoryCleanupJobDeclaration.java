@@ -48,6 +48,7 @@ public class HistoryCleanupJobDeclaration extends JobDeclaration<HistoryCleanupC
   protected HistoryCleanupJobHandlerConfiguration resolveJobHandlerConfiguration(HistoryCleanupContext context) {
     HistoryCleanupJobHandlerConfiguration config = new HistoryCleanupJobHandlerConfiguration();
     config.setImmediatelyDue(context.isImmediatelyDue());
+    config.setJobIndex(context.getJobIndex());
     return config;
   }
 
@@ -1,6 +1,9 @@
 package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
@@ -24,20 +27,48 @@ public class HistoryCleanupJobHandler implements JobHandler<HistoryCleanupJobHan
 
   @Override
   public void execute(HistoryCleanupJobHandlerConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
-    //find JobEntity
-    JobEntity jobEntity = commandContext.getJobManager().findJobByHandlerType(getType());
+    //there may be several history cleanup jobs, the first one hands out id ranges to the others
+    JobEntity jobEntity = commandContext.getCurrentJob();
+    if (configuration.getJobIndex() > 0) {
+      cleanUpIdRanges(configuration, jobEntity, commandContext);
+      return;
+    }
+
+    long startTime = ClockUtil.getCurrentTime().getTime();
+    Long lastRunStartTime = configuration.getLastRunStartTime();
+    if (lastRunStartTime != null) {
+      //the previous run rescheduled the job immediately, so it ended including its commit right before this run started
+      configuration.setBatchSize(HistoryCleanupHelper.calculateNextBatchSize(commandContext, configuration.getLastRunCleanedUpCount(), startTime - lastRunStartTime));
+      configuration.setLastRun(null, 0);
+    }
 
     boolean rescheduled = false;
 
     if (configuration.isImmediatelyDue()
         || (HistoryCleanupHelper.isBatchWindowConfigured(commandContext)
             && HistoryCleanupHelper.isWithinBatchWindow(ClockUtil.getCurrentTime(), commandContext)) ) {
+      List<JobEntity> idleJobs = null;
+      List<HistoryCleanupJobHandlerConfiguration> busyConfigurations = null;
+      if (commandContext.getProcessEngineConfiguration().getHistoryCleanupDegreeOfParallelism() > 1) {
+        idleJobs = new ArrayList<JobEntity>();
+        busyConfigurations = new ArrayList<HistoryCleanupJobHandlerConfiguration>();
+        findParallelJobs(jobEntity, commandContext, idleJobs, busyConfigurations);
+      }
+
       //find data to delete
-      final HistoryCleanupBatch nextBatch = HistoryCleanupHelper.getNextBatch(commandContext);
+      final HistoryCleanupBatch nextBatch = HistoryCleanupHelper.getNextBatch(commandContext, configuration, idleJobs, busyConfigurations);
       if (nextBatch.size() >= getBatchSizeThreshold(commandContext)) {
 
-        //delete bunch of data
-        nextBatch.performCleanup();
+        //hand out id ranges to the idle jobs and delete the remaining bunch of data
+        HistoryCleanupBatch ownBatch = nextBatch;
+        if (idleJobs != null) {
+          ownBatch = HistoryCleanupHelper.handOutIdRanges(commandContext, nextBatch, idleJobs);
+        }
+        ownBatch.performCleanup();
+
+        if (commandContext.getProcessEngineConfiguration().getHistoryCleanupTargetBatchDuration() > 0) {
+          configuration.setLastRun(startTime, ownBatch.size());
+        }
 
         //reschedule now
         commandContext.getJobManager().reschedule(jobEntity, ClockUtil.getCurrentTime());
@@ -71,6 +102,40 @@ public class HistoryCleanupJobHandler implements JobHandler<HistoryCleanupJobHan
     }
   }
 
+  /**
+   * Sorts the other history cleanup jobs into idle jobs, which can get new id ranges, and the configurations of busy jobs,
+   * whose id ranges are not cleaned up yet.
+   */
+  private void findParallelJobs(JobEntity jobEntity, CommandContext commandContext, List<JobEntity> idleJobs,
+      List<HistoryCleanupJobHandlerConfiguration> busyConfigurations) {
+    for (JobEntity parallelJob : commandContext.getJobManager().findJobsByHandlerType(TYPE)) {
+      if (!parallelJob.getId().equals(jobEntity.getId())) {
+        HistoryCleanupJobHandlerConfiguration parallelConfiguration = (HistoryCleanupJobHandlerConfiguration) parallelJob.getJobHandlerConfiguration();
+        if (parallelConfiguration.hasIdRanges()) {
+          busyConfigurations.add(parallelConfiguration);
+        } else {
+          idleJobs.add(parallelJob);
+        }
+      }
+    }
+  }
+
+  /**
+   * Cleans up the id ranges handed out by the first history cleanup job. The job is suspended afterwards
+   * until the first job hands out the next id ranges.
+   */
+  private void cleanUpIdRanges(HistoryCleanupJobHandlerConfiguration configuration, JobEntity jobEntity, CommandContext commandContext) {
+    if (configuration.hasIdRanges()) {
+      HistoryCleanupBatch batch = HistoryCleanupHelper.getNextBatchInIdRanges(commandContext, configuration);
+      if (batch.size() > 0) {
+        batch.performCleanup();
+      }
+      configuration.clearIdRanges();
+    }
+    suspendJob(jobEntity);
+    cancelCountEmptyRuns(configuration, jobEntity);
+  }
+
   private void rescheduleRegularCall(CommandContext commandContext, JobEntity jobEntity) {
     commandContext.getJobManager().reschedule(jobEntity, HistoryCleanupHelper.getNextRunWithinBatchWindow(ClockUtil.getCurrentTime(), commandContext));
   }
@@ -27,6 +27,14 @@ public class HistoryCleanupJobHandlerConfiguration implements JobHandlerConfigur
 
   public static final String JOB_CONFIG_COUNT_EMPTY_RUNS = "countEmptyRuns";
   public static final String JOB_CONFIG_EXECUTE_AT_ONCE = "immediatelyDue";
+  public static final String JOB_CONFIG_JOB_INDEX = "jobIndex";
+  public static final String JOB_CONFIG_BATCH_SIZE = "batchSize";
+  public static final String JOB_CONFIG_LAST_RUN_START_TIME = "lastRunStartTime";
+  public static final String JOB_CONFIG_LAST_RUN_CLEANED_UP_COUNT = "lastRunCleanedUpCount";
+  public static final String JOB_CONFIG_PROCESS_INSTANCE_ID_RANGE = "processInstanceIdRange";
+  public static final String JOB_CONFIG_DECISION_INSTANCE_ID_RANGE = "decisionInstanceIdRange";
+  public static final String JOB_CONFIG_CASE_INSTANCE_ID_RANGE = "caseInstanceIdRange";
+  public static final String JOB_CONFIG_BATCH_ID_RANGE = "batchIdRange";
 
   /**
    * Counts runs without data. Is used within batch window to calculate the delay between two job runs in case no data for cleanup was found.
@@ -38,6 +46,36 @@ public class HistoryCleanupJobHandlerConfiguration implements JobHandlerConfigur
    */
   private boolean immediatelyDue;
 
+  /**
+   * Index of the job among the history cleanup jobs. The job with index 0 selects the data to clean up and hands out
+   * id ranges to the other jobs.
+   */
+  private int jobIndex = 0;
+
+  /**
+   * Batch size calculated by the previous run when a target batch duration is configured, <code>null</code> otherwise.
+   */
+  private Integer batchSize;
+
+  /**
+   * Start time of the previous run, if it cleaned up a full batch and rescheduled the job immediately. Is used to measure
+   * the duration of that run including its commit when a target batch duration is configured.
+   */
+  private Long lastRunStartTime;
+
+  /**
+   * Number of entities cleaned up by the previous run, see {@link #lastRunStartTime}.
+   */
+  private int lastRunCleanedUpCount = 0;
+
+  /**
+   * Id ranges handed out to this job by the job with index 0, <code>null</code> if there is nothing to clean up.
+   */
+  private HistoryCleanupIdRange processInstanceIdRange;
+  private HistoryCleanupIdRange decisionInstanceIdRange;
+  private HistoryCleanupIdRange caseInstanceIdRange;
+  private HistoryCleanupIdRange batchIdRange;
+
   public HistoryCleanupJobHandlerConfiguration() {
   }
 
@@ -46,9 +84,34 @@ public class HistoryCleanupJobHandlerConfiguration implements JobHandlerConfigur
     JSONObject json = new JSONObject();
     json.put(JOB_CONFIG_COUNT_EMPTY_RUNS, countEmptyRuns);
     json.put(JOB_CONFIG_EXECUTE_AT_ONCE, immediatelyDue);
+    json.put(JOB_CONFIG_JOB_INDEX, jobIndex);
+    if (batchSize != null) {
+      json.put(JOB_CONFIG_BATCH_SIZE, batchSize);
+    }
+    if (lastRunStartTime != null) {
+      json.put(JOB_CONFIG_LAST_RUN_START_TIME, lastRunStartTime);
+      json.put(JOB_CONFIG_LAST_RUN_CLEANED_UP_COUNT, lastRunCleanedUpCount);
+    }
+    putIdRange(json, JOB_CONFIG_PROCESS_INSTANCE_ID_RANGE, processInstanceIdRange);
+    putIdRange(json, JOB_CONFIG_DECISION_INSTANCE_ID_RANGE, decisionInstanceIdRange);
+    putIdRange(json, JOB_CONFIG_CASE_INSTANCE_ID_RANGE, caseInstanceIdRange);
+    putIdRange(json, JOB_CONFIG_BATCH_ID_RANGE, batchIdRange);
     return json.toString();
   }
 
+  private static void putIdRange(JSONObject json, String key, HistoryCleanupIdRange idRange) {
+    if (idRange != null) {
+      json.put(key, idRange.toJson());
+    }
+  }
+
+  private static HistoryCleanupIdRange getIdRange(JSONObject json, String key) {
+    if (json.has(key)) {
+      return HistoryCleanupIdRange.fromJson(json.getJSONObject(key));
+    }
+    return null;
+  }
+
   public static HistoryCleanupJobHandlerConfiguration fromJson(JSONObject jsonObject) {
     HistoryCleanupJobHandlerConfiguration config = new HistoryCleanupJobHandlerConfiguration();
     if (jsonObject.has(JOB_CONFIG_COUNT_EMPTY_RUNS)) {
@@ -57,6 +120,19 @@ public class HistoryCleanupJobHandlerConfiguration implements JobHandlerConfigur
     if (jsonObject.has(JOB_CONFIG_EXECUTE_AT_ONCE)) {
       config.setImmediatelyDue(jsonObject.getBoolean(JOB_CONFIG_EXECUTE_AT_ONCE));
     }
+    if (jsonObject.has(JOB_CONFIG_JOB_INDEX)) {
+      config.setJobIndex(jsonObject.getInt(JOB_CONFIG_JOB_INDEX));
+    }
+    if (jsonObject.has(JOB_CONFIG_BATCH_SIZE)) {
+      config.setBatchSize(jsonObject.getInt(JOB_CONFIG_BATCH_SIZE));
+    }
+    if (jsonObject.has(JOB_CONFIG_LAST_RUN_START_TIME)) {
+      config.setLastRun(jsonObject.getLong(JOB_CONFIG_LAST_RUN_START_TIME), jsonObject.getInt(JOB_CONFIG_LAST_RUN_CLEANED_UP_COUNT));
+    }
+    config.setProcessInstanceIdRange(getIdRange(jsonObject, JOB_CONFIG_PROCESS_INSTANCE_ID_RANGE));
+    config.setDecisionInstanceIdRange(getIdRange(jsonObject, JOB_CONFIG_DECISION_INSTANCE_ID_RANGE));
+    config.setCaseInstanceIdRange(getIdRange(jsonObject, JOB_CONFIG_CASE_INSTANCE_ID_RANGE));
+    config.setBatchIdRange(getIdRange(jsonObject, JOB_CONFIG_BATCH_ID_RANGE));
     return config;
   }
 
@@ -93,5 +169,79 @@ public class HistoryCleanupJobHandlerConfiguration implements JobHandlerConfigur
     this.immediatelyDue = immediatelyDue;
   }
 
-}
+  public int getJobIndex() {
+    return jobIndex;
+  }
+
+  public void setJobIndex(int jobIndex) {
+    this.jobIndex = jobIndex;
+  }
+
+  public Integer getBatchSize() {
+    return batchSize;
+  }
 
+  public void setBatchSize(Integer batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public Long getLastRunStartTime() {
+    return lastRunStartTime;
+  }
+
+  public int getLastRunCleanedUpCount() {
+    return lastRunCleanedUpCount;
+  }
+
+  public void setLastRun(Long lastRunStartTime, int lastRunCleanedUpCount) {
+    this.lastRunStartTime = lastRunStartTime;
+    this.lastRunCleanedUpCount = lastRunCleanedUpCount;
+  }
+
+  public HistoryCleanupIdRange getProcessInstanceIdRange() {
+    return processInstanceIdRange;
+  }
+
+  public void setProcessInstanceIdRange(HistoryCleanupIdRange processInstanceIdRange) {
+    this.processInstanceIdRange = processInstanceIdRange;
+  }
+
+  public HistoryCleanupIdRange getDecisionInstanceIdRange() {
+    return decisionInstanceIdRange;
+  }
+
+  public void setDecisionInstanceIdRange(HistoryCleanupIdRange decisionInstanceIdRange) {
+    this.decisionInstanceIdRange = decisionInstanceIdRange;
+  }
+
+  public HistoryCleanupIdRange getCaseInstanceIdRange() {
+    return caseInstanceIdRange;
+  }
+
+  public void setCaseInstanceIdRange(HistoryCleanupIdRange caseInstanceIdRange) {
+    this.caseInstanceIdRange = caseInstanceIdRange;
+  }
+
+  public HistoryCleanupIdRange getBatchIdRange() {
+    return batchIdRange;
+  }
+
+  public void setBatchIdRange(HistoryCleanupIdRange batchIdRange) {
+    this.batchIdRange = batchIdRange;
+  }
+
+  /**
+   * @return true if id ranges were handed out to this job which are not cleaned up yet
+   */
+  public boolean hasIdRanges() {
+    return processInstanceIdRange != null || decisionInstanceIdRange != null || caseInstanceIdRange != null || batchIdRange != null;
+  }
+
+  public void clearIdRanges() {
+    processInstanceIdRange = null;
+    decisionInstanceIdRange = null;
+    caseInstanceIdRange = null;
+    batchIdRange = null;
+  }
+
+}
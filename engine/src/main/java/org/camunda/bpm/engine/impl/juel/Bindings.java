@@ -136,7 +136,14 @@ public class Bindings implements TypeConverter {
 	public <T> T convert(Object value, Class<T> type) {
 		return converter.convert(value, type);
 	}
-	
+
+	/**
+	 * Answer <code>true</code> if values are coerced by {@link TypeConverter#DEFAULT}.
+	 */
+	boolean isDefaultConverter() {
+		return converter == TypeConverter.DEFAULT;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof Bindings) {
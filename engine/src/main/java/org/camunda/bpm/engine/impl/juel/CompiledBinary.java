@@ -0,0 +1,152 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+
+/**
+ * Compiled form of an {@link AstBinary} node.
+ *
+ * The operator is resolved once at compile time. If both operands are integral numbers
+ * (<code>Long</code>, <code>Integer</code>, <code>Short</code>, <code>Byte</code>), both are
+ * <code>Double</code>s or both are <code>String</code>s (<code>Boolean</code>s for equality), the
+ * operation is performed on the unboxed values. This yields the same results as
+ * {@link NumberOperations} and {@link BooleanOperations} under the default type converter; all
+ * other operand types and custom type converters use the interpreted operator.
+ */
+public class CompiledBinary extends CompiledNode {
+	private static final int ADD = 1, SUB = 2, MUL = 3, DIV = 4, MOD = 5;
+	private static final int EQ = 6, NE = 7, LT = 8, LE = 9, GT = 10, GE = 11;
+	private static final int AND = 12, OR = 13, OTHER = 0;
+
+	private final AstBinary.Operator operator;
+	private final int opcode;
+	private final AstNode left, right;
+
+	public CompiledBinary(AstBinary node, AstNode left, AstNode right) {
+		super(node);
+		this.operator = node.getOperator();
+		this.opcode = opcode(operator);
+		this.left = left;
+		this.right = right;
+	}
+
+	@Override
+	public Object eval(Bindings bindings, ELContext context) {
+		switch (opcode) {
+			case AND:
+				return Boolean.TRUE.equals(toBoolean(bindings, left.eval(bindings, context))) ? toBoolean(bindings, right.eval(bindings, context)) : Boolean.FALSE;
+			case OR:
+				return Boolean.TRUE.equals(toBoolean(bindings, left.eval(bindings, context))) ? Boolean.TRUE : toBoolean(bindings, right.eval(bindings, context));
+			case OTHER:
+				return operator.eval(bindings, context, left, right);
+			default:
+				Object o1 = left.eval(bindings, context);
+				Object o2 = right.eval(bindings, context);
+				if (o1 != null && o2 != null && bindings.isDefaultConverter()) {
+					if (isIntegral(o1) && isIntegral(o2)) {
+						return eval(((Number) o1).longValue(), ((Number) o2).longValue());
+					}
+					Class<?> t1 = o1.getClass();
+					if (t1 == o2.getClass()) {
+						if (t1 == Double.class) {
+							return eval((Double) o1, (Double) o2);
+						}
+						if (t1 == String.class && opcode >= EQ) {
+							return eval((String) o1, (String) o2);
+						}
+						if (t1 == Boolean.class && (opcode == EQ || opcode == NE)) {
+							return o1.equals(o2) == (opcode == EQ);
+						}
+					}
+				}
+				return ((AstBinary.SimpleOperator) operator).apply(bindings, o1, o2);
+		}
+	}
+
+	private Object eval(long l1, long l2) {
+		switch (opcode) {
+			case ADD: return l1 + l2;
+			case SUB: return l1 - l2;
+			case MUL: return l1 * l2;
+			case DIV: return (double) l1 / (double) l2;
+			case MOD: return l1 % l2;
+			case EQ: return l1 == l2;
+			case NE: return l1 != l2;
+			case LT: return l1 < l2;
+			case LE: return l1 <= l2;
+			case GT: return l1 > l2;
+			default: return l1 >= l2;
+		}
+	}
+
+	private Object eval(Double o1, Double o2) {
+		double d1 = o1.doubleValue();
+		double d2 = o2.doubleValue();
+		switch (opcode) {
+			case ADD: return d1 + d2;
+			case SUB: return d1 - d2;
+			case MUL: return d1 * d2;
+			case DIV: return d1 / d2;
+			case MOD: return d1 % d2;
+			// Double.equals(), as in BooleanOperations.eq()
+			case EQ: return o1.equals(o2);
+			case NE: return !o1.equals(o2);
+			case LT: return d1 < d2;
+			// negated comparisons, as in BooleanOperations.le() and ge()
+			case LE: return !(d1 > d2);
+			case GT: return d1 > d2;
+			default: return !(d1 < d2);
+		}
+	}
+
+	private Object eval(String s1, String s2) {
+		switch (opcode) {
+			case EQ: return s1.equals(s2);
+			case NE: return !s1.equals(s2);
+			case LT: return s1.compareTo(s2) < 0;
+			case LE: return s1.compareTo(s2) <= 0;
+			case GT: return s1.compareTo(s2) > 0;
+			default: return s1.compareTo(s2) >= 0;
+		}
+	}
+
+	private static Boolean toBoolean(Bindings bindings, Object value) {
+		if (value instanceof Boolean && bindings.isDefaultConverter()) {
+			return (Boolean) value;
+		}
+		return bindings.convert(value, Boolean.class);
+	}
+
+	private static boolean isIntegral(Object value) {
+		Class<?> type = value.getClass();
+		return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class;
+	}
+
+	private static int opcode(AstBinary.Operator operator) {
+		if (operator == AstBinary.ADD) return ADD;
+		if (operator == AstBinary.SUB) return SUB;
+		if (operator == AstBinary.MUL) return MUL;
+		if (operator == AstBinary.DIV) return DIV;
+		if (operator == AstBinary.MOD) return MOD;
+		if (operator == AstBinary.EQ) return EQ;
+		if (operator == AstBinary.NE) return NE;
+		if (operator == AstBinary.LT) return LT;
+		if (operator == AstBinary.LE) return LE;
+		if (operator == AstBinary.GT) return GT;
+		if (operator == AstBinary.GE) return GE;
+		if (operator == AstBinary.AND) return AND;
+		if (operator == AstBinary.OR) return OR;
+		return OTHER;
+	}
+}
@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+
+/**
+ * Compiled form of an {@link AstChoice} node.
+ */
+public class CompiledChoice extends CompiledNode {
+	private final AstNode question, yes, no;
+
+	public CompiledChoice(AstChoice node, AstNode question, AstNode yes, AstNode no) {
+		super(node);
+		this.question = question;
+		this.yes = yes;
+		this.no = no;
+	}
+
+	@Override
+	public Object eval(Bindings bindings, ELContext context) {
+		Object value = question.eval(bindings, context);
+		if (!(value instanceof Boolean) || !bindings.isDefaultConverter()) {
+			value = bindings.convert(value, Boolean.class);
+		}
+		return ((Boolean) value).booleanValue() ? yes.eval(bindings, context) : no.eval(bindings, context);
+	}
+}
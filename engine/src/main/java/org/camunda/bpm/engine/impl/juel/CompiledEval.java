@@ -0,0 +1,32 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+
+/**
+ * Compiled form of an {@link AstEval} node, evaluating the compiled child.
+ */
+public class CompiledEval extends CompiledNode {
+	private final AstNode child;
+
+	public CompiledEval(AstEval node, AstNode child) {
+		super(node);
+		this.child = child;
+	}
+
+	@Override
+	public Object eval(Bindings bindings, ELContext context) {
+		return child.eval(bindings, context);
+	}
+}
@@ -0,0 +1,91 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.MethodInfo;
+import org.camunda.bpm.engine.impl.javax.el.ValueReference;
+
+/**
+ * Base class of the nodes created by the {@link TreeCompiler}. A compiled node replaces the
+ * evaluation of the interpreted node it has been compiled from and delegates everything else
+ * (structure, lvalue access, method invocation) to that node.
+ */
+public abstract class CompiledNode extends AstNode {
+	protected final AstNode node;
+
+	public CompiledNode(AstNode node) {
+		this.node = node;
+	}
+
+	/**
+	 * @return the interpreted node this node has been compiled from
+	 */
+	public AstNode getInterpretedNode() {
+		return node;
+	}
+
+	@Override
+	public void appendStructure(StringBuilder builder, Bindings bindings) {
+		node.appendStructure(builder, bindings);
+	}
+
+	public boolean isLiteralText() {
+		return node.isLiteralText();
+	}
+
+	public boolean isLeftValue() {
+		return node.isLeftValue();
+	}
+
+	public boolean isMethodInvocation() {
+		return node.isMethodInvocation();
+	}
+
+	public ValueReference getValueReference(Bindings bindings, ELContext context) {
+		return node.getValueReference(bindings, context);
+	}
+
+	public Class<?> getType(Bindings bindings, ELContext context) {
+		return node.getType(bindings, context);
+	}
+
+	public boolean isReadOnly(Bindings bindings, ELContext context) {
+		return node.isReadOnly(bindings, context);
+	}
+
+	public void setValue(Bindings bindings, ELContext context, Object value) {
+		node.setValue(bindings, context, value);
+	}
+
+	public MethodInfo getMethodInfo(Bindings bindings, ELContext context, Class<?> returnType, Class<?>[] paramTypes) {
+		return node.getMethodInfo(bindings, context, returnType, paramTypes);
+	}
+
+	public Object invoke(Bindings bindings, ELContext context, Class<?> returnType, Class<?>[] paramTypes, Object[] paramValues) {
+		return node.invoke(bindings, context, returnType, paramTypes, paramValues);
+	}
+
+	public int getCardinality() {
+		return node.getCardinality();
+	}
+
+	public Node getChild(int i) {
+		return node.getChild(i);
+	}
+
+	@Override
+	public String toString() {
+		return node.toString();
+	}
+}
@@ -0,0 +1,125 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.ELException;
+import org.camunda.bpm.engine.impl.javax.el.PropertyNotFoundException;
+
+/**
+ * Compiled form of an {@link AstDot} node with a monomorphic inline cache.
+ *
+ * After the context's resolver chain has resolved the property, the read method of the bean
+ * property is looked up for the class of the base and remembered. As long as subsequent
+ * evaluations see a base of the same class and the {@link TreeCompiler} considers the cache
+ * applicable, the read method is invoked directly instead of asking the resolver chain. Bases
+ * of changing classes and properties without a readable bean property are always resolved
+ * through the chain.
+ */
+public class CompiledProperty extends CompiledNode {
+	private final TreeCompiler compiler;
+	private final AstNode prefix;
+	private final String property;
+
+	private volatile PropertyAccessor accessor;
+	private volatile boolean cacheDisabled;
+
+	public CompiledProperty(AstDot node, AstNode prefix, TreeCompiler compiler) {
+		super(node);
+		this.compiler = compiler;
+		this.prefix = prefix;
+		this.property = node.property;
+	}
+
+	@Override
+	public Object eval(Bindings bindings, ELContext context) {
+		Object base = prefix.eval(bindings, context);
+		if (base == null) {
+			return null;
+		}
+		PropertyAccessor cached = accessor;
+		if (cached != null && cached.type == base.getClass() && compiler.isPropertyInlineCacheApplicable(context, base, property)) {
+			Object result = cached.getValue(base);
+			context.setPropertyResolved(true);
+			return result;
+		}
+		context.setPropertyResolved(false);
+		Object result = context.getELResolver().getValue(context, base, property);
+		if (!context.isPropertyResolved()) {
+			throw new PropertyNotFoundException(LocalMessages.get("error.property.property.notfound", property, base));
+		}
+		if (cached == null && !cacheDisabled && compiler.isPropertyInlineCacheApplicable(context, base, property)) {
+			cached = PropertyAccessor.create(base.getClass(), property);
+			if (cached != null) {
+				accessor = cached;
+			} else {
+				cacheDisabled = true;
+			}
+		}
+		return result;
+	}
+
+	private static final class PropertyAccessor {
+		private final Class<?> type;
+		private final Method method;
+
+		private PropertyAccessor(Class<?> type, Method method) {
+			this.type = type;
+			this.method = method;
+		}
+
+		private Object getValue(Object base) {
+			try {
+				return method.invoke(base);
+			} catch (InvocationTargetException e) {
+				throw new ELException(e.getCause());
+			} catch (Exception e) {
+				throw new ELException(e);
+			}
+		}
+
+		/**
+		 * Look up the read method of a bean property the way the bean resolver does.
+		 * @return the accessor or <code>null</code> if there is no accessible read method
+		 */
+		private static PropertyAccessor create(Class<?> type, String property) {
+			PropertyDescriptor[] descriptors;
+			try {
+				descriptors = Introspector.getBeanInfo(type).getPropertyDescriptors();
+			} catch (IntrospectionException e) {
+				return null;
+			}
+			for (PropertyDescriptor descriptor : descriptors) {
+				if (descriptor.getName().equals(property)) {
+					Method method = descriptor.getReadMethod();
+					if (method == null) {
+						return null;
+					}
+					try {
+						method.setAccessible(true);
+					} catch (SecurityException e) {
+						return null;
+					}
+					return new PropertyAccessor(type, method);
+				}
+			}
+			return null;
+		}
+	}
+}
@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+
+/**
+ * Compiled form of an {@link AstUnary} node. Negating a boolean operand skips the type
+ * conversion as long as the default type converter is used.
+ */
+public class CompiledUnary extends CompiledNode {
+	private final AstUnary.Operator operator;
+	private final AstNode child;
+
+	public CompiledUnary(AstUnary node, AstNode child) {
+		super(node);
+		this.operator = node.getOperator();
+		this.child = child;
+	}
+
+	@Override
+	public Object eval(Bindings bindings, ELContext context) {
+		if (!(operator instanceof AstUnary.SimpleOperator)) {
+			return operator.eval(bindings, context, child);
+		}
+		Object value = child.eval(bindings, context);
+		if (operator == AstUnary.NOT && value instanceof Boolean && bindings.isDefaultConverter()) {
+			return !((Boolean) value).booleanValue();
+		}
+		return ((AstUnary.SimpleOperator) operator).apply(bindings, value);
+	}
+}
@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+/**
+ * Tree builder which compiles the trees created by another builder, see {@link TreeCompiler}.
+ * Used with a {@link TreeStore}, the store's cache holds the compiled trees.
+ */
+public class CompilingTreeBuilder implements TreeBuilder {
+	private static final long serialVersionUID = 1L;
+
+	private final TreeBuilder builder;
+	private final TreeCompiler compiler;
+
+	public CompilingTreeBuilder(TreeBuilder builder, TreeCompiler compiler) {
+		this.builder = builder;
+		this.compiler = compiler;
+	}
+
+	public Tree build(String expression) throws TreeBuilderException {
+		return compiler.compile(builder.build(expression));
+	}
+
+	public TreeBuilder getBuilder() {
+		return builder;
+	}
+
+	public TreeCompiler getCompiler() {
+		return compiler;
+	}
+}
@@ -0,0 +1,103 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+
+/**
+ * Compiles parse trees for repeated evaluation.
+ *
+ * Binary and unary operations, choices, nested expressions and property accesses with a static
+ * property name (<code>a.b</code>) are replaced by {@link CompiledNode}s which resolve their
+ * operator once and evaluate common operand types without coercion. Property accesses keep an
+ * inline cache of the bean property read method, see {@link CompiledProperty}. All other nodes
+ * (identifiers, literals, functions, method invocations, bracket accesses, composites) are kept
+ * and interpreted as before, as are their subtrees.
+ *
+ * Compiled trees have the same structure, bindings and semantics as the original ones.
+ */
+public class TreeCompiler implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Compile the given tree.
+	 * @return the compiled tree or the given tree if it contains nothing to compile
+	 */
+	public Tree compile(Tree tree) {
+		if (!(tree.getRoot() instanceof AstNode)) {
+			return tree;
+		}
+		AstNode root = (AstNode) tree.getRoot();
+		AstNode compiled = compile(root);
+		if (compiled == root) {
+			return tree;
+		}
+		List<FunctionNode> functions = new ArrayList<FunctionNode>();
+		for (FunctionNode function : tree.getFunctionNodes()) {
+			functions.add(function);
+		}
+		List<IdentifierNode> identifiers = new ArrayList<IdentifierNode>();
+		for (IdentifierNode identifier : tree.getIdentifierNodes()) {
+			identifiers.add(identifier);
+		}
+		return new Tree(compiled, functions, identifiers, tree.isDeferred());
+	}
+
+	/**
+	 * Compile the given node.
+	 * @return the compiled node or the given node if neither it nor its children can be compiled
+	 */
+	protected AstNode compile(AstNode node) {
+		if (node instanceof AstEval) {
+			AstNode child = ((AstEval) node).getChild(0);
+			AstNode compiled = compile(child);
+			return compiled == child ? node : new CompiledEval((AstEval) node, compiled);
+		}
+		if (node instanceof AstNested) {
+			// parentheses only matter for the structure, which the parent keeps
+			return compile(((AstNested) node).getChild(0));
+		}
+		if (node instanceof AstBinary) {
+			AstBinary binary = (AstBinary) node;
+			return new CompiledBinary(binary, compile(binary.getChild(0)), compile(binary.getChild(1)));
+		}
+		if (node instanceof AstUnary) {
+			AstUnary unary = (AstUnary) node;
+			return new CompiledUnary(unary, compile(unary.getChild(0)));
+		}
+		if (node instanceof AstChoice) {
+			AstChoice choice = (AstChoice) node;
+			return new CompiledChoice(choice, compile(choice.getChild(0)), compile(choice.getChild(1)), compile(choice.getChild(2)));
+		}
+		if (node instanceof AstDot) {
+			AstDot dot = (AstDot) node;
+			return new CompiledProperty(dot, compile(dot.getChild(0)), this);
+		}
+		return node;
+	}
+
+	/**
+	 * Decide whether a compiled property access may invoke the cached read method of the bean
+	 * property instead of asking the context's resolver chain. This is only correct if the chain
+	 * would pass the given base and property on to a bean resolver in this context.
+	 *
+	 * This implementation answers <code>false</code>, since the resolver chain is not known.
+	 */
+	protected boolean isPropertyInlineCacheApplicable(ELContext context, Object base, String property) {
+		return false;
+	}
+}
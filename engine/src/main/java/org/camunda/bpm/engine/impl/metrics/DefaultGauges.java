@@ -0,0 +1,110 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquireJobsRunnable;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.ThreadPoolJobExecutor;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+
+/**
+ * The gauges registered by default, they are resolved against the process engine
+ * configuration on every read since the job executor and the deployment cache
+ * may be replaced after the metrics are initialized.
+ */
+public class DefaultGauges {
+
+  public static class JobExecutorQueueSizeGauge implements Gauge {
+
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+    public JobExecutorQueueSizeGauge(ProcessEngineConfigurationImpl processEngineConfiguration) {
+      this.processEngineConfiguration = processEngineConfiguration;
+    }
+
+    public long getValue() {
+      JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+      if (jobExecutor instanceof ThreadPoolJobExecutor) {
+        ThreadPoolExecutor threadPoolExecutor = ((ThreadPoolJobExecutor) jobExecutor).getThreadPoolExecutor();
+        if (threadPoolExecutor != null) {
+          return threadPoolExecutor.getQueue().size();
+        }
+      }
+      return 0;
+    }
+  }
+
+  public static class JobExecutorActiveThreadsGauge implements Gauge {
+
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+    public JobExecutorActiveThreadsGauge(ProcessEngineConfigurationImpl processEngineConfiguration) {
+      this.processEngineConfiguration = processEngineConfiguration;
+    }
+
+    public long getValue() {
+      JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+      if (jobExecutor instanceof ThreadPoolJobExecutor) {
+        ThreadPoolExecutor threadPoolExecutor = ((ThreadPoolJobExecutor) jobExecutor).getThreadPoolExecutor();
+        if (threadPoolExecutor != null) {
+          return threadPoolExecutor.getActiveCount();
+        }
+      }
+      return 0;
+    }
+  }
+
+  public static class JobAcquisitionBackoffLevelGauge implements Gauge {
+
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+    public JobAcquisitionBackoffLevelGauge(ProcessEngineConfigurationImpl processEngineConfiguration) {
+      this.processEngineConfiguration = processEngineConfiguration;
+    }
+
+    public long getValue() {
+      JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+      if (jobExecutor != null) {
+        AcquireJobsRunnable acquireJobsRunnable = jobExecutor.getAcquireJobsRunnable();
+        if (acquireJobsRunnable != null) {
+          return acquireJobsRunnable.getBackoffLevel();
+        }
+      }
+      return 0;
+    }
+  }
+
+  public static class DeploymentCacheSizeGauge implements Gauge {
+
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+    public DeploymentCacheSizeGauge(ProcessEngineConfigurationImpl processEngineConfiguration) {
+      this.processEngineConfiguration = processEngineConfiguration;
+    }
+
+    public long getValue() {
+      DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+      if (deploymentCache == null) {
+        return 0;
+      }
+      return deploymentCache.getProcessDefinitionCache().size()
+        + deploymentCache.getCaseDefinitionCache().size()
+        + deploymentCache.getDecisionDefinitionCache().size()
+        + deploymentCache.getDecisionRequirementsDefinitionCache().size();
+    }
+  }
+
+}
@@ -0,0 +1,125 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records the distribution of non-negative values (e.g. durations) in
+ * logarithmic buckets. Every power of two is split into {@link #SUB_BUCKET_COUNT}
+ * linear sub-buckets, which bounds the relative error of a reported percentile
+ * to 1/16 while covering the whole range of <code>long</code> with a fixed
+ * number of counters. Recording a value does not allocate and only performs
+ * a few atomic increments.
+ *
+ * <p>In contrast to a {@link Meter}, histograms are kept in memory only and
+ * are not reported to the database.</p>
+ */
+public class Histogram {
+
+  public static final int SUB_BUCKET_BITS = 4;
+  public static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /**
+   * values below {@link #SUB_BUCKET_COUNT} are counted exactly, all others in
+   * {@link #SUB_BUCKET_COUNT} sub-buckets for each exponent up to 62
+   * (the highest exponent of a positive <code>long</code>).
+   */
+  public static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+  protected String name;
+
+  protected AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  protected AtomicLong count = new AtomicLong(0);
+  protected AtomicLong sum = new AtomicLong(0);
+  protected AtomicLong max = new AtomicLong(0);
+
+  public Histogram(String name) {
+    this.name = name;
+  }
+
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+
+    buckets.incrementAndGet(bucketIndex(value));
+    count.incrementAndGet();
+    sum.addAndGet(value);
+
+    long currentMax = max.get();
+    while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+      currentMax = max.get();
+    }
+  }
+
+  public HistogramSnapshot snapshot() {
+    long[] counts = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts[i] = buckets.get(i);
+    }
+    return new HistogramSnapshot(name, counts, sum.get(), max.get());
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      buckets.set(i, 0);
+    }
+    count.set(0);
+    sum.set(0);
+    max.set(0);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getSum() {
+    return sum.get();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  public static long bucketLowerBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+    long subBucket = index % SUB_BUCKET_COUNT;
+    return (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+  }
+
+  public static long bucketUpperBound(int index) {
+    if (index == BUCKET_COUNT - 1) {
+      return Long.MAX_VALUE;
+    }
+    return bucketLowerBound(index + 1) - 1;
+  }
+
+}
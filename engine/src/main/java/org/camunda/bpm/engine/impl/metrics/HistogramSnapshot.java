@@ -0,0 +1,90 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import org.camunda.bpm.engine.management.MetricsHistogram;
+
+/**
+ * An immutable copy of the bucket counts of a {@link Histogram}.
+ */
+public class HistogramSnapshot implements MetricsHistogram {
+
+  protected String name;
+  protected long[] counts;
+  protected long count;
+  protected long sum;
+  protected long max;
+
+  public HistogramSnapshot(String name, long[] counts, long sum, long max) {
+    this.name = name;
+    this.counts = counts;
+    this.sum = sum;
+    this.max = max;
+
+    // sum up the copied buckets since the counter of the histogram
+    // may have been incremented concurrently while copying
+    for (long bucketCount : counts) {
+      this.count += bucketCount;
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getSum() {
+    return sum;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public double getMean() {
+    if (count == 0) {
+      return 0;
+    }
+    return (double) sum / count;
+  }
+
+  public long getValueAtPercentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+
+    double boundedPercentile = Math.min(Math.max(percentile, 0), 100);
+    long rank = Math.max(1, (long) Math.ceil(boundedPercentile / 100 * count));
+
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(Histogram.bucketUpperBound(i), max);
+      }
+    }
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return "HistogramSnapshot[name=" + name
+      + ", count=" + count
+      + ", mean=" + getMean()
+      + ", max=" + max + "]";
+  }
+
+}
@@ -24,6 +24,12 @@ public class Meter {
 
   protected AtomicLong counter = new AtomicLong(0);
 
+  /**
+   * counts all occurrences since the meter was created,
+   * i.e. it is not cleared when the meter is reported
+   */
+  protected AtomicLong total = new AtomicLong(0);
+
   protected String name;
 
   public Meter(String name) {
@@ -32,10 +38,12 @@ public class Meter {
 
   public void mark() {
     counter.incrementAndGet();
+    total.incrementAndGet();
   }
 
   public void markTimes(long times) {
     counter.addAndGet(times);
+    total.addAndGet(times);
   }
 
   public String getName() {
@@ -54,4 +62,8 @@ public class Meter {
     return counter.get();
   }
 
+  public long getTotal() {
+    return total.get();
+  }
+
 }
@@ -22,6 +22,8 @@ import java.util.Map;
 public class MetricsRegistry {
 
   protected Map<String, Meter> meters = new HashMap<String, Meter>();
+  protected Map<String, Histogram> histograms = new HashMap<String, Histogram>();
+  protected Map<String, Gauge> gauges = new HashMap<String, Gauge>();
 
   public Meter getMeterByName(String name) {
     return meters.get(name);
@@ -49,4 +51,38 @@ public class MetricsRegistry {
     return meter;
   }
 
+  public Histogram getHistogramByName(String name) {
+    return histograms.get(name);
+  }
+
+  public Map<String, Histogram> getHistograms() {
+    return histograms;
+  }
+
+  public void recordValue(String name, long value) {
+    Histogram histogram = histograms.get(name);
+
+    if (histogram != null) {
+      histogram.record(value);
+    }
+  }
+
+  public Histogram createHistogram(String name) {
+    Histogram histogram = new Histogram(name);
+    histograms.put(name, histogram);
+    return histogram;
+  }
+
+  public Gauge getGaugeByName(String name) {
+    return gauges.get(name);
+  }
+
+  public Map<String, Gauge> getGauges() {
+    return gauges;
+  }
+
+  public void registerGauge(String name, Gauge gauge) {
+    gauges.put(name, gauge);
+  }
+
 }
@@ -0,0 +1,114 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.reporter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.camunda.bpm.engine.impl.metrics.Gauge;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.impl.metrics.HistogramSnapshot;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+
+/**
+ * Writes the current in-memory state of a {@link MetricsRegistry} in the Prometheus
+ * text exposition format (version 0.0.4), so that the metrics can be scraped
+ * without querying the database:
+ *
+ * <ul>
+ *   <li>meters are written as counters with the total number of occurrences since the engine was started</li>
+ *   <li>gauges are written with their current value</li>
+ *   <li>histograms are written as summaries of microseconds</li>
+ * </ul>
+ *
+ * All samples are labeled with the name of the process engine.
+ */
+public class PrometheusMetricsWriter {
+
+  public static final String METRIC_NAME_PREFIX = "camunda_";
+
+  protected static final double[] QUANTILES = new double[] {0.5, 0.75, 0.95, 0.99, 0.999};
+
+  protected String engineName;
+
+  public PrometheusMetricsWriter(String engineName) {
+    this.engineName = engineName;
+  }
+
+  public String write(MetricsRegistry metricsRegistry) {
+    StringBuilder builder = new StringBuilder();
+
+    for (Meter meter : new TreeMap<String, Meter>(metricsRegistry.getMeters()).values()) {
+      String name = toMetricName(meter.getName()) + "_total";
+      writeType(builder, name, "counter");
+      writeSample(builder, name, null, meter.getTotal());
+    }
+
+    for (Map.Entry<String, Gauge> gauge : new TreeMap<String, Gauge>(metricsRegistry.getGauges()).entrySet()) {
+      String name = toMetricName(gauge.getKey());
+      writeType(builder, name, "gauge");
+      writeSample(builder, name, null, gauge.getValue().getValue());
+    }
+
+    for (Histogram histogram : new TreeMap<String, Histogram>(metricsRegistry.getHistograms()).values()) {
+      HistogramSnapshot snapshot = histogram.snapshot();
+      String name = toMetricName(histogram.getName()) + "_microseconds";
+      writeType(builder, name, "summary");
+      for (double quantile : QUANTILES) {
+        writeSample(builder, name, "quantile=\"" + quantile + "\"", snapshot.getValueAtPercentile(quantile * 100));
+      }
+      writeSample(builder, name + "_sum", null, snapshot.getSum());
+      writeSample(builder, name + "_count", null, snapshot.getCount());
+    }
+
+    return builder.toString();
+  }
+
+  protected void writeType(StringBuilder builder, String name, String type) {
+    builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  protected void writeSample(StringBuilder builder, String name, String additionalLabel, long value) {
+    builder.append(name)
+      .append("{engine=\"").append(escapeLabelValue(engineName)).append('"');
+
+    if (additionalLabel != null) {
+      builder.append(',').append(additionalLabel);
+    }
+
+    builder.append("} ").append(value).append('\n');
+  }
+
+  protected String toMetricName(String name) {
+    StringBuilder builder = new StringBuilder(METRIC_NAME_PREFIX);
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_') {
+        builder.append(c);
+      }
+      else {
+        builder.append('_');
+      }
+    }
+    return builder.toString();
+  }
+
+  protected String escapeLabelValue(String value) {
+    if (value == null) {
+      return "";
+    }
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+}
@@ -263,6 +263,14 @@ public abstract class AbstractManager implements Session {
     return Context.getProcessEngineConfiguration().isAuthorizationEnabled();
   }
 
+  /**
+   * @return true if rows should be claimed by a select which skips the rows locked by concurrent transactions
+   */
+  protected boolean isSkipLockedClaimEnabled() {
+    return Context.getProcessEngineConfiguration().isSkipLockedClaimEnabled()
+        && getDbSqlSession().getDbSqlSessionFactory().isSkipLockedSupported();
+  }
+
   protected Authentication getCurrentAuthentication() {
     return Context.getCommandContext().getAuthentication();
   }
@@ -312,6 +320,8 @@ public abstract class AbstractManager implements Session {
           for (AuthorizationEntity authorization : authorizations) {
             authorizationManager.delete(authorization);
           }
+          // removing default authorizations may revoke permissions on existing resources
+          authorizationManager.invalidateAuthorizationDecisions();
           return null;
         }
       });
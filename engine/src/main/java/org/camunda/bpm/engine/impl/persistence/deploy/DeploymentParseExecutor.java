@@ -0,0 +1,190 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.application.ProcessApplicationReference;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+
+/**
+ * <p>Runs independent tasks of a deployment, e.g. the parsing of its resources, on a bounded
+ * number of threads.</p>
+ *
+ * <p>The tasks are invoked with the process engine configuration, the current process application
+ * and the context class loader of the calling thread. They are not invoked with the command context
+ * of the calling thread, so they must not access the database. The results are returned in the order
+ * of the tasks, independent of the order in which the tasks complete.</p>
+ *
+ * <p>Tasks which are invoked from one of the threads of this executor are run on the calling thread
+ * to avoid that the threads wait for each other.</p>
+ */
+public class DeploymentParseExecutor {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected static final ThreadLocal<Boolean> isParseThread = new ThreadLocal<Boolean>();
+
+  protected int parallelism;
+  protected ThreadPoolExecutor executor;
+
+  public DeploymentParseExecutor(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Invokes the given tasks and waits until all of them are completed.
+   *
+   * @return the results of the tasks in the order of the tasks
+   * @throws RuntimeException the exception of the first failed task in the order of the tasks
+   */
+  public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+    List<T> results = new ArrayList<T>(tasks.size());
+
+    if (tasks.size() < 2 || Boolean.TRUE.equals(isParseThread.get())) {
+      for (Callable<T> task : tasks) {
+        results.add(call(task));
+      }
+      return results;
+    }
+
+    ThreadPoolExecutor executor = getExecutor();
+    List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+    for (Callable<T> task : tasks) {
+      futures.add(executor.submit(withCallerContext(task)));
+    }
+
+    try {
+      for (Future<T> future : futures) {
+        results.add(future.get());
+      }
+      return results;
+
+    } catch (ExecutionException e) {
+      throw rethrow(e.getCause());
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw LOG.interruptedWhileWaitingForDeploymentParseTasks(e);
+
+    } finally {
+      for (Future<T> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  public synchronized void shutdown() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  protected synchronized ThreadPoolExecutor getExecutor() {
+    if (executor == null) {
+      executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<Runnable>(), new ParseThreadFactory("camunda-deployment-parse"));
+      executor.allowCoreThreadTimeOut(true);
+    }
+    return executor;
+  }
+
+  protected <T> Callable<T> withCallerContext(final Callable<T> task) {
+    final ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    final ProcessApplicationReference processApplication = Context.getCurrentProcessApplication();
+    final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+    return new Callable<T>() {
+      public T call() throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader previousClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(contextClassLoader);
+        if (processEngineConfiguration != null) {
+          Context.setProcessEngineConfiguration(processEngineConfiguration);
+        }
+        if (processApplication != null) {
+          Context.setCurrentProcessApplication(processApplication);
+        }
+        try {
+          return task.call();
+
+        } finally {
+          if (processApplication != null) {
+            Context.removeCurrentProcessApplication();
+          }
+          if (processEngineConfiguration != null) {
+            Context.removeProcessEngineConfiguration();
+          }
+          thread.setContextClassLoader(previousClassLoader);
+        }
+      }
+    };
+  }
+
+  protected <T> T call(Callable<T> task) {
+    try {
+      return task.call();
+    } catch (Exception e) {
+      throw rethrow(e);
+    }
+  }
+
+  protected RuntimeException rethrow(Throwable cause) {
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    } else if (cause instanceof Error) {
+      throw (Error) cause;
+    } else {
+      return LOG.exceptionWhileRunningDeploymentParseTask(cause);
+    }
+  }
+
+  protected static class ParseThreadFactory implements ThreadFactory {
+
+    protected final String namePrefix;
+    protected final AtomicInteger threadCounter = new AtomicInteger(0);
+
+    public ParseThreadFactory(String namePrefix) {
+      this.namePrefix = namePrefix;
+    }
+
+    public Thread newThread(final Runnable runnable) {
+      Thread thread = new Thread(new Runnable() {
+        public void run() {
+          isParseThread.set(Boolean.TRUE);
+          runnable.run();
+        }
+      }, namePrefix + "-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+}
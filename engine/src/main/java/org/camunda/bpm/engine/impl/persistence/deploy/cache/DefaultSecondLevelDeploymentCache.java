@@ -0,0 +1,72 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Keeps the snapshots in memory. An instance can be shared by the process engines of a JVM.
+ * The number of snapshots is bounded, the least recently used snapshots are evicted first.</p>
+ *
+ * <p>Since the snapshots are not shared between cluster nodes, this implementation does not
+ * help a cold node to avoid parsing. It is a reference implementation of the
+ * {@link SecondLevelDeploymentCache} SPI; a cluster should provide an implementation backed by
+ * a distributed cache instead.</p>
+ */
+public class DefaultSecondLevelDeploymentCache implements SecondLevelDeploymentCache {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  protected static final String KEY_SEPARATOR = "/";
+
+  protected Cache<String, byte[]> snapshots;
+
+  public DefaultSecondLevelDeploymentCache() {
+    this(new DefaultCacheFactory(), DEFAULT_CAPACITY);
+  }
+
+  public DefaultSecondLevelDeploymentCache(CacheFactory cacheFactory, int capacity) {
+    snapshots = cacheFactory.createCache(capacity);
+  }
+
+  public byte[] getSnapshot(String deploymentId, String resourceName) {
+    return snapshots.get(getKey(deploymentId, resourceName));
+  }
+
+  public void putSnapshot(String deploymentId, String resourceName, byte[] snapshot) {
+    snapshots.put(getKey(deploymentId, resourceName), snapshot);
+  }
+
+  public void removeSnapshots(String deploymentId) {
+    String prefix = deploymentId + KEY_SEPARATOR;
+
+    List<String> keys = new ArrayList<String>(snapshots.keySet());
+    for (String key : keys) {
+      if (key.startsWith(prefix)) {
+        snapshots.remove(key);
+      }
+    }
+  }
+
+  public void clear() {
+    snapshots.clear();
+  }
+
+  protected String getKey(String deploymentId, String resourceName) {
+    return deploymentId + KEY_SEPARATOR + resourceName;
+  }
+
+}
@@ -15,6 +15,8 @@ package org.camunda.bpm.engine.impl.persistence.deploy.cache;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionEntity;
@@ -22,6 +24,8 @@ import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDef
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.repository.DecisionRequirementsDefinition;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
@@ -29,7 +33,14 @@ import org.camunda.bpm.model.cmmn.CmmnModelInstance;
 import org.camunda.bpm.model.dmn.DmnModelInstance;
 import org.camunda.commons.utils.cache.Cache;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 
 /**
@@ -48,6 +59,8 @@ public class DeploymentCache {
   protected DmnModelInstanceCache dmnModelInstanceCache;
   protected CacheDeployer cacheDeployer = new CacheDeployer();
 
+  protected SecondLevelDeploymentCache secondLevelCache;
+
   public DeploymentCache(CacheFactory factory, int cacheCapacity) {
     processDefinitionEntityCache = new ProcessDefinitionCache(factory, cacheCapacity, cacheDeployer);
     caseDefinitionCache = new CaseDefinitionCache(factory, cacheCapacity, cacheDeployer);
@@ -295,7 +308,18 @@ public class DeploymentCache {
     this.cacheDeployer.setDeployers(deployers);
   }
 
+  public SecondLevelDeploymentCache getSecondLevelCache() {
+    return secondLevelCache;
+  }
+
+  public void setSecondLevelCache(SecondLevelDeploymentCache secondLevelCache) {
+    this.secondLevelCache = secondLevelCache;
+  }
+
   public void removeDeployment(String deploymentId) {
+    if (secondLevelCache != null) {
+      secondLevelCache.removeSnapshots(deploymentId);
+    }
     bpmnModelInstanceCache.removeAllDefinitionsByDeploymentId(deploymentId);
     cmmnModelInstanceCache.removeAllDefinitionsByDeploymentId(deploymentId);
     dmnModelInstanceCache.removeAllDefinitionsByDeploymentId(deploymentId);
@@ -319,13 +343,112 @@ public class DeploymentCache {
     }
   }
 
+  // SECOND LEVEL CACHE ////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * @return the element tree of the given resource from the second level cache or null if
+   * no second level cache is configured or it contains no (readable) snapshot of the resource
+   */
+  public Element findParseSnapshot(String deploymentId, String resourceName) {
+    if (secondLevelCache == null || deploymentId == null) {
+      return null;
+    }
+
+    byte[] snapshot = secondLevelCache.getSnapshot(deploymentId, resourceName);
+    if (snapshot == null) {
+      markOccurrence(Metrics.DEFINITION_SNAPSHOT_MISS);
+      return null;
+    }
+
+    try {
+      ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(snapshot));
+      try {
+        Element rootElement = (Element) in.readObject();
+        markOccurrence(Metrics.DEFINITION_SNAPSHOT_HIT);
+        return rootElement;
+      } finally {
+        in.close();
+      }
+
+    } catch (Exception e) {
+      ProcessEngineLogger.PERSISTENCE_LOGGER.exceptionWhileReadingDeploymentSnapshot(deploymentId, resourceName, e);
+      markOccurrence(Metrics.DEFINITION_SNAPSHOT_MISS);
+      return null;
+    }
+  }
+
+  /**
+   * Stores the element tree of the given resource in the second level cache, if one is configured.
+   */
+  public void addParseSnapshot(String deploymentId, String resourceName, Element rootElement) {
+    if (secondLevelCache == null || deploymentId == null || rootElement == null) {
+      return;
+    }
+
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      ObjectOutputStream out = new ObjectOutputStream(bytes);
+      out.writeObject(rootElement);
+      out.close();
+      secondLevelCache.putSnapshot(deploymentId, resourceName, bytes.toByteArray());
+
+    } catch (Exception e) {
+      ProcessEngineLogger.PERSISTENCE_LOGGER.exceptionWhileWritingDeploymentSnapshot(deploymentId, resourceName, e);
+    }
+  }
+
+  /**
+   * @return the ids of the deployments which have definitions in this cache
+   */
+  public Set<String> getCachedDeploymentIds() {
+    Set<String> deploymentIds = new HashSet<String>();
+    deploymentIds.addAll(processDefinitionEntityCache.getCachedDeploymentIds());
+    deploymentIds.addAll(caseDefinitionCache.getCachedDeploymentIds());
+    deploymentIds.addAll(decisionDefinitionCache.getCachedDeploymentIds());
+    deploymentIds.addAll(decisionRequirementsDefinitionCache.getCachedDeploymentIds());
+    return deploymentIds;
+  }
+
+  /**
+   * Removes all definitions of the given deployments, which were deleted by another process engine,
+   * from this cache. In contrast to {@link #removeDeployment(String)}, the definitions are not
+   * looked up in the database since they don't exist anymore.
+   */
+  public void invalidateDeployments(Collection<String> deploymentIds) {
+    for (String deploymentId : deploymentIds) {
+      if (secondLevelCache != null) {
+        secondLevelCache.removeSnapshots(deploymentId);
+      }
+    }
+
+    for (String definitionId : processDefinitionEntityCache.findCachedDefinitionIds(deploymentIds)) {
+      removeProcessDefinition(definitionId);
+    }
+    for (String definitionId : caseDefinitionCache.findCachedDefinitionIds(deploymentIds)) {
+      removeCaseDefinition(definitionId);
+    }
+    for (String definitionId : decisionDefinitionCache.findCachedDefinitionIds(deploymentIds)) {
+      removeDecisionDefinition(definitionId);
+    }
+    for (String definitionId : decisionRequirementsDefinitionCache.findCachedDefinitionIds(deploymentIds)) {
+      removeDecisionRequirementsDefinition(definitionId);
+    }
+  }
+
+  protected void markOccurrence(String metric) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(metric);
+    }
+  }
+
   public CachePurgeReport purgeCache() {
 
     CachePurgeReport result = new CachePurgeReport();
     Cache<String, ProcessDefinitionEntity> processDefinitionCache = getProcessDefinitionCache();
     if (!processDefinitionCache.isEmpty()) {
       result.addPurgeInformation(CachePurgeReport.PROCESS_DEF_CACHE, processDefinitionCache.keySet());
-      processDefinitionCache.clear();
+      processDefinitionEntityCache.clear();
     }
 
     Cache<String, BpmnModelInstance> bpmnModelInstanceCache = getBpmnModelInstanceCache();
@@ -337,7 +460,7 @@ public class DeploymentCache {
     Cache<String, CaseDefinitionEntity> caseDefinitionCache = getCaseDefinitionCache();
     if (!caseDefinitionCache.isEmpty()) {
       result.addPurgeInformation(CachePurgeReport.CASE_DEF_CACHE, caseDefinitionCache.keySet());
-      caseDefinitionCache.clear();
+      this.caseDefinitionCache.clear();
     }
 
     Cache<String, CmmnModelInstance> cmmnModelInstanceCache = getCmmnModelInstanceCache();
@@ -349,7 +472,7 @@ public class DeploymentCache {
     Cache<String, DecisionDefinitionEntity> decisionDefinitionCache = getDecisionDefinitionCache();
     if (!decisionDefinitionCache.isEmpty()) {
       result.addPurgeInformation(CachePurgeReport.DMN_DEF_CACHE, decisionDefinitionCache.keySet());
-      decisionDefinitionCache.clear();
+      this.decisionDefinitionCache.clear();
     }
 
     Cache<String, DmnModelInstance> dmnModelInstanceCache = getDmnDefinitionCache();
@@ -361,7 +484,7 @@ public class DeploymentCache {
     Cache<String, DecisionRequirementsDefinitionEntity> decisionRequirementsDefinitionCache = getDecisionRequirementsDefinitionCache();
     if (!decisionRequirementsDefinitionCache.isEmpty()) {
       result.addPurgeInformation(CachePurgeReport.DMN_REQ_DEF_CACHE, decisionRequirementsDefinitionCache.keySet());
-      decisionRequirementsDefinitionCache.clear();
+      this.decisionRequirementsDefinitionCache.clear();
     }
 
     return result;
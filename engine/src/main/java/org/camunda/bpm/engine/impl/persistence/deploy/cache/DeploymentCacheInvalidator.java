@@ -0,0 +1,73 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.InvalidateDeploymentCacheCmd;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * <p>Periodically checks whether the deployments of the cached definitions still exist
+ * and removes the definitions of deployments which were deleted by other process engines
+ * (e.g. other nodes of a cluster) from the deployment cache.</p>
+ *
+ * <p>New deployments don't need to be propagated since definitions which are not cached are
+ * looked up in the database.</p>
+ */
+public class DeploymentCacheInvalidator {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected long invalidationIntervalInMillis;
+
+  protected Timer timer;
+
+  public DeploymentCacheInvalidator(CommandExecutor commandExecutor, long invalidationIntervalInMillis) {
+    this.commandExecutor = commandExecutor;
+    this.invalidationIntervalInMillis = invalidationIntervalInMillis;
+  }
+
+  public void start() {
+    timer = new Timer("Camunda Deployment Cache Invalidator", true);
+    timer.schedule(new TimerTask() {
+      public void run() {
+        try {
+          invalidateNow();
+        } catch (RuntimeException e) {
+          LOG.exceptionWhileInvalidatingDeploymentCache(e);
+        }
+      }
+    }, invalidationIntervalInMillis, invalidationIntervalInMillis);
+  }
+
+  public void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+  }
+
+  public void invalidateNow() {
+    commandExecutor.execute(new InvalidateDeploymentCacheCmd());
+  }
+
+  public long getInvalidationIntervalInMillis() {
+    return invalidationIntervalInMillis;
+  }
+
+}
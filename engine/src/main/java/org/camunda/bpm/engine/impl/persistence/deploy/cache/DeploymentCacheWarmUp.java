@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.impl.ProcessDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.GetDeployedProcessDefinitionCmd;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentParseExecutor;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+
+/**
+ * <p>Loads the latest process definitions into the deployment cache, so that the first
+ * requests which use them don't have to parse the deployment resources.</p>
+ *
+ * <p>Since all definitions of a deployment are cached when one of them is loaded, one definition
+ * per deployment is loaded. The deployments are loaded concurrently in separate transactions if a
+ * {@link DeploymentParseExecutor} is given.</p>
+ */
+public class DeploymentCacheWarmUp {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected DeploymentParseExecutor parseExecutor;
+
+  public DeploymentCacheWarmUp(CommandExecutor commandExecutor, DeploymentParseExecutor parseExecutor) {
+    this.commandExecutor = commandExecutor;
+    this.parseExecutor = parseExecutor;
+  }
+
+  /**
+   * @return the number of deployments which were loaded into the deployment cache
+   */
+  public int warmUp() {
+    long start = System.currentTimeMillis();
+
+    List<ProcessDefinition> latestProcessDefinitions = new ProcessDefinitionQueryImpl(commandExecutor)
+        .latestVersion()
+        .list();
+
+    Map<String, String> processDefinitionIdsByDeployment = new LinkedHashMap<String, String>();
+    for (ProcessDefinition processDefinition : latestProcessDefinitions) {
+      if (!processDefinitionIdsByDeployment.containsKey(processDefinition.getDeploymentId())) {
+        processDefinitionIdsByDeployment.put(processDefinition.getDeploymentId(), processDefinition.getId());
+      }
+    }
+
+    if (parseExecutor != null) {
+      List<Callable<Void>> loadTasks = new ArrayList<Callable<Void>>();
+      for (final String processDefinitionId : processDefinitionIdsByDeployment.values()) {
+        loadTasks.add(new Callable<Void>() {
+          public Void call() throws Exception {
+            loadProcessDefinition(processDefinitionId);
+            return null;
+          }
+        });
+      }
+      parseExecutor.invokeAll(loadTasks);
+
+    } else {
+      for (String processDefinitionId : processDefinitionIdsByDeployment.values()) {
+        loadProcessDefinition(processDefinitionId);
+      }
+    }
+
+    int deployments = processDefinitionIdsByDeployment.size();
+    LOG.warmedUpDeploymentCache(deployments, System.currentTimeMillis() - start);
+    return deployments;
+  }
+
+  protected void loadProcessDefinition(String processDefinitionId) {
+    try {
+      commandExecutor.execute(new GetDeployedProcessDefinitionCmd(processDefinitionId, false));
+    } catch (RuntimeException e) {
+      // the definition is parsed again when it is used
+      LOG.exceptionWhileWarmingUpDeploymentCache(processDefinitionId, e);
+    }
+  }
+
+}
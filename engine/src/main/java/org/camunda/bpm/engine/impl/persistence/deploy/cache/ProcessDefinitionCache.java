@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.persistence.deploy.cache;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.persistence.AbstractResourceDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.management.Metrics;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
@@ -26,6 +27,8 @@ public class ProcessDefinitionCache extends ResourceDefinitionCache<ProcessDefin
 
   public ProcessDefinitionCache(CacheFactory factory, int cacheCapacity, CacheDeployer cacheDeployer) {
     super(factory, cacheCapacity, cacheDeployer);
+    missMetric = Metrics.PROCESS_DEFINITION_CACHE_MISS;
+    evictionMetric = Metrics.PROCESS_DEFINITION_CACHE_EVICTION;
   }
 
   @Override
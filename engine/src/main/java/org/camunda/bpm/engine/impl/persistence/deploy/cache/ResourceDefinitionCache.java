@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.impl.persistence.deploy.cache;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractResourceDefinitionManager;
@@ -20,7 +21,16 @@ import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
 import org.camunda.commons.utils.cache.Cache;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -31,6 +41,23 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
   protected Cache<String, T> cache;
   protected CacheDeployer cacheDeployer;
 
+  /**
+   * deployment ids of the cached definitions by definition id; allows to find the cached
+   * definitions of a deployment without reading them from the cache, which would refresh
+   * their recency
+   */
+  protected ConcurrentMap<String, String> cachedDeploymentIds = new ConcurrentHashMap<String, String>();
+
+  /**
+   * name of the metric to mark if a definition is not cached when resolving it, or null
+   */
+  protected String missMetric;
+
+  /**
+   * name of the metric to mark if a definition was evicted from the cache, or null
+   */
+  protected String evictionMetric;
+
   public ResourceDefinitionCache(CacheFactory factory, int cacheCapacity, CacheDeployer cacheDeployer) {
     this.cache = factory.createCache(cacheCapacity);
     this.cacheDeployer = cacheDeployer;
@@ -92,6 +119,7 @@ public T findDeployedDefinitionByKeyVersionAndTenantId(final String definitionKe
     String deploymentId = definition.getDeploymentId();
     T cachedDefinition = cache.get(definitionId);
     if (cachedDefinition == null) {
+      markOccurrence(missMetric);
       synchronized (this) {
         cachedDefinition = cache.get(definitionId);
         if (cachedDefinition == null) {
@@ -112,26 +140,84 @@ public T findDeployedDefinitionByKeyVersionAndTenantId(final String definitionKe
     return cachedDefinition;
   }
 
-  public void addDefinition(T definition) {
+  public synchronized void addDefinition(T definition) {
     cache.put(definition.getId(), definition);
+    cachedDeploymentIds.put(definition.getId(), definition.getDeploymentId());
+    removeEvictedDefinitions();
   }
 
   public T getDefinition(String id) {
     return cache.get(id);
   }
 
-  public void removeDefinitionFromCache(String id) {
+  public synchronized void removeDefinitionFromCache(String id) {
     cache.remove(id);
+    cachedDeploymentIds.remove(id);
   }
 
-  public void clear() {
+  public synchronized void clear() {
     cache.clear();
+    cachedDeploymentIds.clear();
+  }
+
+  /**
+   * @return the ids of the deployments which have definitions in this cache
+   */
+  public synchronized Set<String> getCachedDeploymentIds() {
+    removeEvictedDefinitions();
+    Set<String> deploymentIds = new HashSet<String>();
+    for (String deploymentId : cachedDeploymentIds.values()) {
+      if (deploymentId != null) {
+        deploymentIds.add(deploymentId);
+      }
+    }
+    return deploymentIds;
+  }
+
+  /**
+   * @return the ids of the cached definitions which belong to one of the given deployments
+   */
+  public synchronized List<String> findCachedDefinitionIds(Collection<String> deploymentIds) {
+    removeEvictedDefinitions();
+    List<String> definitionIds = new ArrayList<String>();
+    for (Map.Entry<String, String> cachedDeploymentId : cachedDeploymentIds.entrySet()) {
+      if (deploymentIds.contains(cachedDeploymentId.getValue())) {
+        definitionIds.add(cachedDeploymentId.getKey());
+      }
+    }
+    return definitionIds;
+  }
+
+  /**
+   * Removes the definitions which were evicted by the cache from the deployment ids and
+   * marks the eviction metric for them. Only the keys of the cache are read so that the
+   * recency of the cached definitions is not changed.
+   */
+  protected void removeEvictedDefinitions() {
+    Set<String> cachedDefinitionIds = new HashSet<String>(cache.keySet());
+    Iterator<String> definitionIds = cachedDeploymentIds.keySet().iterator();
+    while (definitionIds.hasNext()) {
+      if (!cachedDefinitionIds.contains(definitionIds.next())) {
+        definitionIds.remove();
+        markOccurrence(evictionMetric);
+      }
+    }
   }
 
   public Cache<String, T> getCache() {
     return cache;
   }
 
+  protected void markOccurrence(String metric) {
+    if (metric == null) {
+      return;
+    }
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(metric);
+    }
+  }
+
   protected abstract AbstractResourceDefinitionManager<T> getManager();
 
   protected abstract void checkInvalidDefinitionId(String definitionId);
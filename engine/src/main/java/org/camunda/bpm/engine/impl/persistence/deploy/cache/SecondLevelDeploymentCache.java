@@ -0,0 +1,40 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+/**
+ * <p>Second level of the {@link DeploymentCache} which holds serialized snapshots of parsed
+ * deployment resources. If a definition is not contained in the (node-local) deployment cache,
+ * its resource is transformed from the snapshot instead of being parsed and validated again.</p>
+ *
+ * <p>Since the resources of a deployment never change, a snapshot is valid as long as its
+ * deployment exists. Implementations can share the snapshots between process engines and
+ * cluster nodes, e.g. by using a distributed cache.</p>
+ */
+public interface SecondLevelDeploymentCache {
+
+  /**
+   * @return the snapshot of the given resource or null if no snapshot is cached
+   */
+  byte[] getSnapshot(String deploymentId, String resourceName);
+
+  void putSnapshot(String deploymentId, String resourceName, byte[] snapshot);
+
+  /**
+   * Removes the snapshots of all resources of the given deployment.
+   */
+  void removeSnapshots(String deploymentId);
+
+  void clear();
+
+}
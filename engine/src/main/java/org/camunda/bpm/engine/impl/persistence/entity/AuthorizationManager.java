@@ -75,6 +75,9 @@ import org.camunda.bpm.engine.impl.VariableInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.batch.BatchQueryImpl;
 import org.camunda.bpm.engine.impl.batch.BatchStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.batch.history.HistoricBatchQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.cfg.auth.AuthorizationDecisionCache;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.AuthorizationCheck;
 import org.camunda.bpm.engine.impl.db.CompositePermissionCheck;
@@ -287,11 +290,57 @@ public class AuthorizationManager extends AbstractManager {
       return true;
     }
 
+    AuthorizationDecisionCache decisionCache = getAuthorizationDecisionCache();
+    String decisionKey = null;
+    if (decisionCache != null) {
+      checkAuthorizationRevision(decisionCache);
+      decisionKey = decisionCache.createKey(userId, groupIds, permissionChecks);
+      if (decisionCache.isGranted(decisionKey)) {
+        return true;
+      }
+    }
+
     List<String> filteredGroupIds = filterAuthenticatedGroupIds(groupIds);
 
     boolean isRevokeAuthorizationCheckEnabled = isRevokeAuthCheckEnabled(userId, groupIds);
     AuthorizationCheck authCheck = new AuthorizationCheck(userId, filteredGroupIds, permissionChecks, isRevokeAuthorizationCheckEnabled);
-    return getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+    boolean isAuthorized = getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+
+    if (isAuthorized && decisionKey != null) {
+      decisionCache.putGranted(decisionKey);
+    }
+
+    return isAuthorized;
+  }
+
+  /**
+   * Increments the global authorization revision if authorization decisions are
+   * cached, so that all nodes discard their cached decisions. Must be called by
+   * operations which may revoke permissions.
+   */
+  public void invalidateAuthorizationDecisions() {
+    final AuthorizationDecisionCache decisionCache = getAuthorizationDecisionCache();
+    if (decisionCache != null) {
+      getDbEntityManager().update(PropertyEntity.class, "incrementAuthorizationRevision", null);
+
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          public void execute(CommandContext commandContext) {
+            decisionCache.invalidate();
+          }
+        });
+    }
+  }
+
+  protected void checkAuthorizationRevision(AuthorizationDecisionCache decisionCache) {
+    if (decisionCache.isRevisionCheckDue()) {
+      decisionCache.updateRevision((Integer) getDbEntityManager().selectOne("selectAuthorizationRevision", null));
+    }
+  }
+
+  protected AuthorizationDecisionCache getAuthorizationDecisionCache() {
+    return Context.getProcessEngineConfiguration().getAuthorizationDecisionCache();
   }
 
   protected boolean isRevokeAuthCheckEnabled(String userId, List<String> groupIds) {
@@ -321,11 +370,27 @@ public class AuthorizationManager extends AbstractManager {
   }
 
   public boolean isAuthorized(String userId, List<String> groupIds, CompositePermissionCheck compositePermissionCheck) {
+    AuthorizationDecisionCache decisionCache = getAuthorizationDecisionCache();
+    String decisionKey = null;
+    if (decisionCache != null) {
+      checkAuthorizationRevision(decisionCache);
+      decisionKey = decisionCache.createKey(userId, groupIds, compositePermissionCheck);
+      if (decisionCache.isGranted(decisionKey)) {
+        return true;
+      }
+    }
+
     List<String> filteredGroupIds = filterAuthenticatedGroupIds(groupIds);
 
     boolean isRevokeAuthorizationCheckEnabled = isRevokeAuthCheckEnabled(userId, groupIds);
     AuthorizationCheck authCheck = new AuthorizationCheck(userId, filteredGroupIds, compositePermissionCheck, isRevokeAuthorizationCheckEnabled);
-    return getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+    boolean isAuthorized = getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+
+    if (isAuthorized && decisionKey != null) {
+      decisionCache.putGranted(decisionKey);
+    }
+
+    return isAuthorized;
   }
 
   public boolean isAuthorized(CompositePermissionCheck compositePermissionCheck) {
@@ -415,6 +480,11 @@ public class AuthorizationManager extends AbstractManager {
 
   // delete authorizations //////////////////////////////////////////////////
 
+  /**
+   * Deletes the authorizations of a resource which is deleted. Cached authorization decisions are not
+   * invalidated since the ids of most resources (e.g. tasks, process instances) are never reused; callers
+   * deleting resources with reusable ids must call {@link #invalidateAuthorizationDecisions()}.
+   */
   public void deleteAuthorizationsByResourceId(Resource resource, String resourceId) {
 
     if(resourceId == null) {
@@ -442,6 +512,7 @@ public class AuthorizationManager extends AbstractManager {
       deleteParams.put("resourceId", resourceId);
       deleteParams.put("userId", userId);
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceId", deleteParams);
+      invalidateAuthorizationDecisions();
     }
 
   }
@@ -458,6 +529,7 @@ public class AuthorizationManager extends AbstractManager {
       deleteParams.put("resourceId", resourceId);
       deleteParams.put("groupId", groupId);
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceId", deleteParams);
+      invalidateAuthorizationDecisions();
     }
 
   }
@@ -13,9 +13,16 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author Joram Barrez
@@ -36,4 +43,29 @@ public class ByteArrayManager extends AbstractManager {
     getDbEntityManager().delete(ByteArrayEntity.class, "deleteByteArraysByIds", byteArrayEntityIds);
   }
 
+  /**
+   * Loads the byte arrays with the given ids into the entity cache with one select
+   * per {@link DbSqlSessionFactory#MAXIMUM_NUMBER_PARAMS} ids, so that the values of several variables can be read without one select
+   * per variable. Null ids and byte arrays which are already cached are skipped;
+   * if less than two byte arrays remain, they are left to be loaded lazily.
+   */
+  public void prefetchByteArrays(Collection<String> byteArrayIds) {
+    DbEntityManager dbEntityManager = getDbEntityManager();
+
+    Set<String> idsToFetch = new LinkedHashSet<String>();
+    for (String byteArrayId : byteArrayIds) {
+      if (byteArrayId != null && dbEntityManager.getCachedEntity(ByteArrayEntity.class, byteArrayId) == null) {
+        idsToFetch.add(byteArrayId);
+      }
+    }
+
+    if (idsToFetch.size() > 1) {
+      // loaded entities are added to the entity cache
+      List<String> ids = new ArrayList<String>(idsToFetch);
+      for (List<String> idsPartition : CollectionUtil.partition(ids, DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+        dbEntityManager.selectList("selectByteArraysByIds", new ArrayList<String>(idsPartition));
+      }
+    }
+  }
+
 }
@@ -235,6 +235,14 @@ public class DeploymentManager extends AbstractManager {
     return getDbEntityManager().selectList("selectDeploymentIdsByProcessInstances", processInstanceIds);
   }
 
+  /**
+   * @return the ids of the given deployments which exist
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findExistingDeploymentIds(List<String> deploymentIds) {
+    return getDbEntityManager().selectList("selectDeploymentIdsByIds", deploymentIds);
+  }
+
   @Override
   public void close() {
   }
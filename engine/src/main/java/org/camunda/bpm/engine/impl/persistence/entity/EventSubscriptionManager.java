@@ -14,6 +14,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -25,9 +26,12 @@ import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBatchMatch;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.runtime.EventSubscription;
 import org.camunda.commons.utils.EnsureUtil;
 
@@ -268,6 +272,31 @@ public class EventSubscriptionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectMessageStartEventSubscriptionByName", configureParameterizedQuery(messageName));
   }
 
+  /**
+   * Finds the message event subscriptions of active executions which have one of the given
+   * message names and belong to a process instance with one of the given business keys.
+   * Note that the result may contain combinations of message name and business key
+   * which were not requested together. The names and keys are queried in chunks of
+   * {@link DbSqlSessionFactory#MAXIMUM_NUMBER_PARAMS}, since the size of an IN list is limited.
+   */
+  @SuppressWarnings("unchecked")
+  public List<MessageCorrelationBatchMatch> findMessageCorrelationBatchMatches(Collection<String> messageNames, Collection<String> businessKeys) {
+    List<MessageCorrelationBatchMatch> matches = new ArrayList<MessageCorrelationBatchMatch>();
+
+    List<List<String>> businessKeyPartitions = CollectionUtil.partition(new ArrayList<String>(businessKeys), DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS);
+    for (List<String> messageNamePartition : CollectionUtil.partition(new ArrayList<String>(messageNames), DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+      for (List<String> businessKeyPartition : businessKeyPartitions) {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("messageNames", messageNamePartition);
+        parameters.put("businessKeys", businessKeyPartition);
+
+        matches.addAll(getDbEntityManager().selectList("selectMessageCorrelationBatchMatches", configureParameterizedQuery(parameters)));
+      }
+    }
+
+    return matches;
+  }
+
   /**
    * @return the message start event subscription with the given message name and tenant id
    *
@@ -56,8 +56,9 @@ public class EverLivingJobEntity extends JobEntity {
     String exceptionByteArrayIdToDelete =null;
     if (exceptionByteArrayId != null) {
       exceptionByteArrayIdToDelete = exceptionByteArrayId;
+      markDirty(DIRTY_EXCEPTION_BYTE_ARRAY_ID);
       this.exceptionByteArrayId = null;
-      this.exceptionMessage = null;
+      setExceptionMessage(null);
     }
     //clean the lock information
     setLockOwner(null);
@@ -46,6 +46,7 @@ import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
@@ -53,6 +54,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.interceptor.AtomicOperationInvocation;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.MessageJobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.persistence.entity.util.FormPropertyStartContext;
@@ -795,6 +797,17 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     this.processInstance = (ExecutionEntity) processInstance;
     if (processInstance != null) {
       this.processInstanceId = this.processInstance.getId();
+      updateCacheIndexes();
+    }
+  }
+
+  /**
+   * The process instance id is indexed by the entity cache, see {@link DbEntityCacheKeyMapping}.
+   */
+  protected void updateCacheIndexes() {
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      commandContext.getDbEntityManager().updateCacheIndexes(this);
     }
   }
 
@@ -1316,9 +1329,18 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
    * @param variables
    *   the list of all variables that are linked to executions which are part of this process instance
    *   If null, variables are not initialized and are lazy loaded on demand
-   * @param jobs
    * @param tasks
+   *   the list of all tasks that are part of this process instance.
+   *   If null, tasks are not initialized and are lazy loaded on demand
+   * @param jobs
+   *   the list of all jobs that are part of this process instance.
+   *   If null, jobs are not initialized and are lazy loaded on demand
    * @param incidents
+   *   the list of all incidents that are part of this process instance.
+   *   If null, incidents are not initialized and are lazy loaded on demand
+   * @param externalTasks
+   *   the list of all external tasks that are part of this process instance.
+   *   If null, external tasks are not initialized and are lazy loaded on demand
    */
   public void restoreProcessInstance(Collection<ExecutionEntity> executions,
       Collection<EventSubscriptionEntity> eventSubscriptions,
@@ -1353,6 +1375,18 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       if(execution.eventSubscriptions == null && eventSubscriptions != null) {
         execution.eventSubscriptions = new ArrayList<EventSubscriptionEntity>();
       }
+      if(execution.tasks == null && tasks != null) {
+        execution.tasks = new ArrayList<TaskEntity>();
+      }
+      if(execution.jobs == null && jobs != null) {
+        execution.jobs = new ArrayList<JobEntity>();
+      }
+      if(execution.incidents == null && incidents != null) {
+        execution.incidents = new ArrayList<IncidentEntity>();
+      }
+      if(execution.externalTasks == null && externalTasks != null) {
+        execution.externalTasks = new ArrayList<ExternalTaskEntity>();
+      }
       if(variables != null) {
         execution.variableStore.setVariablesProvider(
             new VariableCollectionProvider<VariableInstanceEntity>(variablesByScope.get(execution.id)));
@@ -1642,7 +1676,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   }
 
   public void addExternalTask(ExternalTaskEntity externalTask) {
-    getExternalTasksInternal().add(externalTask);
+    List<ExternalTaskEntity> externalTasksInternal = getExternalTasksInternal();
+    if (!externalTasksInternal.contains(externalTask)) {
+      externalTasksInternal.add(externalTask);
+    }
   }
 
   public void removeExternalTask(ExternalTaskEntity externalTask) {
@@ -24,9 +24,12 @@ import org.camunda.bpm.engine.impl.ExecutionQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessInstancePrefetchProfile;
 import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -109,6 +112,88 @@ public class ExecutionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectExecutionsByProcessInstanceId", processInstanceId);
   }
 
+  /**
+   * Loads the process instance with the given id including the entities selected
+   * by the configured {@link ProcessInstancePrefetchProfile}, using one select per
+   * entity type. Does nothing if no profile is configured or if parts of the
+   * execution tree of the process instance have already been initialized in the
+   * current command context.
+   */
+  public void prefetchProcessInstance(String processInstanceId) {
+    ProcessInstancePrefetchProfile profile = Context.getProcessEngineConfiguration().getProcessInstancePrefetchProfile();
+
+    if (profile == null || processInstanceId == null || isExecutionTreeInitialized(processInstanceId)) {
+      return;
+    }
+
+    List<ExecutionEntity> executions = findExecutionsByProcessInstanceId(processInstanceId);
+
+    ExecutionEntity processInstance = null;
+    for (ExecutionEntity execution : executions) {
+      if (execution.isProcessInstanceExecution()) {
+        processInstance = execution;
+      }
+    }
+
+    if (processInstance == null) {
+      return;
+    }
+
+    List<EventSubscriptionEntity> eventSubscriptions = null;
+    if (profile.isEventSubscriptions()) {
+      eventSubscriptions = getEventSubscriptionManager().findEventSubscriptionsByProcessInstanceId(processInstanceId);
+    }
+
+    List<VariableInstanceEntity> variables = null;
+    if (profile.isVariables()) {
+      variables = getVariableInstanceManager().findVariableInstancesByProcessInstanceId(processInstanceId);
+    }
+
+    List<TaskEntity> tasks = null;
+    if (profile.isTasks()) {
+      tasks = getTaskManager().findTasksByProcessInstanceId(processInstanceId);
+    }
+
+    List<JobEntity> jobs = null;
+    if (profile.isJobs()) {
+      jobs = getJobManager().findJobsByProcessInstanceId(processInstanceId);
+    }
+
+    List<IncidentEntity> incidents = null;
+    if (profile.isIncidents()) {
+      incidents = getSession(IncidentManager.class).findIncidentsByProcessInstance(processInstanceId);
+    }
+
+    List<ExternalTaskEntity> externalTasks = null;
+    if (profile.isExternalTasks()) {
+      externalTasks = getSession(ExternalTaskManager.class).findExternalTasksByProcessInstanceId(processInstanceId);
+    }
+
+    processInstance.restoreProcessInstance(executions, eventSubscriptions, variables, tasks, jobs, incidents, externalTasks);
+  }
+
+  /**
+   * Restoring a process instance adds child executions and referenced entities to the
+   * lists of their executions, so it must not be applied to a tree of which any of these
+   * lists has been initialized before.
+   */
+  protected boolean isExecutionTreeInitialized(String processInstanceId) {
+    List<ExecutionEntity> cachedExecutions = getDbEntityManager()
+        .getCachedEntitiesByIndex(ExecutionEntity.class, DbEntityCacheKeyMapping.INDEX_PROCESS_INSTANCE_ID, processInstanceId);
+
+    for (ExecutionEntity execution : cachedExecutions) {
+      if (execution.executions != null
+          || execution.eventSubscriptions != null
+          || execution.tasks != null
+          || execution.jobs != null
+          || execution.incidents != null
+          || execution.externalTasks != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public ExecutionEntity findExecutionById(String executionId) {
     return getDbEntityManager().selectById(ExecutionEntity.class, executionId);
   }
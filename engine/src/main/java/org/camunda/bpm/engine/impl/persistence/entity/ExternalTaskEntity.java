@@ -349,6 +349,10 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
     }
     else if (!areRetriesLeft() && retries > 0) {
       removeIncident();
+
+      Context.getCommandContext()
+        .getExternalTaskManager()
+        .fireExternalTaskAvailableEvent();
     }
 
     setRetries(retries);
@@ -428,6 +432,10 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
   public void unlock() {
     workerId = null;
     lockExpirationTime = null;
+
+    Context.getCommandContext()
+      .getExternalTaskManager()
+      .fireExternalTaskAvailableEvent();
   }
 
   public static ExternalTaskEntity createAndInsert(ExecutionEntity execution, String topic, long priority) {
@@ -23,8 +23,12 @@ import org.camunda.bpm.engine.impl.Direction;
 import org.camunda.bpm.engine.impl.ExternalTaskQueryImpl;
 import org.camunda.bpm.engine.impl.ExternalTaskQueryProperty;
 import org.camunda.bpm.engine.impl.QueryOrderingProperty;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskAvailableNotification;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskFetchAndLockDispatcher;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
@@ -42,6 +46,22 @@ public class ExternalTaskManager extends AbstractManager {
 
   public void insert(ExternalTaskEntity externalTask) {
     getDbEntityManager().insert(externalTask);
+    fireExternalTaskAvailableEvent();
+  }
+
+  /**
+   * Notifies parked long polling fetch and lock requests once the current transaction is committed.
+   */
+  public void fireExternalTaskAvailableEvent() {
+    ExternalTaskFetchAndLockDispatcher dispatcher = Context
+      .getProcessEngineConfiguration()
+      .getExternalTaskFetchAndLockDispatcher();
+
+    if (dispatcher != null) {
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new ExternalTaskAvailableNotification(dispatcher));
+    }
   }
 
   public void delete(ExternalTaskEntity externalTask) {
@@ -74,10 +94,30 @@ public class ExternalTaskManager extends AbstractManager {
     ListQueryParameterObject parameter = new ListQueryParameterObject(parameters, 0, maxResults);
     configureQuery(parameter);
 
+    // the authorization check joins require a distinct select which cannot lock rows
+    parameters.put("skipLocked", isSkipLockedClaimEnabled() && !parameter.getAuthCheck().isAuthorizationCheckEnabled());
+
     DbEntityManager manager = getDbEntityManager();
     return manager.selectList("selectExternalTasksForTopics", parameter);
   }
 
+  /**
+   * @return the names of the given topics for which at least one external task can be locked right now;
+   *   does not perform authorization or tenant checks
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> selectTopicNamesWithLockableExternalTasks(Collection<String> topics) {
+    if (topics.isEmpty()) {
+      return new ArrayList<String>();
+    }
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("topics", topics);
+    parameters.put("now", ClockUtil.getCurrentTime());
+
+    return getDbEntityManager().selectList("selectTopicNamesWithLockableExternalTasks", parameters);
+  }
+
   public List<ExternalTask> findExternalTasksByQueryCriteria(ExternalTaskQueryImpl externalTaskQuery) {
     configureQuery(externalTaskQuery);
     return getDbEntityManager().selectList("selectExternalTaskByQueryCriteria", externalTaskQuery);
@@ -35,6 +35,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupIdRange;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
@@ -55,15 +56,28 @@ public class HistoricBatchManager extends AbstractManager {
     return getDbEntityManager().selectById(HistoricBatchEntity.class, batchId);
   }
 
-  @SuppressWarnings("unchecked")
   public List<String> findHistoricBatchIdsForCleanup(Integer batchSize, Map<String, Integer> batchOperationsForHistoryCleanup) {
+    return findHistoricBatchIdsForCleanup(batchSize, batchOperationsForHistoryCleanup, null, null);
+  }
+
+  /**
+   * Restricts the ids to the given id range and excludes the given id ranges, see
+   * {@link org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper}. If ranges are given, the ids
+   * are ordered by id, so that they can be split into disjoint id ranges, otherwise by end time.
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findHistoricBatchIdsForCleanup(Integer batchSize, Map<String, Integer> batchOperationsForHistoryCleanup,
+      HistoryCleanupIdRange idRange, List<HistoryCleanupIdRange> excludedIdRanges) {
     Map<String, Object> queryParameters = new HashMap<String, Object>();
     queryParameters.put("currentTimestamp", ClockUtil.getCurrentTime());
     queryParameters.put("map", batchOperationsForHistoryCleanup);
+    queryParameters.put("idRange", idRange);
+    queryParameters.put("excludedIdRanges", excludedIdRanges);
 
     ListQueryParameterObject parameterObject = new ListQueryParameterObject();
     parameterObject.setParameter(queryParameters);
-    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl("END_TIME_"), Direction.ASCENDING));
+    String orderingProperty = idRange != null || excludedIdRanges != null ? "ID_" : "END_TIME_";
+    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl(orderingProperty), Direction.ASCENDING));
     parameterObject.setFirstResult(0);
     parameterObject.setMaxResults(batchSize);
 
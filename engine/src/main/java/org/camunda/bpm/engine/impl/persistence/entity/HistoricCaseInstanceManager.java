@@ -14,6 +14,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +28,7 @@ import org.camunda.bpm.engine.impl.QueryOrderingProperty;
 import org.camunda.bpm.engine.impl.QueryPropertyImpl;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.history.event.HistoricCaseInstanceEventEntity;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupIdRange;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
@@ -106,11 +108,25 @@ public class HistoricCaseInstanceManager extends AbstractHistoricManager {
     getTenantManager().configureQuery(query);
   }
 
-  @SuppressWarnings("unchecked")
   public List<String> findHistoricCaseInstanceIdsForCleanup(int batchSize) {
+    return findHistoricCaseInstanceIdsForCleanup(batchSize, null, null);
+  }
+
+  /**
+   * Restricts the ids to the given id range and excludes the given id ranges, see
+   * {@link org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper}. If ranges are given, the ids
+   * are ordered by id, so that they can be split into disjoint id ranges, otherwise by close time.
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findHistoricCaseInstanceIdsForCleanup(int batchSize, HistoryCleanupIdRange idRange, List<HistoryCleanupIdRange> excludedIdRanges) {
     ListQueryParameterObject parameterObject = new ListQueryParameterObject();
-    parameterObject.setParameter(ClockUtil.getCurrentTime());
-    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl("CLOSE_TIME_"), Direction.ASCENDING));
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("currentTimestamp", ClockUtil.getCurrentTime());
+    parameters.put("idRange", idRange);
+    parameters.put("excludedIdRanges", excludedIdRanges);
+    parameterObject.setParameter(parameters);
+    String orderingProperty = idRange != null || excludedIdRanges != null ? "ID_" : "CLOSE_TIME_";
+    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl(orderingProperty), Direction.ASCENDING));
     parameterObject.setFirstResult(0);
     parameterObject.setMaxResults(batchSize);
     return getDbEntityManager().selectList("selectHistoricCaseInstanceIdsForCleanup", parameterObject);
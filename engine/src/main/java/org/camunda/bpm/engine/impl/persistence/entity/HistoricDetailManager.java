@@ -20,6 +20,7 @@ import java.util.Map;
 import org.camunda.bpm.engine.history.HistoricDetail;
 import org.camunda.bpm.engine.impl.HistoricDetailQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.camunda.bpm.engine.impl.history.event.HistoricDetailEventEntity;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
 
@@ -79,12 +80,10 @@ public class HistoricDetailManager extends AbstractHistoricManager {
       }
 
       //delete entries in Cache
-      List<HistoricDetailEventEntity> cachedHistoricDetails = getDbEntityManager().getCachedEntitiesByType(HistoricDetailEventEntity.class);
+      List<HistoricDetailEventEntity> cachedHistoricDetails = getDbEntityManager()
+          .getCachedEntitiesByIndex(HistoricDetailEventEntity.class, DbEntityCacheKeyMapping.INDEX_TASK_ID, taskId);
       for (HistoricDetailEventEntity historicDetail : cachedHistoricDetails) {
-        // make sure we only delete the right ones (as we cannot make a proper query in the cache)
-        if (taskId.equals(historicDetail.getTaskId())) {
-          historicDetail.delete();
-        }
+        historicDetail.delete();
       }
     }
   }
@@ -18,6 +18,7 @@ import org.camunda.bpm.engine.history.HistoricIncident;
 import org.camunda.bpm.engine.impl.HistoricIncidentQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 /**
  * @author Roman Smirnov
@@ -36,6 +37,11 @@ public class HistoricIncidentManager extends AbstractHistoricManager {
     return getDbEntityManager().selectList("selectHistoricIncidentByQueryCriteria", query, page);
   }
 
+  public void findHistoricIncidentByQueryCriteria(HistoricIncidentQueryImpl query, QueryResultHandler<HistoricIncident> resultHandler) {
+    configureQuery(query);
+    getDbEntityManager().selectForEach("selectHistoricIncidentByQueryCriteriaForEach", query, resultHandler);
+  }
+
   public void deleteHistoricIncidentsByProcessInstanceIds(List<String> processInstanceIds) {
     getDbEntityManager().deletePreserveOrder(HistoricIncidentEntity.class, "deleteHistoricIncidentsByProcessInstanceIds", processInstanceIds);
   }
@@ -14,6 +14,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,8 +31,10 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupIdRange;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 /**
  * @author Tom Baeyens
@@ -97,6 +100,13 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     return Collections.EMPTY_LIST;
   }
 
+  public void findHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery, QueryResultHandler<HistoricProcessInstance> resultHandler) {
+    if (isHistoryEnabled()) {
+      configureQuery(historicProcessInstanceQuery);
+      getDbEntityManager().selectForEach("selectHistoricProcessInstancesByQueryCriteriaForEach", historicProcessInstanceQuery, resultHandler);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public List<HistoricProcessInstance> findHistoricProcessInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return getDbEntityManager().selectListWithRawParameter("selectHistoricProcessInstanceByNativeQuery", parameterMap, firstResult, maxResults);
@@ -111,11 +121,25 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     getTenantManager().configureQuery(query);
   }
 
-  @SuppressWarnings("unchecked")
   public List<String> findHistoricProcessInstanceIdsForCleanup(Integer batchSize) {
+    return findHistoricProcessInstanceIdsForCleanup(batchSize, null, null);
+  }
+
+  /**
+   * Restricts the ids to the given id range and excludes the given id ranges, see
+   * {@link org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper}. If ranges are given, the ids
+   * are ordered by id, so that they can be split into disjoint id ranges, otherwise by end time.
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findHistoricProcessInstanceIdsForCleanup(Integer batchSize, HistoryCleanupIdRange idRange, List<HistoryCleanupIdRange> excludedIdRanges) {
     ListQueryParameterObject parameterObject = new ListQueryParameterObject();
-    parameterObject.setParameter(ClockUtil.getCurrentTime());
-    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl("END_TIME_"), Direction.ASCENDING));
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("currentTimestamp", ClockUtil.getCurrentTime());
+    parameters.put("idRange", idRange);
+    parameters.put("excludedIdRanges", excludedIdRanges);
+    parameterObject.setParameter(parameters);
+    String orderingProperty = idRange != null || excludedIdRanges != null ? "PROC_INST_ID_" : "END_TIME_";
+    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl(orderingProperty), Direction.ASCENDING));
     parameterObject.setFirstResult(0);
     parameterObject.setMaxResults(batchSize);
     return (List<String>) getDbEntityManager().selectList("selectHistoricProcessInstanceIdsForCleanup", parameterObject);
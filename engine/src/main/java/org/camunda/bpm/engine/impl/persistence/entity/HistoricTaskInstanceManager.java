@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -106,6 +107,13 @@ public class HistoricTaskInstanceManager extends AbstractHistoricManager {
     return Collections.EMPTY_LIST;
   }
 
+  public void findHistoricTaskInstancesByQueryCriteria(HistoricTaskInstanceQueryImpl historicTaskInstanceQuery, QueryResultHandler<HistoricTaskInstance> resultHandler) {
+    if (isHistoryEnabled()) {
+      configureQuery(historicTaskInstanceQuery);
+      getDbEntityManager().selectForEach("selectHistoricTaskInstancesByQueryCriteriaForEach", historicTaskInstanceQuery, resultHandler);
+    }
+  }
+
   public HistoricTaskInstanceEntity findHistoricTaskInstanceById(final String taskId) {
     ensureNotNull("Invalid historic task id", "taskId", taskId);
 
@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
 import org.camunda.bpm.engine.impl.HistoricVariableInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
 
 
@@ -76,13 +77,17 @@ public class HistoricVariableInstanceManager extends AbstractHistoricManager {
       }
 
       // delete entries in Cache
-      List <HistoricVariableInstanceEntity> cachedHistoricVariableInstances = getDbEntityManager().getCachedEntitiesByType(HistoricVariableInstanceEntity.class);
+      List<HistoricVariableInstanceEntity> cachedHistoricVariableInstances;
+      if (historicProcessInstanceId != null) {
+        cachedHistoricVariableInstances = getDbEntityManager().getCachedEntitiesByIndex(HistoricVariableInstanceEntity.class,
+            DbEntityCacheKeyMapping.INDEX_PROCESS_INSTANCE_ID, historicProcessInstanceId);
+      }
+      else {
+        cachedHistoricVariableInstances = getDbEntityManager().getCachedEntitiesByIndex(HistoricVariableInstanceEntity.class,
+            DbEntityCacheKeyMapping.INDEX_CASE_INSTANCE_ID, historicCaseInstanceId);
+      }
       for (HistoricVariableInstanceEntity historicVariableInstance : cachedHistoricVariableInstances) {
-        // make sure we only delete the right ones (as we cannot make a proper query in the cache)
-        if ((historicProcessInstanceId != null && historicProcessInstanceId.equals(historicVariableInstance.getProcessInstanceId()))
-            || (historicCaseInstanceId != null && historicCaseInstanceId.equals(historicVariableInstance.getCaseInstanceId()))) {
-          historicVariableInstance.delete();
-        }
+        historicVariableInstance.delete();
       }
     }
   }
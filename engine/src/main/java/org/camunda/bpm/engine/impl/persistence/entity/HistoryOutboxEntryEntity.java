@@ -0,0 +1,190 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbRevision;
+
+/**
+ * An entry of the history outbox, containing the serialized history events
+ * of one transaction.
+ */
+public class HistoryOutboxEntryEntity implements DbEntity, HasDbRevision, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final int MAX_ERROR_MESSAGE_LENGTH = 666;
+
+  /** the entry waits to be written to the history tables */
+  public static final int STATE_PENDING = 0;
+
+  /** writing the entry failed too often, it is not written anymore */
+  public static final int STATE_FAILED = 1;
+
+  protected String id;
+  protected int revision;
+
+  protected long sequence;
+  protected int state = STATE_PENDING;
+
+  protected String lockOwner;
+  protected Date lockExpirationTime;
+
+  protected int attempts;
+  protected String errorMessage;
+
+  protected byte[] bytes;
+
+  public HistoryOutboxEntryEntity() {
+  }
+
+  public HistoryOutboxEntryEntity(long sequence, byte[] bytes) {
+    this.sequence = sequence;
+    this.bytes = bytes;
+  }
+
+  public void lock(String lockOwner, Date lockExpirationTime) {
+    this.lockOwner = lockOwner;
+    this.lockExpirationTime = lockExpirationTime;
+  }
+
+  public void unlock() {
+    lockOwner = null;
+    lockExpirationTime = null;
+  }
+
+  /**
+   * Records a failed attempt to write the entry and unlocks it. After the given
+   * number of attempts, the entry is moved aside and not written anymore.
+   */
+  public void failed(String errorMessage, int maxAttempts) {
+    attempts++;
+    setErrorMessage(errorMessage);
+    unlock();
+
+    if (attempts >= maxAttempts) {
+      state = STATE_FAILED;
+    }
+  }
+
+  public Object getPersistentState() {
+    Map<String, Object> persistentState = new HashMap<String, Object>();
+    persistentState.put("state", state);
+    persistentState.put("lockOwner", lockOwner);
+    persistentState.put("lockExpirationTime", lockExpirationTime);
+    persistentState.put("attempts", attempts);
+    persistentState.put("errorMessage", errorMessage);
+    return persistentState;
+  }
+
+  public int getRevisionNext() {
+    return revision + 1;
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public int getRevision() {
+    return revision;
+  }
+
+  public void setRevision(int revision) {
+    this.revision = revision;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public void setSequence(long sequence) {
+    this.sequence = sequence;
+  }
+
+  public int getState() {
+    return state;
+  }
+
+  public void setState(int state) {
+    this.state = state;
+  }
+
+  public String getLockOwner() {
+    return lockOwner;
+  }
+
+  public void setLockOwner(String lockOwner) {
+    this.lockOwner = lockOwner;
+  }
+
+  public Date getLockExpirationTime() {
+    return lockExpirationTime;
+  }
+
+  public void setLockExpirationTime(Date lockExpirationTime) {
+    this.lockExpirationTime = lockExpirationTime;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public void setErrorMessage(String errorMessage) {
+    if (errorMessage != null && errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH) {
+      errorMessage = errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH);
+    }
+    this.errorMessage = errorMessage;
+  }
+
+  public byte[] getBytes() {
+    return bytes;
+  }
+
+  public void setBytes(byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+           + "[id=" + id
+           + ", revision=" + revision
+           + ", sequence=" + sequence
+           + ", state=" + state
+           + ", lockOwner=" + lockOwner
+           + ", lockExpirationTime=" + lockExpirationTime
+           + ", attempts=" + attempts
+           + ", errorMessage=" + errorMessage
+           + "]";
+  }
+
+}
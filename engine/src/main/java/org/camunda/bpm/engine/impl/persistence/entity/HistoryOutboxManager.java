@@ -0,0 +1,73 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.Direction;
+import org.camunda.bpm.engine.impl.QueryOrderingProperty;
+import org.camunda.bpm.engine.impl.QueryPropertyImpl;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Manages the entries of the history outbox (ACT_RU_HISTORY_OUTBOX).
+ */
+public class HistoryOutboxManager extends AbstractManager {
+
+  public static final QueryOrderingProperty SEQUENCE_ORDERING_PROPERTY =
+      new QueryOrderingProperty(new QueryPropertyImpl("SEQ_"), Direction.ASCENDING);
+
+  public void insertEntry(HistoryOutboxEntryEntity entry) {
+    getDbEntityManager().insert(entry);
+  }
+
+  public void deleteEntry(HistoryOutboxEntryEntity entry) {
+    getDbEntityManager().delete(entry);
+  }
+
+  public HistoryOutboxEntryEntity findEntryById(String id) {
+    return getDbEntityManager().selectById(HistoryOutboxEntryEntity.class, id);
+  }
+
+  /**
+   * Selects the oldest pending entries which are not locked by a writer, or
+   * whose lock expired. If supported, rows locked by concurrent claims are skipped.
+   */
+  @SuppressWarnings("unchecked")
+  public List<HistoryOutboxEntryEntity> findEntriesToLock(int maxResults) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("now", ClockUtil.getCurrentTime());
+    parameters.put("state", HistoryOutboxEntryEntity.STATE_PENDING);
+    parameters.put("skipLocked", isSkipLockedClaimEnabled());
+
+    List<QueryOrderingProperty> orderingProperties = new ArrayList<QueryOrderingProperty>();
+    orderingProperties.add(SEQUENCE_ORDERING_PROPERTY);
+    parameters.put("orderingProperties", orderingProperties);
+
+    ListQueryParameterObject parameter = new ListQueryParameterObject(parameters, 0, maxResults);
+    return getDbEntityManager().selectList("selectHistoryOutboxEntriesToLock", parameter);
+  }
+
+  /**
+   * @return the number of entries which were moved aside because writing them failed too often
+   */
+  public long findFailedEntryCount() {
+    return (Long) getDbEntityManager().selectOne("selectHistoryOutboxEntryCountByState", HistoryOutboxEntryEntity.STATE_FAILED);
+  }
+
+}
@@ -27,6 +27,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.HasDbDirtyFields;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.incident.IncidentContext;
 import org.camunda.bpm.engine.impl.incident.IncidentHandler;
@@ -49,7 +50,7 @@ import org.camunda.bpm.engine.runtime.Job;
  * @author Dave Syer
  * @author Frederik Heremans
  */
-public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRevision {
+public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRevision, HasDbDirtyFields {
 
   private final static EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
@@ -65,6 +66,22 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
 
   private static final long serialVersionUID = 1L;
 
+  // dirty flags of the fields contained in the persistent state
+  protected static final long DIRTY_EXECUTION_ID = 1L;
+  protected static final long DIRTY_LOCK_OWNER = 1L << 1;
+  protected static final long DIRTY_LOCK_EXPIRATION_TIME = 1L << 2;
+  protected static final long DIRTY_RETRIES = 1L << 3;
+  protected static final long DIRTY_DUEDATE = 1L << 4;
+  protected static final long DIRTY_EXCEPTION_MESSAGE = 1L << 5;
+  protected static final long DIRTY_SUSPENSION_STATE = 1L << 6;
+  protected static final long DIRTY_PROCESS_DEFINITION_ID = 1L << 7;
+  protected static final long DIRTY_JOB_DEFINITION_ID = 1L << 8;
+  protected static final long DIRTY_DEPLOYMENT_ID = 1L << 9;
+  protected static final long DIRTY_JOB_HANDLER_CONFIGURATION = 1L << 10;
+  protected static final long DIRTY_PRIORITY = 1L << 11;
+  protected static final long DIRTY_TENANT_ID = 1L << 12;
+  protected static final long DIRTY_EXCEPTION_BYTE_ARRAY_ID = 1L << 13;
+
   protected String id;
   protected int revision;
 
@@ -110,6 +127,8 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   // sequence counter //////////////////////////
   protected long sequenceCounter = 1;
 
+  protected transient long dirtyFields;
+
   public void execute(CommandContext commandContext) {
     if (executionId != null) {
       ExecutionEntity execution = getExecution();
@@ -153,7 +172,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
       execution.addJob(this);
 
       ProcessDefinitionImpl processDefinition = execution.getProcessDefinition();
-      this.deploymentId = processDefinition.getDeploymentId();
+      setDeploymentId(processDefinition.getDeploymentId());
     }
 
     commandContext
@@ -222,6 +241,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   public void setExecution(ExecutionEntity execution) {
     if (execution != null) {
       this.execution = execution;
+      markDirty(DIRTY_EXECUTION_ID, executionId, execution.getId());
       executionId = execution.getId();
       processInstanceId = execution.getProcessInstanceId();
       this.execution.addJob(this);
@@ -230,6 +250,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
       this.execution.removeJob(this);
       this.execution = execution;
       processInstanceId = null;
+      markDirty(DIRTY_EXECUTION_ID, executionId, null);
       executionId = null;
     }
   }
@@ -255,6 +276,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setExecutionId(String executionId) {
+    markDirty(DIRTY_EXECUTION_ID, this.executionId, executionId);
     this.executionId = executionId;
   }
 
@@ -294,11 +316,17 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
     if(retries == 0 && this.retries > 0) {
       createFailedJobIncident();
     }
+    if (this.retries != retries) {
+      markDirty(DIRTY_RETRIES);
+    }
     this.retries = retries;
   }
 
   // special setter for MyBatis which does not influence incidents
   public void setRetriesFromPersistence(int retries) {
+    if (this.retries != retries) {
+      markDirty(DIRTY_RETRIES);
+    }
     this.retries = retries;
   }
 
@@ -371,6 +399,9 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setSuspensionState(int state) {
+    if (suspensionState != state) {
+      markDirty(DIRTY_SUSPENSION_STATE);
+    }
     this.suspensionState = state;
   }
 
@@ -387,6 +418,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setLockOwner(String claimedBy) {
+    markDirty(DIRTY_LOCK_OWNER, lockOwner, claimedBy);
     this.lockOwner = claimedBy;
   }
 
@@ -395,6 +427,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setLockExpirationTime(Date claimedUntil) {
+    markDirty(DIRTY_LOCK_EXPIRATION_TIME, lockExpirationTime, claimedUntil);
     this.lockExpirationTime = claimedUntil;
   }
 
@@ -411,6 +444,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setProcessDefinitionId(String processDefinitionId) {
+    markDirty(DIRTY_PROCESS_DEFINITION_ID, this.processDefinitionId, processDefinitionId);
     this.processDefinitionId = processDefinitionId;
   }
 
@@ -442,6 +476,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setDuedate(Date duedate) {
+    markDirty(DIRTY_DUEDATE, this.duedate, duedate);
     this.duedate = duedate;
   }
 
@@ -452,6 +487,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
 
     if(byteArray == null) {
       byteArray = createJobExceptionByteArray(exceptionBytes);
+      markDirty(DIRTY_EXCEPTION_BYTE_ARRAY_ID);
       exceptionByteArrayId = byteArray.getId();
       exceptionByteArray = byteArray;
     }
@@ -470,7 +506,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setJobHandlerConfiguration(JobHandlerConfiguration configuration) {
-    this.jobHandlerConfiguration = configuration.toCanonicalString();
+    setJobHandlerConfigurationRaw(configuration.toCanonicalString());
   }
 
   public String getJobHandlerType() {
@@ -486,6 +522,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setJobHandlerConfigurationRaw(String jobHandlerConfiguration) {
+    markDirty(DIRTY_JOB_HANDLER_CONFIGURATION, this.jobHandlerConfiguration, jobHandlerConfiguration);
     this.jobHandlerConfiguration = jobHandlerConfiguration;
   }
 
@@ -506,6 +543,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setJobDefinitionId(String jobDefinitionId) {
+    markDirty(DIRTY_JOB_DEFINITION_ID, this.jobDefinitionId, jobDefinitionId);
     this.jobDefinitionId = jobDefinitionId;
   }
 
@@ -517,9 +555,11 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   public void setJobDefinition(JobDefinition jobDefinition) {
     this.jobDefinition = jobDefinition;
     if (jobDefinition != null) {
+      markDirty(DIRTY_JOB_DEFINITION_ID, jobDefinitionId, jobDefinition.getId());
       jobDefinitionId = jobDefinition.getId();
     }
     else {
+      markDirty(DIRTY_JOB_DEFINITION_ID, jobDefinitionId, null);
       jobDefinitionId = null;
     }
   }
@@ -535,10 +575,10 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
 
   public void setExceptionMessage(String exceptionMessage) {
     if(exceptionMessage != null && exceptionMessage.length() > MAX_EXCEPTION_MESSAGE_LENGTH) {
-      this.exceptionMessage = exceptionMessage.substring(0, MAX_EXCEPTION_MESSAGE_LENGTH);
-    } else {
-      this.exceptionMessage = exceptionMessage;
+      exceptionMessage = exceptionMessage.substring(0, MAX_EXCEPTION_MESSAGE_LENGTH);
     }
+    markDirty(DIRTY_EXCEPTION_MESSAGE, this.exceptionMessage, exceptionMessage);
+    this.exceptionMessage = exceptionMessage;
   }
 
   public String getExceptionByteArrayId() {
@@ -564,6 +604,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setDeploymentId(String deploymentId) {
+    markDirty(DIRTY_DEPLOYMENT_ID, this.deploymentId, deploymentId);
     this.deploymentId = deploymentId;
   }
 
@@ -573,8 +614,8 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void resetLock() {
-    this.lockOwner = null;
-    this.lockExpirationTime = null;
+    setLockOwner(null);
+    setLockExpirationTime(null);
   }
 
   public String getActivityId() {
@@ -591,6 +632,9 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setPriority(long priority) {
+    if (this.priority != priority) {
+      markDirty(DIRTY_PRIORITY);
+    }
     this.priority = priority;
   }
 
@@ -599,6 +643,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setTenantId(String tenantId) {
+    markDirty(DIRTY_TENANT_ID, this.tenantId, tenantId);
     this.tenantId = tenantId;
   }
 
@@ -624,12 +669,32 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
    */
 
   public void unlock() {
-    this.lockOwner = null;
-    this.lockExpirationTime = null;
+    setLockOwner(null);
+    setLockExpirationTime(null);
   }
 
   public abstract String getType();
 
+  // dirty field tracking /////////////////////////////////////////////////////
+
+  public long getDirtyFields() {
+    return dirtyFields;
+  }
+
+  public void clearDirtyFields() {
+    dirtyFields = 0;
+  }
+
+  protected void markDirty(long field) {
+    dirtyFields |= field;
+  }
+
+  protected void markDirty(long field, Object oldValue, Object newValue) {
+    if (oldValue == null ? newValue != null : !oldValue.equals(newValue)) {
+      dirtyFields |= field;
+    }
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
@@ -14,6 +14,8 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import org.camunda.bpm.engine.impl.*;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionContext;
 import org.camunda.bpm.engine.impl.cfg.TransactionListener;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -40,6 +42,16 @@ public class JobManager extends AbstractManager {
   public static QueryOrderingProperty JOB_TYPE_ORDERING_PROPERTY = new QueryOrderingProperty(null, JobQueryProperty.TYPE);
   public static QueryOrderingProperty JOB_DUEDATE_ORDERING_PROPERTY = new QueryOrderingProperty(null, JobQueryProperty.DUEDATE);
 
+  /**
+   * collects the jobs of the current transaction which are dispatched locally
+   */
+  protected LocalJobDispatchNotification localJobDispatchNotification;
+
+  /**
+   * ids of the process instances of which an exclusive job is dispatched locally in this transaction
+   */
+  protected Set<String> locallyDispatchedExclusiveProcessInstanceIds = new HashSet<String>();
+
   static {
     JOB_PRIORITY_ORDERING_PROPERTY.setDirection(Direction.DESCENDING);
     JOB_TYPE_ORDERING_PROPERTY.setDirection(Direction.DESCENDING);
@@ -125,6 +137,13 @@ public class JobManager extends AbstractManager {
       job.setLockExpirationTime(new Date(currentTime.getTime() + jobExecutor.getLockTimeInMillis()));
       job.setLockOwner(jobExecutor.getLockOwner());
       transactionListener = new ExclusiveJobAddedNotification(job.getId(), jobExecutorContext);
+    } else if (isLocalJobDispatchPossible(job, jobExecutor)) {
+      // lock job & hand it over to the job executor after commit
+      Date currentTime = ClockUtil.getCurrentTime();
+      job.setLockExpirationTime(new Date(currentTime.getTime() + jobExecutor.getLockTimeInMillis()));
+      job.setLockOwner(jobExecutor.getLockOwner());
+      getLocalJobDispatchNotification(jobExecutor).addJob(job);
+      return;
     } else {
       // notify job executor:
       transactionListener = new MessageAddedNotification(jobExecutor);
@@ -134,6 +153,66 @@ public class JobManager extends AbstractManager {
       .addTransactionListener(TransactionState.COMMITTED, transactionListener);
   }
 
+  protected boolean isLocalJobDispatchPossible(JobEntity job, JobExecutor jobExecutor) {
+    LocalJobDispatcher localJobDispatcher = jobExecutor.getLocalJobDispatcher();
+    if (localJobDispatcher == null
+        || job.isSuspended()
+        || job.getRetries() <= 0
+        || (job.getDuedate() != null && job.getDuedate().after(ClockUtil.getCurrentTime()))) {
+      return false;
+    }
+
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    if (configuration.isJobExecutorDeploymentAware()
+        && job.getDeploymentId() != null
+        && !configuration.getRegisteredDeployments().contains(job.getDeploymentId())) {
+      return false;
+    }
+
+    if (job.isExclusive() && job.getProcessInstanceId() != null
+        && !isExclusiveLocalJobDispatchPossible(job.getProcessInstanceId())) {
+      return false;
+    }
+
+    // the job is left to the regular acquisition if the local queue is full
+    if (!localJobDispatcher.reserve()) {
+      return false;
+    }
+
+    if (job.isExclusive() && job.getProcessInstanceId() != null) {
+      locallyDispatchedExclusiveProcessInstanceIds.add(job.getProcessInstanceId());
+    }
+    return true;
+  }
+
+  /**
+   * Like the acquisition (see <code>AtomicExclusiveJobs</code> in the job mapping), an exclusive job is
+   * only locked if no other exclusive job of its process instance is locked. Otherwise, it is left to the
+   * regular acquisition which executes it after the locked job.
+   */
+  protected boolean isExclusiveLocalJobDispatchPossible(String processInstanceId) {
+    if (locallyDispatchedExclusiveProcessInstanceIds.contains(processInstanceId)) {
+      return false;
+    }
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceId", processInstanceId);
+    parameters.put("now", ClockUtil.getCurrentTime());
+    Long lockedExclusiveJobs = (Long) getDbEntityManager().selectOne("selectLockedExclusiveJobCountByProcessInstanceId", parameters);
+    return lockedExclusiveJobs == 0;
+  }
+
+  protected LocalJobDispatchNotification getLocalJobDispatchNotification(JobExecutor jobExecutor) {
+    if (localJobDispatchNotification == null) {
+      localJobDispatchNotification = new LocalJobDispatchNotification(jobExecutor.getLocalJobDispatcher());
+
+      TransactionContext transactionContext = Context.getCommandContext().getTransactionContext();
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, localJobDispatchNotification);
+      transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, localJobDispatchNotification.getRollbackListener());
+    }
+    return localJobDispatchNotification;
+  }
+
   protected boolean areInSameProcessInstance(JobEntity job1, JobEntity job2) {
     if (job1 == null || job2 == null) {
       return false;
@@ -160,8 +239,15 @@ public class JobManager extends AbstractManager {
     return (JobEntity) getDbEntityManager().selectOne("selectJob", jobId);
   }
 
-  @SuppressWarnings("unchecked")
   public List<JobEntity> findNextJobsToExecute(Page page) {
+    return findNextJobsToExecute(page, null);
+  }
+
+  /**
+   * @param shard if not null, only jobs of the given shard are selected
+   */
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findNextJobsToExecute(Page page, JobAcquisitionShard shard) {
     Map<String,Object> params = new HashMap<String, Object>();
     Date now = ClockUtil.getCurrentTime();
     params.put("now", now);
@@ -184,9 +270,15 @@ public class JobManager extends AbstractManager {
       orderingProperties.add(JOB_DUEDATE_ORDERING_PROPERTY);
     }
 
+    if (shard != null && shard.getShardCount() > 1) {
+      params.put("shardCount", shard.getShardCount());
+      params.put("shardIndex", shard.getShardIndex());
+    }
+
     params.put("orderingProperties", orderingProperties);
     // don't apply default sorting
     params.put("applyOrdering", !orderingProperties.isEmpty());
+    params.put("skipLocked", isSkipLockedClaimEnabled());
 
     return getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
   }
@@ -206,9 +298,17 @@ public class JobManager extends AbstractManager {
     return getDbEntityManager().selectList("selectJobsByJobDefinitionId", jobDefinitionId);
   }
 
-  @SuppressWarnings("unchecked")
   public JobEntity findJobByHandlerType(String handlerType) {
-    return (JobEntity)getDbEntityManager().selectOne("selectJobsByHandlerType", handlerType);
+    List<JobEntity> jobs = findJobsByHandlerType(handlerType);
+    if (jobs.isEmpty()) {
+      return null;
+    }
+    return jobs.get(0);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findJobsByHandlerType(String handlerType) {
+    return getDbEntityManager().selectList("selectJobsByHandlerType", handlerType);
   }
 
   @SuppressWarnings("unchecked")
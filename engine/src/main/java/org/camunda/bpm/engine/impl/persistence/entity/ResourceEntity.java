@@ -14,8 +14,12 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
 import org.camunda.bpm.engine.repository.Resource;
 
 
@@ -26,12 +30,15 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
 
   private static final long serialVersionUID = 1L;
 
+  public static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+
   protected String id;
   protected String name;
   protected byte[] bytes;
   protected String deploymentId;
   protected boolean generated = false;
   protected String tenantId;
+  protected String contentHash;
 
   public String getId() {
     return id;
@@ -55,6 +62,33 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
 
   public void setBytes(byte[] bytes) {
     this.bytes = bytes;
+    this.contentHash = null;
+  }
+
+  /**
+   * Returns the base64 encoded {@value #CONTENT_HASH_ALGORITHM} digest of the resource
+   * bytes. The digest is computed lazily if the bytes are present but no digest has
+   * been set yet. Resources stored before the digest was introduced have none.
+   */
+  public String getContentHash() {
+    if (contentHash == null && bytes != null) {
+      contentHash = computeContentHash(bytes);
+    }
+    return contentHash;
+  }
+
+  public void setContentHash(String contentHash) {
+    this.contentHash = contentHash;
+  }
+
+  protected String computeContentHash(byte[] bytes) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+      return new String(Base64.encodeBase64(digest.digest(bytes)));
+
+    } catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Cannot lookup " + CONTENT_HASH_ALGORITHM + " algorithm");
+    }
   }
 
   public String getDeploymentId() {
@@ -97,6 +131,7 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
            + ", deploymentId=" + deploymentId
            + ", generated=" + generated
            + ", tenantId=" + tenantId
+           + ", contentHash=" + contentHash
            + "]";
   }
 }
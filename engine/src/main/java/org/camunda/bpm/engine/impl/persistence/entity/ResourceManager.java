@@ -13,7 +13,9 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 import java.util.HashMap;
 import java.util.List;
@@ -87,4 +89,27 @@ public class ResourceManager extends AbstractManager {
     return existingResourcesByName;
   }
 
+  /**
+   * Like {@link #findLatestResourcesByDeploymentName(String, Set, String, String)} but
+   * without loading the bytes of the resources. The returned entities only carry the
+   * content hash and are not added to the entity cache.
+   */
+  public Map<String, ResourceEntity> findLatestResourceContentHashesByDeploymentName(String deploymentName, Set<String> resourcesToFind, String source, String tenantId) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("deploymentName", deploymentName);
+    params.put("resourcesToFind", resourcesToFind);
+    params.put("source", source);
+    params.put("tenantId", tenantId);
+
+    final Map<String, ResourceEntity> existingResourcesByName = new HashMap<String, ResourceEntity>();
+    ListQueryParameterObject parameter = new ListQueryParameterObject(params, 0, Integer.MAX_VALUE);
+    getDbEntityManager().selectForEach("selectLatestResourceContentHashesByDeploymentName", parameter, new QueryResultHandler<ResourceEntity>() {
+      public void handleResult(ResourceEntity existingResource) {
+        existingResourcesByName.put(existingResource.getName(), existingResource);
+      }
+    });
+
+    return existingResourcesByName;
+  }
+
 }
@@ -86,6 +86,7 @@ public class TableDataManager extends AbstractManager {
     persistentObjectToTableNameMap.put(FilterEntity.class, "ACT_RU_FILTER");
 
     persistentObjectToTableNameMap.put(MeterLogEntity.class, "ACT_RU_METER_LOG");
+    persistentObjectToTableNameMap.put(HistoryOutboxEntryEntity.class, "ACT_RU_HISTORY_OUTBOX");
     // repository
     persistentObjectToTableNameMap.put(DeploymentEntity.class, "ACT_RE_DEPLOYMENT");
     persistentObjectToTableNameMap.put(ProcessDefinitionEntity.class, "ACT_RE_PROCDEF");
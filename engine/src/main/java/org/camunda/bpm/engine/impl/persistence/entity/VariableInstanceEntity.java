@@ -28,6 +28,7 @@ import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.DbEntityLifecycleAware;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.HasDbDirtyFields;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.persistence.entity.util.ByteArrayField;
 import org.camunda.bpm.engine.impl.persistence.entity.util.TypedValueField;
@@ -40,12 +41,28 @@ import org.camunda.bpm.engine.variable.value.TypedValue;
 /**
  * @author Tom Baeyens
  */
-public class VariableInstanceEntity implements VariableInstance, CoreVariableInstance, ValueFields, DbEntity, DbEntityLifecycleAware, TypedValueUpdateListener, HasDbRevision, Serializable {
+public class VariableInstanceEntity implements VariableInstance, CoreVariableInstance, ValueFields, DbEntity, DbEntityLifecycleAware, TypedValueUpdateListener, HasDbRevision, HasDbDirtyFields, Serializable {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
   private static final long serialVersionUID = 1L;
 
+  // flags of the persistent fields for dirty field tracking
+  protected static final long DIRTY_SERIALIZER_NAME = 1L;
+  protected static final long DIRTY_LONG_VALUE = 1L << 1;
+  protected static final long DIRTY_DOUBLE_VALUE = 1L << 2;
+  protected static final long DIRTY_TEXT_VALUE = 1L << 3;
+  protected static final long DIRTY_TEXT_VALUE2 = 1L << 4;
+  protected static final long DIRTY_BYTE_ARRAY_VALUE_ID = 1L << 5;
+  protected static final long DIRTY_SEQUENCE_COUNTER = 1L << 6;
+  protected static final long DIRTY_CONCURRENT_LOCAL = 1L << 7;
+  protected static final long DIRTY_EXECUTION_ID = 1L << 8;
+  protected static final long DIRTY_TASK_ID = 1L << 9;
+  protected static final long DIRTY_CASE_EXECUTION_ID = 1L << 10;
+  protected static final long DIRTY_CASE_INSTANCE_ID = 1L << 11;
+  protected static final long DIRTY_TENANT_ID = 1L << 12;
+  protected static final long DIRTY_PROCESS_INSTANCE_ID = 1L << 13;
+
   protected String id;
   protected int revision;
 
@@ -106,6 +123,16 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   // transient properties
   protected ExecutionEntity execution;
 
+  protected transient long dirtyFields;
+
+  /**
+   * The serializer name and the byte array id are written by the typed value and byte
+   * array fields, so their values of the last {@link #clearDirtyFields()} are compared
+   * instead of flagging them.
+   */
+  protected transient String cleanSerializerName;
+  protected transient String cleanByteArrayValueId;
+
   // Default constructor for SQL mapping
   public VariableInstanceEntity() {
     typedValueField.addImplicitUpdateListener(this);
@@ -191,31 +218,35 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   // lazy initialized relations ///////////////////////////////////////////////
 
   public void setProcessInstanceId(String processInstanceId) {
+    markDirty(DIRTY_PROCESS_INSTANCE_ID, this.processInstanceId, processInstanceId);
     this.processInstanceId = processInstanceId;
   }
 
   public void setExecutionId(String executionId) {
+    markDirty(DIRTY_EXECUTION_ID, this.executionId, executionId);
     this.executionId = executionId;
   }
 
   public void setCaseInstanceId(String caseInstanceId) {
+    markDirty(DIRTY_CASE_INSTANCE_ID, this.caseInstanceId, caseInstanceId);
     this.caseInstanceId = caseInstanceId;
   }
 
   public void setCaseExecutionId(String caseExecutionId) {
+    markDirty(DIRTY_CASE_EXECUTION_ID, this.caseExecutionId, caseExecutionId);
     this.caseExecutionId = caseExecutionId;
   }
 
   public void setCaseExecution(CaseExecutionEntity caseExecution) {
     if (caseExecution != null) {
-      this.caseInstanceId = caseExecution.getCaseInstanceId();
-      this.caseExecutionId = caseExecution.getId();
-      this.tenantId = caseExecution.getTenantId();
+      setCaseInstanceId(caseExecution.getCaseInstanceId());
+      setCaseExecutionId(caseExecution.getId());
+      setTenantId(caseExecution.getTenantId());
     }
     else {
-      this.caseInstanceId = null;
-      this.caseExecutionId = null;
-      this.tenantId = null;
+      setCaseInstanceId(null);
+      setCaseExecutionId(null);
+      setTenantId(null);
     }
   }
 
@@ -275,10 +306,10 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   }
 
   public void clearValueFields() {
-    this.longValue = null;
-    this.doubleValue = null;
-    this.textValue = null;
-    this.textValue2 = null;
+    setLongValue(null);
+    setDoubleValue(null);
+    setTextValue(null);
+    setTextValue2(null);
     typedValueField.clear();
 
     if(byteArrayField.getByteArrayId() != null) {
@@ -318,14 +349,14 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
     this.execution = execution;
 
     if (execution == null) {
-      this.executionId = null;
-      this.processInstanceId = null;
-      this.tenantId = null;
+      setExecutionId(null);
+      setProcessInstanceId(null);
+      setTenantId(null);
     }
     else {
       setExecutionId(execution.getId());
-      this.processInstanceId = execution.getProcessInstanceId();
-      this.tenantId = execution.getTenantId();
+      setProcessInstanceId(execution.getProcessInstanceId());
+      setTenantId(execution.getTenantId());
     }
 
   }
@@ -377,6 +408,7 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   }
 
   public void setLongValue(Long longValue) {
+    markDirty(DIRTY_LONG_VALUE, this.longValue, longValue);
     this.longValue = longValue;
   }
 
@@ -385,6 +417,7 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   }
 
   public void setDoubleValue(Double doubleValue) {
+    markDirty(DIRTY_DOUBLE_VALUE, this.doubleValue, doubleValue);
     this.doubleValue = doubleValue;
   }
 
@@ -393,6 +426,7 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   }
 
   public void setTextValue(String textValue) {
+    markDirty(DIRTY_TEXT_VALUE, this.textValue, textValue);
     this.textValue = textValue;
   }
 
@@ -425,6 +459,7 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   }
 
   public void setTextValue2(String textValue2) {
+    markDirty(DIRTY_TEXT_VALUE2, this.textValue2, textValue2);
     this.textValue2 = textValue2;
   }
 
@@ -433,13 +468,14 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   }
 
   public void setTaskId(String taskId) {
+    markDirty(DIRTY_TASK_ID, this.taskId, taskId);
     this.taskId = taskId;
   }
 
   public void setTask(TaskEntity task) {
     if (task != null) {
-      this.taskId = task.getId();
-      this.tenantId = task.getTenantId();
+      setTaskId(task.getId());
+      setTenantId(task.getTenantId());
 
       if (task.getExecution() != null) {
         setExecution(task.getExecution());
@@ -449,8 +485,8 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
       }
     }
     else {
-      this.taskId = null;
-      this.tenantId = null;
+      setTaskId(null);
+      setTenantId(null);
       setExecution(null);
       setCaseExecution(null);
     }
@@ -518,11 +554,15 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   }
 
   public void setSequenceCounter(long sequenceCounter) {
+    if (this.sequenceCounter != sequenceCounter) {
+      markDirty(DIRTY_SEQUENCE_COUNTER);
+    }
     this.sequenceCounter = sequenceCounter;
   }
 
    public void incrementSequenceCounter() {
     sequenceCounter++;
+    markDirty(DIRTY_SEQUENCE_COUNTER);
   }
 
 
@@ -531,6 +571,9 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   }
 
   public void setConcurrentLocal(boolean isConcurrentLocal) {
+    if (this.isConcurrentLocal != isConcurrentLocal) {
+      markDirty(DIRTY_CONCURRENT_LOCAL);
+    }
     this.isConcurrentLocal = isConcurrentLocal;
   }
 
@@ -643,7 +686,32 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   }
 
   public void setTenantId(String tenantId) {
+    markDirty(DIRTY_TENANT_ID, this.tenantId, tenantId);
     this.tenantId = tenantId;
   }
 
+  // dirty field tracking /////////////////////////////////////////////////////
+
+  public long getDirtyFields() {
+    markDirty(DIRTY_SERIALIZER_NAME, cleanSerializerName, typedValueField.getSerializerName());
+    markDirty(DIRTY_BYTE_ARRAY_VALUE_ID, cleanByteArrayValueId, byteArrayField.getByteArrayId());
+    return dirtyFields;
+  }
+
+  public void clearDirtyFields() {
+    dirtyFields = 0;
+    cleanSerializerName = typedValueField.getSerializerName();
+    cleanByteArrayValueId = byteArrayField.getByteArrayId();
+  }
+
+  protected void markDirty(long field) {
+    dirtyFields |= field;
+  }
+
+  protected void markDirty(long field, Object oldValue, Object newValue) {
+    if (oldValue == null ? newValue != null : !oldValue.equals(newValue)) {
+      dirtyFields |= field;
+    }
+  }
+
 }
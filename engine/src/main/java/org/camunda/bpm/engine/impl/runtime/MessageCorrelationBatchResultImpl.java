@@ -0,0 +1,60 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
+
+public class MessageCorrelationBatchResultImpl implements MessageCorrelationBatchResult {
+
+  protected String messageName;
+  protected String businessKey;
+  protected MessageCorrelationResult correlationResult;
+  protected Exception exception;
+
+  public MessageCorrelationBatchResultImpl(String messageName, String businessKey, MessageCorrelationResult correlationResult, Exception exception) {
+    this.messageName = messageName;
+    this.businessKey = businessKey;
+    this.correlationResult = correlationResult;
+    this.exception = exception;
+  }
+
+  public static MessageCorrelationBatchResultImpl correlated(String messageName, String businessKey, MessageCorrelationResult correlationResult) {
+    return new MessageCorrelationBatchResultImpl(messageName, businessKey, correlationResult, null);
+  }
+
+  public static MessageCorrelationBatchResultImpl failed(String messageName, String businessKey, Exception exception) {
+    return new MessageCorrelationBatchResultImpl(messageName, businessKey, null, exception);
+  }
+
+  public String getMessageName() {
+    return messageName;
+  }
+
+  public String getBusinessKey() {
+    return businessKey;
+  }
+
+  public boolean isCorrelated() {
+    return correlationResult != null;
+  }
+
+  public MessageCorrelationResult getCorrelationResult() {
+    return correlationResult;
+  }
+
+  public Exception getException() {
+    return exception;
+  }
+
+}
@@ -87,4 +87,15 @@ public class CollectionUtil {
     }
     set.addAll(values);
   }
+
+  /**
+   * @return the given list split into consecutive sublists of at most the given size
+   */
+  public static <T> List<List<T>> partition(List<T> list, int partitionSize) {
+    List<List<T>> partitions = new ArrayList<List<T>>();
+    for (int i = 0; i < list.size(); i += partitionSize) {
+      partitions.add(list.subList(i, Math.min(i + partitionSize, list.size())));
+    }
+    return partitions;
+  }
 }
@@ -106,6 +106,18 @@ public class Parse extends DefaultHandler {
     return this;
   }
 
+  /**
+   * Uses an element tree of a previous parse of the same source (e.g. a snapshot
+   * of the second level deployment cache) instead of parsing and validating the source again.
+   */
+  public Parse sourceRootElement(Element rootElement) {
+    if (name==null) {
+      name("rootElement");
+    }
+    this.rootElement = rootElement;
+    return this;
+  }
+
   protected void setStreamSource(StreamSource streamSource) {
     if (this.streamSource!=null) {
       throw LOG.multipleSourcesException(this.streamSource, streamSource);
@@ -114,15 +126,21 @@ public class Parse extends DefaultHandler {
   }
 
   public Parse execute() {
+    if (streamSource == null && rootElement != null) {
+      // the source was parsed before
+      return this;
+    }
+
     try {
       InputStream inputStream = streamSource.getInputStream();
 
-      if (schemaResource == null) { // must be done before parser is created
-        parser.getSaxParserFactory().setNamespaceAware(false);
-        parser.getSaxParserFactory().setValidating(false);
+      // the factory is shared by all parses: configure it and create the parser atomically
+      SAXParser saxParser;
+      SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
+      synchronized (saxParserFactory) {
+        configureSaxParserFactory(saxParserFactory);
+        saxParser = parser.getSaxParser();
       }
-
-      SAXParser saxParser = parser.getSaxParser();
       if (schemaResource != null) {
         saxParser.setProperty(JAXP_SCHEMA_LANGUAGE, W3C_XML_SCHEMA);
         saxParser.setProperty(JAXP_SCHEMA_SOURCE, schemaResource);
@@ -192,16 +210,25 @@ public class Parse extends DefaultHandler {
   }
 
   public void setSchemaResource(String schemaResource) {
-    SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
-    saxParserFactory.setNamespaceAware(true);
-    saxParserFactory.setValidating(true);
-    try {
-      saxParserFactory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+    this.schemaResource = schemaResource;
+  }
+
+  /** must be done before parser is created */
+  protected void configureSaxParserFactory(SAXParserFactory saxParserFactory) {
+    if (schemaResource == null) {
+      saxParserFactory.setNamespaceAware(false);
+      saxParserFactory.setValidating(false);
     }
-    catch (Exception e) {
-      LOG.unableToSetSchemaResource(e);
+    else {
+      saxParserFactory.setNamespaceAware(true);
+      saxParserFactory.setValidating(true);
+      try {
+        saxParserFactory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+      }
+      catch (Exception e) {
+        LOG.unableToSetSchemaResource(e);
+      }
     }
-    this.schemaResource = schemaResource;
   }
 
 }
@@ -63,4 +63,94 @@ public class Metrics {
   public final static String HISTORY_CLEANUP_REMOVED_CASE_INSTANCES = "history-cleanup-removed-case-instances";
   public final static String HISTORY_CLEANUP_REMOVED_DECISION_INSTANCES = "history-cleanup-removed-decision-instances";
   public final static String HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS = "history-cleanup-removed-batch-operations";
+
+  /**
+   * Number of history outbox entries (i.e. committed transactions) and history events written by the history outbox writer.
+   */
+  public final static String HISTORY_OUTBOX_ENTRIES_WRITTEN = "history-outbox-entries-written";
+  public final static String HISTORY_OUTBOX_EVENTS_WRITTEN = "history-outbox-events-written";
+
+  /**
+   * Number of history events which were merged into the event creating the same entity by the history outbox writer.
+   */
+  public final static String HISTORY_OUTBOX_EVENTS_COALESCED = "history-outbox-events-coalesced";
+
+  /**
+   * Number of transactions which had to write the history outbox themselves because
+   * the backlog of the history outbox writer exceeded its maximum.
+   */
+  public final static String HISTORY_OUTBOX_BACKPRESSURE = "history-outbox-backpressure";
+
+  /**
+   * Number of history outbox entries which were not written because writing them failed too often.
+   */
+  public final static String HISTORY_OUTBOX_ENTRIES_FAILED = "history-outbox-entries-failed";
+
+  /**
+   * Number of process definitions which were not found in the deployment cache when resolving them,
+   * e.g. because they were evicted.
+   */
+  public final static String PROCESS_DEFINITION_CACHE_MISS = "process-definition-cache-miss";
+
+  /**
+   * Number of process definitions which were evicted from the deployment cache because its capacity was exceeded.
+   */
+  public final static String PROCESS_DEFINITION_CACHE_EVICTION = "process-definition-cache-eviction";
+
+  /**
+   * Number of deployment resources which were (not) transformed from a snapshot of the second level deployment cache.
+   */
+  public final static String DEFINITION_SNAPSHOT_HIT = "definition-snapshot-hit";
+  public final static String DEFINITION_SNAPSHOT_MISS = "definition-snapshot-miss";
+
+  // latency histograms in microseconds (see MetricsHistogram), they are kept
+  // in memory only and are not reported to the database
+
+  /**
+   * Time spent executing the body of a command, excluding the flush of the command context.
+   */
+  public final static String COMMAND_EXECUTION_TIME = "command-execution-time";
+
+  /**
+   * Time spent flushing the entity cache and the resulting database operations.
+   */
+  public final static String DB_FLUSH_TIME = "db-flush-time";
+
+  /**
+   * Time spent executing a job, including the commit of its transaction.
+   */
+  public final static String JOB_EXECUTION_TIME = "job-execution-time";
+
+  /**
+   * Time between the job executor handing acquired jobs to its execution queue and the
+   * start of their execution.
+   */
+  public final static String JOB_QUEUE_WAIT_TIME = "job-queue-wait-time";
+
+  /**
+   * Time spent querying the next jobs to execute during job acquisition.
+   */
+  public final static String JOB_ACQUISITION_QUERY_TIME = "job-acquisition-query-time";
+
+  // gauges which are computed when read, they are not reported to the database either
+
+  /**
+   * Number of job batches waiting in the queue of the job executor thread pool.
+   */
+  public final static String JOB_EXECUTOR_QUEUE_SIZE = "job-executor-queue-size";
+
+  /**
+   * Number of job executor threads which are currently executing jobs.
+   */
+  public final static String JOB_EXECUTOR_ACTIVE_THREADS = "job-executor-active-threads";
+
+  /**
+   * Current backoff level of job acquisition due to failures to lock acquired jobs.
+   */
+  public final static String JOB_ACQUISITION_BACKOFF_LEVEL = "job-acquisition-backoff-level";
+
+  /**
+   * Number of process, case, decision and decision requirements definitions in the deployment cache.
+   */
+  public final static String DEPLOYMENT_CACHE_SIZE = "deployment-cache-size";
 }
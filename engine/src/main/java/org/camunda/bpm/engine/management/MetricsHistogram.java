@@ -0,0 +1,62 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+/**
+ * A snapshot of the distribution of values recorded for a latency metric,
+ * e.g. the execution time of commands. All values are in microseconds.
+ *
+ * <p>Percentiles are computed from log-bucketed counts, so a returned value
+ * is the upper bound of the bucket the percentile falls into and may
+ * overestimate the actual value by at most 1/16 (6.25%).</p>
+ *
+ * @since 7.8
+ */
+public interface MetricsHistogram {
+
+  /**
+   * @see constants in {@link Metrics} for a list of names which can be returned here
+   *
+   * @return the name of the metric
+   */
+  String getName();
+
+  /**
+   * @return the number of recorded values
+   */
+  long getCount();
+
+  /**
+   * @return the sum of all recorded values
+   */
+  long getSum();
+
+  /**
+   * @return the largest recorded value or 0 if no value was recorded
+   */
+  long getMax();
+
+  /**
+   * @return the arithmetic mean of all recorded values or 0 if no value was recorded
+   */
+  double getMean();
+
+  /**
+   * Returns the value below which the given percentage of recorded values fall.
+   *
+   * @param percentile a percentage between 0 and 100, e.g. 99.9
+   * @return the value at the percentile or 0 if no value was recorded
+   */
+  long getValueAtPercentile(double percentile);
+
+}
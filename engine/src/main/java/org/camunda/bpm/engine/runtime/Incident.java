@@ -48,6 +48,12 @@ public interface Incident {
    */
   public static final String EXTERNAL_TASK_HANDLER_TYPE = "failedExternalTask";
 
+  /**
+   * Handler type for incidents created on failure or timeout of an
+   * {@link org.camunda.bpm.engine.delegate.AsyncJavaDelegate}
+   */
+  public static final String ASYNC_JAVA_DELEGATE_HANDLER_TYPE = "failedAsyncJavaDelegate";
+
   /**
    * Returns the unique identifier for this incident.
    */
@@ -70,6 +76,7 @@ public interface Incident {
    *
    * @see Incident#FAILED_JOB_HANDLER_TYPE
    * @see Incident#EXTERNAL_TASK_HANDLER_TYPE
+   * @see Incident#ASYNC_JAVA_DELEGATE_HANDLER_TYPE
    */
   public String getIncidentType();
 
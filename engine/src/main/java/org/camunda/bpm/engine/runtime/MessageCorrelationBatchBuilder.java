@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.RuntimeService;
+
+/**
+ * <p>Correlates many messages at once. In contrast to calling
+ * {@link MessageCorrelationBuilder#correlateWithResult()} for every message,
+ * the messages are correlated in transactions of {@link #transactionSize(int)}
+ * messages and the waiting executions of all messages of a transaction which
+ * are correlated by message name and business key only are resolved with a
+ * single query.</p>
+ *
+ * <p>Messages whose execution was already correlated by a previous message of
+ * the same transaction are correlated against the current state of the
+ * transaction like a single message. If correlating one of the messages fails with
+ * an exception, the transaction is rolled back and each of its messages is
+ * correlated in a separate transaction, so that the failure only affects the
+ * message which caused it.</p>
+ *
+ * @see RuntimeService#createMessageCorrelationBatch()
+ * @since 7.8
+ */
+public interface MessageCorrelationBatchBuilder {
+
+  /**
+   * Adds a message which is correlated like
+   * {@link MessageCorrelationBuilder#correlateWithResult()}.
+   *
+   * @param messageName the name of the message, must not be null
+   * @param businessKey the business key of the process instance to correlate to or null
+   * @param correlationKeys process instance variables the process instance must have
+   *   or null
+   * @param variables the payload which is set as process instance variables or null
+   */
+  MessageCorrelationBatchBuilder message(String messageName, String businessKey, Map<String, Object> correlationKeys, Map<String, Object> variables);
+
+  /**
+   * Adds a message defined by a builder created with
+   * {@link RuntimeService#createMessageCorrelation(String)}, e.g. to correlate
+   * by tenant id or local variables.
+   */
+  MessageCorrelationBatchBuilder message(MessageCorrelationBuilder messageCorrelation);
+
+  /**
+   * Sets the maximal number of messages which are correlated in one transaction.
+   * Default: 100
+   */
+  MessageCorrelationBatchBuilder transactionSize(int transactionSize);
+
+  /**
+   * Correlates all messages.
+   *
+   * @return one result per message in the order the messages were added. A
+   *   message which can not be correlated, e.g. because no or more than one
+   *   execution or process definition matches, or because of an
+   *   {@link AuthorizationException}, has a failed result.
+   */
+  List<MessageCorrelationBatchResult> correlateWithResult();
+
+}
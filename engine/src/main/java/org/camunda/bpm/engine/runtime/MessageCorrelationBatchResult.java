@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+/**
+ * The result of correlating a single message of a {@link MessageCorrelationBatchBuilder}.
+ *
+ * @since 7.8
+ */
+public interface MessageCorrelationBatchResult {
+
+  String getMessageName();
+
+  String getBusinessKey();
+
+  /**
+   * @return true if the message was correlated successfully
+   */
+  boolean isCorrelated();
+
+  /**
+   * @return the result of the correlation or null if the message was not correlated
+   */
+  MessageCorrelationResult getCorrelationResult();
+
+  /**
+   * @return the reason why the message was not correlated or null if it was correlated
+   */
+  Exception getException();
+
+}
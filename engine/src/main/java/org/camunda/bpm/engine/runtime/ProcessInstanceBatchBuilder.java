@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.exception.ProcessInstanceBatchException;
+
+/**
+ * <p>Starts many instances of the same process definition at once. In contrast
+ * to calling {@link ProcessInstantiationBuilder#execute()} for every instance,
+ * the instances are started in transactions of {@link #transactionSize(int)}
+ * instances which share the lookup of the process definition and the
+ * authorization check, and whose executions, variables and history are
+ * flushed together.</p>
+ *
+ * <p>The instances are started synchronously and not related to the
+ * asynchronous {@link org.camunda.bpm.engine.batch.Batch}. If starting an
+ * instance fails, the transaction of this instance is rolled back. The instances
+ * of previous transactions stay started; their ids are provided by the
+ * {@link ProcessInstanceBatchException} which is thrown in this case.</p>
+ *
+ * @see RuntimeService#createProcessInstanceBatchById(String)
+ * @see RuntimeService#createProcessInstanceBatchByKey(String)
+ * @since 7.8
+ */
+public interface ProcessInstanceBatchBuilder {
+
+  /**
+   * Adds a process instance to start.
+   *
+   * @param businessKey the business key of the process instance or null
+   * @param variables the variables which are set on the process instance or null
+   */
+  ProcessInstanceBatchBuilder instance(String businessKey, Map<String, Object> variables);
+
+  /**
+   * Specify the id of the tenant the process definition belongs to. Can only be
+   * used when the definition is referenced by <code>key</code>.
+   */
+  ProcessInstanceBatchBuilder processDefinitionTenantId(String tenantId);
+
+  /**
+   * Specify that the process definition belongs to no tenant. Can only be
+   * used when the definition is referenced by <code>key</code>.
+   */
+  ProcessInstanceBatchBuilder processDefinitionWithoutTenantId();
+
+  /**
+   * Sets the maximal number of process instances which are started in one transaction.
+   * Default: 100
+   */
+  ProcessInstanceBatchBuilder transactionSize(int transactionSize);
+
+  /**
+   * Starts all process instances. All instances are started in the same version of the
+   * process definition, also if a new version is deployed in the meantime.
+   *
+   * @return the ids of the started process instances in the order the instances were added
+   *
+   * @throws AuthorizationException
+   *          if the user has no {@link org.camunda.bpm.engine.authorization.Permissions#CREATE} permission on
+   *          {@link org.camunda.bpm.engine.authorization.Resources#PROCESS_INSTANCE} and no
+   *          {@link org.camunda.bpm.engine.authorization.Permissions#CREATE_INSTANCE} permission on
+   *          {@link org.camunda.bpm.engine.authorization.Resources#PROCESS_DEFINITION}.
+   * @throws ProcessInstanceBatchException
+   *          if a transaction failed after the instances of previous transactions were started.
+   *          If the first transaction fails, its exception is thrown unchanged.
+   */
+  List<String> execute();
+
+}
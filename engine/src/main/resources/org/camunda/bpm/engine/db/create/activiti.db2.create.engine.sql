@@ -23,6 +23,9 @@ values ('history.cleanup.job.lock', '0', 1);
 insert into ACT_GE_PROPERTY
 values ('startup.lock', '0', 1);
 
+insert into ACT_GE_PROPERTY
+values ('authorization.revision', '0', 1);
+
 create table ACT_GE_BYTEARRAY (
     ID_ varchar(64) not null,
     REV_ integer,
@@ -31,6 +34,7 @@ create table ACT_GE_BYTEARRAY (
     BYTES_ BLOB,
     GENERATED_ smallint check(GENERATED_ in (1,0)),
     TENANT_ID_ varchar(64),
+    CONTENT_HASH_ varchar(64),
     primary key (ID_)
 );
 
@@ -290,6 +294,21 @@ create table ACT_RU_BATCH (
   primary key (ID_)
 );
 
+create table ACT_RU_HISTORY_OUTBOX (
+  ID_ varchar(64) not null,
+  REV_ integer not null,
+  SEQ_ bigint not null,
+  STATE_ integer not null,
+  LOCK_OWNER_ varchar(255),
+  LOCK_EXP_TIME_ timestamp,
+  ATTEMPTS_ integer,
+  ERROR_MSG_ varchar(4000),
+  BYTES_ BLOB,
+  primary key (ID_)
+);
+
+create index ACT_IDX_HIST_OUTBOX_SEQ on ACT_RU_HISTORY_OUTBOX(STATE_, SEQ_);
+
 create index ACT_IDX_EXEC_BUSKEY on ACT_RU_EXECUTION(BUSINESS_KEY_);
 create index ACT_IDX_EXEC_TENANT_ID on ACT_RU_EXECUTION(TENANT_ID_);
 create index ACT_IDX_TASK_CREATE on ACT_RU_TASK(CREATE_TIME_);
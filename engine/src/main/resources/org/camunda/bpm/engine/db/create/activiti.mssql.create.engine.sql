@@ -23,6 +23,9 @@ values ('history.cleanup.job.lock', '0', 1);
 insert into ACT_GE_PROPERTY
 values ('startup.lock', '0', 1);
 
+insert into ACT_GE_PROPERTY
+values ('authorization.revision', '0', 1);
+
 create table ACT_GE_BYTEARRAY (
     ID_ nvarchar(64),
     REV_ int,
@@ -31,6 +34,7 @@ create table ACT_GE_BYTEARRAY (
     BYTES_ image,
     GENERATED_ tinyint,
     TENANT_ID_ nvarchar(64),
+    CONTENT_HASH_ nvarchar(64),
     primary key (ID_)
 );
 
@@ -287,6 +291,21 @@ create table ACT_RU_BATCH (
   primary key (ID_)
 );
 
+create table ACT_RU_HISTORY_OUTBOX (
+  ID_ nvarchar(64) not null,
+  REV_ int not null,
+  SEQ_ numeric(19,0) not null,
+  STATE_ int not null,
+  LOCK_OWNER_ nvarchar(255),
+  LOCK_EXP_TIME_ datetime2,
+  ATTEMPTS_ int,
+  ERROR_MSG_ nvarchar(4000),
+  BYTES_ image,
+  primary key (ID_)
+);
+
+create index ACT_IDX_HIST_OUTBOX_SEQ on ACT_RU_HISTORY_OUTBOX(STATE_, SEQ_);
+
 create index ACT_IDX_EXEC_BUSKEY on ACT_RU_EXECUTION(BUSINESS_KEY_);
 create index ACT_IDX_EXEC_TENANT_ID on ACT_RU_EXECUTION(TENANT_ID_);
 create index ACT_IDX_TASK_CREATE on ACT_RU_TASK(CREATE_TIME_);
@@ -23,6 +23,9 @@ values ('history.cleanup.job.lock', '0', 1);
 insert into ACT_GE_PROPERTY
 values ('startup.lock', '0', 1);
 
+insert into ACT_GE_PROPERTY
+values ('authorization.revision', '0', 1);
+
 create table ACT_GE_BYTEARRAY (
     ID_ NVARCHAR2(64),
     REV_ INTEGER,
@@ -31,6 +34,7 @@ create table ACT_GE_BYTEARRAY (
     BYTES_ BLOB,
     GENERATED_ NUMBER(1,0) CHECK (GENERATED_ IN (1,0)),
     TENANT_ID_ NVARCHAR2(64),
+    CONTENT_HASH_ NVARCHAR2(64),
     primary key (ID_)
 );
 
@@ -287,6 +291,21 @@ create table ACT_RU_BATCH (
   primary key (ID_)
 );
 
+create table ACT_RU_HISTORY_OUTBOX (
+  ID_ NVARCHAR2(64) not null,
+  REV_ INTEGER not null,
+  SEQ_ NUMBER(19,0) not null,
+  STATE_ INTEGER not null,
+  LOCK_OWNER_ NVARCHAR2(255),
+  LOCK_EXP_TIME_ TIMESTAMP(6),
+  ATTEMPTS_ INTEGER,
+  ERROR_MSG_ NVARCHAR2(2000),
+  BYTES_ BLOB,
+  primary key (ID_)
+);
+
+create index ACT_IDX_HIST_OUTBOX_SEQ on ACT_RU_HISTORY_OUTBOX(STATE_, SEQ_);
+
 create index ACT_IDX_EXEC_BUSKEY on ACT_RU_EXECUTION(BUSINESS_KEY_);
 create index ACT_IDX_EXEC_TENANT_ID on ACT_RU_EXECUTION(TENANT_ID_, 0);
 create index ACT_IDX_TASK_CREATE on ACT_RU_TASK(CREATE_TIME_);
@@ -165,5 +165,7 @@ drop table ACT_RU_AUTHORIZATION if exists;
 drop table ACT_RU_FILTER if exists;
 drop table ACT_RU_METER_LOG if exists;
 drop table ACT_RU_EXT_TASK if exists;
+DROP INDEX ACT_IDX_HIST_OUTBOX_SEQ;
+drop table ACT_RU_HISTORY_OUTBOX if exists;
 drop table ACT_RU_BATCH if exists;
 
@@ -157,4 +157,6 @@ drop table if exists ACT_RU_AUTHORIZATION;
 drop table if exists ACT_RU_FILTER;
 drop table if exists ACT_RU_METER_LOG;
 drop table if exists ACT_RU_EXT_TASK;
+drop index ACT_IDX_HIST_OUTBOX_SEQ on ACT_RU_HISTORY_OUTBOX;
+drop table if exists ACT_RU_HISTORY_OUTBOX;
 drop table if exists ACT_RU_BATCH;
@@ -177,4 +177,6 @@ drop table  ACT_RU_AUTHORIZATION;
 drop table  ACT_RU_FILTER;
 drop table  ACT_RU_METER_LOG;
 drop table  ACT_RU_EXT_TASK;
+DROP INDEX ACT_IDX_HIST_OUTBOX_SEQ;
+drop table ACT_RU_HISTORY_OUTBOX;
 drop table  ACT_RU_BATCH;
@@ -0,0 +1,271 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.authorization;
+
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_GRANT;
+import static org.camunda.bpm.engine.authorization.Permissions.READ;
+import static org.camunda.bpm.engine.authorization.Resources.PROCESS_DEFINITION;
+import static org.camunda.bpm.engine.authorization.Resources.USER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.AuthorizationService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.auth.AuthorizationDecisionCache;
+import org.camunda.bpm.engine.impl.db.CompositePermissionCheck;
+import org.camunda.bpm.engine.impl.db.PermissionCheckBuilder;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class AuthorizationDecisionCacheTest {
+
+  protected static final String USER_ID = "user";
+  protected static final String ANOTHER_USER_ID = "anotherUser";
+  protected static final String RESOURCE_ID = "process";
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration
+        .setAuthorizationDecisionCacheCapacity(100)
+        // revision changes are only observed when the test replaces the cache
+        .setAuthorizationDecisionCacheRevisionCheckInterval(60 * 60 * 1000);
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected AuthorizationService authorizationService;
+  protected AuthorizationDecisionCache decisionCache;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    authorizationService = engineRule.getAuthorizationService();
+    decisionCache = processEngineConfiguration.getAuthorizationDecisionCache();
+
+    processEngineConfiguration.setAuthorizationEnabled(true);
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setAuthorizationEnabled(false);
+    processEngineConfiguration.setAuthorizationDecisionCache(decisionCache);
+
+    for (Authorization authorization : authorizationService.createAuthorizationQuery().list()) {
+      authorizationService.deleteAuthorization(authorization.getId());
+    }
+  }
+
+  @Test
+  public void shouldCacheGrantedDecision() {
+    // given
+    grantRead();
+    assertTrue(isAuthorized());
+
+    // when the authorization is removed without notifying the cache
+    deleteAuthorizationsSilently(false);
+
+    // then
+    assertTrue(isAuthorized());
+  }
+
+  @Test
+  public void shouldNotCacheDeniedDecision() {
+    // given
+    assertFalse(isAuthorized());
+
+    // when the authorization is added without notifying the cache
+    executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        AuthorizationEntity authorization = new AuthorizationEntity(AUTH_TYPE_GRANT);
+        authorization.setUserId(USER_ID);
+        authorization.setResource(PROCESS_DEFINITION);
+        authorization.setResourceId(RESOURCE_ID);
+        authorization.addPermission(READ);
+        commandContext.getDbEntityManager().insert(authorization);
+        return null;
+      }
+    });
+
+    // then
+    assertTrue(isAuthorized());
+  }
+
+  @Test
+  public void shouldInvalidateOnDeleteAuthorization() {
+    // given
+    Authorization authorization = grantRead();
+    assertTrue(isAuthorized());
+
+    // when
+    authorizationService.deleteAuthorization(authorization.getId());
+
+    // then
+    assertFalse(isAuthorized());
+  }
+
+  @Test
+  public void shouldInvalidateOnChangedRevision() {
+    // given a cache which reads the revision on every check
+    processEngineConfiguration.setAuthorizationDecisionCache(new AuthorizationDecisionCache(100, 0));
+
+    grantRead();
+    assertTrue(isAuthorized());
+
+    // when another node removes the authorization
+    deleteAuthorizationsSilently(true);
+
+    // then
+    assertFalse(isAuthorized());
+  }
+
+  @Test
+  public void shouldCacheGrantedCompositeDecision() {
+    // given
+    grantRead();
+    final CompositePermissionCheck disjunctiveCheck = new PermissionCheckBuilder()
+      .disjunctive()
+        .atomicCheckForResourceId(PROCESS_DEFINITION, RESOURCE_ID, READ)
+        .atomicCheckForResourceId(PROCESS_DEFINITION, "anotherProcess", READ)
+      .build();
+    assertTrue(isAuthorized(disjunctiveCheck));
+
+    // when the authorization is removed without notifying the cache
+    deleteAuthorizationsSilently(false);
+
+    // then
+    assertTrue(isAuthorized(disjunctiveCheck));
+
+    // and the same checks combined conjunctively are not granted by the cached decision
+    CompositePermissionCheck conjunctiveCheck = new PermissionCheckBuilder()
+      .conjunctive()
+        .atomicCheckForResourceId(PROCESS_DEFINITION, RESOURCE_ID, READ)
+        .atomicCheckForResourceId(PROCESS_DEFINITION, "anotherProcess", READ)
+      .build();
+    assertFalse(isAuthorized(conjunctiveCheck));
+  }
+
+  @Test
+  public void shouldInvalidateOnDeleteUser() {
+    // given
+    IdentityService identityService = engineRule.getIdentityService();
+    identityService.saveUser(identityService.newUser(ANOTHER_USER_ID));
+
+    Authorization authorization = authorizationService.createNewAuthorization(AUTH_TYPE_GRANT);
+    authorization.setUserId(USER_ID);
+    authorization.setResource(USER);
+    authorization.setResourceId(ANOTHER_USER_ID);
+    authorization.addPermission(READ);
+    authorizationService.saveAuthorization(authorization);
+    assertTrue(authorizationService.isUserAuthorized(USER_ID, null, READ, USER, ANOTHER_USER_ID));
+
+    // when the user is deleted, its id can be reused by a new user
+    identityService.deleteUser(ANOTHER_USER_ID);
+
+    // then
+    assertFalse(authorizationService.isUserAuthorized(USER_ID, null, READ, USER, ANOTHER_USER_ID));
+  }
+
+  @Test
+  public void shouldNotIncrementRevisionOnTaskCompletion() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done());
+    engineRule.getRuntimeService().startProcessInstanceByKey("process");
+    TaskService taskService = engineRule.getTaskService();
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+    Integer revision = getAuthorizationRevision();
+
+    // when the task and the process instance are deleted with their authorizations
+    taskService.complete(taskId);
+
+    // then
+    assertEquals(revision, getAuthorizationRevision());
+  }
+
+  protected Authorization grantRead() {
+    Authorization authorization = authorizationService.createNewAuthorization(AUTH_TYPE_GRANT);
+    authorization.setUserId(USER_ID);
+    authorization.setResource(PROCESS_DEFINITION);
+    authorization.setResourceId(RESOURCE_ID);
+    authorization.addPermission(READ);
+    return authorizationService.saveAuthorization(authorization);
+  }
+
+  protected boolean isAuthorized() {
+    return authorizationService.isUserAuthorized(USER_ID, null, READ, PROCESS_DEFINITION, RESOURCE_ID);
+  }
+
+  protected boolean isAuthorized(final CompositePermissionCheck compositePermissionCheck) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Boolean>() {
+      public Boolean execute(CommandContext commandContext) {
+        return commandContext.getAuthorizationManager().isAuthorized(USER_ID, null, compositePermissionCheck);
+      }
+    });
+  }
+
+  protected void deleteAuthorizationsSilently(final boolean incrementRevision) {
+    executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("resourceType", PROCESS_DEFINITION.resourceType());
+        parameters.put("resourceId", RESOURCE_ID);
+        commandContext.getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceId", parameters);
+
+        if (incrementRevision) {
+          commandContext.getDbEntityManager().update(PropertyEntity.class, "incrementAuthorizationRevision", null);
+        }
+        return null;
+      }
+    });
+  }
+
+  protected void executeCommand(Command<Void> command) {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(command);
+  }
+
+  protected Integer getAuthorizationRevision() {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Integer>() {
+      public Integer execute(CommandContext commandContext) {
+        return (Integer) commandContext.getDbEntityManager().selectOne("selectAuthorizationRevision", null);
+      }
+    });
+  }
+
+}
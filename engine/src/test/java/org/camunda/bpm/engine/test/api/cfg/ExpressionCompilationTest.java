@@ -0,0 +1,179 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.javax.el.ExpressionFactory;
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.CompiledNode;
+import org.camunda.bpm.engine.impl.juel.CompilingTreeBuilder;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.SimpleContext;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.camunda.bpm.engine.impl.juel.TreeCompiler;
+import org.camunda.bpm.engine.impl.juel.TreeStore;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExpressionCompilationTest {
+
+  protected static final String ORDER_PROCESS = "org/camunda/bpm/engine/test/api/cfg/ExpressionCompilationTest.orderProcess.bpmn20.xml";
+
+  protected static final String[] EXPRESSIONS = {
+    "${a + b}", "${a - b * c}", "${a / b}", "${a % b}", "${(a + b) * c}", "${-a}",
+    "${a == b}", "${a != c}", "${a < b}", "${a <= c}", "${a > b}", "${a >= c}",
+    "${d + e}", "${d * a}", "${d / e}", "${d == e}", "${d < e}", "${nan >= nan}", "${nan <= d}",
+    "${s == t}", "${s != 'abc'}", "${s < t}", "${s >= t}", "${a == '3'}",
+    "${yes && no}", "${yes || no}", "${!yes}", "${yes == no}", "${yes && 'true'}",
+    "${a > 1 ? s : t}", "${empty s}", "${n + a}", "${n == null}", "${n < a}", "${big * a}"
+  };
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setExpressionCompilationEnabled(true);
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @Test
+  public void shouldCompileOperatorsAndProperties() {
+    Tree compiled = new TreeCompiler().compile(new Builder().build("${a.b > 1}"));
+
+    assertTrue(compiled.getRoot() instanceof CompiledNode);
+  }
+
+  @Test
+  public void shouldKeepTreesWithoutCompilableNodes() {
+    Tree tree = new Builder().build("${a}");
+
+    assertSame(tree, new TreeCompiler().compile(tree));
+  }
+
+  @Test
+  public void shouldEvaluateLikeInterpreter() {
+    ExpressionFactory interpreter = new ExpressionFactoryImpl();
+    ExpressionFactory compiler = new ExpressionFactoryImpl(new TreeStore(new CompilingTreeBuilder(new Builder(), new TreeCompiler()), null));
+    SimpleContext context = createContext(interpreter);
+
+    for (String expression : EXPRESSIONS) {
+      Object expected = interpreter.createValueExpression(context, expression, Object.class).getValue(context);
+      Object actual = compiler.createValueExpression(context, expression, Object.class).getValue(context);
+
+      assertEquals(expression, expected, actual);
+      assertEquals(expression, expected == null ? null : expected.getClass(), actual == null ? null : actual.getClass());
+    }
+  }
+
+  @Test
+  public void shouldEvaluateConditionsWithCachedPropertyAccessors() {
+    testRule.deploy(ORDER_PROCESS);
+
+    // the same condition is evaluated for several instances of the cached class
+    assertEquals("expedite", startOrderProcess(new Order(500, "high")));
+    assertEquals("standard", startOrderProcess(new Order(500, "low")));
+    assertEquals("standard", startOrderProcess(new Order(50, "high")));
+    assertEquals("expedite", startOrderProcess(new Order(101, "high")));
+  }
+
+  @Test
+  public void shouldEvaluateConditionsWithChangingBaseTypes() {
+    testRule.deploy(ORDER_PROCESS);
+    Map<String, Object> order = new HashMap<String, Object>();
+    order.put("amount", 500);
+    order.put("priority", "high");
+
+    assertEquals("expedite", startOrderProcess(new Order(500, "high")));
+    assertEquals("expedite", startOrderProcess(order));
+    assertEquals("standard", startOrderProcess(new Order(50, "high")));
+  }
+
+  protected String startOrderProcess(Object order) {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("orderProcess", Variables.createVariables().putValue("order", order));
+    return taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getTaskDefinitionKey();
+  }
+
+  protected SimpleContext createContext(ExpressionFactory factory) {
+    SimpleContext context = new SimpleContext();
+    setVariable(context, factory, "a", 3L);
+    setVariable(context, factory, "b", 4);
+    setVariable(context, factory, "c", (short) 3);
+    setVariable(context, factory, "d", 2.5d);
+    setVariable(context, factory, "e", 0.5d);
+    setVariable(context, factory, "nan", Double.NaN);
+    setVariable(context, factory, "s", "abc");
+    setVariable(context, factory, "t", "abd");
+    setVariable(context, factory, "yes", true);
+    setVariable(context, factory, "no", false);
+    setVariable(context, factory, "n", null);
+    setVariable(context, factory, "big", new BigDecimal("1.5"));
+    return context;
+  }
+
+  protected void setVariable(SimpleContext context, ExpressionFactory factory, String name, Object value) {
+    context.setVariable(name, factory.createValueExpression(value, Object.class));
+  }
+
+  public static class Order implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected int amount;
+    protected String priority;
+
+    public Order(int amount, String priority) {
+      this.amount = amount;
+      this.priority = priority;
+    }
+
+    public int getAmount() {
+      return amount;
+    }
+
+    public String getPriority() {
+      return priority;
+    }
+  }
+
+}
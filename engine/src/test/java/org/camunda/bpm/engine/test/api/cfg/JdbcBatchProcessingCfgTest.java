@@ -0,0 +1,126 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class JdbcBatchProcessingCfgTest {
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setJdbcBatchProcessing(true);
+    }
+  };
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @Test
+  public void shouldNotUseJdbcBatchProcessingByDefault() {
+    assertFalse(new StandaloneInMemProcessEngineConfiguration().isJdbcBatchProcessing());
+  }
+
+  @Test
+  public void shouldExecuteProcessInstance() {
+    // given
+    testRule.deploy(ProcessModels.TWO_TASKS_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("Process");
+
+    // when
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+    task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+
+    // then
+    assertNull(runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult());
+  }
+
+  @Test
+  public void shouldIncrementRevisionAfterBatchFlush() {
+    // given
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    assertEquals(1, ((TaskEntity) task).getRevision());
+
+    // when
+    task.setDescription("modified");
+    taskService.saveTask(task);
+
+    // then
+    assertEquals(2, ((TaskEntity) task).getRevision());
+
+    taskService.deleteTask(task.getId(), true);
+  }
+
+  @Test
+  public void shouldDetectOptimisticLockingFailureAfterBatchFlush() {
+    // given
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    String taskId = task.getId();
+
+    Task task1 = taskService.createTaskQuery().taskId(taskId).singleResult();
+    Task task2 = taskService.createTaskQuery().taskId(taskId).singleResult();
+
+    task1.setDescription("first modification");
+    taskService.saveTask(task1);
+
+    // when
+    task2.setDescription("second modification");
+    try {
+      taskService.saveTask(task2);
+      fail("exception expected");
+    } catch (OptimisticLockingException e) {
+      // then
+      assertTrue(e.getMessage().contains(taskId));
+    }
+
+    taskService.deleteTask(taskId, true);
+  }
+
+}
@@ -0,0 +1,179 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ParallelDeploymentParsingTest {
+
+  protected static final int PROCESSES = 8;
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setDeploymentParseParallelism(4);
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RepositoryService repositoryService;
+  protected ManagementService managementService;
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected DeploymentCache deploymentCache;
+
+  @Before
+  public void init() {
+    repositoryService = engineRule.getRepositoryService();
+    managementService = engineRule.getManagementService();
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    deploymentCache = processEngineConfiguration.getDeploymentCache();
+  }
+
+  @After
+  public void cleanUp() {
+    for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+  }
+
+  @Test
+  public void shouldDeployResourcesParsedInParallel() {
+    // when
+    Deployment deployment = createDeployment().deploy();
+
+    // then
+    assertEquals(PROCESSES, repositoryService.createProcessDefinitionQuery().deploymentId(deployment.getId()).count());
+    for (int i = 0; i < PROCESSES; i++) {
+      ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("process" + i)
+        .singleResult();
+      assertEquals(1, processDefinition.getVersion());
+      assertEquals("process" + i + ".bpmn", processDefinition.getResourceName());
+      assertNotNull(deploymentCache.findProcessDefinitionFromCache(processDefinition.getId()));
+    }
+  }
+
+  @Test
+  public void shouldMergeJobDeclarationsOfResourcesParsedInParallel() {
+    // when
+    createDeployment().deploy();
+
+    // then every timer start event has a job definition and a timer job
+    assertEquals(PROCESSES, managementService.createJobDefinitionQuery().count());
+    assertEquals(PROCESSES, managementService.createJobQuery().timers().count());
+  }
+
+  @Test
+  public void shouldIncrementVersionsOfResourcesParsedInParallel() {
+    // given
+    createDeployment().deploy();
+
+    // when
+    createDeployment().deploy();
+
+    // then
+    for (int i = 0; i < PROCESSES; i++) {
+      assertEquals(2, repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("process" + i)
+        .latestVersion()
+        .singleResult()
+        .getVersion());
+    }
+  }
+
+  @Test
+  public void shouldFailDeploymentIfResourceParsedInParallelIsInvalid() {
+    // given
+    DeploymentBuilder deploymentBuilder = createDeployment()
+      .addString("invalid.bpmn", "not xml");
+
+    try {
+      // when
+      deploymentBuilder.deploy();
+      fail("exception expected");
+
+    } catch (ProcessEngineException e) {
+      // then
+      assertTrue(e.getMessage().contains("invalid.bpmn"));
+    }
+    assertEquals(0, repositoryService.createDeploymentQuery().count());
+  }
+
+  @Test
+  public void shouldWarmUpDeploymentCache() {
+    // given
+    Deployment deployment = createDeployment().deploy();
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    int deployments = new DeploymentCacheWarmUp(processEngineConfiguration.getCommandExecutorTxRequired(),
+        processEngineConfiguration.getDeploymentParseExecutor()).warmUp();
+
+    // then
+    assertEquals(1, deployments);
+    for (ProcessDefinition processDefinition : repositoryService.createProcessDefinitionQuery().deploymentId(deployment.getId()).list()) {
+      assertNotNull(deploymentCache.findProcessDefinitionFromCache(processDefinition.getId()));
+    }
+  }
+
+  @Test
+  public void shouldNotWarmUpDeploymentCacheWithoutDeployments() {
+    // when
+    int deployments = new DeploymentCacheWarmUp(processEngineConfiguration.getCommandExecutorTxRequired(), null).warmUp();
+
+    // then
+    assertEquals(0, deployments);
+  }
+
+  protected DeploymentBuilder createDeployment() {
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    for (int i = 0; i < PROCESSES; i++) {
+      BpmnModelInstance process = Bpmn.createExecutableProcess("process" + i)
+        .startEvent()
+          .timerWithDuration("PT1H")
+        .userTask()
+        .endEvent()
+        .done();
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", process);
+    }
+    return deploymentBuilder;
+  }
+
+}
@@ -0,0 +1,207 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessInstancePrefetchProfile;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ProcessInstancePrefetchProfileTest {
+
+  protected static final BpmnModelInstance PARALLEL_MI_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+    .startEvent()
+    .userTask("task")
+      .multiInstance()
+      .parallel()
+      .cardinality("3")
+      .multiInstanceDone()
+    .userTask("afterTask")
+    .endEvent()
+    .done();
+
+  protected static final BpmnModelInstance PARALLEL_MI_RECEIVE_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+    .startEvent()
+    .receiveTask("receiveTask")
+      .message("message")
+      .multiInstance()
+      .parallel()
+      .cardinality("3")
+      .multiInstanceDone()
+    .userTask("afterReceive")
+    .endEvent()
+    .done();
+
+  protected static final BpmnModelInstance PARALLEL_MI_ASYNC_PROCESS = Bpmn.createExecutableProcess("process")
+    .startEvent()
+    .serviceTask("serviceTask")
+      .camundaAsyncBefore()
+      .camundaExpression("${true}")
+      .multiInstance()
+      .parallel()
+      .cardinality("3")
+      .multiInstanceDone()
+    .userTask("afterService")
+    .endEvent()
+    .done();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setProcessInstancePrefetchProfile(ProcessInstancePrefetchProfile.all());
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @Test
+  public void shouldPrefetchProcessInstanceState() {
+    // given
+    testRule.deploy(PARALLEL_MI_TASK_PROCESS);
+    final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("foo", "bar"));
+
+    // when
+    int[] cachedEntities = engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<int[]>() {
+      public int[] execute(CommandContext commandContext) {
+        commandContext.getExecutionManager().prefetchProcessInstance(processInstance.getId());
+
+        DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+        return new int[] {
+          dbEntityManager.getCachedEntitiesByType(ExecutionEntity.class).size(),
+          dbEntityManager.getCachedEntitiesByType(TaskEntity.class).size(),
+          dbEntityManager.getCachedEntitiesByType(VariableInstanceEntity.class).size()
+        };
+      }
+    });
+
+    // then the whole process instance is loaded
+    assertEquals(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).count(), cachedEntities[0]);
+    assertEquals(3, cachedEntities[1]);
+    assertEquals(runtimeService.createVariableInstanceQuery().processInstanceIdIn(processInstance.getId()).count(), cachedEntities[2]);
+  }
+
+  @Test
+  public void shouldNotPrefetchIfReferencedEntitiesWereLoaded() {
+    // given
+    testRule.deploy(PARALLEL_MI_TASK_PROCESS);
+    final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    final String taskId = taskService.createTaskQuery().listPage(0, 1).get(0).getId();
+
+    // when the tasks of an execution were loaded before
+    int[] executionState = engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<int[]>() {
+      public int[] execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getTaskManager().findTaskById(taskId).getExecution();
+        execution.getTasks();
+
+        commandContext.getExecutionManager().prefetchProcessInstance(processInstance.getId());
+
+        return new int[] {
+          commandContext.getDbEntityManager().getCachedEntitiesByType(ExecutionEntity.class).size(),
+          execution.getTasks().size()
+        };
+      }
+    });
+
+    // then the process instance is not restored on top of the loaded tasks
+    assertTrue(executionState[0] < runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(1, executionState[1]);
+  }
+
+  @Test
+  public void shouldCompleteTasksOfParallelMultiInstance() {
+    // given
+    testRule.deploy(PARALLEL_MI_TASK_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    List<Task> tasks = taskService.createTaskQuery().taskDefinitionKey("task").list();
+    assertEquals(3, tasks.size());
+    for (Task task : tasks) {
+      taskService.complete(task.getId(), Variables.createVariables().putValue("completed", true));
+    }
+
+    // then
+    Task afterTask = taskService.createTaskQuery().singleResult();
+    assertNotNull(afterTask);
+    assertEquals("afterTask", afterTask.getTaskDefinitionKey());
+    assertEquals(true, runtimeService.getVariable(processInstance.getId(), "completed"));
+  }
+
+  @Test
+  public void shouldCorrelateMessagesToParallelMultiInstance() {
+    // given
+    testRule.deploy(PARALLEL_MI_RECEIVE_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    runtimeService.createMessageCorrelation("message").correlateAll();
+
+    // then
+    Task afterReceive = taskService.createTaskQuery().singleResult();
+    assertNotNull(afterReceive);
+    assertEquals("afterReceive", afterReceive.getTaskDefinitionKey());
+  }
+
+  @Test
+  public void shouldExecuteJobsOfParallelMultiInstance() {
+    // given
+    testRule.deploy(PARALLEL_MI_ASYNC_PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    testRule.executeAvailableJobs();
+
+    // then
+    Task afterService = taskService.createTaskQuery().singleResult();
+    assertNotNull(afterService);
+    assertEquals("afterService", afterService.getTaskDefinitionKey());
+  }
+
+}
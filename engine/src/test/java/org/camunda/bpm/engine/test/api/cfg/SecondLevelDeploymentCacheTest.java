@@ -0,0 +1,161 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultSecondLevelDeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.SecondLevelDeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SecondLevelDeploymentCacheTest {
+
+  protected static final String PROCESS_RESOURCE = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml";
+  protected static final int CACHE_CAPACITY = 2;
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setCacheCapacity(CACHE_CAPACITY);
+      return configuration
+        .setSecondLevelDeploymentCache(new DefaultSecondLevelDeploymentCache())
+        // the cache is invalidated by the tests
+        .setDeploymentCacheInvalidationInterval(60 * 60 * 1000);
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected DeploymentCache deploymentCache;
+  protected SecondLevelDeploymentCache secondLevelCache;
+
+  @Before
+  public void init() {
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    deploymentCache = processEngineConfiguration.getDeploymentCache();
+    secondLevelCache = processEngineConfiguration.getSecondLevelDeploymentCache();
+  }
+
+  @Test
+  public void shouldTransformDefinitionFromSnapshot() {
+    // given
+    Deployment deployment = testRule.deploy(PROCESS_RESOURCE);
+    assertNotNull(secondLevelCache.getSnapshot(deployment.getId(), PROCESS_RESOURCE));
+
+    deploymentCache.discardProcessDefinitionCache();
+    long snapshotHits = getMeterValue(Metrics.DEFINITION_SNAPSHOT_HIT);
+    long cacheMisses = getMeterValue(Metrics.PROCESS_DEFINITION_CACHE_MISS);
+
+    // when
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    // then
+    assertEquals(snapshotHits + 1, getMeterValue(Metrics.DEFINITION_SNAPSHOT_HIT));
+    assertEquals(cacheMisses + 1, getMeterValue(Metrics.PROCESS_DEFINITION_CACHE_MISS));
+    assertEquals(1, runtimeService.createProcessInstanceQuery().count());
+  }
+
+  @Test
+  public void shouldRemoveDefinitionsOfDeletedDeployments() {
+    // given a definition of a deployment which was deleted by another process engine
+    Deployment deployment = repositoryService.createDeployment()
+      .addClasspathResource(PROCESS_RESOURCE)
+      .deploy();
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery()
+      .deploymentId(deployment.getId())
+      .singleResult();
+    ProcessDefinitionEntity cachedDefinition = deploymentCache.findProcessDefinitionFromCache(processDefinition.getId());
+    byte[] snapshot = secondLevelCache.getSnapshot(deployment.getId(), PROCESS_RESOURCE);
+
+    repositoryService.deleteDeployment(deployment.getId(), true);
+    deploymentCache.addProcessDefinition(cachedDefinition);
+    secondLevelCache.putSnapshot(deployment.getId(), PROCESS_RESOURCE, snapshot);
+
+    // when
+    processEngineConfiguration.getDeploymentCacheInvalidator().invalidateNow();
+
+    // then
+    assertNull(deploymentCache.findProcessDefinitionFromCache(processDefinition.getId()));
+    assertNull(secondLevelCache.getSnapshot(deployment.getId(), PROCESS_RESOURCE));
+  }
+
+  @Test
+  public void shouldMarkEvictedDefinitions() {
+    // given
+    long evictions = getMeterValue(Metrics.PROCESS_DEFINITION_CACHE_EVICTION);
+
+    // when more definitions are deployed than the cache can hold
+    testRule.deploy(
+        Bpmn.createExecutableProcess("first").startEvent().endEvent().done(),
+        Bpmn.createExecutableProcess("second").startEvent().endEvent().done(),
+        Bpmn.createExecutableProcess("third").startEvent().endEvent().done());
+
+    // then
+    assertEquals(CACHE_CAPACITY, deploymentCache.getProcessDefinitionCache().size());
+    assertEquals(evictions + 1, getMeterValue(Metrics.PROCESS_DEFINITION_CACHE_EVICTION));
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedSnapshots() {
+    // given
+    SecondLevelDeploymentCache cache = new DefaultSecondLevelDeploymentCache(new DefaultCacheFactory(), 2);
+    cache.putSnapshot("deployment1", "first.bpmn", new byte[] { 1 });
+    cache.putSnapshot("deployment1", "second.bpmn", new byte[] { 2 });
+    cache.getSnapshot("deployment1", "first.bpmn");
+
+    // when
+    cache.putSnapshot("deployment2", "third.bpmn", new byte[] { 3 });
+
+    // then
+    assertNotNull(cache.getSnapshot("deployment1", "first.bpmn"));
+    assertNull(cache.getSnapshot("deployment1", "second.bpmn"));
+    assertNotNull(cache.getSnapshot("deployment2", "third.bpmn"));
+
+    cache.removeSnapshots("deployment1");
+    assertNull(cache.getSnapshot("deployment1", "first.bpmn"));
+    assertNotNull(cache.getSnapshot("deployment2", "third.bpmn"));
+  }
+
+  protected long getMeterValue(String name) {
+    MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    return metricsRegistry.getMeterByName(name).get();
+  }
+
+}
@@ -0,0 +1,179 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.ExternalTaskServiceImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskFetchAndLockDispatcher;
+import org.camunda.bpm.engine.impl.externaltask.PendingFetchAndLockRequest;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExternalTaskLongPollingTest {
+
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final String TOPIC_NAME = "externalTaskTopic";
+  protected static final long LOCK_TIME = 10000L;
+  protected static final String PROCESS_RESOURCE = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml";
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setExternalTaskFetchAndLockPollInterval(60000);
+    }
+  };
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ExternalTaskService externalTaskService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    externalTaskService = engineRule.getExternalTaskService();
+    testRule.deploy(PROCESS_RESOURCE);
+  }
+
+  @Test
+  public void shouldReturnAvailableTasksImmediately() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute(60000);
+
+    // then
+    assertEquals(1, tasks.size());
+  }
+
+  @Test
+  public void shouldReturnEmptyResultAfterTimeout() {
+    // when
+    long start = System.currentTimeMillis();
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute(500);
+
+    // then
+    assertTrue(tasks.isEmpty());
+    assertTrue(System.currentTimeMillis() - start >= 500);
+  }
+
+  @Test
+  public void shouldReturnTaskCreatedWhileWaiting() throws Exception {
+    // given
+    final List<List<LockedExternalTask>> result = Collections.synchronizedList(new ArrayList<List<LockedExternalTask>>());
+    Thread worker = new Thread() {
+      public void run() {
+        result.add(externalTaskService.fetchAndLock(1, WORKER_ID)
+          .topic(TOPIC_NAME, LOCK_TIME)
+          .execute(30000));
+      }
+    };
+    worker.start();
+
+    // when
+    Thread.sleep(200);
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    worker.join(20000);
+
+    // then the request was served long before the poll interval elapsed
+    assertEquals(1, result.size());
+    assertEquals(1, result.get(0).size());
+  }
+
+  @Test
+  public void shouldUnlockTasksOfRequestInterruptedDuringDispatch() throws Exception {
+    // given a dispatcher which interrupts the waiting worker after it locked tasks for it
+    final List<List<LockedExternalTask>> result = Collections.synchronizedList(new ArrayList<List<LockedExternalTask>>());
+    final Thread worker = new Thread() {
+      public void run() {
+        result.add(externalTaskService.fetchAndLock(1, WORKER_ID)
+          .topic(TOPIC_NAME, LOCK_TIME)
+          .execute(30000));
+      }
+    };
+    final CountDownLatch dispatched = new CountDownLatch(1);
+
+    ProcessEngineConfigurationImpl configuration = engineRule.getProcessEngineConfiguration();
+    ExternalTaskFetchAndLockDispatcher dispatcher = new ExternalTaskFetchAndLockDispatcher(
+        configuration.getCommandExecutorTxRequired(), configuration.getIdentityService()) {
+
+      protected List<LockedExternalTask> fetchAndLock(PendingFetchAndLockRequest request) {
+        List<LockedExternalTask> lockedTasks = super.fetchAndLock(request);
+        worker.interrupt();
+        try {
+          worker.join(20000);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return lockedTasks;
+      }
+
+      protected void complete(PendingFetchAndLockRequest request, List<LockedExternalTask> lockedTasks) {
+        super.complete(request, lockedTasks);
+        dispatched.countDown();
+      }
+    };
+    dispatcher.setPollInterval(100);
+
+    ExternalTaskServiceImpl externalTaskServiceImpl = (ExternalTaskServiceImpl) externalTaskService;
+    ExternalTaskFetchAndLockDispatcher originalDispatcher = externalTaskServiceImpl.getFetchAndLockDispatcher();
+    externalTaskServiceImpl.setFetchAndLockDispatcher(dispatcher);
+
+    try {
+      worker.start();
+      while (!dispatcher.hasPendingRequests()) {
+        Thread.sleep(10);
+      }
+
+      // when
+      runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+      assertTrue(dispatched.await(20, TimeUnit.SECONDS));
+
+      // then the interrupted worker got no tasks and the task locked for it was unlocked
+      assertEquals(1, result.size());
+      assertTrue(result.get(0).isEmpty());
+      assertEquals(0, externalTaskService.createExternalTaskQuery().locked().count());
+
+    } finally {
+      externalTaskServiceImpl.setFetchAndLockDispatcher(originalDispatcher);
+      dispatcher.shutdown();
+    }
+  }
+
+}
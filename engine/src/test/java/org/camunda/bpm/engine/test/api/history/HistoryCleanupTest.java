@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.test.api.history;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
@@ -95,6 +96,8 @@ public class HistoryCleanupTest {
   protected String defaultStartTime;
   protected String defaultEndTime;
   protected int defaultBatchSize;
+  protected int defaultDegreeOfParallelism;
+  protected long defaultTargetBatchDuration;
 
   protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
     public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
@@ -133,6 +136,8 @@ public class HistoryCleanupTest {
     defaultStartTime = processEngineConfiguration.getHistoryCleanupBatchWindowStartTime();
     defaultEndTime = processEngineConfiguration.getHistoryCleanupBatchWindowEndTime();
     defaultBatchSize = processEngineConfiguration.getHistoryCleanupBatchSize();
+    defaultDegreeOfParallelism = processEngineConfiguration.getHistoryCleanupDegreeOfParallelism();
+    defaultTargetBatchDuration = processEngineConfiguration.getHistoryCleanupTargetBatchDuration();
   }
 
   @After
@@ -141,16 +146,17 @@ public class HistoryCleanupTest {
     processEngineConfiguration.setHistoryCleanupBatchWindowStartTime(defaultStartTime);
     processEngineConfiguration.setHistoryCleanupBatchWindowEndTime(defaultEndTime);
     processEngineConfiguration.setHistoryCleanupBatchSize(defaultBatchSize);
+    processEngineConfiguration.setHistoryCleanupDegreeOfParallelism(defaultDegreeOfParallelism);
+    processEngineConfiguration.setHistoryCleanupTargetBatchDuration(defaultTargetBatchDuration);
 
     processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
       public Void execute(CommandContext commandContext) {
 
         List<Job> jobs = managementService.createJobQuery().list();
-        if (jobs.size() > 0) {
-          assertEquals(1, jobs.size());
-          String jobId = jobs.get(0).getId();
-          commandContext.getJobManager().deleteJob((JobEntity) jobs.get(0));
-          commandContext.getHistoricJobLogManager().deleteHistoricJobLogByJobId(jobId);
+        assertEquals(historyService.findHistoryCleanupJobs().size(), jobs.size());
+        for (Job job : jobs) {
+          commandContext.getJobManager().deleteJob((JobEntity) job);
+          commandContext.getHistoricJobLogManager().deleteHistoricJobLogByJobId(job.getId());
         }
 
         List<HistoricIncident> historicIncidents = historyService.createHistoricIncidentQuery().list();
@@ -551,6 +557,101 @@ public class HistoryCleanupTest {
     assertEquals(jobId, historyCleanupJob.getId());
   }
 
+  @Test
+  public void testParallelHistoryCleanupJobs() {
+    //given
+    processEngineConfiguration.setHistoryCleanupDegreeOfParallelism(3);
+
+    //when
+    String jobId = historyService.cleanUpHistoryAsync(true).getId();
+
+    //then
+    List<Job> historyCleanupJobs = historyService.findHistoryCleanupJobs();
+    assertEquals(3, historyCleanupJobs.size());
+    assertEquals(jobId, historyService.findHistoryCleanupJob().getId());
+
+    List<Integer> jobIndexes = new ArrayList<Integer>();
+    for (Job job : historyCleanupJobs) {
+      jobIndexes.add(getConfiguration((JobEntity) job).getJobIndex());
+    }
+    assertTrue(jobIndexes.containsAll(Arrays.asList(0, 1, 2)));
+  }
+
+  @Test
+  public void testParallelHistoryCleanupJobsCleanUpHandedOutIdRanges() {
+    //given
+    processEngineConfiguration.setHistoryCleanupDegreeOfParallelism(3);
+    prepareData(30);
+
+    ClockUtil.setCurrentTime(new Date());
+    String jobId = historyService.cleanUpHistoryAsync(true).getId();
+
+    //when the first job runs
+    managementService.executeJob(jobId);
+
+    //then it cleans up a third of the data and hands out id ranges for the rest
+    assertResult(21);
+    for (Job job : historyService.findHistoryCleanupJobs()) {
+      if (!job.getId().equals(jobId)) {
+        assertTrue(getConfiguration((JobEntity) job).hasIdRanges());
+        assertFalse(job.isSuspended());
+      }
+    }
+
+    //when the other jobs run
+    for (Job job : historyService.findHistoryCleanupJobs()) {
+      if (!job.getId().equals(jobId)) {
+        managementService.executeJob(job.getId());
+      }
+    }
+
+    //then they clean up their id ranges and wait for the next ones
+    assertResult(0);
+    for (Job job : historyService.findHistoryCleanupJobs()) {
+      if (!job.getId().equals(jobId)) {
+        assertFalse(getConfiguration((JobEntity) job).hasIdRanges());
+        assertTrue(job.isSuspended());
+      }
+    }
+  }
+
+  @Test
+  public void testDecreaseDegreeOfParallelism() {
+    //given
+    processEngineConfiguration.setHistoryCleanupDegreeOfParallelism(3);
+    historyService.cleanUpHistoryAsync(true);
+
+    //when
+    processEngineConfiguration.setHistoryCleanupDegreeOfParallelism(1);
+    historyService.cleanUpHistoryAsync(true);
+
+    //then
+    List<Job> historyCleanupJobs = historyService.findHistoryCleanupJobs();
+    assertEquals(1, historyCleanupJobs.size());
+    assertEquals(1, managementService.createJobQuery().count());
+    HistoryCleanupJobHandlerConfiguration configuration = getConfiguration((JobEntity) historyCleanupJobs.get(0));
+    assertEquals(0, configuration.getJobIndex());
+  }
+
+  @Test
+  public void testTargetBatchDurationAdjustsBatchSize() {
+    //given
+    processEngineConfiguration.setHistoryCleanupTargetBatchDuration(60 * 60 * 1000);
+    prepareData(30);
+
+    ClockUtil.setCurrentTime(new Date());
+    String jobId = historyService.cleanUpHistoryAsync(true).getId();
+
+    //when
+    managementService.executeJob(jobId);
+    managementService.executeJob(jobId);
+
+    //then
+    JobEntity jobEntity = (JobEntity) historyService.findHistoryCleanupJob();
+    assertEquals(Integer.valueOf(processEngineConfiguration.getHistoryCleanupBatchSize()), getConfiguration(jobEntity).getBatchSize());
+    assertResult(0);
+  }
+
   @Test
   public void testRescheduleForNever() {
     //given
@@ -1103,6 +1204,26 @@ public class HistoryCleanupTest {
     processEngineConfiguration.initHistoryCleanup();
   }
 
+  @Test
+  public void testConfigurationFailureWrongDegreeOfParallelism() {
+    processEngineConfiguration.setHistoryCleanupDegreeOfParallelism(0);
+
+    thrown.expect(ProcessEngineException.class);
+    thrown.expectMessage("historyCleanupDegreeOfParallelism");
+
+    processEngineConfiguration.initHistoryCleanup();
+  }
+
+  @Test
+  public void testConfigurationFailureWrongDegreeOfParallelism2() {
+    processEngineConfiguration.setHistoryCleanupDegreeOfParallelism(61);
+
+    thrown.expect(ProcessEngineException.class);
+    thrown.expectMessage("historyCleanupDegreeOfParallelism");
+
+    processEngineConfiguration.initHistoryCleanup();
+  }
+
   private Date getNextRunWithinBatchWindow(Date currentTime) {
     Date batchWindowStartTime = processEngineConfiguration.getHistoryCleanupBatchWindowStartTimeAsDate();
     return getNextRunWithinBatchWindow(currentTime, batchWindowStartTime);
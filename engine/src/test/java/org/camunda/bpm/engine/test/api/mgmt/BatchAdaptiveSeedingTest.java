@@ -0,0 +1,236 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camunda.bpm.engine.test.api.mgmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.batch.BatchThroughputMonitor;
+import org.camunda.bpm.engine.impl.batch.BatchThroughputMonitor.BatchThroughput;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.api.runtime.migration.MigrationTestRule;
+import org.camunda.bpm.engine.test.api.runtime.migration.batch.BatchMigrationHelper;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class BatchAdaptiveSeedingTest {
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected MigrationTestRule migrationRule = new MigrationTestRule(engineRule);
+  protected BatchMigrationHelper helper = new BatchMigrationHelper(engineRule, migrationRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(migrationRule);
+
+  protected ProcessEngineConfigurationImpl configuration;
+  protected ManagementService managementService;
+
+  protected int defaultBatchJobsPerSeed;
+  protected int defaultBatchMaxOutstandingJobs;
+  protected int defaultBatchTargetInvocationsPerSecond;
+  protected long defaultBatchJobTargetDuration;
+
+  @Before
+  public void initServices() {
+    configuration = engineRule.getProcessEngineConfiguration();
+    managementService = engineRule.getManagementService();
+  }
+
+  @Before
+  public void enableAdaptiveSeeding() {
+    defaultBatchJobsPerSeed = configuration.getBatchJobsPerSeed();
+    defaultBatchMaxOutstandingJobs = configuration.getBatchMaxOutstandingJobs();
+    defaultBatchTargetInvocationsPerSecond = configuration.getBatchTargetInvocationsPerSecond();
+    defaultBatchJobTargetDuration = configuration.getBatchJobTargetDuration();
+
+    configuration.setBatchJobsPerSeed(10);
+    configuration.setBatchAdaptiveSeedingEnabled(true);
+  }
+
+  @After
+  public void resetConfiguration() {
+    configuration
+      .setBatchAdaptiveSeedingEnabled(false)
+      .setBatchMaxOutstandingJobs(defaultBatchMaxOutstandingJobs)
+      .setBatchTargetInvocationsPerSecond(defaultBatchTargetInvocationsPerSecond)
+      .setBatchJobTargetDuration(defaultBatchJobTargetDuration)
+      .setBatchJobsPerSeed(defaultBatchJobsPerSeed);
+  }
+
+  @After
+  public void resetClock() {
+    ClockUtil.reset();
+  }
+
+  @After
+  public void removeBatches() {
+    helper.removeAllRunningAndHistoricBatches();
+  }
+
+  @Test
+  public void testSeedJobCreatesTwiceTheJobsPerSeedWithoutOutstandingJobs() {
+    // given
+    Batch batch = helper.migrateProcessInstancesAsync(30);
+
+    // when
+    helper.executeSeedJob(batch);
+
+    // then
+    assertEquals(20, helper.getExecutionJobs(batch).size());
+    assertNotNull(helper.getSeedJob(batch));
+  }
+
+  @Test
+  public void testSeedJobCreatesJobsPerSeedWithOutstandingJobs() {
+    // given
+    Batch batch = helper.migrateProcessInstancesAsync(50);
+    helper.executeSeedJob(batch);
+
+    // when
+    helper.executeSeedJob(batch);
+
+    // then
+    assertEquals(30, helper.getExecutionJobs(batch).size());
+  }
+
+  @Test
+  public void testSeedJobRespectsMaxOutstandingJobs() {
+    // given
+    configuration.setBatchMaxOutstandingJobs(5);
+    // keep a single invocation per batch job once the job durations are known
+    configuration.setBatchJobTargetDuration(1);
+    Batch batch = helper.migrateProcessInstancesAsync(20);
+
+    // when
+    helper.executeSeedJob(batch);
+
+    // then
+    assertEquals(5, helper.getExecutionJobs(batch).size());
+
+    // and no further jobs are created while they are outstanding
+    helper.executeSeedJob(batch);
+    assertEquals(5, helper.getExecutionJobs(batch).size());
+
+    // but after they are completed
+    helper.executeJobs(batch);
+    helper.executeSeedJob(batch);
+    assertEquals(5, helper.getExecutionJobs(batch).size());
+  }
+
+  @Test
+  public void testSeedJobIgnoresFailedJobsAsOutstandingJobs() {
+    // given
+    configuration.setBatchMaxOutstandingJobs(5);
+    Batch batch = helper.migrateProcessInstancesAsync(20);
+    helper.executeSeedJob(batch);
+
+    // when the outstanding jobs failed without retries left
+    for (Job job : helper.getExecutionJobs(batch)) {
+      managementService.setJobRetries(job.getId(), 0);
+    }
+    helper.executeSeedJob(batch);
+
+    // then
+    assertEquals(10, helper.getExecutionJobs(batch).size());
+  }
+
+  @Test
+  public void testThroughputIsNormalizedPerInvocation() {
+    // given
+    BatchThroughputMonitor monitor = new BatchThroughputMonitor();
+
+    // when jobs with different invocations complete
+    monitor.jobCompleted("jobDefinitionId", 100, 10);
+    monitor.jobCompleted("jobDefinitionId", 10, 1);
+
+    // then
+    BatchThroughput throughput = monitor.getThroughput("jobDefinitionId");
+    assertEquals(10.0, throughput.getAverageInvocationDuration(), 0.001);
+  }
+
+  @Test
+  public void testThrottledSeedJobIsDelayedByBatchPollTime() {
+    // given
+    Date now = new Date(ClockUtil.getCurrentTime().getTime() / 1000 * 1000);
+    ClockUtil.setCurrentTime(now);
+    configuration.setBatchMaxOutstandingJobs(5);
+    Batch batch = helper.migrateProcessInstancesAsync(20);
+    helper.executeSeedJob(batch);
+
+    // when
+    helper.executeSeedJob(batch);
+
+    // then
+    Job seedJob = helper.getSeedJob(batch);
+    assertEquals(helper.addSeconds(now, configuration.getBatchPollTime()), seedJob.getDuedate());
+  }
+
+  @Test
+  public void testSeedJobIsDelayedByTargetInvocationsPerSecond() {
+    // given
+    Date now = new Date(ClockUtil.getCurrentTime().getTime() / 1000 * 1000);
+    ClockUtil.setCurrentTime(now);
+    configuration.setBatchTargetInvocationsPerSecond(5);
+    Batch batch = helper.migrateProcessInstancesAsync(30);
+
+    // when
+    helper.executeSeedJob(batch);
+
+    // then the 20 created invocations are executed in 4 seconds
+    Job seedJob = helper.getSeedJob(batch);
+    assertEquals(helper.addSeconds(now, 4), seedJob.getDuedate());
+  }
+
+  @Test
+  public void testSeedJobWithoutThroughputKeepsInvocationsPerBatchJob() {
+    // given
+    Batch batch = helper.migrateProcessInstancesAsync(30);
+
+    // when
+    helper.executeSeedJob(batch);
+
+    // then
+    Batch updatedBatch = managementService.createBatchQuery().batchId(batch.getId()).singleResult();
+    assertEquals(batch.getInvocationsPerBatchJob(), updatedBatch.getInvocationsPerBatchJob());
+    assertEquals(30, updatedBatch.getTotalJobs());
+    assertEquals(20, updatedBatch.getJobsCreated());
+  }
+
+  @Test
+  public void testSeedJobCreatesMonitorJobWhenDone() {
+    // given
+    Batch batch = helper.migrateProcessInstancesAsync(15);
+
+    // when
+    helper.executeSeedJob(batch);
+
+    // then
+    assertEquals(15, helper.getExecutionJobs(batch).size());
+    assertNull(helper.getSeedJob(batch));
+    assertNotNull(helper.getMonitorJob(batch));
+  }
+
+}
@@ -599,6 +599,39 @@ public class BatchStatisticsQueryTest {
     ));
   }
 
+  @Test
+  public void testStatisticsWithoutCompletedJobsHaveNoThroughput() {
+    // given
+    Batch batch = helper.migrateProcessInstancesAsync(3);
+    helper.executeSeedJob(batch);
+
+    // when
+    BatchStatistics batchStatistics = managementService.createBatchStatisticsQuery()
+      .singleResult();
+
+    // then
+    Assert.assertNull(batchStatistics.getJobsPerSecond());
+    Assert.assertNull(batchStatistics.getEstimatedEndTime());
+  }
+
+  @Test
+  public void testStatisticsThroughputOfCompletedJobs() {
+    // given
+    Batch batch = helper.migrateProcessInstancesAsync(3);
+    helper.executeSeedJob(batch);
+
+    // when
+    helper.completeJobs(batch, 2);
+
+    // then
+    BatchStatistics batchStatistics = managementService.createBatchStatisticsQuery()
+      .singleResult();
+
+    Assert.assertNotNull(batchStatistics.getJobsPerSecond());
+    assertTrue(batchStatistics.getJobsPerSecond() > 0);
+    Assert.assertNotNull(batchStatistics.getEstimatedEndTime());
+  }
+
   protected void deleteMigrationJobs(Batch batch) {
     for (Job migrationJob: helper.getExecutionJobs(batch)) {
       managementService.deleteJob(migrationJob.getId());
@@ -0,0 +1,105 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+public class SkipLockedClaimTest extends PluggableProcessEngineTestCase {
+
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final long LOCK_TIME = 10000L;
+  protected static final String TOPIC_NAME = "externalTaskTopic";
+
+  protected static final BpmnModelInstance ASYNC_PROCESS = Bpmn.createExecutableProcess("asyncProcess")
+      .startEvent()
+      .userTask()
+        .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  protected void setUp() throws Exception {
+    processEngineConfiguration.setSkipLockedClaimEnabled(true);
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setSkipLockedClaimEnabled(false);
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testFetchAndLockExternalTasks() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    }
+
+    // when
+    List<LockedExternalTask> lockedTasks = externalTaskService.fetchAndLock(2, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // then
+    assertEquals(2, lockedTasks.size());
+    assertEquals(2, externalTaskService.createExternalTaskQuery().locked().count());
+
+    // and the remaining task can be fetched
+    lockedTasks = externalTaskService.fetchAndLock(2, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    assertEquals(1, lockedTasks.size());
+    ExternalTask task = externalTaskService.createExternalTaskQuery().notLocked().singleResult();
+    assertNull(task);
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/twoExternalTaskWithPriorityProcess.bpmn20.xml")
+  public void testFetchAndLockExternalTasksByPriority() {
+    // given
+    runtimeService.startProcessInstanceByKey("twoExternalTaskWithPriorityProcess");
+
+    // when
+    List<LockedExternalTask> lockedTasks = externalTaskService.fetchAndLock(1, WORKER_ID, true)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // then
+    assertEquals(1, lockedTasks.size());
+  }
+
+  public void testAcquireJobs() {
+    // given
+    deployment(ASYNC_PROCESS);
+    runtimeService.startProcessInstanceByKey("asyncProcess");
+    runtimeService.startProcessInstanceByKey("asyncProcess");
+
+    // when
+    AcquiredJobs acquiredJobs = processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new AcquireJobsCmd(processEngineConfiguration.getJobExecutor()));
+
+    // then
+    assertEquals(2, acquiredJobs.size());
+    for (Job job : managementService.createJobQuery().list()) {
+      assertTrue(acquiredJobs.contains(job.getId()));
+    }
+  }
+
+}
@@ -14,6 +14,7 @@ package org.camunda.bpm.engine.test.api.mgmt.metrics;
 
 import java.util.Collection;
 
+import org.camunda.bpm.engine.impl.metrics.Histogram;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 
@@ -36,6 +37,9 @@ public abstract class AbstractMetricsTest extends PluggableProcessEngineTestCase
     for (Meter meter : meters) {
       meter.getAndClear();
     }
+    for (Histogram histogram : processEngineConfiguration.getMetricsRegistry().getHistograms().values()) {
+      histogram.reset();
+    }
     managementService.deleteMetrics(null);
   }
 }
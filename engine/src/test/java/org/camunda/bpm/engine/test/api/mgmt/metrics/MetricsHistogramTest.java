@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.impl.metrics.HistogramSnapshot;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.management.MetricsHistogram;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class MetricsHistogramTest extends AbstractMetricsTest {
+
+  public void testBucketBoundsContainValue() {
+    long[] values = new long[] {0, 1, 15, 16, 17, 31, 32, 33, 1000, 123456789, Long.MAX_VALUE};
+
+    for (long value : values) {
+      int index = Histogram.bucketIndex(value);
+      assertTrue(Histogram.bucketLowerBound(index) <= value);
+      assertTrue(Histogram.bucketUpperBound(index) >= value);
+    }
+
+    assertEquals(Histogram.BUCKET_COUNT - 1, Histogram.bucketIndex(Long.MAX_VALUE));
+  }
+
+  public void testBucketsAreContiguous() {
+    for (int i = 1; i < Histogram.BUCKET_COUNT; i++) {
+      assertEquals(Histogram.bucketUpperBound(i - 1) + 1, Histogram.bucketLowerBound(i));
+    }
+  }
+
+  public void testPercentiles() {
+    Histogram histogram = new Histogram("test");
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+
+    assertEquals(1000, snapshot.getCount());
+    assertEquals(500500, snapshot.getSum());
+    assertEquals(1000, snapshot.getMax());
+    assertEquals(500.5, snapshot.getMean(), 0.001);
+
+    assertWithinRelativeError(500, snapshot.getValueAtPercentile(50));
+    assertWithinRelativeError(990, snapshot.getValueAtPercentile(99));
+    assertEquals(1000, snapshot.getValueAtPercentile(100));
+  }
+
+  public void testEmptyHistogram() {
+    HistogramSnapshot snapshot = new Histogram("test").snapshot();
+
+    assertEquals(0, snapshot.getCount());
+    assertEquals(0.0, snapshot.getMean(), 0);
+    assertEquals(0, snapshot.getValueAtPercentile(99));
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testRecordCommandExecutionAndFlushTime() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    MetricsHistogram commandHistogram = managementService.getMetricsHistogram(Metrics.COMMAND_EXECUTION_TIME);
+    assertTrue(commandHistogram.getCount() > 0);
+
+    MetricsHistogram flushHistogram = managementService.getMetricsHistogram(Metrics.DB_FLUSH_TIME);
+    assertTrue(flushHistogram.getCount() > 0);
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  public void testRecordJobExecutionTime() {
+    runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+
+    waitForJobExecutorToProcessAllJobs(5000);
+
+    assertTrue(managementService.getMetricsHistogram(Metrics.JOB_EXECUTION_TIME).getCount() > 0);
+    assertTrue(managementService.getMetricsHistogram(Metrics.JOB_QUEUE_WAIT_TIME).getCount() > 0);
+    assertTrue(managementService.getMetricsHistogram(Metrics.JOB_ACQUISITION_QUERY_TIME).getCount() > 0);
+  }
+
+  public void testUnknownHistogram() {
+    assertNull(managementService.getMetricsHistogram("unknown"));
+  }
+
+  protected void assertWithinRelativeError(long expected, long actual) {
+    assertTrue("expected " + expected + " but was " + actual, actual >= expected);
+    assertTrue("expected " + expected + " but was " + actual, actual <= expected + expected / 16);
+  }
+
+}
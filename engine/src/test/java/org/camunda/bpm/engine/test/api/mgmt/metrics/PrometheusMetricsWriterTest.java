@@ -0,0 +1,88 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import org.camunda.bpm.engine.impl.metrics.Gauge;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.reporter.PrometheusMetricsWriter;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class PrometheusMetricsWriterTest extends AbstractMetricsTest {
+
+  public void testWriteMeterTotalAfterReporting() {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.createMeter(Metrics.JOB_SUCCESSFUL);
+
+    metricsRegistry.markOccurrence(Metrics.JOB_SUCCESSFUL, 2);
+    // reporting to the database clears the meter but not its total
+    metricsRegistry.getMeterByName(Metrics.JOB_SUCCESSFUL).getAndClear();
+    metricsRegistry.markOccurrence(Metrics.JOB_SUCCESSFUL);
+
+    String output = new PrometheusMetricsWriter("default").write(metricsRegistry);
+
+    assertTrue(output.contains("# TYPE camunda_job_successful_total counter\n"));
+    assertTrue(output.contains("camunda_job_successful_total{engine=\"default\"} 3\n"));
+  }
+
+  public void testWriteGauge() {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.registerGauge(Metrics.JOB_EXECUTOR_QUEUE_SIZE, new Gauge() {
+      public long getValue() {
+        return 7;
+      }
+    });
+
+    String output = new PrometheusMetricsWriter("default").write(metricsRegistry);
+
+    assertTrue(output.contains("# TYPE camunda_job_executor_queue_size gauge\n"));
+    assertTrue(output.contains("camunda_job_executor_queue_size{engine=\"default\"} 7\n"));
+  }
+
+  public void testWriteHistogramAsSummary() {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    Histogram histogram = metricsRegistry.createHistogram(Metrics.COMMAND_EXECUTION_TIME);
+    histogram.record(4);
+    histogram.record(6);
+
+    String output = new PrometheusMetricsWriter("default").write(metricsRegistry);
+
+    assertTrue(output.contains("# TYPE camunda_command_execution_time_microseconds summary\n"));
+    assertTrue(output.contains("camunda_command_execution_time_microseconds{engine=\"default\",quantile=\"0.5\"} 4\n"));
+    assertTrue(output.contains("camunda_command_execution_time_microseconds{engine=\"default\",quantile=\"0.999\"} 6\n"));
+    assertTrue(output.contains("camunda_command_execution_time_microseconds_sum{engine=\"default\"} 10\n"));
+    assertTrue(output.contains("camunda_command_execution_time_microseconds_count{engine=\"default\"} 2\n"));
+  }
+
+  public void testEscapeEngineName() {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.createMeter(Metrics.JOB_SUCCESSFUL);
+
+    String output = new PrometheusMetricsWriter("my \"engine\"").write(metricsRegistry);
+
+    assertTrue(output.contains("{engine=\"my \\\"engine\\\"\"}"));
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeploymentCacheSizeGauge() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    long deploymentCacheSize = processEngineConfiguration.getMetricsRegistry()
+      .getGaugeByName(Metrics.DEPLOYMENT_CACHE_SIZE)
+      .getValue();
+
+    assertTrue(deploymentCacheSize >= 1);
+  }
+
+}
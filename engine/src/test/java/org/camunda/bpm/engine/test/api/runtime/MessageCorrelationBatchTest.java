@@ -0,0 +1,180 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResultType;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.variable.Variables;
+
+public class MessageCorrelationBatchTest extends PluggableProcessEngineTestCase {
+
+  protected static final String MESSAGE_NAME = "newInvoiceMessage";
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/oneMessageCatchProcess.bpmn20.xml")
+  public void testCorrelateByBusinessKey() {
+    ProcessInstance first = runtimeService.startProcessInstanceByKey("oneMessageCatchProcess", "first");
+    ProcessInstance second = runtimeService.startProcessInstanceByKey("oneMessageCatchProcess", "second");
+
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .message(MESSAGE_NAME, "second", null, Variables.createVariables().putValue("invoice", 2))
+      .message(MESSAGE_NAME, "first", null, Variables.createVariables().putValue("invoice", 1))
+      .correlateWithResult();
+
+    assertEquals(2, results.size());
+
+    MessageCorrelationBatchResult secondResult = results.get(0);
+    assertTrue(secondResult.isCorrelated());
+    assertEquals("second", secondResult.getBusinessKey());
+    assertEquals(MessageCorrelationResultType.Execution, secondResult.getCorrelationResult().getResultType());
+    assertEquals(second.getId(), secondResult.getCorrelationResult().getExecution().getProcessInstanceId());
+
+    assertTrue(results.get(1).isCorrelated());
+
+    assertEquals(2, taskService.createTaskQuery().count());
+    assertEquals(1, runtimeService.getVariable(first.getId(), "invoice"));
+    assertEquals(2, runtimeService.getVariable(second.getId(), "invoice"));
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/oneMessageCatchProcess.bpmn20.xml")
+  public void testCorrelateByCorrelationKeys() {
+    runtimeService.startProcessInstanceByKey("oneMessageCatchProcess",
+        Variables.createVariables().putValue("invoiceId", "a"));
+    runtimeService.startProcessInstanceByKey("oneMessageCatchProcess",
+        Variables.createVariables().putValue("invoiceId", "b"));
+
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .message(MESSAGE_NAME, null, Collections.<String, Object>singletonMap("invoiceId", "b"), null)
+      .correlateWithResult();
+
+    assertTrue(results.get(0).isCorrelated());
+    assertEquals(1, taskService.createTaskQuery().processVariableValueEquals("invoiceId", "b").count());
+    assertEquals(0, taskService.createTaskQuery().processVariableValueEquals("invoiceId", "a").count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/messageStartEvent.bpmn20.xml")
+  public void testStartProcessInstanceByBusinessKey() {
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .message("startMessage", "aBusinessKey", null, null)
+      .correlateWithResult();
+
+    MessageCorrelationBatchResult result = results.get(0);
+    assertTrue(result.isCorrelated());
+    assertEquals(MessageCorrelationResultType.ProcessDefinition, result.getCorrelationResult().getResultType());
+
+    ProcessInstance processInstance = runtimeService.createProcessInstanceQuery().singleResult();
+    assertEquals("aBusinessKey", processInstance.getBusinessKey());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/oneMessageCatchProcess.bpmn20.xml")
+  public void testMismatchingMessageDoesNotAffectOtherMessages() {
+    runtimeService.startProcessInstanceByKey("oneMessageCatchProcess", "first");
+
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .message(MESSAGE_NAME, "unknown", null, null)
+      .message(MESSAGE_NAME, "first", null, null)
+      .correlateWithResult();
+
+    assertFalse(results.get(0).isCorrelated());
+    assertNull(results.get(0).getCorrelationResult());
+    assertTrue(results.get(0).getException() instanceof MismatchingMessageCorrelationException);
+
+    assertTrue(results.get(1).isCorrelated());
+    assertEquals(1, taskService.createTaskQuery().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/oneMessageCatchProcess.bpmn20.xml")
+  public void testCorrelateMoreBusinessKeysThanFitIntoOneQuery() {
+    runtimeService.startProcessInstanceByKey("oneMessageCatchProcess", "first");
+
+    MessageCorrelationBatchBuilder batch = runtimeService.createMessageCorrelationBatch();
+    for (int i = 0; i < DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS; i++) {
+      batch.message(MESSAGE_NAME, "unknown" + i, null, null);
+    }
+    batch.message(MESSAGE_NAME, "first", null, null);
+
+    List<MessageCorrelationBatchResult> results = batch
+      .transactionSize(DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS + 1)
+      .correlateWithResult();
+
+    assertTrue(results.get(DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS).isCorrelated());
+    assertEquals(1, taskService.createTaskQuery().count());
+  }
+
+  @Deployment(resources = {
+      "org/camunda/bpm/engine/test/api/runtime/oneMessageCatchProcess.bpmn20.xml",
+      "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationBatchTest.failingProcess.bpmn20.xml"
+  })
+  public void testFailingMessageIsIsolated() {
+    runtimeService.startProcessInstanceByKey("oneMessageCatchProcess", "first");
+    runtimeService.startProcessInstanceByKey("failingProcess", "failing");
+    runtimeService.startProcessInstanceByKey("oneMessageCatchProcess", "third");
+
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .message(MESSAGE_NAME, "first", null, null)
+      .message("failMessage", "failing", null, null)
+      .message(MESSAGE_NAME, "third", null, null)
+      .transactionSize(3)
+      .correlateWithResult();
+
+    assertTrue(results.get(0).isCorrelated());
+    assertFalse(results.get(1).isCorrelated());
+    assertNotNull(results.get(1).getException());
+    assertTrue(results.get(2).isCorrelated());
+
+    assertEquals(2, taskService.createTaskQuery().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/oneMessageCatchProcess.bpmn20.xml")
+  public void testCorrelateInMultipleTransactions() {
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("oneMessageCatchProcess", "instance" + i);
+    }
+
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .message(MESSAGE_NAME, "instance0", null, null)
+      .message(MESSAGE_NAME, "instance1", null, null)
+      .message(MESSAGE_NAME, "instance2", null, null)
+      .message(MESSAGE_NAME, "instance3", null, null)
+      .message(MESSAGE_NAME, "instance4", null, null)
+      .transactionSize(2)
+      .correlateWithResult();
+
+    assertEquals(5, results.size());
+    for (MessageCorrelationBatchResult result : results) {
+      assertTrue(result.isCorrelated());
+    }
+    assertEquals(5, taskService.createTaskQuery().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/oneMessageCatchProcess.bpmn20.xml")
+  public void testCorrelateBuilder() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneMessageCatchProcess");
+
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .message(runtimeService.createMessageCorrelation(MESSAGE_NAME).processInstanceId(processInstance.getId()))
+      .correlateWithResult();
+
+    assertTrue(results.get(0).isCorrelated());
+    assertEquals(1, taskService.createTaskQuery().count());
+  }
+
+}
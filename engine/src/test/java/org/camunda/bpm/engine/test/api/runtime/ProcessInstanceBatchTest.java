@@ -0,0 +1,169 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NullValueException;
+import org.camunda.bpm.engine.exception.ProcessInstanceBatchException;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+public class ProcessInstanceBatchTest extends PluggableProcessEngineTestCase {
+
+  protected static final String PROCESS_DEFINITION_KEY = "testProcess";
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess(PROCESS_DEFINITION_KEY)
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  @Override
+  protected void setUp() throws Exception {
+    deployment(PROCESS);
+  }
+
+  public void testStartProcessInstancesByKey() {
+    List<String> processInstanceIds = runtimeService.createProcessInstanceBatchByKey(PROCESS_DEFINITION_KEY)
+      .instance("a", null)
+      .instance("b", Variables.createVariables().putValue("var", "value"))
+      .execute();
+
+    assertThat(processInstanceIds.size(), is(2));
+
+    ProcessInstance first = runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceIds.get(0)).singleResult();
+    assertThat(first.getBusinessKey(), is("a"));
+
+    ProcessInstance second = runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceIds.get(1)).singleResult();
+    assertThat(second.getBusinessKey(), is("b"));
+    assertThat((String) runtimeService.getVariable(second.getId(), "var"), is("value"));
+
+    assertThat(taskService.createTaskQuery().count(), is(2L));
+  }
+
+  public void testStartProcessInstancesById() {
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+
+    List<String> processInstanceIds = runtimeService.createProcessInstanceBatchById(processDefinition.getId())
+      .instance(null, null)
+      .execute();
+
+    assertThat(processInstanceIds.size(), is(1));
+    assertThat(runtimeService.createProcessInstanceQuery().processDefinitionId(processDefinition.getId()).count(), is(1L));
+  }
+
+  public void testStartProcessInstancesInMultipleTransactions() {
+    List<String> processInstanceIds = runtimeService.createProcessInstanceBatchByKey(PROCESS_DEFINITION_KEY)
+      .instance("a", null)
+      .instance("b", null)
+      .instance("c", null)
+      .instance("d", null)
+      .instance("e", null)
+      .transactionSize(2)
+      .execute();
+
+    assertThat(processInstanceIds.size(), is(5));
+    assertThat(runtimeService.createProcessInstanceQuery().count(), is(5L));
+
+    for (int i = 0; i < processInstanceIds.size(); i++) {
+      ProcessInstance processInstance = runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceIds.get(i)).singleResult();
+      assertThat(processInstance.getBusinessKey(), is(String.valueOf((char) ('a' + i))));
+    }
+  }
+
+  public void testStartProcessInstancesWithoutInstances() {
+    List<String> processInstanceIds = runtimeService.createProcessInstanceBatchByKey(PROCESS_DEFINITION_KEY).execute();
+
+    assertThat(processInstanceIds.isEmpty(), is(true));
+    assertThat(runtimeService.createProcessInstanceQuery().count(), is(0L));
+  }
+
+  public void testFailToStartProcessInstancesByIdWithTenantId() {
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+
+    try {
+      runtimeService.createProcessInstanceBatchById(processDefinition.getId())
+        .processDefinitionTenantId("tenant")
+        .instance(null, null)
+        .execute();
+
+      fail("expected exception");
+    } catch (ProcessEngineException e) {
+      assertThat(e.getMessage(), containsString("Cannot specify a tenant-id"));
+    }
+  }
+
+  public void testFailToStartProcessInstancesOfUnknownDefinition() {
+    try {
+      runtimeService.createProcessInstanceBatchByKey("unknown")
+        .instance(null, null)
+        .execute();
+
+      fail("expected exception");
+    } catch (NullValueException e) {
+      assertThat(runtimeService.createProcessInstanceQuery().count(), is(0L));
+    }
+  }
+
+  public void testFailToStartProcessInstancesInLaterTransaction() {
+    deployment(Bpmn.createExecutableProcess("failingProcess")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${shouldFail ? unknownBean.fail() : true}")
+      .userTask()
+      .endEvent()
+      .done());
+
+    try {
+      runtimeService.createProcessInstanceBatchByKey("failingProcess")
+        .instance("a", Variables.createVariables().putValue("shouldFail", false))
+        .instance("b", Variables.createVariables().putValue("shouldFail", false))
+        .instance("c", Variables.createVariables().putValue("shouldFail", true))
+        .instance("d", Variables.createVariables().putValue("shouldFail", false))
+        .transactionSize(2)
+        .execute();
+
+      fail("expected exception");
+    } catch (ProcessInstanceBatchException e) {
+      List<String> startedProcessInstanceIds = e.getStartedProcessInstanceIds();
+      assertThat(startedProcessInstanceIds.size(), is(2));
+      assertThat(runtimeService.createProcessInstanceQuery().processDefinitionKey("failingProcess").count(), is(2L));
+
+      ProcessInstance first = runtimeService.createProcessInstanceQuery().processInstanceId(startedProcessInstanceIds.get(0)).singleResult();
+      assertThat(first.getBusinessKey(), is("a"));
+      ProcessInstance second = runtimeService.createProcessInstanceQuery().processInstanceId(startedProcessInstanceIds.get(1)).singleResult();
+      assertThat(second.getBusinessKey(), is("b"));
+    }
+  }
+
+  public void testFailToSetNonPositiveTransactionSize() {
+    try {
+      runtimeService.createProcessInstanceBatchByKey(PROCESS_DEFINITION_KEY).transactionSize(0);
+
+      fail("expected exception");
+    } catch (ProcessEngineException e) {
+      assertThat(e.getMessage(), containsString("transactionSize"));
+    }
+  }
+
+}
@@ -0,0 +1,174 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricDetail;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.history.HistoricVariableUpdate;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class VariableByteArrayPrefetchTest {
+
+  protected static final int VARIABLES = 5;
+
+  @Rule
+  public ProcessEngineRule engineRule = new ProcessEngineRule();
+  @Rule
+  public ProcessEngineTestRule testHelper = new ProcessEngineTestRule(engineRule);
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  protected ProcessInstance processInstance;
+
+  @Before
+  public void startProcessInstance() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+
+    testHelper.deploy(Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .userTask()
+        .endEvent()
+        .done());
+
+    processInstance = runtimeService.startProcessInstanceByKey("process", createVariables());
+  }
+
+  @Test
+  public void shouldPrefetchByteArraysIntoEntityCache() {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        List<String> byteArrayIds = findByteArrayIds(commandContext);
+        assertEquals(VARIABLES, byteArrayIds.size());
+
+        commandContext.getByteArrayManager().prefetchByteArrays(byteArrayIds);
+
+        for (String byteArrayId : byteArrayIds) {
+          assertNotNull(commandContext.getDbEntityManager().getCachedEntity(ByteArrayEntity.class, byteArrayId));
+        }
+        return null;
+      }
+    });
+  }
+
+  @Test
+  public void shouldNotPrefetchSingleByteArray() {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        String byteArrayId = findByteArrayIds(commandContext).get(0);
+        List<String> byteArrayIds = new ArrayList<String>();
+        byteArrayIds.add(byteArrayId);
+        byteArrayIds.add(null);
+
+        commandContext.getByteArrayManager().prefetchByteArrays(byteArrayIds);
+
+        assertNull(commandContext.getDbEntityManager().getCachedEntity(ByteArrayEntity.class, byteArrayId));
+        return null;
+      }
+    });
+  }
+
+  @Test
+  public void shouldGetByteArrayVariablesOfScope() {
+    VariableMap variables = runtimeService.getVariablesTyped(processInstance.getId());
+
+    VariableMap expectedVariables = createVariables();
+    assertEquals(expectedVariables.size(), variables.size());
+    for (String variableName : expectedVariables.keySet()) {
+      assertEquals(expectedVariables.get(variableName), variables.get(variableName));
+    }
+  }
+
+  @Test
+  public void shouldQueryByteArrayVariables() {
+    List<VariableInstance> variableInstances = runtimeService.createVariableInstanceQuery()
+        .processInstanceIdIn(processInstance.getId())
+        .list();
+
+    assertEquals(VARIABLES + 1, variableInstances.size());
+    for (VariableInstance variableInstance : variableInstances) {
+      assertEquals(createVariables().get(variableInstance.getName()), variableInstance.getValue());
+    }
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldQueryHistoricByteArrayVariables() {
+    List<HistoricVariableInstance> historicVariableInstances = historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .list();
+
+    assertEquals(VARIABLES + 1, historicVariableInstances.size());
+    for (HistoricVariableInstance historicVariableInstance : historicVariableInstances) {
+      assertEquals(createVariables().get(historicVariableInstance.getName()), historicVariableInstance.getValue());
+    }
+
+    List<HistoricDetail> historicDetails = historyService.createHistoricDetailQuery()
+        .processInstanceId(processInstance.getId())
+        .variableUpdates()
+        .list();
+
+    assertEquals(VARIABLES + 1, historicDetails.size());
+    for (HistoricDetail historicDetail : historicDetails) {
+      HistoricVariableUpdate variableUpdate = (HistoricVariableUpdate) historicDetail;
+      assertEquals(createVariables().get(variableUpdate.getVariableName()), variableUpdate.getValue());
+    }
+  }
+
+  protected VariableMap createVariables() {
+    VariableMap variables = Variables.createVariables().putValue("stringVar", "value");
+    for (int i = 0; i < VARIABLES; i++) {
+      variables.putValue("objectVar" + i, new JavaSerializable("value" + i));
+    }
+    return variables;
+  }
+
+  protected List<String> findByteArrayIds(CommandContext commandContext) {
+    List<String> byteArrayIds = new ArrayList<String>();
+    for (VariableInstanceEntity variable : commandContext.getVariableInstanceManager().findVariableInstancesByProcessInstanceId(processInstance.getId())) {
+      if (variable.getByteArrayValueId() != null) {
+        byteArrayIds.add(variable.getByteArrayValueId());
+      }
+    }
+    return byteArrayIds;
+  }
+
+}
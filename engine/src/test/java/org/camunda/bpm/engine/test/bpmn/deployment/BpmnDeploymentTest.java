@@ -14,7 +14,12 @@
 package org.camunda.bpm.engine.test.bpmn.deployment;
 
 import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.RepositoryServiceImpl;
@@ -23,12 +28,14 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.pvm.ReadOnlyProcessDefinition;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.DeploymentWithDefinitions;
+import org.camunda.bpm.engine.repository.ProcessApplicationDeployment;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.repository.Resource;
 import org.camunda.bpm.engine.test.Deployment;
@@ -109,6 +116,68 @@ public class BpmnDeploymentTest extends PluggableProcessEngineTestCase {
     repositoryService.deleteDeployment(deploymentId);
   }
 
+  public void testDeploymentStoresContentHashOfResources() {
+    String bpmnResourceName = "org/camunda/bpm/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
+    String deploymentId = repositoryService.createDeployment().addClasspathResource(bpmnResourceName).name("hashed").deploy().getId();
+
+    Map<String, ResourceEntity> resources = findLatestResourceContentHashes("hashed", bpmnResourceName);
+
+    ResourceEntity resource = resources.get(bpmnResourceName);
+    assertNotNull(resource);
+    assertNull(resource.getBytes());
+
+    ResourceEntity expectedResource = new ResourceEntity();
+    expectedResource.setBytes(IoUtil.readInputStream(ReflectUtil.getResourceAsStream(bpmnResourceName), "bpmn resource"));
+    assertEquals(expectedResource.getContentHash(), resource.getContentHash());
+
+    repositoryService.deleteDeployment(deploymentId);
+  }
+
+  public void testDeploySameFileTwiceWithoutStoredContentHash() {
+    String bpmnResourceName = "org/camunda/bpm/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
+    String deploymentId = repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy().getId();
+
+    // simulate a resource which was deployed before the content hash was stored
+    clearContentHashes(deploymentId);
+    assertNull(findLatestResourceContentHashes("twice", bpmnResourceName).get(bpmnResourceName).getContentHash());
+
+    repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy();
+    assertEquals(1, repositoryService.createDeploymentQuery().count());
+
+    repositoryService.deleteDeployment(deploymentId);
+  }
+
+  protected Map<String, ResourceEntity> findLatestResourceContentHashes(final String deploymentName, final String resourceName) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Map<String, ResourceEntity>>() {
+      public Map<String, ResourceEntity> execute(CommandContext commandContext) {
+        return commandContext.getResourceManager().findLatestResourceContentHashesByDeploymentName(deploymentName,
+            Collections.singleton(resourceName), ProcessApplicationDeployment.PROCESS_APPLICATION_DEPLOYMENT_SOURCE, null);
+      }
+    });
+  }
+
+  protected void clearContentHashes(final String deploymentId) {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        String tablePrefix = commandContext.getProcessEngineConfiguration().getDatabaseTablePrefix();
+        Connection connection = commandContext.getDbSqlSession().getSqlSession().getConnection();
+        try {
+          PreparedStatement statement = connection.prepareStatement(
+              "update " + tablePrefix + "ACT_GE_BYTEARRAY set CONTENT_HASH_ = null where DEPLOYMENT_ID_ = ?");
+          try {
+            statement.setString(1, deploymentId);
+            statement.executeUpdate();
+          } finally {
+            statement.close();
+          }
+        } catch (SQLException e) {
+          throw new ProcessEngineException(e);
+        }
+        return null;
+      }
+    });
+  }
+
   public void testPartialChangesDeployAll() {
     BpmnModelInstance model1 = Bpmn.createExecutableProcess("process1").done();
     BpmnModelInstance model2 = Bpmn.createExecutableProcess("process2").done();
@@ -0,0 +1,229 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.bpmn.servicetask;
+
+import java.util.Collections;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.delegate.AsyncJavaDelegate;
+import org.camunda.bpm.engine.delegate.AsyncJavaDelegateCompletion;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.jobexecutor.AsyncJavaDelegateJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.Incident;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+public class AsyncJavaDelegateTest extends PluggableProcessEngineTestCase {
+
+  protected static volatile AsyncJavaDelegateCompletion pendingCompletion;
+
+  @Override
+  protected void setUp() throws Exception {
+    pendingCompletion = null;
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    pendingCompletion = null;
+    processEngineConfiguration.getBeans().remove("asyncDelegate");
+    processEngineConfiguration.setAsyncJavaDelegateTimeout(0);
+  }
+
+  public void testCompleteInDelegate() {
+    deployment(createProcess(CompletingDelegate.class));
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // the completion is persisted as an exclusive job
+    Job job = managementService.createJobQuery().singleResult();
+    assertNotNull(job);
+    assertTrue(((JobEntity) job).isExclusive());
+    assertEquals(AsyncJavaDelegateJobHandler.TYPE, ((JobEntity) job).getJobHandlerType());
+    assertEquals("done", runtimeService.getVariable(processInstance.getId(), "result"));
+
+    executeAvailableJobs();
+
+    assertUserTaskReached();
+  }
+
+  public void testCompleteFromOtherThread() throws Exception {
+    deployment(createProcess(PendingDelegate.class));
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // the execution waits in the service task
+    assertNotNull(pendingCompletion);
+    assertEquals(Collections.singletonList("asyncTask"), runtimeService.getActiveActivityIds(processInstance.getId()));
+
+    Thread completingThread = new Thread(new Runnable() {
+      public void run() {
+        pendingCompletion.complete(Collections.<String, Object>singletonMap("result", "remote"));
+      }
+    });
+    completingThread.start();
+    completingThread.join();
+
+    executeAvailableJobs();
+
+    assertUserTaskReached();
+    assertEquals("remote", runtimeService.getVariable(processInstance.getId(), "result"));
+  }
+
+  public void testCompleteWithDelegateExpression() {
+    processEngineConfiguration.getBeans().put("asyncDelegate", new CompletingDelegate());
+    deployment(Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .serviceTask("asyncTask").camundaDelegateExpression("${asyncDelegate}")
+        .userTask("userTask")
+        .endEvent()
+        .done());
+
+    runtimeService.startProcessInstanceByKey("process");
+    executeAvailableJobs();
+
+    assertUserTaskReached();
+  }
+
+  public void testFailureCreatesIncident() {
+    deployment(createProcess(FailingDelegate.class));
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    executeAvailableJobs();
+
+    Incident incident = getIncident();
+    assertEquals("asyncTask", incident.getActivityId());
+    assertEquals("remote call failed", incident.getIncidentMessage());
+    assertEquals(processInstance.getId(), incident.getProcessInstanceId());
+
+    // signaling the execution leaves the service task and resolves the incident
+    runtimeService.signal(incident.getExecutionId());
+
+    assertEquals(1, taskService.createTaskQuery().count());
+    assertEquals(0, runtimeService.createIncidentQuery().count());
+  }
+
+  public void testTimeoutCreatesIncident() {
+    processEngineConfiguration.setAsyncJavaDelegateTimeout(100);
+    deployment(createProcess(PendingDelegate.class));
+
+    runtimeService.startProcessInstanceByKey("process");
+
+    // the timeout is a timer job
+    assertEquals(1, managementService.createJobQuery().timers().count());
+    executeAvailableJobs();
+
+    Incident incident = getIncident();
+    assertTrue(incident.getIncidentMessage().contains("did not complete within 100 ms"));
+
+    // a late completion still continues the execution and resolves the incident
+    pendingCompletion.complete();
+    executeAvailableJobs();
+
+    assertUserTaskReached();
+    assertEquals(0, runtimeService.createIncidentQuery().count());
+  }
+
+  public void testCompletionDeletesTimeout() {
+    processEngineConfiguration.setAsyncJavaDelegateTimeout(100);
+    deployment(createProcess(PendingDelegate.class));
+
+    runtimeService.startProcessInstanceByKey("process");
+    assertEquals(1, managementService.createJobQuery().timers().count());
+
+    pendingCompletion.complete();
+
+    assertEquals(0, managementService.createJobQuery().timers().count());
+    assertEquals(1, managementService.createJobQuery().messages().count());
+
+    executeAvailableJobs();
+
+    assertUserTaskReached();
+    assertEquals(0, runtimeService.createIncidentQuery().count());
+  }
+
+  public void testFailedCompletionCanBeRetried() {
+    deployment(createProcess(PendingDelegate.class));
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // the variable cannot be serialized
+    try {
+      pendingCompletion.complete(Collections.<String, Object>singletonMap("result", new Object()));
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+    assertEquals(0, managementService.createJobQuery().messages().count());
+
+    pendingCompletion.complete(Collections.<String, Object>singletonMap("result", "retried"));
+    executeAvailableJobs();
+
+    assertUserTaskReached();
+    assertEquals("retried", runtimeService.getVariable(processInstance.getId(), "result"));
+  }
+
+  public void testCompletionIsIgnoredAfterCancellation() {
+    deployment(createProcess(PendingDelegate.class));
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    runtimeService.deleteProcessInstance(processInstance.getId(), null);
+
+    pendingCompletion.complete();
+
+    assertEquals(0, managementService.createJobQuery().count());
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+    assertEquals(0, runtimeService.createIncidentQuery().count());
+  }
+
+  protected BpmnModelInstance createProcess(Class<? extends AsyncJavaDelegate> delegateClass) {
+    return Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .serviceTask("asyncTask").camundaClass(delegateClass.getName())
+        .userTask("userTask")
+        .endEvent()
+        .done();
+  }
+
+  protected void assertUserTaskReached() {
+    assertEquals(1, taskService.createTaskQuery().taskDefinitionKey("userTask").count());
+  }
+
+  protected Incident getIncident() {
+    Incident incident = runtimeService.createIncidentQuery().incidentType(Incident.ASYNC_JAVA_DELEGATE_HANDLER_TYPE).singleResult();
+    assertNotNull(incident);
+    return incident;
+  }
+
+  public static class CompletingDelegate implements AsyncJavaDelegate {
+    public void execute(DelegateExecution execution, AsyncJavaDelegateCompletion completion) throws Exception {
+      completion.complete(Collections.<String, Object>singletonMap("result", "done"));
+    }
+  }
+
+  public static class PendingDelegate implements AsyncJavaDelegate {
+    public void execute(DelegateExecution execution, AsyncJavaDelegateCompletion completion) throws Exception {
+      pendingCompletion = completion;
+    }
+  }
+
+  public static class FailingDelegate implements AsyncJavaDelegate {
+    public void execute(DelegateExecution execution, AsyncJavaDelegateCompletion completion) throws Exception {
+      completion.fail(new RuntimeException("remote call failed"));
+    }
+  }
+
+}
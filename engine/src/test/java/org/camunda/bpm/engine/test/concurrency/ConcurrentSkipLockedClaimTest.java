@@ -0,0 +1,187 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.concurrency;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.cmd.FetchExternalTasksCmd;
+import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+/**
+ * <p>Tests that two transactions claiming rows concurrently get disjoint rows when the
+ * rows are claimed by a select which skips locked rows:</p>
+ *
+ * thread1:
+ *  t=1: claim rows and keep the transaction open
+ *  t=3: commit
+ *
+ * thread2:
+ *  t=2: claim rows without waiting for the rows locked by thread1
+ *  t=4: commit
+ *
+ * <p><b>Note:</b> the test is only executed on databases which support skipping locked rows,
+ * on other databases thread2 would wait for the locks of thread1.</p>
+ */
+public class ConcurrentSkipLockedClaimTest extends ConcurrencyTestCase {
+
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final long LOCK_TIME = 10000L;
+  protected static final String TOPIC_NAME = "externalTaskTopic";
+
+  protected static final BpmnModelInstance ASYNC_PROCESS = Bpmn.createExecutableProcess("asyncProcess")
+      .startEvent()
+      .userTask()
+        .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  protected int defaultMaxJobsPerAcquisition;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.setSkipLockedClaimEnabled(true);
+    defaultMaxJobsPerAcquisition = processEngineConfiguration.getJobExecutor().getMaxJobsPerAcquisition();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setSkipLockedClaimEnabled(false);
+    processEngineConfiguration.getJobExecutor().setMaxJobsPerAcquisition(defaultMaxJobsPerAcquisition);
+    super.tearDown();
+  }
+
+  @Override
+  protected void runTest() throws Throwable {
+    if (processEngineConfiguration.getDbSqlSessionFactory().isSkipLockedSupported()) {
+      // invoke the test method
+      super.runTest();
+    }
+  }
+
+  public void testConcurrentJobAcquisition() {
+    // given
+    deployment(ASYNC_PROCESS);
+    for (int i = 0; i < 4; i++) {
+      runtimeService.startProcessInstanceByKey("asyncProcess");
+    }
+    JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+    jobExecutor.setMaxJobsPerAcquisition(2);
+
+    // when
+    ControllableAcquireJobsCommand acquisition1 = new ControllableAcquireJobsCommand(jobExecutor);
+    ThreadControl thread1 = executeControllableCommand(acquisition1);
+    thread1.waitForSync();
+
+    ControllableAcquireJobsCommand acquisition2 = new ControllableAcquireJobsCommand(jobExecutor);
+    ThreadControl thread2 = executeControllableCommand(acquisition2);
+    thread2.waitForSync();
+
+    thread1.waitUntilDone();
+    thread2.waitUntilDone();
+
+    // then
+    assertNull(thread1.getException());
+    assertNull(thread2.getException());
+    assertEquals(2, acquisition1.acquiredJobs.size());
+    assertEquals(2, acquisition2.acquiredJobs.size());
+
+    for (List<String> jobIds : acquisition1.acquiredJobs.getJobIdBatches()) {
+      for (String jobId : jobIds) {
+        assertFalse(acquisition2.acquiredJobs.contains(jobId));
+      }
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testConcurrentFetchAndLock() {
+    // given
+    for (int i = 0; i < 4; i++) {
+      runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    }
+
+    // when
+    ControllableFetchExternalTasksCommand fetch1 = new ControllableFetchExternalTasksCommand();
+    ThreadControl thread1 = executeControllableCommand(fetch1);
+    thread1.waitForSync();
+
+    ControllableFetchExternalTasksCommand fetch2 = new ControllableFetchExternalTasksCommand();
+    ThreadControl thread2 = executeControllableCommand(fetch2);
+    thread2.waitForSync();
+
+    thread1.waitUntilDone();
+    thread2.waitUntilDone();
+
+    // then
+    assertNull(thread1.getException());
+    assertNull(thread2.getException());
+    assertEquals(2, fetch1.lockedTasks.size());
+    assertEquals(2, fetch2.lockedTasks.size());
+
+    Set<String> lockedTaskIds = new HashSet<String>();
+    for (LockedExternalTask task : fetch1.lockedTasks) {
+      lockedTaskIds.add(task.getId());
+    }
+    for (LockedExternalTask task : fetch2.lockedTasks) {
+      assertTrue(lockedTaskIds.add(task.getId()));
+    }
+    assertEquals(4, externalTaskService.createExternalTaskQuery().locked().count());
+  }
+
+  protected static class ControllableAcquireJobsCommand extends ControllableCommand<Void> {
+
+    protected JobExecutor jobExecutor;
+    protected AcquiredJobs acquiredJobs;
+
+    public ControllableAcquireJobsCommand(JobExecutor jobExecutor) {
+      this.jobExecutor = jobExecutor;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      acquiredJobs = new AcquireJobsCmd(jobExecutor).execute(commandContext);
+
+      // keep the claimed rows locked
+      monitor.sync();
+
+      return null;
+    }
+  }
+
+  protected static class ControllableFetchExternalTasksCommand extends ControllableCommand<Void> {
+
+    protected List<LockedExternalTask> lockedTasks;
+
+    public Void execute(CommandContext commandContext) {
+      lockedTasks = new FetchExternalTasksCmd(WORKER_ID, 2,
+          Collections.singletonMap(TOPIC_NAME, new TopicFetchInstruction(TOPIC_NAME, LOCK_TIME)))
+        .execute(commandContext);
+
+      // keep the claimed rows locked
+      monitor.sync();
+
+      return null;
+    }
+  }
+
+}
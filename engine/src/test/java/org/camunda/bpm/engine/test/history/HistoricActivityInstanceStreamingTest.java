@@ -0,0 +1,148 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricTaskInstance;
+import org.camunda.bpm.engine.query.QueryResultHandler;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+public class HistoricActivityInstanceStreamingTest {
+
+  @Rule
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldStreamAllResults() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    // when
+    final List<HistoricActivityInstance> streamed = new ArrayList<HistoricActivityInstance>();
+    historyService.createHistoricActivityInstanceQuery()
+      .orderByHistoricActivityInstanceId().asc()
+      .forEach(new QueryResultHandler<HistoricActivityInstance>() {
+        public void handleResult(HistoricActivityInstance result) {
+          streamed.add(result);
+        }
+      });
+
+    // then
+    List<HistoricActivityInstance> listed = historyService.createHistoricActivityInstanceQuery()
+      .orderByHistoricActivityInstanceId().asc()
+      .list();
+
+    assertEquals(listed.size(), streamed.size());
+    for (int i = 0; i < listed.size(); i++) {
+      assertEquals(listed.get(i).getId(), streamed.get(i).getId());
+    }
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldPageByLastSeenId() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+    List<HistoricActivityInstance> all = historyService.createHistoricActivityInstanceQuery()
+      .orderByHistoricActivityInstanceId().asc()
+      .list();
+
+    // when
+    List<HistoricActivityInstance> paged = new ArrayList<HistoricActivityInstance>();
+    String lastId = null;
+    List<HistoricActivityInstance> page;
+    do {
+      if (lastId == null) {
+        page = historyService.createHistoricActivityInstanceQuery()
+          .orderByHistoricActivityInstanceId().asc()
+          .listPage(0, 2);
+      } else {
+        page = historyService.createHistoricActivityInstanceQuery()
+          .afterId(lastId)
+          .orderByHistoricActivityInstanceId().asc()
+          .listPage(0, 2);
+      }
+      paged.addAll(page);
+      if (!page.isEmpty()) {
+        lastId = page.get(page.size() - 1).getId();
+      }
+    } while (!page.isEmpty());
+
+    // then
+    assertEquals(all.size(), paged.size());
+    for (int i = 0; i < all.size(); i++) {
+      assertEquals(all.get(i).getId(), paged.get(i).getId());
+    }
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldStreamHistoricProcessAndTaskInstances() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    // when
+    final List<String> processInstanceIds = new ArrayList<String>();
+    historyService.createHistoricProcessInstanceQuery()
+      .forEach(new QueryResultHandler<HistoricProcessInstance>() {
+        public void handleResult(HistoricProcessInstance result) {
+          processInstanceIds.add(result.getId());
+        }
+      });
+
+    final List<String> taskInstanceIds = new ArrayList<String>();
+    historyService.createHistoricTaskInstanceQuery()
+      .forEach(new QueryResultHandler<HistoricTaskInstance>() {
+        public void handleResult(HistoricTaskInstance result) {
+          taskInstanceIds.add(result.getId());
+        }
+      });
+
+    // then
+    assertEquals(3, processInstanceIds.size());
+    assertEquals(3, taskInstanceIds.size());
+  }
+
+}
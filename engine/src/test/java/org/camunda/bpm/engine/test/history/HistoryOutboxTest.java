@@ -0,0 +1,246 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.ClaimHistoryOutboxEntriesCmd;
+import org.camunda.bpm.engine.impl.history.handler.HistoryOutboxWriter;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxEntryEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+public class HistoryOutboxTest {
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration
+        .setHistoryOutboxEnabled(true)
+        // the outbox is written by the tests
+        .setHistoryOutboxWriteInterval(60000);
+    }
+  };
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected HistoryOutboxWriter writer;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    writer = processEngineConfiguration.getHistoryOutboxWriter();
+  }
+
+  @After
+  public void writeOutbox() {
+    ClockUtil.reset();
+    writer.setReadYourWrites(false);
+    writer.writeAll();
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldWriteHistoryAfterCommit() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(1, writer.getBacklog());
+
+    // when
+    writer.writeAll();
+
+    // then
+    assertEquals(0, writer.getBacklog());
+    assertNotNull(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult());
+
+    HistoricActivityInstance startEvent = historyService.createHistoricActivityInstanceQuery().activityId("theStart").singleResult();
+    assertNotNull(startEvent.getEndTime());
+
+    HistoricActivityInstance userTask = historyService.createHistoricActivityInstanceQuery().activityId("theTask").singleResult();
+    assertNull(userTask.getEndTime());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldCoalesceActivityInstanceEvents() {
+    // given
+    long coalescedEvents = processEngineConfiguration.getMetricsRegistry()
+      .getMeterByName(Metrics.HISTORY_OUTBOX_EVENTS_COALESCED).get();
+
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+    taskService.complete(taskId);
+
+    // when
+    writer.writeAll();
+
+    // then all activity instances were started and ended by the same write
+    assertEquals(3, historyService.createHistoricActivityInstanceQuery().finished().count());
+    assertTrue(processEngineConfiguration.getMetricsRegistry()
+      .getMeterByName(Metrics.HISTORY_OUTBOX_EVENTS_COALESCED).get() > coalescedEvents);
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldUpdateHistoryWrittenByPreviousWrite() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    writer.writeAll();
+
+    // when
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+    taskService.complete(taskId);
+    writer.writeAll();
+
+    // then
+    HistoricActivityInstance userTask = historyService.createHistoricActivityInstanceQuery().activityId("theTask").singleResult();
+    assertNotNull(userTask.getEndTime());
+    assertNotNull(historyService.createHistoricProcessInstanceQuery().finished().singleResult());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldReadYourWrites() {
+    // given
+    writer.setReadYourWrites(true);
+
+    // when
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    // then
+    assertEquals(2, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(0, writer.getBacklog());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldReadYourWritesWithoutWritingEntriesOfOtherTransactions() {
+    // given an entry committed by another transaction
+    ProcessInstance otherProcessInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    writer.setReadYourWrites(true);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    // then only the entry of the committing transaction was written
+    assertEquals(2, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(otherProcessInstance.getId()).count());
+    assertEquals(1, writer.getBacklog());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldNotWriteEntriesClaimedByAnotherWriter() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    List<String> claimedEntryIds = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new ClaimHistoryOutboxEntriesCmd("anotherWriter", 10000, 10));
+    assertEquals(1, claimedEntryIds.size());
+
+    // when
+    writer.writeAll();
+
+    // then
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+
+    // when the lock of the other writer expired
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + 20000));
+    writer.writeAll();
+
+    // then
+    assertEquals(2, historyService.createHistoricActivityInstanceQuery().count());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldMoveFailingEntryAside() {
+    // given an entry which cannot be deserialized and is written first
+    final String entryId = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<String>() {
+      public String execute(CommandContext commandContext) {
+        HistoryOutboxEntryEntity entry = new HistoryOutboxEntryEntity(0, new byte[] { 1, 2, 3 });
+        commandContext.getHistoryOutboxManager().insertEntry(entry);
+        return entry.getId();
+      }
+    });
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    try {
+      // when
+      for (int i = 0; i < writer.getMaxAttempts(); i++) {
+        writer.writeAll();
+      }
+
+      // then the other entry was written
+      assertEquals(2, historyService.createHistoricActivityInstanceQuery().count());
+
+      HistoryOutboxEntryEntity entry = findEntry(entryId);
+      assertEquals(HistoryOutboxEntryEntity.STATE_FAILED, entry.getState());
+      assertEquals(writer.getMaxAttempts(), entry.getAttempts());
+      assertNotNull(entry.getErrorMessage());
+      assertNull(entry.getLockOwner());
+
+    } finally {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext.getHistoryOutboxManager().deleteEntry(commandContext.getHistoryOutboxManager().findEntryById(entryId));
+          return null;
+        }
+      });
+    }
+  }
+
+  protected HistoryOutboxEntryEntity findEntry(final String entryId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<HistoryOutboxEntryEntity>() {
+      public HistoryOutboxEntryEntity execute(CommandContext commandContext) {
+        return commandContext.getHistoryOutboxManager().findEntryById(entryId);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionShard;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.test.Deployment;
+import org.junit.Test;
+
+public class JobExecutorShardedAcquisitionTest extends AbstractJobExecutorAcquireJobsTest {
+
+  protected static final int SHARD_COUNT = 4;
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void testSingleShardAcquiresAllJobs() {
+    // given
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+    }
+
+    // when
+    List<JobEntity> acquiredJobs = findAcquirableJobs(new JobAcquisitionShard(0, 1));
+
+    // then
+    assertEquals(5, acquiredJobs.size());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void testShardsWithDecimalIds() {
+    // given ids which end with a decimal digit
+    assertTrue(configuration.getIdGenerator() instanceof DbIdGenerator);
+    for (int i = 0; i < 20; i++) {
+      runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+    }
+
+    // when
+    int shardCount = 10;
+    int numAcquiredJobs = 0;
+    for (int i = 0; i < shardCount; i++) {
+      for (JobEntity job : findAcquirableJobs(new JobAcquisitionShard(i, shardCount))) {
+        // then every shard acquires the jobs of one digit
+        String processInstanceId = job.getProcessInstanceId();
+        assertEquals(i, processInstanceId.charAt(processInstanceId.length() - 1) % shardCount);
+        numAcquiredJobs++;
+      }
+    }
+
+    assertEquals(20, numAcquiredJobs);
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void testShardsAreDisjointAndCoverAllJobs() {
+    // given
+    for (int i = 0; i < 20; i++) {
+      runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+    }
+
+    // when
+    Set<String> acquiredJobIds = new HashSet<String>();
+    int numAcquiredJobs = 0;
+    for (int i = 0; i < SHARD_COUNT; i++) {
+      for (JobEntity job : findAcquirableJobs(new JobAcquisitionShard(i, SHARD_COUNT))) {
+        acquiredJobIds.add(job.getId());
+        numAcquiredJobs++;
+      }
+    }
+
+    // then
+    assertEquals(20, numAcquiredJobs);
+    assertEquals(20, acquiredJobIds.size());
+    for (JobEntity job : findAcquirableJobs()) {
+      assertTrue(acquiredJobIds.contains(job.getId()));
+    }
+  }
+
+  protected List<JobEntity> findAcquirableJobs(final JobAcquisitionShard shard) {
+    return configuration.getCommandExecutorTxRequired().execute(new Command<List<JobEntity>>() {
+
+      @Override
+      public List<JobEntity> execute(CommandContext commandContext) {
+        return commandContext
+          .getJobManager()
+          .findNextJobsToExecute(new Page(0, 100), shard);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,217 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.LocalJobDispatcher;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class LocalJobDispatchTest {
+
+  protected RecordingJobExecutor jobExecutor = new RecordingJobExecutor();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      jobExecutor.setLocalDispatchEnabled(true);
+      return configuration.setJobExecutor(jobExecutor);
+    }
+  };
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule);
+
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+  protected TaskService taskService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+    taskService = engineRule.getTaskService();
+
+    jobExecutor.dispatchedJobIds.clear();
+    jobExecutor.acceptJobs = true;
+    jobExecutor.start();
+  }
+
+  @After
+  public void shutdownJobExecutor() {
+    jobExecutor.shutdown();
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void shouldLockAndDispatchJobAfterCommit() {
+    // when
+    runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+
+    // then
+    JobEntity job = (JobEntity) managementService.createJobQuery().singleResult();
+    assertEquals(Collections.singletonList(job.getId()), jobExecutor.dispatchedJobIds);
+    assertEquals(jobExecutor.getLockOwner(), job.getLockOwner());
+    assertEquals(0, jobExecutor.getLocalJobDispatcher().getReservedJobs());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void shouldGiveBackRejectedJob() {
+    // given
+    jobExecutor.acceptJobs = false;
+
+    // when
+    runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+
+    // then
+    JobEntity job = (JobEntity) managementService.createJobQuery().singleResult();
+    assertNull(job.getLockOwner());
+    assertNull(job.getLockExpirationTime());
+    assertEquals(0, jobExecutor.getLocalJobDispatcher().getReservedJobs());
+  }
+
+  @Test
+  public void shouldNotDispatchExclusiveJobWhileSiblingIsLocked() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .parallelGateway("fork")
+        .userTask("waitTask")
+        .userTask("afterWaitTask").camundaAsyncBefore()
+        .endEvent()
+      .moveToNode("fork")
+        .userTask("asyncTask").camundaAsyncBefore()
+        .endEvent()
+      .done();
+    deploy(process);
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    Job lockedJob = managementService.createJobQuery().singleResult();
+    assertEquals(Collections.singletonList(lockedJob.getId()), jobExecutor.dispatchedJobIds);
+
+    // when
+    taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId());
+
+    // then the new exclusive job is left to the acquisition
+    assertEquals(Collections.singletonList(lockedJob.getId()), jobExecutor.dispatchedJobIds);
+
+    JobEntity job = (JobEntity) managementService.createJobQuery()
+        .activityId("afterWaitTask")
+        .singleResult();
+    assertNull(job.getLockOwner());
+    assertEquals(0, jobExecutor.getLocalJobDispatcher().getReservedJobs());
+  }
+
+  @Test
+  public void shouldDispatchOneExclusiveJobPerProcessInstance() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .parallelGateway("fork")
+        .userTask("firstTask").camundaAsyncBefore()
+        .endEvent()
+      .moveToNode("fork")
+        .userTask("secondTask").camundaAsyncBefore()
+        .endEvent()
+      .done();
+    deploy(process);
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    assertEquals(1, jobExecutor.dispatchedJobIds.size());
+
+    List<Job> jobs = managementService.createJobQuery().list();
+    assertEquals(2, jobs.size());
+    for (Job job : jobs) {
+      if (jobExecutor.dispatchedJobIds.contains(job.getId())) {
+        assertEquals(jobExecutor.getLockOwner(), ((JobEntity) job).getLockOwner());
+      }
+      else {
+        assertNull(((JobEntity) job).getLockOwner());
+      }
+    }
+    assertEquals(0, jobExecutor.getLocalJobDispatcher().getReservedJobs());
+  }
+
+  @Test
+  public void shouldBoundReservedJobs() {
+    LocalJobDispatcher dispatcher = new LocalJobDispatcher(jobExecutor, 2);
+
+    assertTrue(dispatcher.reserve());
+    assertTrue(dispatcher.reserve());
+    assertFalse(dispatcher.reserve());
+
+    dispatcher.release(1);
+    assertTrue(dispatcher.reserve());
+  }
+
+  protected void deploy(BpmnModelInstance process) {
+    engineRule.manageDeployment(engineRule.getRepositoryService()
+        .createDeployment()
+        .addModelInstance("process.bpmn", process)
+        .deploy());
+  }
+
+  public static class RecordingJobExecutor extends JobExecutor {
+
+    protected List<String> dispatchedJobIds = new ArrayList<String>();
+    protected boolean acceptJobs = true;
+
+    protected void startExecutingJobs() {
+      // jobs are not acquired
+    }
+
+    protected void stopExecutingJobs() {
+    }
+
+    public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    }
+
+    public boolean tryExecuteJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+      if (acceptJobs) {
+        dispatchedJobIds.addAll(jobIds);
+      }
+      return acceptJobs;
+    }
+  }
+
+}
@@ -0,0 +1,136 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.db.IdBlock;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrefetchingDbIdGeneratorTest {
+
+  protected static final int ID_BLOCK_SIZE = 10;
+
+  protected PrefetchingDbIdGenerator idGenerator;
+  protected IdBlockCommandExecutor commandExecutor;
+
+  @Before
+  public void setUp() {
+    commandExecutor = new IdBlockCommandExecutor();
+
+    idGenerator = new PrefetchingDbIdGenerator();
+    idGenerator.setIdBlockSize(ID_BLOCK_SIZE);
+    idGenerator.setCommandExecutor(commandExecutor);
+  }
+
+  @Test
+  public void shouldHandOutConsecutiveIds() {
+    for (int i = 0; i < 3 * ID_BLOCK_SIZE; i++) {
+      assertEquals(Integer.toString(i), idGenerator.getNextId());
+    }
+  }
+
+  @Test
+  public void shouldHandOutUniqueIdsConcurrently() throws Exception {
+    final int threadCount = 8;
+    final int idsPerThread = 500;
+    final List<String> ids = Collections.synchronizedList(new ArrayList<String>());
+
+    idGenerator.setStripeSize(3);
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < threadCount; i++) {
+      threads.add(new Thread() {
+        public void run() {
+          for (int j = 0; j < idsPerThread; j++) {
+            ids.add(idGenerator.getNextId());
+          }
+        }
+      });
+    }
+
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    Set<String> uniqueIds = new HashSet<String>(ids);
+    assertEquals(threadCount * idsPerThread, uniqueIds.size());
+  }
+
+  @Test
+  public void shouldUseFallbackIfBlockCannotBeFetched() {
+    commandExecutor.failing = true;
+    idGenerator.setFallbackIdGenerator(new IdGenerator() {
+      public String getNextId() {
+        return "fallback";
+      }
+    });
+
+    assertEquals("fallback", idGenerator.getNextId());
+
+    commandExecutor.failing = false;
+    assertEquals("0", idGenerator.getNextId());
+  }
+
+  @Test
+  public void shouldFetchBlocksAfterShutdown() {
+    idGenerator.getNextId();
+
+    idGenerator.shutdown();
+
+    for (int i = 1; i < 3 * ID_BLOCK_SIZE; i++) {
+      assertEquals(Integer.toString(i), idGenerator.getNextId());
+    }
+  }
+
+  @Test
+  public void shouldRestartAfterReset() {
+    idGenerator.getNextId();
+    idGenerator.reset();
+
+    assertTrue(Long.parseLong(idGenerator.getNextId()) >= ID_BLOCK_SIZE);
+  }
+
+  protected static class IdBlockCommandExecutor implements CommandExecutor {
+
+    protected long nextId = 0;
+    protected volatile boolean failing = false;
+
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T execute(Command<T> command) {
+      if (failing) {
+        throw new ProcessEngineException("database not available");
+      }
+      IdBlock idBlock = new IdBlock(nextId, nextId + ID_BLOCK_SIZE - 1);
+      nextId += ID_BLOCK_SIZE;
+      return (T) idBlock;
+    }
+  }
+
+}
@@ -0,0 +1,157 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db.entitymanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DbEntityCacheIndexTest {
+
+  protected DbEntityCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new DbEntityCache(DbEntityCacheKeyMapping.defaultEntityCacheKeyMapping());
+  }
+
+  @Test
+  public void testGetEntitiesByIndex() {
+    // given
+    ExecutionEntity execution1 = createExecution("1", "pi1");
+    ExecutionEntity execution2 = createExecution("2", "pi1");
+    ExecutionEntity execution3 = createExecution("3", "pi2");
+
+    cache.putPersistent(execution1);
+    cache.putTransient(execution2);
+    cache.putPersistent(execution3);
+
+    // when
+    List<ExecutionEntity> executions = getExecutionsByProcessInstanceId("pi1");
+
+    // then
+    assertEquals(2, executions.size());
+    assertTrue(executions.contains(execution1));
+    assertTrue(executions.contains(execution2));
+
+    assertEquals(1, getExecutionsByProcessInstanceId("pi2").size());
+    assertTrue(getExecutionsByProcessInstanceId("pi3").isEmpty());
+  }
+
+  @Test
+  public void testRemovedEntityIsRemovedFromIndex() {
+    // given
+    ExecutionEntity execution = createExecution("1", "pi1");
+    cache.putPersistent(execution);
+
+    // when
+    cache.remove(execution);
+
+    // then
+    assertTrue(getExecutionsByProcessInstanceId("pi1").isEmpty());
+  }
+
+  @Test
+  public void testReplacedEntityIsReindexed() {
+    // given
+    cache.putPersistent(createExecution("1", "pi1"));
+
+    // when
+    ExecutionEntity reloadedExecution = createExecution("1", "pi2");
+    cache.putPersistent(reloadedExecution);
+
+    // then
+    assertTrue(getExecutionsByProcessInstanceId("pi1").isEmpty());
+    assertEquals(reloadedExecution, getExecutionsByProcessInstanceId("pi2").get(0));
+  }
+
+  @Test
+  public void testDeletedEntityIsIndexed() {
+    // given
+    ExecutionEntity execution = createExecution("1", "pi1");
+    cache.putPersistent(execution);
+
+    // when
+    cache.setDeleted(execution);
+
+    // then the cache still contains the entity
+    assertEquals(1, getExecutionsByProcessInstanceId("pi1").size());
+  }
+
+  @Test
+  public void testUpdateIndexes() {
+    // given
+    ExecutionEntity execution = createExecution("1", "pi1");
+    cache.putPersistent(execution);
+
+    // when
+    execution.setProcessInstanceId("pi2");
+
+    // then the stale entry is not returned
+    assertTrue(getExecutionsByProcessInstanceId("pi1").isEmpty());
+    assertTrue(getExecutionsByProcessInstanceId("pi2").isEmpty());
+
+    // when
+    cache.updateIndexes(execution);
+
+    // then
+    assertEquals(execution, getExecutionsByProcessInstanceId("pi2").get(0));
+  }
+
+  @Test
+  public void testUpdateIndexesOfUncachedEntity() {
+    // given
+    ExecutionEntity cachedExecution = createExecution("1", "pi1");
+    cache.putPersistent(cachedExecution);
+
+    // when another instance with the same id is updated
+    cache.updateIndexes(createExecution("1", "pi2"));
+
+    // then
+    assertEquals(cachedExecution, getExecutionsByProcessInstanceId("pi1").get(0));
+    assertTrue(getExecutionsByProcessInstanceId("pi2").isEmpty());
+  }
+
+  @Test
+  public void testUnknownIndex() {
+    try {
+      cache.getEntitiesByIndex(TaskEntity.class, DbEntityCacheKeyMapping.INDEX_PROCESS_INSTANCE_ID, "pi1");
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      assertTrue(e.getMessage().contains("No entity cache index 'processInstanceId' is registered"));
+    }
+  }
+
+  protected List<ExecutionEntity> getExecutionsByProcessInstanceId(String processInstanceId) {
+    return cache.getEntitiesByIndex(ExecutionEntity.class, DbEntityCacheKeyMapping.INDEX_PROCESS_INSTANCE_ID, processInstanceId);
+  }
+
+  protected ExecutionEntity createExecution(String id, String processInstanceId) {
+    ExecutionEntity execution = new ExecutionEntity();
+    execution.setId(id);
+    execution.setProcessInstanceId(processInstanceId);
+    return execution;
+  }
+
+}
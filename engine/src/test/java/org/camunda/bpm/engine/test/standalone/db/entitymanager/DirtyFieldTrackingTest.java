@@ -0,0 +1,192 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db.entitymanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.api.mgmt.AlwaysFailingDelegate;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class DirtyFieldTrackingTest {
+
+  protected static final BpmnModelInstance FAILING_ASYNC_PROCESS = Bpmn.createExecutableProcess("process")
+    .startEvent()
+    .serviceTask()
+      .camundaAsyncBefore()
+      .camundaClass(AlwaysFailingDelegate.class.getName())
+    .endEvent()
+    .done();
+
+  protected static final BpmnModelInstance WAITING_PROCESS = Bpmn.createExecutableProcess("waitingProcess")
+    .startEvent()
+    .userTask()
+    .endEvent()
+    .done();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setDbEntityDirtyFieldTrackingEnabled(true);
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  @Test
+  public void shouldDetectModifiedFields() {
+    // given
+    MessageEntity job = new MessageEntity();
+    CachedDbEntity cachedEntity = new CachedDbEntity();
+    cachedEntity.setEntity(job);
+    cachedEntity.setDirtyFieldTracking(true);
+    cachedEntity.makeCopy();
+
+    assertTrue(cachedEntity.isDirtyFieldTracking());
+    assertFalse(cachedEntity.isDirty());
+
+    // when
+    job.setLockOwner("owner");
+
+    // then
+    assertTrue(cachedEntity.isDirty());
+
+    // and the flags are cleared with the next copy
+    cachedEntity.makeCopy();
+    assertFalse(cachedEntity.isDirty());
+  }
+
+  @Test
+  public void shouldIgnoreUnchangedFields() {
+    // given
+    MessageEntity job = new MessageEntity();
+    job.setLockOwner("owner");
+    job.setDuedate(null);
+
+    CachedDbEntity cachedEntity = new CachedDbEntity();
+    cachedEntity.setEntity(job);
+    cachedEntity.setDirtyFieldTracking(true);
+    cachedEntity.makeCopy();
+
+    // when
+    job.setLockOwner("owner");
+    job.setDuedate(null);
+    job.setPriority(job.getPriority());
+
+    // then
+    assertFalse(cachedEntity.isDirty());
+  }
+
+  @Test
+  public void shouldForceDirty() {
+    // given
+    CachedDbEntity cachedEntity = new CachedDbEntity();
+    cachedEntity.setEntity(new MessageEntity());
+    cachedEntity.setDirtyFieldTracking(true);
+    cachedEntity.makeCopy();
+
+    // when
+    cachedEntity.forceSetDirty();
+
+    // then
+    assertTrue(cachedEntity.isDirty());
+  }
+
+  @Test
+  public void shouldPersistModifiedJob() {
+    // given
+    ManagementService managementService = engineRule.getManagementService();
+    testRule.deploy(FAILING_ASYNC_PROCESS);
+    engineRule.getRuntimeService().startProcessInstanceByKey("process");
+    Job job = managementService.createJobQuery().singleResult();
+
+    // when
+    try {
+      managementService.executeJob(job.getId());
+    }
+    catch (RuntimeException e) {
+      // expected
+    }
+
+    // then
+    job = managementService.createJobQuery().singleResult();
+    assertEquals(2, job.getRetries());
+    assertNotNull(job.getExceptionMessage());
+
+    // and a job which is not modified can still be updated
+    managementService.setJobRetries(job.getId(), 5);
+    assertEquals(5, managementService.createJobQuery().singleResult().getRetries());
+  }
+
+  @Test
+  public void shouldDetectModifiedVariableFields() {
+    // given
+    VariableInstanceEntity variable = new VariableInstanceEntity();
+    CachedDbEntity cachedEntity = new CachedDbEntity();
+    cachedEntity.setEntity(variable);
+    cachedEntity.setDirtyFieldTracking(true);
+    cachedEntity.makeCopy();
+
+    assertTrue(cachedEntity.isDirtyFieldTracking());
+    assertFalse(cachedEntity.isDirty());
+
+    // when the serializer is changed
+    variable.setSerializerName("string");
+
+    // then
+    assertTrue(cachedEntity.isDirty());
+
+    // when a value field is changed
+    cachedEntity.makeCopy();
+    assertFalse(cachedEntity.isDirty());
+    variable.setTextValue("value");
+
+    // then
+    assertTrue(cachedEntity.isDirty());
+  }
+
+  @Test
+  public void shouldPersistModifiedVariable() {
+    // given
+    RuntimeService runtimeService = engineRule.getRuntimeService();
+    testRule.deploy(WAITING_PROCESS);
+    String processInstanceId = runtimeService.startProcessInstanceByKey("waitingProcess").getId();
+    runtimeService.setVariable(processInstanceId, "var", "value");
+
+    // when
+    runtimeService.setVariable(processInstanceId, "var", 42);
+
+    // then
+    assertEquals(42, runtimeService.getVariable(processInstanceId, "var"));
+  }
+
+}
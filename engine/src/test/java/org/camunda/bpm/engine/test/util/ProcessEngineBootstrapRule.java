@@ -13,6 +13,8 @@
 
 package org.camunda.bpm.engine.test.util;
 
+import java.util.List;
+
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.ProcessEngines;
@@ -53,15 +55,15 @@ public class ProcessEngineBootstrapRule extends TestWatcher {
 
   @Override
   protected void finished(Description description) {
-    deleteHistoryCleanupJob();
+    deleteHistoryCleanupJobs();
     processEngine.close();
     ProcessEngines.unregister(processEngine);
     processEngine = null;
   }
 
-  private void deleteHistoryCleanupJob() {
-    final Job job = processEngine.getHistoryService().findHistoryCleanupJob();
-    if (job != null) {
+  private void deleteHistoryCleanupJobs() {
+    final List<Job> jobs = processEngine.getHistoryService().findHistoryCleanupJobs();
+    for (final Job job: jobs) {
       ((ProcessEngineConfigurationImpl)processEngine.getProcessEngineConfiguration()).getCommandExecutorTxRequired().execute(new Command<Void>() {
         public Void execute(CommandContext commandContext) {
           commandContext.getJobManager().deleteJob((JobEntity) job);
@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmarks.jmh;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+
+/**
+ * Process models used by the benchmarks.
+ */
+public class BenchmarkModels {
+
+  public static final String SEQUENCE_PROCESS_KEY = "sequence";
+
+  /**
+   * @return a process which executes the given number of synchronous service tasks in a sequence
+   */
+  public static BpmnModelInstance serviceTaskSequence(int numberOfTasks) {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess(SEQUENCE_PROCESS_KEY)
+      .startEvent();
+
+    for (int i = 0; i < numberOfTasks; i++) {
+      builder = builder.serviceTask("task" + i).camundaExpression("${true}");
+    }
+
+    return builder.endEvent().done();
+  }
+
+  /**
+   * @return a process with the given number of user tasks, each followed by an exclusive gateway
+   * and a boundary timer, to create a large model with a variety of elements
+   */
+  public static BpmnModelInstance largeProcess(String processKey, int numberOfTasks) {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess(processKey)
+      .startEvent();
+
+    for (int i = 0; i < numberOfTasks; i++) {
+      builder = builder
+        .userTask("task" + i)
+          .camundaAssignee("${assignee}")
+          .boundaryEvent("timer" + i).timerWithDuration("PT1H")
+          .endEvent("timerEnd" + i)
+        .moveToActivity("task" + i)
+        .exclusiveGateway("gateway" + i)
+          .condition("skip", "${skip}")
+          .endEvent("skipEnd" + i)
+        .moveToNode("gateway" + i)
+          .condition("continue", "${!skip}");
+    }
+
+    return builder.endEvent().done();
+  }
+
+}
@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmarks.jmh;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Runs the benchmarks of this module. Accepts the command line options of JMH
+ * (e.g. a regular expression selecting the benchmarks, <code>-f</code>, <code>-wi</code>
+ * or <code>-i</code>).</p>
+ *
+ * <p>Unless specified otherwise, the results are written as JSON to <code>jmh-result.json</code>,
+ * so that they can be compared across releases, e.g. with the JMH visualizer.</p>
+ */
+public class BenchmarkRunner {
+
+  public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+    ChainedOptionsBuilder options = new OptionsBuilder()
+      .parent(commandLineOptions);
+
+    if (!commandLineOptions.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLineOptions.getResult().hasValue()) {
+      options.result(new File(DEFAULT_RESULT_FILE).getAbsolutePath());
+    }
+
+    new Runner(options.build()).run();
+  }
+
+}
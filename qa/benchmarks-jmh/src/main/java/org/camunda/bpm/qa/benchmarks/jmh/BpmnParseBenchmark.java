@@ -0,0 +1,115 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmarks.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
+import org.camunda.bpm.engine.impl.cfg.DefaultBpmnParseFactory;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing large BPMN models into process definitions, from the XML source
+ * (with and without schema validation) and from the element tree of a previous parse,
+ * as done for snapshots of the second level deployment cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class BpmnParseBenchmark {
+
+  @Param({"10", "100", "500"})
+  public int numberOfTasks;
+
+  protected CommandExecutor commandExecutor;
+  protected BpmnParser bpmnParser;
+
+  protected byte[] modelBytes;
+  protected Element rootElement;
+
+  @Setup(Level.Trial)
+  public void createModel(ProcessEngineState engine) throws UnsupportedEncodingException {
+    ProcessEngineConfigurationImpl configuration = engine.getProcessEngineConfiguration();
+    commandExecutor = configuration.getCommandExecutorTxRequired();
+    bpmnParser = new BpmnParser(configuration.getExpressionManager(), new DefaultBpmnParseFactory());
+
+    modelBytes = Bpmn.convertToString(BenchmarkModels.largeProcess("large", numberOfTasks)).getBytes("UTF-8");
+    rootElement = parse(true, false).getRootElement();
+  }
+
+  @Benchmark
+  public List<ProcessDefinitionEntity> parseWithSchemaValidation() {
+    return parse(true, false).getProcessDefinitions();
+  }
+
+  @Benchmark
+  public List<ProcessDefinitionEntity> parseWithoutSchemaValidation() {
+    return parse(false, false).getProcessDefinitions();
+  }
+
+  @Benchmark
+  public List<ProcessDefinitionEntity> parseFromElementTree() {
+    return parse(true, true).getProcessDefinitions();
+  }
+
+  protected BpmnParse parse(final boolean validateSchema, final boolean fromElementTree) {
+    return commandExecutor.execute(new Command<BpmnParse>() {
+      public BpmnParse execute(CommandContext commandContext) {
+        BpmnParse bpmnParse = bpmnParser.createParse();
+
+        if (fromElementTree) {
+          bpmnParse.sourceRootElement(rootElement);
+        } else {
+          bpmnParse.sourceInputStream(new ByteArrayInputStream(modelBytes));
+        }
+
+        bpmnParse
+          .deployment(new DeploymentEntity())
+          .name("large.bpmn");
+
+        if (!validateSchema) {
+          bpmnParse.setSchemaResource(null);
+        }
+
+        return bpmnParse.execute();
+      }
+    });
+  }
+
+}
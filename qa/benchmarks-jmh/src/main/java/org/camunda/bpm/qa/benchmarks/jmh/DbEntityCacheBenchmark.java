@@ -0,0 +1,144 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmarks.jmh;
+
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.PERSISTENT;
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.TRANSIENT;
+import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType.INSERT;
+import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType.UPDATE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the entity cache of a command: putting and looking up entities, and
+ * determining the operations of a flush the same way the {@link org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager} does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DbEntityCacheBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int numberOfEntities;
+
+  protected List<ExecutionEntity> newEntities;
+  protected List<ExecutionEntity> loadedEntities;
+
+  @Setup(Level.Trial)
+  public void createEntities() {
+    newEntities = createExecutionTree("new", numberOfEntities / 2);
+    loadedEntities = createExecutionTree("loaded", numberOfEntities - numberOfEntities / 2);
+  }
+
+  @Benchmark
+  public void putAndGet(Blackhole blackhole) {
+    DbEntityCache cache = new DbEntityCache();
+
+    for (ExecutionEntity entity : newEntities) {
+      cache.putTransient(entity);
+    }
+    for (ExecutionEntity entity : loadedEntities) {
+      cache.putPersistent(entity);
+    }
+
+    for (ExecutionEntity entity : newEntities) {
+      blackhole.consume(cache.get(ExecutionEntity.class, entity.getId()));
+    }
+    for (ExecutionEntity entity : loadedEntities) {
+      blackhole.consume(cache.get(ExecutionEntity.class, entity.getId()));
+    }
+  }
+
+  @Benchmark
+  public List<DbOperation> flush() {
+    DbEntityCache cache = new DbEntityCache();
+
+    for (ExecutionEntity entity : newEntities) {
+      cache.putTransient(entity);
+    }
+    for (ExecutionEntity entity : loadedEntities) {
+      cache.putPersistent(entity);
+      // modify the loaded entities, so that they are updated
+      entity.setSuspensionState(entity.getSuspensionState() == 1 ? 2 : 1);
+    }
+
+    DbOperationManager operationManager = new DbOperationManager();
+
+    for (CachedDbEntity cachedEntity : cache.getCachedEntities()) {
+      if (cachedEntity.getEntityState() == TRANSIENT) {
+        cachedEntity.determineEntityReferences();
+        operationManager.addOperation(createOperation(cachedEntity, INSERT));
+
+      } else if (cachedEntity.getEntityState() == PERSISTENT && cachedEntity.isDirty()) {
+        operationManager.addOperation(createOperation(cachedEntity, UPDATE));
+      }
+    }
+
+    return operationManager.calculateFlush();
+  }
+
+  protected DbEntityOperation createOperation(CachedDbEntity cachedEntity, DbOperationType type) {
+    DbEntityOperation operation = new DbEntityOperation();
+    operation.setEntity(cachedEntity.getEntity());
+    operation.setFlushRelevantEntityReferences(cachedEntity.getFlushRelevantEntityReferences());
+    operation.setOperationType(type);
+    return operation;
+  }
+
+  /**
+   * @return executions of which each but the first has one of the previous executions as parent
+   */
+  protected static List<ExecutionEntity> createExecutionTree(String idPrefix, int numberOfExecutions) {
+    List<ExecutionEntity> executions = new ArrayList<ExecutionEntity>();
+
+    for (int i = 0; i < numberOfExecutions; i++) {
+      ExecutionEntity execution = new ExecutionEntity();
+      execution.setId(idPrefix + i);
+      execution.setProcessInstanceId(idPrefix + 0);
+      execution.setActivityId("activity" + i);
+      if (i > 0) {
+        execution.setParentId(idPrefix + (i - 1) / 2);
+      }
+      executions.add(execution);
+    }
+
+    return executions;
+  }
+
+}
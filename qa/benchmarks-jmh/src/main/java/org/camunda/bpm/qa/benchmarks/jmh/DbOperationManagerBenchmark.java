@@ -0,0 +1,130 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmarks.jmh;
+
+import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType.DELETE;
+import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType.INSERT;
+import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType.UPDATE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbReferences;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the ordering of the operations of a flush by the {@link DbOperationManager}.
+ * Each process instance contributes inserts, updates and deletes of executions (which
+ * reference each other), tasks, variables and byte arrays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DbOperationManagerBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int numberOfProcessInstances;
+
+  /** executions of each process instance */
+  @Param({"5"})
+  public int numberOfExecutions;
+
+  protected List<DbEntityOperation> operations;
+  protected DbOperationManager operationManager;
+
+  @Setup(Level.Trial)
+  public void createOperations() {
+    operations = new ArrayList<DbEntityOperation>();
+
+    for (int i = 0; i < numberOfProcessInstances; i++) {
+      String processInstanceId = "pi" + i;
+
+      for (int k = 0; k < numberOfExecutions; k++) {
+        ExecutionEntity execution = new ExecutionEntity();
+        execution.setId(processInstanceId + "-" + k);
+        execution.setProcessInstanceId(processInstanceId);
+        if (k > 0) {
+          execution.setParentId(processInstanceId + "-" + (k - 1) / 2);
+        }
+
+        TaskEntity task = new TaskEntity(processInstanceId + "-task" + k);
+        task.setExecutionId(execution.getId());
+
+        VariableInstanceEntity variable = new VariableInstanceEntity();
+        variable.setId(processInstanceId + "-var" + k);
+        variable.setExecutionId(execution.getId());
+
+        ByteArrayEntity byteArray = new ByteArrayEntity("var" + k, new byte[0]);
+        byteArray.setId(processInstanceId + "-bytes" + k);
+
+        // a process instance which is started, continued and partly completed
+        DbOperationType type = k % 3 == 0 ? INSERT : (k % 3 == 1 ? UPDATE : DELETE);
+        operations.add(createOperation(execution, type));
+        operations.add(createOperation(task, type));
+        operations.add(createOperation(variable, type));
+        operations.add(createOperation(byteArray, type));
+      }
+    }
+
+    operationManager = addOperations();
+  }
+
+  @Benchmark
+  public DbOperationManager addOperations() {
+    DbOperationManager operationManager = new DbOperationManager();
+    for (DbEntityOperation operation : operations) {
+      operationManager.addOperation(operation);
+    }
+    return operationManager;
+  }
+
+  @Benchmark
+  public List<DbOperation> calculateFlush() {
+    return operationManager.calculateFlush();
+  }
+
+  protected DbEntityOperation createOperation(DbEntity entity, DbOperationType type) {
+    DbEntityOperation operation = new DbEntityOperation();
+    operation.setEntity(entity);
+    operation.setOperationType(type);
+    if (entity instanceof HasDbReferences) {
+      operation.setFlushRelevantEntityReferences(((HasDbReferences) entity).getReferencedEntityIds());
+    }
+    return operation;
+  }
+
+}
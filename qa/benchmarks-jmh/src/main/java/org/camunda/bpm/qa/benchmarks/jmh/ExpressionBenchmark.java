@@ -0,0 +1,142 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmarks.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.Builder.Feature;
+import org.camunda.bpm.engine.impl.juel.Cache;
+import org.camunda.bpm.engine.impl.juel.CompilingTreeBuilder;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.SimpleContext;
+import org.camunda.bpm.engine.impl.juel.TreeCompiler;
+import org.camunda.bpm.engine.impl.juel.TreeStore;
+import org.camunda.bpm.engine.impl.juel.TreeValueExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the evaluation of JUEL expressions as they typically occur in conditions
+ * and assignments of process models, either interpreted or compiled by a {@link TreeCompiler}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+
+  protected static final String ARITHMETIC_EXPRESSION = "${amount * 2 + fee > limit}";
+  protected static final String PROPERTY_EXPRESSION = "${order.customer == 'camunda' && order.priority >= 3}";
+  protected static final String BEAN_PROPERTY_EXPRESSION = "${customer.name == 'camunda' && customer.rating >= 3}";
+
+  /** whether parse trees are interpreted as built or compiled first */
+  @Param({"interpreted", "compiled"})
+  public String mode;
+
+  protected ExpressionFactoryImpl expressionFactory;
+  protected SimpleContext context;
+
+  protected TreeValueExpression arithmeticExpression;
+  protected TreeValueExpression propertyExpression;
+  protected TreeValueExpression beanPropertyExpression;
+
+  @Setup(Level.Trial)
+  public void createExpressions() {
+    if ("compiled".equals(mode)) {
+      // the simple context resolves properties of beans with a bean resolver
+      TreeCompiler compiler = new TreeCompiler() {
+        protected boolean isPropertyInlineCacheApplicable(ELContext context, Object base, String property) {
+          return !(base instanceof Map);
+        }
+      };
+      expressionFactory = new ExpressionFactoryImpl(new TreeStore(new CompilingTreeBuilder(new Builder(Feature.METHOD_INVOCATIONS, Feature.VARARGS), compiler), new Cache(1000)));
+    } else {
+      expressionFactory = new ExpressionFactoryImpl();
+    }
+    context = new SimpleContext();
+
+    context.setVariable("amount", expressionFactory.createValueExpression(500L, Long.class));
+    context.setVariable("fee", expressionFactory.createValueExpression(20L, Long.class));
+    context.setVariable("limit", expressionFactory.createValueExpression(1000L, Long.class));
+
+    Map<String, Object> order = new HashMap<String, Object>();
+    order.put("customer", "camunda");
+    order.put("priority", 5);
+    context.setVariable("order", expressionFactory.createValueExpression(order, Map.class));
+    context.setVariable("customer", expressionFactory.createValueExpression(new Customer("camunda", 5), Customer.class));
+
+    arithmeticExpression = expressionFactory.createValueExpression(context, ARITHMETIC_EXPRESSION, Object.class);
+    propertyExpression = expressionFactory.createValueExpression(context, PROPERTY_EXPRESSION, Object.class);
+    beanPropertyExpression = expressionFactory.createValueExpression(context, BEAN_PROPERTY_EXPRESSION, Object.class);
+  }
+
+  @Benchmark
+  public Object evaluateArithmeticExpression() {
+    return arithmeticExpression.getValue(context);
+  }
+
+  @Benchmark
+  public Object evaluatePropertyExpression() {
+    return propertyExpression.getValue(context);
+  }
+
+  @Benchmark
+  public Object evaluateBeanPropertyExpression() {
+    return beanPropertyExpression.getValue(context);
+  }
+
+  /**
+   * Creates the expression before evaluating it, as done for expressions which are
+   * not parsed with the process model (e.g. in scripts and connectors).
+   */
+  @Benchmark
+  public Object createAndEvaluatePropertyExpression() {
+    return expressionFactory.createValueExpression(context, PROPERTY_EXPRESSION, Object.class).getValue(context);
+  }
+
+  public static class Customer {
+
+    protected String name;
+    protected int rating;
+
+    public Customer(String name, int rating) {
+      this.name = name;
+      this.rating = rating;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getRating() {
+      return rating;
+    }
+  }
+
+}
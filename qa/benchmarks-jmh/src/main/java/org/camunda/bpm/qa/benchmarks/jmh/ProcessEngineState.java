@@ -0,0 +1,67 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmarks.jmh;
+
+import java.util.UUID;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A process engine on an in-memory H2 database, shared by all threads of a benchmark.
+ * History, metrics and the job executor are disabled, so that the benchmarks measure
+ * the runtime behavior of the engine only.
+ */
+@State(Scope.Benchmark)
+public class ProcessEngineState {
+
+  protected ProcessEngine processEngine;
+
+  @Setup(Level.Trial)
+  public void buildProcessEngine() {
+    ProcessEngineConfigurationImpl configuration = new StandaloneInMemProcessEngineConfiguration();
+    configuration.setProcessEngineName("benchmark-" + UUID.randomUUID());
+    configuration.setJdbcUrl("jdbc:h2:mem:" + configuration.getProcessEngineName() + ";DB_CLOSE_DELAY=1000");
+    configuration.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP);
+    configuration.setHistory(ProcessEngineConfiguration.HISTORY_NONE);
+    configuration.setJobExecutorActivate(false);
+    configuration.setMetricsEnabled(false);
+    configuration.setDbMetricsReporterActivate(false);
+
+    processEngine = configuration.buildProcessEngine();
+  }
+
+  @TearDown(Level.Trial)
+  public void closeProcessEngine() {
+    if (processEngine != null) {
+      processEngine.close();
+      processEngine = null;
+    }
+  }
+
+  public ProcessEngine getProcessEngine() {
+    return processEngine;
+  }
+
+  public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
+    return (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+  }
+
+}
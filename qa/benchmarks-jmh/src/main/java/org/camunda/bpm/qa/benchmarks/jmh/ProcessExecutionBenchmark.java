@@ -0,0 +1,64 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmarks.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the chains of atomic operations executed by the PVM when a process instance
+ * runs through a sequence of synchronous service tasks in a single transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ProcessExecutionBenchmark {
+
+  @Param({"1", "10", "50"})
+  public int numberOfTasks;
+
+  protected RuntimeService runtimeService;
+
+  @Setup(Level.Trial)
+  public void deploy(ProcessEngineState engine) {
+    engine.getProcessEngine().getRepositoryService()
+      .createDeployment()
+      .addModelInstance("sequence.bpmn", BenchmarkModels.serviceTaskSequence(numberOfTasks))
+      .deploy();
+
+    runtimeService = engine.getProcessEngine().getRuntimeService();
+  }
+
+  @Benchmark
+  public ProcessInstance executeServiceTaskSequence() {
+    return runtimeService.startProcessInstanceByKey(BenchmarkModels.SEQUENCE_PROCESS_KEY);
+  }
+
+}
@@ -0,0 +1,103 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmarks.jmh;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.variable.serializer.JavaObjectSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.LongValueSerlializer;
+import org.camunda.bpm.engine.impl.variable.serializer.StringValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.ValueFieldsImpl;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.LongValue;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.camunda.bpm.engine.variable.value.StringValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing typed values to the value fields of a variable and reading them back
+ * with the serializers of the engine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class VariableSerializerBenchmark {
+
+  /** number of entries of the serialized java object */
+  @Param({"10", "1000"})
+  public int objectSize;
+
+  protected StringValueSerializer stringSerializer = new StringValueSerializer();
+  protected LongValueSerlializer longSerializer = new LongValueSerlializer();
+  protected JavaObjectSerializer javaObjectSerializer = new JavaObjectSerializer();
+
+  protected StringValue stringValue;
+  protected LongValue longValue;
+  protected ObjectValue objectValue;
+
+  @Setup(Level.Trial)
+  public void createValues() {
+    stringValue = Variables.stringValue("a string value of a process variable");
+    longValue = Variables.longValue(4711L);
+
+    HashMap<String, List<String>> object = new HashMap<String, List<String>>();
+    for (int i = 0; i < objectSize; i++) {
+      List<String> entry = new ArrayList<String>();
+      entry.add("value" + i);
+      object.put("key" + i, entry);
+    }
+    objectValue = Variables.objectValue(object)
+      .serializationDataFormat(Variables.SerializationDataFormats.JAVA)
+      .create();
+  }
+
+  @Benchmark
+  public StringValue stringRoundTrip() {
+    ValueFieldsImpl valueFields = new ValueFieldsImpl();
+    stringSerializer.writeValue(stringValue, valueFields);
+    return stringSerializer.readValue(valueFields, true);
+  }
+
+  @Benchmark
+  public LongValue longRoundTrip() {
+    ValueFieldsImpl valueFields = new ValueFieldsImpl();
+    longSerializer.writeValue(longValue, valueFields);
+    return longSerializer.readValue(valueFields, true);
+  }
+
+  @Benchmark
+  public Map<?, ?> javaObjectRoundTrip() {
+    ValueFieldsImpl valueFields = new ValueFieldsImpl();
+    javaObjectSerializer.writeValue(objectValue, valueFields);
+    return (Map<?, ?>) javaObjectSerializer.readValue(valueFields, true).getValue();
+  }
+
+}
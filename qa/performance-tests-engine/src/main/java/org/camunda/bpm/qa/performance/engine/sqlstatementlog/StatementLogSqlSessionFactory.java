@@ -12,6 +12,9 @@
  */
 package org.camunda.bpm.qa.performance.engine.sqlstatementlog;
 
+import java.sql.Connection;
+
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.camunda.bpm.qa.performance.engine.util.DelegatingSqlSessionFactory;
@@ -33,4 +36,14 @@ public class StatementLogSqlSessionFactory extends DelegatingSqlSessionFactory {
     return new StatementLogSqlSession(super.openSession());
   }
 
+  @Override
+  public SqlSession openSession(ExecutorType execType) {
+    return new StatementLogSqlSession(super.openSession(execType));
+  }
+
+  @Override
+  public SqlSession openSession(ExecutorType execType, Connection connection) {
+    return new StatementLogSqlSession(super.openSession(execType, connection));
+  }
+
 }